@@ -1,5 +1,7 @@
 import asm.CodeGenerator;
+import asm.ir.Peephole;
 import asm.visual.Launcher;
+import ast.AnalyzedProgram;
 import ast.SemanticAnalyzer;
 import ast.SemanticException;
 import lexer.Lexer;
@@ -8,6 +10,20 @@ import org.kohsuke.args4j.CmdLineParser;
 import org.kohsuke.args4j.Option;
 import parser.Parser;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
 public class CanAda {
     @Option(name = "-h", aliases = "--help", usage = "Print this message")
     public boolean help;
@@ -18,14 +34,29 @@ public class CanAda {
     @Option(name = "-a", aliases = "--ast", usage = "Generate the .png AST")
     public boolean ast;
 
+    @Option(name = "-d", aliases = "--dot", usage = "Write the AST as a .dot file")
+    public boolean dot;
+
     @Option(name = "-s", aliases ="--semantic", usage = "Run the semantic analysis")
     public boolean semantic;
 
     @Option(name = "-c", aliases = "--compile", usage = "Compile and run the input file")
     public boolean compile;
 
-    @Argument(required = true, usage = "Input file", metaVar = "INPUT")
-    public String input;
+    @Option(name = "--visual", usage = "Run the compiled program in the VisUAL emulator instead of the built-in interpreter")
+    public boolean visual;
+
+    @Option(name = "--profile", forbids = "--visual", usage = "Run the compiled program in the built-in interpreter and write the instructions it ran per procedure and source line")
+    public boolean profile;
+
+    @Option(name = "-O", aliases = "--peephole", usage = "Peephole rules applied to the generated code: all, none, or a list of move, offset, store-load, push-pop, branch")
+    public String peephole = "all";
+
+    @Option(name = "-j", aliases = "--jobs", usage = "Number of files compiled at once when several are given")
+    public int jobs = Runtime.getRuntime().availableProcessors();
+
+    @Argument(required = true, multiValued = true, usage = "Input files, or directories of .adb files", metaVar = "INPUT")
+    public List<String> inputs = new ArrayList<>();
 
     public static void main(String[] args) throws Exception {
         System.out.println("╭──────────────────────────────╮");
@@ -42,46 +73,149 @@ public class CanAda {
         }
         try {
             parser.parseArgument(args);
-            if (parse || ast || semantic || compile) {
-                // print current folder
-                Lexer l = new Lexer(input);
-                Parser p = new Parser(l);
-                p.parse(ast);
-                System.out.println("Parsing completed \033[32msuccessfully\033[0m");
-                if (ast) {
-                    System.out.println("  ├ AST (.dot) generated at \033[4m" + l.getFileName() + "-ast.dot\033[0m");
-                    System.out.println("  └ AST (.svg) generated at \033[4m" + l.getFileName() + "-ast.svg\033[0m\n");
-                } else {
-                    System.out.println("  └ AST (.dot) generated at \033[4m" + l.getFileName() + "-ast.dot\033[0m\n");
-                }
-                if (semantic) {
-                    SemanticAnalyzer sa = new SemanticAnalyzer(p.getAst());
-                    sa.analyze();
-                    System.out.println("Semantic analysis completed \033[32msuccessfully\033[0m\n");
-                }
-                if (compile) {
-                    SemanticAnalyzer sa = new SemanticAnalyzer(p.getAst());
-                    CodeGenerator codeGenerator = new CodeGenerator(p.getAst().getFilename(), true, sa.getTds(), sa.getStack());
-                    sa.setCodeGen(codeGenerator);
-                    sa.analyze();
-                    System.out.println("Semantic analysis completed \033[32msuccessfully\033[0m\n");
-                    System.out.println("ASM code generated \033[32msuccessfully\033[0m");
-                    System.out.println("  └ ARM code (.s) generated at \033[4m" + l.getFileName() + "-output.s\033[0m\n");
-                    Launcher.run(p.getAst().getFilename()+ "-output.s");
+            int peepholeRules;
+            try {
+                peepholeRules = Peephole.parseRules(peephole);
+            } catch (IllegalArgumentException e) {
+                throw new org.kohsuke.args4j.CmdLineException(parser, e.getMessage(), e);
+            }
+            if (parse || ast || dot || semantic || compile) {
+                List<String> files = collectInputs();
+                if (files.size() == 1 && !Files.isDirectory(Paths.get(inputs.get(0)))) {
+                    String assembly = compileUnit(files.get(0), System.out, peepholeRules);
+                    if (assembly != null) {
+                        run(assembly, files.get(0));
+                    }
+                } else if (!compileBatch(files, peepholeRules)) {
+                    System.exit(1);
                 }
             }
         } catch (org.kohsuke.args4j.CmdLineException e) {
             System.err.println(e.getMessage());
             parser.printUsage(System.err);
             System.exit(1);
-        } catch (SemanticException e) {
-            System.err.println("\nA \033[31msemantic error\033[0m occurred:");
-            System.err.println(e.getMessage());
-            System.exit(1);
         } catch (Exception | Error e) {
-            System.err.println("\nAn \033[31merror occurred\033[0m:");
-            System.err.println(e.getMessage());
+            printError(e, System.err);
             System.exit(1);
         }
     }
+
+    /* input files in command line order, directories replaced by their .adb files sorted by path */
+    private List<String> collectInputs() throws IOException {
+        List<String> files = new ArrayList<>();
+        for (String input : inputs) {
+            Path path = Paths.get(input);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> walk = Files.walk(path)) {
+                    walk.filter(p -> p.toString().endsWith(".adb")).sorted().forEach(p -> files.add(p.toString()));
+                }
+            } else {
+                files.add(input);
+            }
+        }
+        return files;
+    }
+
+    /* lexes, parses, analyses and generates one file, returns the assembly file to run if any */
+    private String compileUnit(String input, PrintStream out, int peepholeRules) throws Exception {
+        Lexer l = new Lexer(input, out);
+        Parser p = new Parser(l);
+        p.parse(ast);
+        out.println("Parsing completed \033[32msuccessfully\033[0m");
+        if (ast) {
+            out.println("  ├ AST (.dot) generated at \033[4m" + l.getFileName() + "-ast.dot\033[0m");
+            out.println("  └ AST (.svg) generated at \033[4m" + l.getFileName() + "-ast.svg\033[0m\n");
+        } else if (dot) {
+            p.getAst().writeDot();
+            out.println("  └ AST (.dot) generated at \033[4m" + l.getFileName() + "-ast.dot\033[0m\n");
+        } else {
+            out.println();
+        }
+        AnalyzedProgram program = null;
+        if (semantic || compile) {
+            program = new SemanticAnalyzer(p.getAst()).analyze();
+        }
+        if (semantic) {
+            out.println("Semantic analysis completed \033[32msuccessfully\033[0m\n");
+        }
+        if (compile) {
+            // code generation reuses the analysis of -s, as a separate pass
+            CodeGenerator codeGen = new CodeGenerator(p.getAst().getFilename(), true, peepholeRules);
+            codeGen.setSourceLines(profile);
+            codeGen.generate(program);
+            out.println("Semantic analysis completed \033[32msuccessfully\033[0m\n");
+            out.println("ASM code generated \033[32msuccessfully\033[0m");
+            out.println("  ├ ARM code (.s) generated at \033[4m" + l.getFileName() + "-output.s\033[0m");
+            out.println("  └ Peephole removed " + codeGen.getPeephole().totalRemoved() + " instructions (" + codeGen.getPeephole().report() + ")\n");
+            return p.getAst().getFilename() + "-output.s";
+        }
+        return null;
+    }
+
+    /*
+     * Compiles every file on its own thread, each with its own lexer, tables and output buffer.
+     * Reports are printed in input order once a file is done, programs are then run one at a time.
+     */
+    private boolean compileBatch(List<String> files, int peepholeRules) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, jobs));
+        List<Future<Unit>> units = new ArrayList<>();
+        try {
+            for (String file : files) {
+                units.add(pool.submit(() -> {
+                    Unit unit = new Unit();
+                    PrintStream out = new PrintStream(unit.log, true, StandardCharsets.UTF_8);
+                    try {
+                        unit.assembly = compileUnit(file, out, peepholeRules);
+                    } catch (Exception | Error e) {
+                        printError(e, out);
+                        unit.failed = true;
+                    }
+                    out.flush();
+                    return unit;
+                }));
+            }
+            boolean success = true;
+            for (int i = 0; i < files.size(); i++) {
+                Unit unit;
+                try {
+                    unit = units.get(i).get();
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+                System.out.println("\033[1m" + files.get(i) + "\033[0m");
+                System.out.print(unit.log.toString(StandardCharsets.UTF_8));
+                if (unit.assembly != null) {
+                    run(unit.assembly, files.get(i));
+                }
+                success &= !unit.failed;
+            }
+            return success;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /* runs a compiled program, profiled with --profile */
+    private void run(String assembly, String input) {
+        if (profile) {
+            Launcher.profile(assembly, input);
+        } else {
+            Launcher.run(assembly, visual);
+        }
+    }
+
+    private static void printError(Throwable e, PrintStream err) {
+        if (e instanceof SemanticException) {
+            err.println("\nA \033[31msemantic error\033[0m occurred:");
+        } else {
+            err.println("\nAn \033[31merror occurred\033[0m:");
+        }
+        err.println(e.getMessage());
+    }
+
+    private static class Unit {
+        final ByteArrayOutputStream log = new ByteArrayOutputStream();
+        String assembly;
+        boolean failed;
+    }
 }
@@ -1,5 +1,10 @@
 package asm;
 
+import asm.ir.Code;
+import asm.ir.Op;
+import asm.ir.Peephole;
+import ast.AnalyzedProgram;
+import ast.Bindings;
 import ast.GraphViz;
 import ast.Node;
 import tds.*;
@@ -15,19 +20,38 @@ import java.util.*;
 public class CodeGenerator {
     private final FileWriter fileWriter;
     public Stack<StackFrame> stackFrames; // TO CHANGE
-    private Stack<String> asmStack;
+    private Stack<StackFrame> asmStack;
+    // size of the registers saved on entry by each closed frame
+    private final Map<String, Integer> savedBytes = new HashMap<>();
     private Boolean codeGenOn = true;
     private TDS tds;
+    private Bindings bindings;
+    private ConstantFolder folder;
+    private final Peephole peephole;
+    // dividends the inline division by a constant handles, the others go to the subroutine
+    static final int FAST_DIVIDENDS = 1 << 15;
     private List<String> callableElements = new ArrayList<>();
     private final Stack<HashMap<Symbol, Integer>> initVars;
-    private Stack<Integer> stack;
-    private boolean isVarGen;
+    private AnalyzedProgram program;
+    // procedure and function nodes enclosing the node being generated
+    private final Stack<Integer> subprograms = new Stack<>();
+    // expression nodes whose calls are generated, each call being generated once, where its expression is first met
+    private boolean[] callsGenerated;
+    // source line of the node being generated, kept in the comments of the assembly only when asked
+    private boolean sourceLines = false;
+    private int line;
     private Stack<Boolean> newFunc;
     private Stack<Integer> paramSize;
     private Stack<Integer> returnSize;
 
-    public CodeGenerator(String fileName, boolean codeGenOn, TDS tds, Stack<Integer> stack) {
+    public CodeGenerator(String fileName, boolean codeGenOn) {
+        this(fileName, codeGenOn, Peephole.ALL);
+    }
+
+    /* peepholeRules: rules of Peephole applied to each procedure */
+    public CodeGenerator(String fileName, boolean codeGenOn, int peepholeRules) {
         this.codeGenOn = codeGenOn;
+        this.peephole = new Peephole(peepholeRules);
         if (codeGenOn) {
             try {
                 this.fileWriter = new FileWriter(fileName + "-output.s");
@@ -39,26 +63,281 @@ public class CodeGenerator {
         } else {
             this.fileWriter = null;
         }
-        this.tds = tds;
         this.initVars = new Stack<>();
-        this.stack = stack;
-        this.isVarGen = false;
         this.newFunc = new Stack<>();
         this.paramSize = new Stack<>();
         this.returnSize = new Stack<>();
     }
 
-    public CodeGenerator() {
-        // Fake constructor for tests
-        this.codeGenOn = false;
-        this.fileWriter = null;
-        this.stackFrames = new Stack<>();
-        this.stackFrames.push(new StackFrame("fake"));
-        this.asmStack = null;
-        this.tds = null;
-        this.initVars = null;
-        this.paramSize = new Stack<>();
-        this.returnSize = new Stack<>();
+    /* generates the code of an analysed program, walking its AST in the order it was analysed */
+    public void generate(AnalyzedProgram program) {
+        this.program = program;
+        this.tds = program.getTds();
+        this.bindings = program.getBindings();
+        this.folder = new ConstantFolder(program.getAst().getTree());
+        this.callsGenerated = new boolean[program.getAst().getTree().size()];
+        GraphViz ast = program.getAst();
+        for (Node node : ast.getDepthFirstTraversal()) {
+            switch (node.getLabel()) {
+                case "PROCEDURE":
+                    setLine(ast, node);
+                    procedureGen(subprogramName(node.getId()), String.valueOf(bindings.region(node.getChildren().get(0))),
+                            subprograms.isEmpty() ? null : subprogramName(subprograms.peek()));
+                    subprograms.push(node.getId());
+                    break;
+                case "FUNCTION":
+                    setLine(ast, node);
+                    functionGen(subprogramName(node.getId()), String.valueOf(bindings.region(node.getChildren().get(0))),
+                            subprograms.isEmpty() ? null : subprogramName(subprograms.peek()));
+                    subprograms.push(node.getId());
+                    break;
+                case "PARAM":
+                    setLine(ast, node);
+                    int nbParams = node.getChildren().size() - 1;
+                    if (node.getChildren().size() > 2 && childLabel(ast, node, nbParams - 1).contains("IN")) {
+                        nbParams--;
+                    }
+                    for (int i = 0; i < nbParams; i++) {
+                        appendToBuffer("\t\t;" + childLabel(ast, node, node.getChildren().size() - 1) + "\t" + childLabel(ast, node, i) + "\n");
+                    }
+                    break;
+                case "VARIABLE":
+                    setLine(ast, node);
+                    boolean initialised = childLabel(ast, node, node.getChildren().size() - 1).equals("INIT VAL");
+                    int nbVars = node.getChildren().size() - (initialised ? 2 : 1);
+                    for (int i = 0; i < nbVars; i++) {
+                        int value = -1;
+                        if (initialised) {
+                            value = ast.getTree().nodes.get(node.getChildren().get(node.getChildren().size() - 1)).getChildren().get(0);
+                            callsGen(ast, value);
+                        }
+                        addInitVar(bindings.symbol(node.getChildren().get(i)), value);
+                    }
+                    break;
+                case "RETURN_TYPE":
+                    setLine(ast, node);
+                    Func func = (Func) bindings.symbol(ast.getTree().nodes.get(subprograms.peek()).getChildren().get(0));
+                    appendToBuffer("\t;RETURN_TYPE\n\t\t;" + func.getReturnType() + "\n");
+                    break;
+                case "INSTRUCTIONS":
+                    setLine(ast, node);
+                    switchForVar();
+                    appendToBuffer("\t;BEGIN of instructions\n");
+                    instructionsGen(ast, node.getId());
+                    varGen(ast, tds.getTds().get(program.region(subprograms.peek())), program.frameSize(node.getId()));
+                    appendToBuffer("\t;END of instructions\n");
+                    endBlock();
+                    subprograms.pop();
+                    break;
+            }
+        }
+        writeDownBlocks();
+    }
+
+    private String subprogramName(int node) {
+        return bindings.symbol(program.getAst().getTree().nodes.get(node).getChildren().get(0)).getName();
+    }
+
+    /* the code generated from now on comes from a node, which a call holds the line after its arguments of,
+     * its first child the right one */
+    private void setLine(GraphViz ast, Node node) {
+        setLine(node.getChildren().isEmpty() ? node.getLine() : ast.getTree().nodes.get(node.getChildren().get(0)).getLine());
+    }
+
+    private void setLine(int line) {
+        this.line = sourceLines ? line : 0;
+        if (codeGenOn && !stackFrames.isEmpty()) {
+            stackFrames.peek().setLine(this.line);
+        }
+    }
+
+    private void instructionsGen(GraphViz ast, int instructionNode) {
+        int blockLine = line;
+        for (Integer statement : ast.getTree().nodes.get(instructionNode).getChildren()) {
+            Node node = ast.getTree().nodes.get(statement);
+            setLine(ast, node);
+            switch (node.getLabel()) {
+                case ":=":
+                    callsGen(ast, node.getChildren().get(1));
+                    callsGen(ast, node.getChildren().get(0));
+                    assignationGen(ast, node);
+                    break;
+                case "IF":
+                    ifGen(ast, statement);
+                    break;
+                case "FOR":
+                    forGen(ast, statement);
+                    break;
+                case "WHILE":
+                    whileGen(ast, statement);
+                    break;
+                case "CALL":
+                    callGen(ast, statement);
+                    break;
+                case "RETURN_EXPRESSION":
+                    callsGen(ast, node.getChildren().get(0));
+                    returnValue(ast, statement, subprogramName(subprograms.peek()));
+                    break;
+            }
+        }
+        setLine(blockLine);
+    }
+
+    private void ifGen(GraphViz ast, int node) {
+        for (Integer child : ast.getTree().nodes.get(node).getChildren()) {
+            Node nodeChild = ast.getTree().nodes.get(child);
+            switch (nodeChild.getLabel()) {
+                case "CONDITION":
+                    callsGen(ast, nodeChild.getChildren().get(0));
+                    conditionGen(ast, nodeChild.getChildren().get(0), "if" + node, "Jump to else");
+                    break;
+                case "THEN":
+                    instructionsGen(ast, child);
+                    branch(Op.AL, "if" + node + "_end", "Jump to end");
+                    label("if" + node, "else");
+                    break;
+                case "ELSIF":
+                    elsifGen(ast, child, node);
+                    break;
+                case "ELSE":
+                    instructionsGen(ast, child);
+                    break;
+            }
+        }
+        label("if" + node + "_end", "end of if");
+    }
+
+    /* an elsif jumps to the end of the if it is part of */
+    private void elsifGen(GraphViz ast, int node, int ifId) {
+        for (Integer child : ast.getTree().nodes.get(node).getChildren()) {
+            Node nodeChild = ast.getTree().nodes.get(child);
+            switch (nodeChild.getLabel()) {
+                case "CONDITION":
+                    callsGen(ast, nodeChild.getChildren().get(0));
+                    conditionGen(ast, nodeChild.getChildren().get(0), "if" + node, "Jump to else");
+                    break;
+                case "THEN":
+                    instructionsGen(ast, child);
+                    branch(Op.AL, "if" + ifId + "_end", "Jump to end");
+                    label("if" + node, "else");
+                    break;
+                case "ELSIF":
+                    elsifGen(ast, child, node);
+                    break;
+                case "ELSE":
+                    instructionsGen(ast, child);
+                    break;
+            }
+        }
+    }
+
+    private void whileGen(GraphViz ast, int node) {
+        for (Integer child : ast.getTree().nodes.get(node).getChildren()) {
+            Node nodeChild = ast.getTree().nodes.get(child);
+            switch (nodeChild.getLabel()) {
+                case "CONDITION":
+                    callsGen(ast, nodeChild.getChildren().get(0));
+                    label("while" + node, "while");
+                    conditionGen(ast, nodeChild.getChildren().get(0), "while" + node + "_end", "Jump to end");
+                    break;
+                case "DO":
+                    instructionsGen(ast, child);
+                    branch(Op.AL, "while" + node, "Jump to while");
+                    label("while" + node + "_end", "end of while");
+                    break;
+            }
+        }
+    }
+
+    private void forGen(GraphViz ast, int node) {
+        List<Integer> children = ast.getTree().nodes.get(node).getChildren();
+        int var = children.get(0);
+        String name = bindings.symbol(var).getName();
+        addInitVar(bindings.symbol(var), -1);
+        boolean reversed = childLabel(ast, ast.getTree().nodes.get(node), 1).equals("REVERSE");
+        if (reversed) {
+            callsGen(ast, children.get(2));
+            callsGen(ast, children.get(3));
+            forInitGen(ast, children, name, 3, 2);
+        } else {
+            callsGen(ast, children.get(1));
+            callsGen(ast, children.get(2));
+            forInitGen(ast, children, name, 1, 2);
+        }
+        forCheckError(ast, var, name, children.get(2), reversed);
+        label("for" + node, "begin of for");
+        instructionsGen(ast, children.get(children.size() - 1));
+        forCheckEnd(ast, var, name, children.get(2), reversed);
+        branch(Op.EQ, "endfor" + node, "jump to the end of the loop");
+        forIncrement(var, name, reversed);
+        branch(Op.AL, "for" + node, "jump to the beginning of the loop");
+        label("endfor" + node, "end of for");
+    }
+
+    /* calls of an expression, generated before the code using their results, in the order they were typed */
+    private void callsGen(GraphViz ast, int nodeInt) {
+        if (callsGenerated[nodeInt]) {
+            return;
+        }
+        callsGenerated[nodeInt] = true;
+        Node node = ast.getTree().nodes.get(nodeInt);
+        if (node.getChildren().isEmpty()) {
+            return;
+        }
+        if (node.getChildren().size() == 1 && node.getLabel().equals("CALL")) {
+            callGen(ast, nodeInt);
+        } else if (node.getChildren().size() == 1 && node.getLabel().equals("NOT")
+                || node.getLabel().equals("CHARACTER'VAL") || node.getLabel().equals("UNARY")) {
+            callsGen(ast, node.getChildren().get(0));
+        } else if (node.getChildren().size() != 1 || !childLabel(ast, node, 0).equals("ACCESS_IDENT")) {
+            callsGen(ast, node.getChildren().get(1));
+            callsGen(ast, node.getChildren().get(0));
+        }
+    }
+
+    /* call of a procedure or a function: its arguments, the room for its result, then the branch to it */
+    private void callGen(GraphViz ast, int callNode) {
+        appendToBuffer("\n\t; Start of calling stack\n");
+        addNewFunc(false);
+        Node labelNode = ast.getTree().nodes.get(ast.getTree().nodes.get(callNode).getChildren().get(0));
+        Symbol callee = program.callee(callNode);
+        List<Integer> args = labelNode.getChildren();
+        if (labelNode.getLabel().equals("put")) {
+            callsGen(ast, args.get(0));
+            returnSize.push(0);
+            stackArg(ast, args.get(0), false);
+            callGen(callee, program.calleeRegion(callNode));
+            return;
+        }
+        if (callee instanceof Func) {
+            setNewFunc(true);
+            for (Integer arg : args) {
+                callsGen(ast, arg);
+                stackArg(ast, arg, true);
+                setNewFunc(false);
+            }
+            String returnType = ((Func) callee).getReturnType();
+            returnSize.push(returnType.isEmpty() ? 0 : tds.getOffsets().get(returnType));
+            stackReturn(callee, program.calleeRegion(callNode));
+        } else {
+            for (Integer arg : args) {
+                callsGen(ast, arg);
+                stackArg(ast, arg, false);
+            }
+            returnSize.push(0);
+        }
+        callGen(callee, program.calleeRegion(callNode));
+        removeNewFunc();
+    }
+
+    /* marks each instruction with the line of the Ada source it comes from, for the profiler */
+    public void setSourceLines(boolean sourceLines) {
+        this.sourceLines = sourceLines;
+    }
+
+    /* instructions the peephole rules removed so far */
+    public Peephole getPeephole() {
+        return peephole;
     }
 
     public void write(String s) {
@@ -90,38 +369,64 @@ public class CodeGenerator {
 
     public void procedureGen(String name, String last, String fatherName) {
         if (codeGenOn) {
-            stackFrames.push(new StackFrame(name + last));
-            initVars.push(new HashMap<>()); // -1 if default value (i.e. 0) else expression node
             callableElements.add(name);
             String label = name + callableElements.lastIndexOf(name) + "global";
+            stackFrames.push(new StackFrame(name + last, label));
+            stackFrames.peek().setLine(line);
+            initVars.push(new LinkedHashMap<>()); // -1 if default value (i.e. 0) else expression node
             if (fatherName == null) {
-                appendToBuffer("\tldr\tr10, =" + label + "\n\tldr\tr12, [r10]\n\tmov\tr10, r12\n\t;PARAMETERS\n");
+                code().address(Op.R10, label);
+                code().load(Op.R12, Op.R10, 0, null);
+                code().move(Op.R10, Op.R12, null);
+                appendToBuffer("\t;PARAMETERS\n");
                 startBufferAppend("\t" + label + "\tDCD\t0xFF000004\n");
-                endBufferAppend("end" + name + callableElements.lastIndexOf(name));
+                stackFrames.peek().getEndCode().entry("end" + name + callableElements.lastIndexOf(name), null);
                 return;
             }
             String labelParent = fatherName + callableElements.lastIndexOf(fatherName) + "global";
-            appendToBuffer("\tldr\tr10, =" + label + "\n\tldr\tr10, [r10]\n\tstmfd\tr13!, {r10}\n\tldr\tr10, =" + labelParent + "\n\tldr\tr10, [r10]\n\tstmfd\tr13!, {r10}\n\tmov\tr12, r13\n\tldr\tr10, =" + label + "\n\tstr\tr13, [r10]\n\tstmfd\tr13!, {r11}\n\tmov\tr11, r13\n");
-            appendToBuffer("\t;PARAMETERS\n");
-            startBufferAppend("\t" + label + "\tDCD\t0xFFFFFFFF\n");
-            endBufferAppend("end" + name + callableElements.lastIndexOf(name) + "\tmov\tr13, r11\n\tldmfd\tr13!, {r11}\n\tadd\tr13, r13, #4\n\tldr\tr10, =" + label + "\n\tldmfd\tr13!, {r12}\n\tstr\tr12, [r10]\n");
+            linkGen(name, label, labelParent);
         }
     }
 
     public void functionGen(String name, String last, String fatherName) {
         if (codeGenOn) {
-            stackFrames.push(new StackFrame(name + last));
-            initVars.push(new HashMap<>()); // -1 if default value (i.e. 0) else expression node
             callableElements.add(name);
             String label = name + callableElements.lastIndexOf(name) + "global";
+            stackFrames.push(new StackFrame(name + last, label));
+            stackFrames.peek().setLine(line);
+            initVars.push(new LinkedHashMap<>()); // -1 if default value (i.e. 0) else expression node
             String labelParent = fatherName + callableElements.lastIndexOf(fatherName) + "global";
-            appendToBuffer("\tldr\tr10, =" + label + "\n\tldr\tr10, [r10]\n\tstmfd\tr13!, {r10}\n\tldr\tr10, =" + labelParent + "\n\tldr\tr10, [r10]\n\tstmfd\tr13!, {r10}\n\tmov\tr12, r13\n\tldr\tr10, =" + label + "\n\tstr\tr13, [r10]\n\tstmfd\tr13!, {r11}\n\tmov\tr11, r13\n");
-            appendToBuffer("\t;PARAMETERS\n");
-            startBufferAppend("\t" + label + "\tDCD\t0xFFFFFFFF\n");
-            endBufferAppend("end" + name + callableElements.lastIndexOf(name) + "\tmov\tr13, r11\n\tldmfd\tr13!, {r11}\n\tadd\tr13, r13, #4\n\tldr\tr10, =" + label + "\n\tldmfd\tr13!, {r12}\n\tstr\tr12, [r10]\n");
+            linkGen(name, label, labelParent);
         }
     }
 
+    /* stacks the static links of a procedure or a function on entry and restores them on exit */
+    private void linkGen(String name, String label, String labelParent) {
+        Code code = code();
+        code.address(Op.R10, label);
+        code.load(Op.R10, Op.R10, 0, null);
+        code.push(Op.R10, null);
+        code.address(Op.R10, labelParent);
+        code.load(Op.R10, Op.R10, 0, null);
+        code.push(Op.R10, null);
+        code.move(Op.R12, Op.SP, null);
+        code.address(Op.R10, label);
+        code.store(Op.SP, Op.R10, 0, null);
+        code.push(Op.R11, null);
+        code.move(Op.R11, Op.SP, null);
+        appendToBuffer("\t;PARAMETERS\n");
+        startBufferAppend("\t" + label + "\tDCD\t0xFFFFFFFF\n");
+
+        Code end = stackFrames.peek().getEndCode();
+        end.entry("end" + name + callableElements.lastIndexOf(name), null);
+        end.move(Op.SP, Op.R11, null);
+        end.pop(Op.R11, null);
+        end.binaryImm(Op.ADD, Op.SP, Op.SP, 4, null);
+        end.address(Op.R10, label);
+        end.pop(Op.R12, null);
+        end.store(Op.R12, Op.R10, 0, null);
+    }
+
     public void switchForVar() {
         if (codeGenOn) {
             stackFrames.peek().switchVarBuffer();
@@ -130,7 +435,6 @@ public class CodeGenerator {
 
     public void varGen(GraphViz ast, List<Symbol> symbolsOfRegion, int lastOffset) {
         if (codeGenOn) {
-            isVarGen = true;
             this.stackFrames.peek().setIsVarGen(true);
             this.appendToBuffer("\t;VARIABLES\n");
             int offset;
@@ -141,7 +445,7 @@ public class CodeGenerator {
                 }
             }
             if (lastOffset != -1) {
-                this.appendToBuffer("\tsub\tr13, r13, #" + lastOffset + "\n");
+                code().locals(lastOffset);
             }
 
             // init vars
@@ -150,29 +454,16 @@ public class CodeGenerator {
                 int value = entry.getValue();
                 if (symbol instanceof Var) {
                     offset = ((Var) symbol).getOffset();
+                    int exprRegister = newRegister();
                     if (value == -1) {
-                        this.appendToBuffer("\tmov\tr10, #0\n\tstr\tr10, [r13, #" + (lastOffset - offset) + "]");
+                        code().constant(Op.AL, exprRegister, 0, null);
                     } else {
-                        int exprRegister = 0;
-                        boolean isRegisterBorrowed = false;
-                        try {
-                            exprRegister = this.stackFrames.peek().getRegisterManager().borrowRegister();
-                        } catch (RuntimeException e) {
-                            exprRegister = 0;
-                            this.appendToBuffer("\tstmfd\tr13!, {r" + exprRegister + "} ; No more register available, making space with memory stack\n");
-                        }
                         expressionGen(ast, value, exprRegister);
-                        this.appendToBuffer("\tstr\tr"+exprRegister+", [r13, #" + (lastOffset - offset) + "]");
-                        if (isRegisterBorrowed) {
-                            this.appendToBuffer("\tldmfd\tr13!, {r" + exprRegister + "} ; Freeing memory stack\n");
-                        } else {
-                            this.stackFrames.peek().getRegisterManager().freeRegister(exprRegister);
-                        }
                     }
-                    this.appendToBuffer("\t; Init " + symbol.getName() + "\n");
+                    // from the frame pointer, the stack pointer is also below the spill slots
+                    code().store(exprRegister, Op.R11, -offset, "Init " + symbol.getName());
                 }
             }
-            isVarGen = false;
             this.stackFrames.peek().setIsVarGen(false);
         }
     }
@@ -180,27 +471,53 @@ public class CodeGenerator {
     public void appendToBuffer(String s) {
         if (codeGenOn) {
             if (!stackFrames.isEmpty()) {
-                if (isVarGen) {
-                    stackFrames.peek().getVarBuffer().append(s);
-                } else {
-                    stackFrames.peek().getBuffer().append(s);
-                }
+                code().text(s);
             }
         }
     }
 
-    public void endBufferAppend(String s) {
+    private void label(String label, String comment) {
         if (codeGenOn) {
-            if (!stackFrames.isEmpty()) {
-                stackFrames.peek().getEndBuffer().append(s);
+            code().label(label, comment);
+        }
+    }
+
+    private void branch(int cond, String label, String comment) {
+        if (codeGenOn) {
+            code().branch(cond, label, comment);
+        }
+    }
+
+    /* code of a condition, then a jump to a label when it is false */
+    private void conditionGen(GraphViz ast, int expression, String label, String comment) {
+        if (codeGenOn) {
+            if (folder.isConstant(expression)) {
+                // known condition, always or never jumping
+                if (folder.value(expression) == 0) {
+                    code().branch(Op.AL, label, comment);
+                }
+                return;
             }
+            int register = newRegister();
+            expressionGen(ast, expression, register);
+            code().compareImm(register, 0, "Condition");
+            code().branch(Op.EQ, label, comment);
         }
     }
 
+    /* code of the instructions being generated */
+    private Code code() {
+        return stackFrames.peek().getCode();
+    }
+
+    private int newRegister() {
+        return stackFrames.peek().newRegister();
+    }
+
     public void startBufferAppend(String s) {
         if (codeGenOn) {
             if (!stackFrames.isEmpty()) {
-                stackFrames.firstElement().getStartBuffer().append(s);
+                stackFrames.firstElement().getStartCode().text(s);
             }
         }
     }
@@ -209,7 +526,9 @@ public class CodeGenerator {
         if (codeGenOn) {
             if (!stackFrames.isEmpty()) {
                 StackFrame stackFrame = stackFrames.pop();
-                asmStack.push(stackFrame.toString(stackFrames.isEmpty()));
+                stackFrame.close(stackFrames.isEmpty(), peephole);
+                savedBytes.put(stackFrame.getName(), stackFrame.getSavedBytes());
+                asmStack.push(stackFrame);
             }
         }
     }
@@ -228,7 +547,7 @@ public class CodeGenerator {
 
             // write the content of the asmStack
             while (!asmStack.isEmpty()) {
-                this.write(asmStack.pop());
+                this.write(asmStack.pop().toString(savedBytes));
             }
 
             // copy the content of the its.s file at the end of the output file
@@ -256,33 +575,14 @@ public class CodeGenerator {
     }
 
     public void assignationGen(GraphViz ast, Node node) {
-        int exprRegister = 0;
-        boolean isRegisterBorrowed = false;
-        try {
-            exprRegister = stackFrames.peek().getRegisterManager().borrowRegister();
-        } catch (RuntimeException e) {
-            exprRegister = 0;
-            isRegisterBorrowed = true;
-            appendToBuffer("\tstmfd\tr13!, {r" + exprRegister + "} ; No more register available, making space with memory stack\n");
-        }
+        int exprRegister = newRegister();
         expressionGen(ast, node.getChildren().get(1), exprRegister);
 
         // Get the var to assign
         Node node1 = ast.getTree().nodes.get(node.getChildren().get(0));
+        int varNode = node1.getId();
         String type = node1.getLabel();
-        int addressReg;
-        boolean isRegisterAddressBorrowed = false;
-        try {
-            addressReg = stackFrames.peek().getRegisterManager().borrowRegister();
-        } catch (RuntimeException e) {
-            if (exprRegister != 0) {
-                addressReg = 0;
-            } else {
-                addressReg = 1;
-            }
-            isRegisterAddressBorrowed = true;
-            appendToBuffer("\tstmfd\tr13!, {r" + addressReg + "} ; No more register available, making space with memory stack\n");
-        }
+        int addressReg = newRegister();
         // Set the value
         // access record case
         List<String> fields = new ArrayList<>();
@@ -296,219 +596,94 @@ public class CodeGenerator {
         }
         type = String.join(".", fields);
 
-        Record record = getVarAddress(type, addressReg);
+        Record record = getVarAddress(varNode, type, addressReg);
         if (record != null) { // several fields need to be accessed
-            Symbol symbol = getSymbolFromLabel(ast.getTree().nodes.get(node.getChildren().get(1)).getLabel(), stack.peek());
-            if (symbol instanceof Param) {
-                copyStructs(record, addressReg, exprRegister, 0, true);
-            } else {
-                copyStructs(record, addressReg, exprRegister, 0, false);
-            }
+            copyStructs(record, addressReg, exprRegister);
         } else {
-            appendToBuffer("\tstr\tr" + exprRegister + ", [r" + addressReg + "] ; Assigning value to var : " + type + "\n");
-        }
-
-        if (isRegisterAddressBorrowed) {
-            appendToBuffer("\tldmfd\tr13!, {r" + addressReg + "} ; Freeing memory stack\n"); // Free the register
-        } else {
-            stackFrames.peek().getRegisterManager().freeRegister(addressReg);
-        }
-        if (isRegisterBorrowed) {
-            appendToBuffer("\tldmfd\tr13!, {r" + exprRegister + "} ; Freeing memory stack\n"); // Free the register
-        } else {
-            stackFrames.peek().getRegisterManager().freeRegister(exprRegister);
+            code().store(exprRegister, addressReg, 0, "Assigning value to var : " + type);
         }
     }
 
     public void stackArg(GraphViz ast, Integer nodeInt, boolean isFunc) {
         if (codeGenOn) {
-            int register;
-            boolean isRegisterBorrowed = false;
-            try {
-                register = stackFrames.peek().getRegisterManager().borrowRegister();
-            } catch (RuntimeException e) {
-                register = 0;
-                isRegisterBorrowed = true;
-                appendToBuffer("\tsub\tr13, r13, #4 ; keeping some space to stack the arg\n\tstmfd\tr13!, {r" + register + "} ; No more register available, making space with memory stack\n");
-            }
+            int register = newRegister();
             int offset;
             if ((offset = expressionGen(ast, nodeInt, register)) != 0) {
-                for (int o = 0; o < offset; o += 4) {
-                    if (isRegisterBorrowed) {
-                        appendToBuffer("\tldr\tr10, [r13, #" + o + "] ; Getting value of var\n");
-                        appendToBuffer("\tstmfd\tr13!, {r10} ; Stacking the arg\n");
-                    } else {
-                        appendToBuffer("\tldr\tr10, [r" + register + ", #" + o + "] ; Getting value of var\n");
-                        appendToBuffer("\tstmfd\tr13!, {r10} ; Stacking the arg\n");
-                    }
-                }
-
-                if (isFunc) {
-                    if (newFunc.peek()) {
-                        paramSize.push(0);
-                    }
-                    paramSize.push((paramSize.pop() + offset));
-                }
-
-                if (isRegisterBorrowed) {
-                    appendToBuffer("\tldmfd\tr13!, {r" + register + "} ; Freeing memory stack\n");
-                } else {
-                    stackFrames.peek().getRegisterManager().freeRegister(register);
-                }
-                return;
-            }
-
-            if (isRegisterBorrowed) {
-                appendToBuffer("\tstr\tr" + register + ", [r13, #4] ; Stacking the arg\n");
-                appendToBuffer("\tldmfd\tr13!, {r" + register + "} ; Freeing memory stack\n");
-                if (isFunc) {
-                    if (newFunc.peek()) {
-                        paramSize.push(0);
-                    }
-                    paramSize.push((paramSize.pop() + 4));
-                }
+                // pushed from its last word, so that the record keeps its layout on the stack
+                code().binaryImm(Op.ADD, register, register, offset, null);
+                code().copy(newRegister(), register, Op.SP, offset / 4, true, "Stacking the arg");
             } else {
-                appendToBuffer("\tstmfd\tr13!, {r" + register + "} ; Stacking the arg\n");
-                if (isFunc) {
-                    if (newFunc.peek()) {
-                        paramSize.push(0);
-                    }
-                    paramSize.push((paramSize.pop() + 4));
+                offset = 4;
+                code().push(register, "Stacking the arg");
+            }
+            if (isFunc) {
+                if (newFunc.peek()) {
+                    paramSize.push(0);
                 }
-                stackFrames.peek().getRegisterManager().freeRegister(register);
+                paramSize.push((paramSize.pop() + offset));
             }
         }
     }
 
-    public void forCheckEnd(GraphViz ast, String var, int nodeVal, boolean reversed) {
+    public void forCheckEnd(GraphViz ast, int varNode, String var, int nodeVal, boolean reversed) {
         if(codeGenOn) {
-            int exprRegister = 0;
-            boolean isRegisterBorrowed = false;
-            try {
-                exprRegister = stackFrames.peek().getRegisterManager().borrowRegister();
-            } catch (RuntimeException e) {
-                exprRegister = 0;
-                isRegisterBorrowed = true;
-                appendToBuffer("\tstmfd\tr13!, {r" + exprRegister + "} ; No more register available, making space with memory stack\n");
-            }
-
-            getVarAddress(var, exprRegister);
-            appendToBuffer("\tldr r10, [r" + exprRegister + "] ; Getting value of for var\n");
-            appendToBuffer("\tldr r"+exprRegister+", [r" + exprRegister + ", #4] ; Getting end value of for\n");
-            appendToBuffer("\tcmp\tr10, r" + exprRegister + " ; Condition\n");
-
-            if (isRegisterBorrowed) {
-                appendToBuffer("\tldmfd\tr13!, {r" + exprRegister + "} ; Freeing memory stack\n"); // Free the register
-            } else {
-                stackFrames.peek().getRegisterManager().freeRegister(exprRegister);
-            }
+            forCompare(varNode, var);
         }
     }
 
-    public void forCheckError(GraphViz ast, String var, int nodeVal, boolean reversed) {
+    public void forCheckError(GraphViz ast, int varNode, String var, int nodeVal, boolean reversed) {
         if(codeGenOn) {
-            int exprRegister = 0;
-            boolean isRegisterBorrowed = false;
-            try {
-                exprRegister = stackFrames.peek().getRegisterManager().borrowRegister();
-            } catch (RuntimeException e) {
-                exprRegister = 0;
-                isRegisterBorrowed = true;
-                appendToBuffer("\tstmfd\tr13!, {r" + exprRegister + "} ; No more register available, making space with memory stack\n");
-            }
-
-            getVarAddress(var, exprRegister);
-            appendToBuffer("\tldr r10, [r" + exprRegister + "] ; Getting value of for var\n");
-            appendToBuffer("\tldr r"+exprRegister+", [r" + exprRegister + ", #4] ; Getting end value of for\n");
-            appendToBuffer("\tcmp\tr10, r" + exprRegister + " ; Condition\n");
+            forCompare(varNode, var);
 
 //            handling infinite loop
             if (reversed) {
-                appendToBuffer("\tblt\treversed_for_err ; Error if the condition is never met\n");
-            } else {
-                appendToBuffer("\tbgt\tfor_err ; Error if the condition is never met\n");
-            }
-
-            if (isRegisterBorrowed) {
-                appendToBuffer("\tldmfd\tr13!, {r" + exprRegister + "} ; Freeing memory stack\n"); // Free the register
+                code().branch(Op.LT, "reversed_for_err", "Error if the condition is never met");
             } else {
-                stackFrames.peek().getRegisterManager().freeRegister(exprRegister);
+                code().branch(Op.GT, "for_err", "Error if the condition is never met");
             }
         }
     }
 
+    /* compares the for var with the end value of the loop, stored right after it */
+    private void forCompare(int varNode, String var) {
+        int address = newRegister();
+        getVarAddress(varNode, var, address);
+        int value = newRegister();
+        code().load(value, address, 0, "Getting value of for var");
+        int end = newRegister();
+        code().load(end, address, 4, "Getting end value of for");
+        code().compare(value, end, "Condition");
+    }
+
     public void forInitGen(GraphViz ast, List<Integer> children, String type, int begin, int end) {
-        int exprRegister = 0;
-        boolean isRegisterBorrowed = false;
-        try {
-            exprRegister = stackFrames.peek().getRegisterManager().borrowRegister();
-        } catch (RuntimeException e) {
-            exprRegister = 0;
-            isRegisterBorrowed = true;
-            appendToBuffer("\tstmfd\tr13!, {r" + exprRegister + "} ; No more register available, making space with memory stack\n");
-        }
+        int exprRegister = newRegister();
         expressionGen(ast, children.get(end), exprRegister);
 
-
         // Get the var to assign
-        int addressReg;
-        boolean isRegisterAddressBorrowed = false;
-        try {
-            addressReg = stackFrames.peek().getRegisterManager().borrowRegister();
-        } catch (RuntimeException e) {
-            if (exprRegister != 0) {
-                addressReg = 0;
-            } else {
-                addressReg = 1;
-            }
-            isRegisterAddressBorrowed = true;
-            appendToBuffer("\tstmfd\tr13!, {r" + addressReg + "} ; No more register available, making space with memory stack\n");
-        }
+        int addressReg = newRegister();
         // Set the value
-        getVarAddress(type, addressReg);
+        getVarAddress(children.get(0), type, addressReg);
 
-        appendToBuffer("\tstr\tr" + exprRegister + ", [r" + addressReg + ", #4] ; Assigning end value of for loop\n");
+        code().store(exprRegister, addressReg, 4, "Assigning end value of for loop");
 
-        expressionGen(ast, children.get(begin), exprRegister);
-        appendToBuffer("\tstr\tr" + exprRegister + ", [r" + addressReg + "] ; Assigning begin value of for loop to var : " + type + "\n");
-
-        if (isRegisterAddressBorrowed) {
-            appendToBuffer("\tldmfd\tr13!, {r" + addressReg + "} ; Freeing memory stack\n"); // Free the register
-        } else {
-            stackFrames.peek().getRegisterManager().freeRegister(addressReg);
-        }
-        if (isRegisterBorrowed) {
-            appendToBuffer("\tldmfd\tr13!, {r" + exprRegister + "} ; Freeing memory stack\n"); // Free the register
-        } else {
-            stackFrames.peek().getRegisterManager().freeRegister(exprRegister);
-        }
+        int beginRegister = newRegister();
+        expressionGen(ast, children.get(begin), beginRegister);
+        code().store(beginRegister, addressReg, 0, "Assigning begin value of for loop to var : " + type);
     }
 
-    public void forIncrement(String var, boolean reverse) {
+    public void forIncrement(int varNode, String var, boolean reverse) {
         if(codeGenOn){
-            int exprRegister = 0;
-            boolean isRegisterBorrowed = false;
-            try {
-                exprRegister = stackFrames.peek().getRegisterManager().borrowRegister();
-            } catch (RuntimeException e) {
-                exprRegister = 0;
-                isRegisterBorrowed = true;
-                appendToBuffer("\tstmfd\tr13!, {r" + exprRegister + "} ; No more register available, making space with memory stack\n");
-            }
-
-            getVarAddress(var, exprRegister);
+            int address = newRegister();
+            getVarAddress(varNode, var, address);
 
+            int value = newRegister();
+            code().load(value, address, 0, "getting var value");
             if(reverse) {
-                appendToBuffer("\tldr\tr10, [r"+exprRegister+"] ; getting var value\n\tsub\tr10, r10, #1\n\tstr\tr10, [r"+exprRegister+"] ; var = var - 1\n");
+                code().binaryImm(Op.SUB, value, value, 1, null);
+                code().store(value, address, 0, "var = var - 1");
             } else {
-                appendToBuffer("\tldr\tr10, [r"+exprRegister+"] ; getting var value\n\tadd\tr10, r10, #1\n\tstr\tr10, [r"+exprRegister+"] ; var = var + 1\n");
-            }
-
-
-            if (isRegisterBorrowed) {
-                appendToBuffer("\tldmfd\tr13!, {r" + exprRegister + "} ; Freeing memory stack\n"); // Free the register
-            } else {
-                stackFrames.peek().getRegisterManager().freeRegister(exprRegister);
+                code().binaryImm(Op.ADD, value, value, 1, null);
+                code().store(value, address, 0, "var = var + 1");
             }
         }
     }
@@ -519,11 +694,7 @@ public class CodeGenerator {
             String type = node.getLabel();
             try {
                 int number = Integer.parseInt(type);
-                if (number > 256) {
-                    appendToBuffer("\tldr\tr" + returnRegister + ", =" + number + " ; Generating number for expression\n");
-                } else {
-                    appendToBuffer("\tmov\tr" + returnRegister + ", #" + number + " ; Generating number for expression\n");
-                }
+                code().constant(Op.AL, returnRegister, number, "Generating number for expression");
                 return 0;
             } catch (NumberFormatException e) {
                 // Not a number so we continue
@@ -531,212 +702,122 @@ public class CodeGenerator {
 
             // check if it's a character
             if (type.charAt(0) == '\'') {
-                appendToBuffer("\tmov\tr" + returnRegister + ", #" + (int) type.charAt(1) + " ; Generating character for expression\n");
+                code().constant(Op.AL, returnRegister, type.charAt(1), "Generating character for expression");
                 return 0;
             }
 
             // check if it's a boolean
             if (type.equals("true")) {
-                appendToBuffer("\tmov\tr" + returnRegister + ", #1 ; Generating boolean for expression\n");
+                code().constant(Op.AL, returnRegister, 1, "Generating boolean for expression");
                 return 0;
             } else if (type.equals("false")) {
-                appendToBuffer("\tmov\tr" + returnRegister + ", #0 ; Generating boolean for expression\n");
+                code().constant(Op.AL, returnRegister, 0, "Generating boolean for expression");
+                return 0;
+            }
+
+            if (folder.isConstant(nodeInt)) {
+                code().constant(Op.AL, returnRegister, folder.value(nodeInt), "Generating folded constant for expression");
                 return 0;
             }
+            // an operand neutral for the operation leaves the code of the other one
+            int kept = neutralOperand(ast, node);
+            if (kept >= 0) {
+                return expressionGen(ast, kept, returnRegister);
+            }
 
-            int register1; // default value -1
-            boolean isR1Borrowed = false;
+            int register1 = newRegister();
+            String left = node.getChildren().size() > 0 ? childLabel(ast, node, 0) : null;
+            String right = node.getChildren().size() > 1 ? childLabel(ast, node, 1) : null;
 
             switch (type) {
                 case "*":
-                    expressionGen(ast, node.getChildren().get(1), returnRegister);
-                    try { // If no register available, we use memory stack
-                        register1 = stackFrames.peek().getRegisterManager().borrowRegister();
-                    } catch (RuntimeException e) {
-                        if (returnRegister != 0) {
-                            register1 = 0;
-                        } else {
-                            register1 = 1;
-                        }
-                        appendToBuffer("\tstmfd\tr13!, {r" + register1 + "} ; No more register available, making space with memory stack\n");
-                        isR1Borrowed = true;
-                    }
-                    expressionGen(ast, node.getChildren().get(0), register1);
-                    appendToBuffer("\n\tstmfd\tr13!, {r" + returnRegister + ",r" + register1 + "} ; Block for multiplication : " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + " * " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + "\n\tsub\tr13, r13, #4\n\tbl\tmul\n\tldr r" + returnRegister + ", [r13]\n\tadd\tr13, r13, #4*3 ; 2 paramètres et 1 valeur de retour\n\n");
+                    multiplicationGen(ast, node, returnRegister, register1, "Block for multiplication : " + right + " * " + left);
                     break;
                 case "/":
-                    expressionGen(ast, node.getChildren().get(1), returnRegister);
-                    try { // If no register available, we use memory stack
-                        register1 = stackFrames.peek().getRegisterManager().borrowRegister();
-                    } catch (RuntimeException e) {
-                        if (returnRegister != 0) {
-                            register1 = 0;
-                        } else {
-                            register1 = 1;
-                        }
-                        appendToBuffer("\tstmfd\tr13!, {r" + register1 + "} ; No more register available, making space with memory stack\n");
-                        isR1Borrowed = true;
-                    }
-                    expressionGen(ast, node.getChildren().get(0), register1);
-                    appendToBuffer("\tstmfd\tr13!, {r" + returnRegister + "} ; Block for division : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " / " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n\tstmfd\tr13!, {r" + register1 + "}\n\tsub\tr13, r13, #4\n\tbl\tdiv\n\tldr r" + returnRegister + ", [r13]\n\tadd\tr13, r13, #4*3 ; 2 paramètres et 1 valeur de retour\n\n");
+                    divisionGen(ast, node, "div", returnRegister, register1, "Block for division : " + left + " / " + right);
                     break;
                 case "rem":
-                    expressionGen(ast, node.getChildren().get(1), returnRegister);
-                    try { // If no register available, we use memory stack
-                        register1 = stackFrames.peek().getRegisterManager().borrowRegister();
-                    } catch (RuntimeException e) {
-                        if (returnRegister != 0) {
-                            register1 = 0;
-                        } else {
-                            register1 = 1;
-                        }
-                        appendToBuffer("\tstmfd\tr13!, {r" + register1 + "} ; No more register available, making space with memory stack\n");
-                        isR1Borrowed = true;
-                    }
-                    expressionGen(ast, node.getChildren().get(0), register1);
-                    appendToBuffer("\tstmfd\tr13!, {r" + returnRegister + "} ; Block for remainder : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " rem " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n\tstmfd\tr13!, {r" + register1 + "}\n\tsub\tr13, r13, #4\n\tbl\trem\n\tldr r" + returnRegister + ", [r13]\n\tadd\tr13, r13, #4*3 ; 2 paramètres et 1 valeur de retour\n\n");
+                    divisionGen(ast, node, "rem", returnRegister, register1, "Block for remainder : " + left + " rem " + right);
                     break;
                 case "+":
                     expressionGen(ast, node.getChildren().get(0), returnRegister);
-                    try { // If no register available, we use memory stack
-                        register1 = stackFrames.peek().getRegisterManager().borrowRegister();
-                    } catch (RuntimeException e) {
-                        if (returnRegister != 0) {
-                            register1 = 0;
-                        } else {
-                            register1 = 1;
-                        }
-                        appendToBuffer("\tstmfd\tr13!, {r" + register1 + "} ; No more register available, making space with memory stack\n");
-                        isR1Borrowed = true;
-                    }
                     expressionGen(ast, node.getChildren().get(1), register1);
-                    appendToBuffer("\tadd\tr" + returnRegister + ", r" + returnRegister + ", r" + register1 + " ; Block for addition : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " + " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n\n");
+                    code().binary(Op.ADD, returnRegister, returnRegister, register1, "Block for addition : " + left + " + " + right);
                     break;
                 case "-":
                     expressionGen(ast, node.getChildren().get(1), returnRegister);
-                    try { // If no register available, we use memory stack
-                        register1 = stackFrames.peek().getRegisterManager().borrowRegister();
-                    } catch (RuntimeException e) {
-                        if (returnRegister != 0) {
-                            register1 = 0;
-                        } else {
-                            register1 = 1;
-                        }
-                        appendToBuffer("\tstmfd\tr13!, {r" + register1 + "} ; No more register available, making space with memory stack\n");
-                        isR1Borrowed = true;
-                    }
                     expressionGen(ast, node.getChildren().get(0), register1);
-                    if (ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() != "CALL" | ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() != "CALL") { // if there is 2 CALL, the first picked value will be the second returned value, so we switch
-                        appendToBuffer("\tsub\tr" + returnRegister + ", r" + returnRegister + ", r" + register1 + " ; Block for substraction : " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + " - " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + "\n\n");
+                    if (!right.equals("CALL") || !left.equals("CALL")) { // if there is 2 CALL, the first picked value will be the second returned value, so we switch
+                        code().binary(Op.SUB, returnRegister, returnRegister, register1, "Block for substraction : " + right + " - " + left);
                     } else {
-                        appendToBuffer("\tsub\tr" + returnRegister + ", r" + register1 + ", r" + returnRegister + " ; Block for substraction : " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + " - " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + "\n\n");
+                        code().binary(Op.SUB, returnRegister, register1, returnRegister, "Block for substraction : " + right + " - " + left);
                     }
                     break;
                 case "=", "/=", ">", ">=", "<", "<=", "OR", "AND":
                     expressionGen(ast, node.getChildren().get(1), returnRegister);
-                    try { // If no register available, we use memory stack
-                        register1 = stackFrames.peek().getRegisterManager().borrowRegister();
-                    } catch (RuntimeException e) {
-                        if (returnRegister != 0) {
-                            register1 = 0;
-                        } else {
-                            register1 = 1;
-                        }
-                        appendToBuffer("\tstmfd\tr13!, {r" + register1 + "} ; No more register available, making space with memory stack\n");
-                        isR1Borrowed = true;
-                    }
                     expressionGen(ast, node.getChildren().get(0), register1);
                     switch (type) {
                         case "=":
-                            appendToBuffer("\tcmp\tr" + register1 + ", r" + returnRegister + " ; Block for equality : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " = " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n");
-                            appendToBuffer("\tmoveq\tr" + returnRegister + ", #1\n\tmovne\tr" + returnRegister + ", #0\n\n");
+                            comparisonGen(Op.EQ, returnRegister, register1, left + " = " + right);
                             break;
                         case "/=":
-                            appendToBuffer("\tcmp\tr" + register1 + ", r" + returnRegister + " ; Block for equality : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " /= " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n");
-                            appendToBuffer("\tmovne\tr" + returnRegister + ", #1\n\tmoveq\tr" + returnRegister + ", #0\n\n");
+                            comparisonGen(Op.NE, returnRegister, register1, left + " /= " + right);
                             break;
                         case ">":
-                            appendToBuffer("\tcmp\tr" + register1 + ", r" + returnRegister + " ; Block for equality : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " > " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n");
-                            appendToBuffer("\tmovgt\tr" + returnRegister + ", #1\n\tmovle\tr" + returnRegister + ", #0\n\n");
+                            comparisonGen(Op.GT, returnRegister, register1, left + " > " + right);
                             break;
                         case ">=":
-                            appendToBuffer("\tcmp\tr" + register1 + ", r" + returnRegister + " ; Block for equality : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " >= " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n");
-                            appendToBuffer("\tmovge\tr" + returnRegister + ", #1\n\tmovlt\tr" + returnRegister + ", #0\n\n");
+                            comparisonGen(Op.GE, returnRegister, register1, left + " >= " + right);
                             break;
                         case "<":
-                            appendToBuffer("\tcmp\tr" + register1 + ", r" + returnRegister + " ; Block for equality : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " < " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n");
-                            appendToBuffer("\tmovlt\tr" + returnRegister + ", #1\n\tmovge\tr" + returnRegister + ", #0\n\n");
+                            comparisonGen(Op.LT, returnRegister, register1, left + " < " + right);
                             break;
                         case "<=":
-                            appendToBuffer("\tcmp\tr" + register1 + ", r" + returnRegister + " ; Block for equality : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " <= " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n");
-                            appendToBuffer("\tmovle\tr" + returnRegister + ", #1\n\tmovgt\tr" + returnRegister + ", #0\n\n");
+                            comparisonGen(Op.LE, returnRegister, register1, left + " <= " + right);
                             break;
                         case "OR":
-                            appendToBuffer("\torr\tr" + returnRegister + ", r" + returnRegister + ", r" + register1 + "\n\n");
+                            code().binary(Op.ORR, returnRegister, returnRegister, register1, null);
                             break;
                         case "AND":
-                            appendToBuffer("\tand\tr" + returnRegister + ", r" + returnRegister + ", r" + register1 + "\n\n");
+                            code().binary(Op.AND, returnRegister, returnRegister, register1, null);
                             break;
                     }
                     break;
                 case "OR ELSE", "AND THEN":
                     expressionGen(ast, node.getChildren().get(0), returnRegister);
-                    try { // If no register available, we use memory stack
-                        register1 = stackFrames.peek().getRegisterManager().borrowRegister();
-                    } catch (RuntimeException e) {
-                        if (returnRegister != 0) {
-                            register1 = 0;
-                        } else {
-                            register1 = 1;
-                        }
-                        appendToBuffer("\tstmfd\tr13!, {r" + register1 + "} ; No more register available, making space with memory stack\n");
-                        isR1Borrowed = true;
-                    }
                     switch (type) {
                         case "OR ELSE":
-                            appendToBuffer("\tcmp\tr" + returnRegister + ", #1 ; Block for OR ELSE : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " OR ELSE " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n");
-                            appendToBuffer("\tmoveq\tr" + returnRegister + ", #1\n");
-                            appendToBuffer("\tbeq\torelse" + nodeInt + "_end\n");
+                            code().compareImm(returnRegister, 1, "Block for OR ELSE : " + left + " OR ELSE " + right);
+                            code().constant(Op.EQ, returnRegister, 1, null);
+                            code().branch(Op.EQ, "orelse" + nodeInt + "_end", null);
                             expressionGen(ast, node.getChildren().get(1), register1);
-                            appendToBuffer("\torr\tr" + returnRegister + ", r" + returnRegister + ", r" + register1 + "\n\n");
-                            appendToBuffer("\torelse" + nodeInt + "_end\n");
+                            code().binary(Op.ORR, returnRegister, returnRegister, register1, null);
+                            code().label("orelse" + nodeInt + "_end", null);
                             break;
                         case "AND THEN":
-                            appendToBuffer("\tcmp\tr" + returnRegister + ", #0 ; Block for AND THEN : " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + " AND THEN " + ast.getTree().nodes.get(node.getChildren().get(1)).getLabel() + "\n");
-                            appendToBuffer("\tmoveq\tr" + returnRegister + ", #0\n");
-                            appendToBuffer("\tbeq\tandthen" + nodeInt + "_end\n");
+                            code().compareImm(returnRegister, 0, "Block for AND THEN : " + left + " AND THEN " + right);
+                            code().constant(Op.EQ, returnRegister, 0, null);
+                            code().branch(Op.EQ, "andthen" + nodeInt + "_end", null);
                             expressionGen(ast, node.getChildren().get(1), register1);
-                            appendToBuffer("\tand\tr" + returnRegister + ", r" + returnRegister + ", r" + register1 + "\n\n");
-                            appendToBuffer("\tandthen" + nodeInt + "_end\n");
+                            code().binary(Op.AND, returnRegister, returnRegister, register1, null);
+                            code().label("andthen" + nodeInt + "_end", null);
                             break;
                     }
                     break;
                 case "NOT":
                     expressionGen(ast, node.getChildren().get(0), returnRegister);
-                    try { // If no register available, we use memory stack
-                        register1 = stackFrames.peek().getRegisterManager().borrowRegister();
-                    } catch (RuntimeException e) {
-                        if (returnRegister != 0) {
-                            register1 = 0;
-                        } else {
-                            register1 = 1;
-                        }
-                        appendToBuffer("\tstmfd\tr13!, {r" + register1 + "} ; No more register available, making space with memory stack\n");
-                        isR1Borrowed = true;
-                    }
-                    appendToBuffer("\tmov\tr" + register1 + ", #1\n");
-                    appendToBuffer("\tsub\tr" + returnRegister + ", r" + register1 + ", r" + returnRegister + " ; Block for NOT : NOT " + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + "\n\n");
+                    code().binaryImm(Op.RSB, returnRegister, returnRegister, 1, "Block for NOT : NOT " + left);
                     break;
                 case "CALL":
                     int tmp = paramSize.pop(); // get the size of the parameters
                     int tmp1 = returnSize.pop(); // get the size of the return
                     // handle record case
                     if (tmp1 > 4) {
-                        appendToBuffer("\tmov\tr" + returnRegister + ", r13 ; getting return value @ for expression (struct)\n");
-                        appendToBuffer("\tadd\tr13, r13, #" + (tmp + tmp1) + " ; freeing the space of the parameters\n");
+                        code().move(returnRegister, Op.SP, "getting return value @ for expression (struct)");
+                        code().binaryImm(Op.ADD, Op.SP, Op.SP, tmp + tmp1, "freeing the space of the parameters");
                     } else {
-                        appendToBuffer("\tldmfd\tr13!, {r" + returnRegister + "} ; getting return value for expression\n");
-                        appendToBuffer("\tadd\tr13, r13, #" + tmp + " ; freeing the space of the parameters\n");
+                        code().pop(returnRegister, "getting return value for expression");
+                        code().binaryImm(Op.ADD, Op.SP, Op.SP, tmp, "freeing the space of the parameters");
                     }
 
                     if(paramSize.size() == 0) {
@@ -745,15 +826,14 @@ public class CodeGenerator {
                     return tmp1 == 4 ? 0 : tmp1;
                 case "CHARACTER'VAL":
                     expressionGen(ast, node.getChildren().get(0), returnRegister);
-                    appendToBuffer("\tcmp\tr" + returnRegister + ", #127 ; Dynamic semantic control, is character'val between 1 and 127\n");
-                    appendToBuffer("\tbgt\tchar_val_err\n");
-                    appendToBuffer("\tcmp\tr" + returnRegister + ", #0 ; Dynamic semantic control, is character'val between 1 and 127\n");
-                    appendToBuffer("\tblt\tchar_val_err\n");
+                    code().compareImm(returnRegister, 127, "Dynamic semantic control, is character'val between 1 and 127");
+                    code().branch(Op.GT, "char_val_err", null);
+                    code().compareImm(returnRegister, 0, "Dynamic semantic control, is character'val between 1 and 127");
+                    code().branch(Op.LT, "char_val_err", null);
                     return 0;
                 case "UNARY":
                     expressionGen(ast, node.getChildren().get(0), returnRegister);
-                    appendToBuffer("\tmov\tr10, #0\n");
-                    appendToBuffer("\tsub\tr" + returnRegister + ", r10, r" + returnRegister + " ; Block for unary : -" + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + "\n\n");
+                    code().binaryImm(Op.RSB, returnRegister, returnRegister, 0, "Block for unary : -" + left);
                     return 0;
                 default: // Variable à aller chercher
                     // access record case
@@ -761,27 +841,179 @@ public class CodeGenerator {
                     fields.add(type);
                     Node nodeAccessIdent, nodeField;
                     while (!node.getChildren().isEmpty()) {
-//                        for (int i = 0; i < node.getChildren().size(); i++) {
-//                            nodeField = ast.getTree().nodes.get(node.getChildren().get(i));
-//                        }
                         nodeAccessIdent = ast.getTree().nodes.get(node.getChildren().get(0));
                         nodeField = ast.getTree().nodes.get(nodeAccessIdent.getChildren().get(0));
                         fields.add(nodeField.getLabel());
                         node = nodeField;
                     }
 
-                    return getVar(String.join(".", fields), returnRegister);
-//                    appendToBuffer("\t; Unhandeled expression (for the moment) : " + type + "\n");
-//                    throw new RuntimeException("Unhandeled expression : " + type);
-//                    return 0;
+                    return getVar(nodeInt, String.join(".", fields), returnRegister);
+            }
+        }
+        return 0;
+    }
+
+    /* product by a shift, or a shifted addition or subtraction, when a factor is a constant 2^k or 2^k +/- 1,
+     * by the mul instruction otherwise */
+    private void multiplicationGen(GraphViz ast, Node node, int returnRegister, int register1, String comment) {
+        int left = node.getChildren().get(0);
+        int right = node.getChildren().get(1);
+        int constant = folder.isConstant(left) ? left : folder.isConstant(right) ? right : -1;
+        if (constant >= 0) {
+            int factor = folder.value(constant);
+            int shift = -1;
+            int op = Op.LSL;
+            if (factor > 1 && Integer.bitCount(factor) == 1) {
+                shift = Integer.numberOfTrailingZeros(factor);
+            } else if (factor > 2 && Integer.bitCount(factor - 1) == 1) {
+                shift = Integer.numberOfTrailingZeros(factor - 1);
+                op = Op.ADD;
+            } else if (factor > 2 && Integer.bitCount(factor + 1) == 1) {
+                shift = Integer.numberOfTrailingZeros(factor + 1);
+                op = Op.RSB;
+            }
+            if (shift >= 0) {
+                expressionGen(ast, constant == left ? right : left, returnRegister);
+                if (op == Op.LSL) {
+                    code().binaryImm(Op.LSL, returnRegister, returnRegister, shift, comment);
+                } else {
+                    code().binaryShifted(op, returnRegister, returnRegister, returnRegister, shift, comment);
+                }
+                return;
+            }
+        }
+        expressionGen(ast, right, returnRegister);
+        expressionGen(ast, left, register1);
+        code().binary(Op.MUL, returnRegister, register1, returnRegister, comment);
+    }
+
+    /* call of the div or rem subroutine, behind an inline fast path when the dividend is not negative
+     * and the divisor is positive: there they give the truncated quotient and its remainder.
+     * The divisor is in returnRegister and the dividend in register1 for the subroutine. */
+    private void divisionGen(GraphViz ast, Node node, String routine, int returnRegister, int register1, String comment) {
+        int dividend = node.getChildren().get(0);
+        int divisor = node.getChildren().get(1);
+        expressionGen(ast, divisor, returnRegister);
+        expressionGen(ast, dividend, register1);
+        boolean remainder = routine.equals("rem");
+        String slow = "divide" + node.getId() + "_slow";
+        String end = "divide" + node.getId() + "_end";
+        int constant = folder.isConstant(divisor) ? folder.value(divisor) : 0;
+        int[] reciprocal = constant > 0 && constant < FAST_DIVIDENDS ? reciprocal(constant) : null;
+        if (constant > 0 && Integer.bitCount(constant) == 1) {
+            int shift = Integer.numberOfTrailingZeros(constant);
+            code().compareImm(register1, 0, "Fast path of the division by " + constant);
+            code().branch(Op.LT, slow, null);
+            if (!remainder) {
+                code().binaryImm(Op.LSR, returnRegister, register1, shift, null);
+            } else if (shift <= 8) {
+                code().binaryImm(Op.AND, returnRegister, register1, constant - 1, null);
+            } else {
+                code().binaryImm(Op.LSL, returnRegister, register1, 32 - shift, null);
+                code().binaryImm(Op.LSR, returnRegister, returnRegister, 32 - shift, null);
+            }
+        } else if (reciprocal != null) {
+            // the unsigned comparison sends the negative dividends to the subroutine too
+            code().compareImm(register1, FAST_DIVIDENDS, "Fast path of the division by " + constant);
+            code().branch(Op.HS, slow, null);
+            int multiplier = newRegister();
+            code().constant(Op.AL, multiplier, reciprocal[0], null);
+            if (!remainder) {
+                code().binary(Op.MUL, returnRegister, register1, multiplier, null);
+                code().binaryImm(Op.LSR, returnRegister, returnRegister, reciprocal[1], null);
+            } else {
+                int quotient = newRegister();
+                code().binary(Op.MUL, quotient, register1, multiplier, null);
+                code().binaryImm(Op.LSR, quotient, quotient, reciprocal[1], null);
+                code().binary(Op.MUL, multiplier, quotient, returnRegister, null);
+                code().binary(Op.SUB, returnRegister, register1, multiplier, null);
             }
-            if (isR1Borrowed) {
-                appendToBuffer("\tldmfd\tr13!, {r" + register1 + "} ; Freeing memory stack\n");
+        } else if (!folder.isConstant(divisor)) {
+            // a dividend below the divisor is the remainder, with a quotient of 0
+            code().compareImm(returnRegister, 0, "Fast path of the division");
+            code().branch(Op.LE, slow, null);
+            code().compare(register1, returnRegister, null);
+            code().branch(Op.HS, slow, null);
+            if (remainder) {
+                code().move(returnRegister, register1, null);
             } else {
-                stackFrames.peek().getRegisterManager().freeRegister(register1);
+                code().constant(Op.AL, returnRegister, 0, null);
             }
+        } else {
+            // a divisor of 0 or below always goes to the subroutine, which raises the division by zero
+            code().runtime(routine, returnRegister, register1, returnRegister, comment);
+            return;
+        }
+        code().branch(Op.AL, end, null);
+        code().label(slow, null);
+        code().runtime(routine, returnRegister, register1, returnRegister, comment);
+        code().label(end, null);
+    }
+
+    /* multiplier and shift giving the quotient of every dividend below FAST_DIVIDENDS by a divisor
+     * with a 32-bit mul and a right shift, null if there are none */
+    static int[] reciprocal(int divisor) {
+        for (int shift = 0; shift < 32; shift++) {
+            long multiplier = (1L << shift) / divisor + 1;
+            if (multiplier * (FAST_DIVIDENDS - 1) >= 1L << 32) {
+                return null;
+            }
+            boolean exact = true;
+            for (int dividend = 0; dividend < FAST_DIVIDENDS && exact; dividend++) {
+                exact = (dividend * multiplier) >>> shift == dividend / divisor;
+            }
+            if (exact) {
+                return new int[]{(int) multiplier, shift};
+            }
+        }
+        return null;
+    }
+
+    /* operand the result of an operation is when the other one is neutral, -1 if there is none.
+     * x * 0 gives 0 only when the code of x can be left out. */
+    private int neutralOperand(GraphViz ast, Node node) {
+        if (node.getChildren().size() != 2) {
+            if (node.getLabel().equals("NOT") && node.getChildren().size() == 1) {
+                Node operand = ast.getTree().nodes.get(node.getChildren().get(0));
+                if (operand.getLabel().equals("NOT") && operand.getChildren().size() == 1) {
+                    return operand.getChildren().get(0);
+                }
+            }
+            return -1;
+        }
+        int left = node.getChildren().get(0);
+        int right = node.getChildren().get(1);
+        switch (node.getLabel()) {
+            case "+":
+                return folder.hasValue(left, 0) ? right : folder.hasValue(right, 0) ? left : -1;
+            case "-":
+                // the first child is taken from the second
+                return folder.hasValue(left, 0) ? right : -1;
+            case "*":
+                if (folder.hasValue(left, 0) && folder.isPure(right) || folder.hasValue(right, 0) && folder.isPure(left)) {
+                    return folder.hasValue(left, 0) ? left : right;
+                }
+                return folder.hasValue(left, 1) ? right : folder.hasValue(right, 1) ? left : -1;
+            case "/":
+                return folder.hasValue(right, 1) ? left : -1;
+            case "AND", "AND THEN":
+                return folder.hasValue(left, 1) ? right : folder.hasValue(right, 1) ? left : -1;
+            case "OR", "OR ELSE":
+                return folder.hasValue(left, 0) ? right : folder.hasValue(right, 0) ? left : -1;
+            default:
+                return -1;
         }
-        return 0;
+    }
+
+    /* 1 in a register if the comparison of two others holds, 0 otherwise */
+    private void comparisonGen(int cond, int returnRegister, int register1, String comparison) {
+        code().compare(register1, returnRegister, "Block for equality : " + comparison);
+        code().constant(cond, returnRegister, 1, null);
+        code().constant(Op.negate(cond), returnRegister, 0, null);
+    }
+
+    private static String childLabel(GraphViz ast, Node node, int child) {
+        return ast.getTree().nodes.get(node.getChildren().get(child)).getLabel();
     }
 
     public void callGen(Symbol symbol, int region) {
@@ -790,26 +1022,26 @@ public class CodeGenerator {
             if (Objects.equals(name, "put0")) {
                 switch (((Proc) symbol).getTypes().get(0)) {
                     case "integer", "boolean":
-                        appendToBuffer("\tbl\tprintln_int ; CALL put(int n)\n");
-                        appendToBuffer("\tadd\tr13, r13, #4 ; free the param\n");
+                        code().call("println_int", "CALL put(int n)");
+                        code().binaryImm(Op.ADD, Op.SP, Op.SP, 4, "free the param");
                         break;
                     case "character":
-                        appendToBuffer("\tbl\tprintln_char ; CALL put(char c)\n");
-                        appendToBuffer("\tadd\tr13, r13, #4 ; free the param\n");
+                        code().call("println_char", "CALL put(char c)");
+                        code().binaryImm(Op.ADD, Op.SP, Op.SP, 4, "free the param");
                         break;
                 }
             } else {
-                appendToBuffer("\tbl\t" + name + " ; CALL\n");
+                code().call(name, "CALL");
             }
             appendToBuffer("\t; End of call\n\n");
         }
     }
 
-    public int getVar(String name, int returnRegister) {
+    public int getVar(int varNode, String name, int returnRegister) {
         if (codeGenOn) {
-            Record record = getVarAddress(name, returnRegister);
+            Record record = getVarAddress(varNode, name, returnRegister);
             if (record == null) {
-                appendToBuffer("\tldr\tr" + returnRegister + ", [r" + returnRegister + "] ; Getting value of var : " + name + "\n");
+                code().load(returnRegister, returnRegister, 0, "Getting value of var : " + name);
                 return 0;
             }
             return record.getOffset();
@@ -817,7 +1049,8 @@ public class CodeGenerator {
         return 0;
     }
 
-    public Record getVarAddress(String label, int returnRegister) {
+    /* address of a variable or of one of its fields, label being its name followed by the fields accessed */
+    public Record getVarAddress(int varNode, String label, int returnRegister) {
         if (codeGenOn) {
             String name = label;
             // handle record access
@@ -827,143 +1060,75 @@ public class CodeGenerator {
                 name = fields.get(0);
             }
 
-            int destinationRegion = getRegionFromLabel(name, stack.peek());
-            if (destinationRegion == -1) {
+            Symbol symbol = bindings.symbol(varNode);
+            if (symbol == null) {
                 throw new RuntimeException("Variable not found : " + name);
             }
-            Symbol symbol = getSymbolFromLabel(name, destinationRegion);
-            int start = tds.getTds().get(stack.peek()).get(0).getNestingLevel();
-            int end = symbol.getNestingLevel();
-            int linkingsToGoUp;
-            linkingsToGoUp = start - end;
+            int destinationRegion = bindings.region(varNode);
+            int linkingsToGoUp = bindings.depth(varNode);
             int offset;
+            // offset of the field accessed in the variable
+            int fieldOffset = 0;
+            String type;
             if (symbol instanceof Var) {
-                Var var = (Var) symbol;
-                offset = var.getOffset();
-                // handle record access
-                if (!fields.isEmpty()) {
-                    Record record = (Record) getSymbolFromLabel(var.getType(), destinationRegion);
-                    fields.remove(0);
-                    String field;
-                    for (int i = 0; i < fields.size() - 1; i++) {
-                        assert record != null;
-                        field = fields.get(i);
-                        offset -= record.getOffset(field);
-                        record = (Record) getSymbolFromLabel(record.getFields().get(field), destinationRegion);
-                    }
-                    field = fields.get(fields.size() - 1);
-                    assert record != null;
-                    offset -= record.getOffset(field);
-
-                    // check if several fields need to be accessed
-                    if (TDS.offsets.get(record.getFields().get(field)) != 4) {
-                        appendToBuffer("\tmov\tr10, r12\n");
-                        for (int i = 0; i < linkingsToGoUp; i++) {
-                            appendToBuffer("\tldr\tr10, [r10] ; Going up in the static linkings\n");
-                        }
-                        appendToBuffer("\tadd\tr10, r10, #-4-" + offset + " ; Getting address of var : " + label + "\n\tmov\tr" + returnRegister + ", r10\n");
-
-                        return (Record) getSymbolFromLabel(record.getFields().get(field), destinationRegion);
-                    }
-                }
-
-                appendToBuffer("\tmov\tr10, r12\n");
-                for (int i = 0; i < linkingsToGoUp; i++) {
-                    appendToBuffer("\tldr\tr10, [r10] ; Going up in the static linkings\n");
-                }
-                appendToBuffer("\tadd\tr10, r10, #-4-" + offset + " ; Getting address of var : " + label + "\n\tmov\tr" + returnRegister + ", r10\n");
-
-                // handle record access
-                if (fields.isEmpty() && TDS.offsets.get(var.getType()) != 4) {
-                    return (Record) getSymbolFromLabel(var.getType(), destinationRegion);
-                }
+                offset = ((Var) symbol).getOffset();
+                type = ((Var) symbol).getType();
             } else if (symbol instanceof Param) {
-                Param param = (Param) symbol;
-                offset = param.getOffset();
-                // handle record access
-                if (!fields.isEmpty()) {
-                    Record record = (Record) getSymbolFromLabel(param.getType(), destinationRegion);
-                    fields.remove(0);
-                    String field;
-                    for (int i = 0; i < fields.size() - 1; i++) {
-                        assert record != null;
-                        field = fields.get(i);
-                        offset -= record.getOffset(field);
-                        record = (Record) getSymbolFromLabel(record.getFields().get(field), destinationRegion);
-                    }
-                    field = fields.get(fields.size() - 1);
+                offset = ((Param) symbol).getOffset();
+                type = ((Param) symbol).getType();
+            } else {
+                throw new RuntimeException("Unhandeled getVar : " + symbol + " " + name + " " + symbol.getClass());
+            }
+            // handle record access
+            if (!fields.isEmpty()) {
+                Record record = (Record) getSymbolFromLabel(type, destinationRegion);
+                fields.remove(0);
+                String field;
+                for (int i = 0; i < fields.size() - 1; i++) {
                     assert record != null;
-                    offset -= record.getOffset(field);
-
-                    // check if several fields need to be accessed
-                    if (TDS.offsets.get(record.getFields().get(field)) != 4) {
-                        appendToBuffer("\tmov\tr10, r12\n");
-                        for (int i = 0; i < linkingsToGoUp; i++) {
-                            appendToBuffer("\tldr\tr10, [r10]\n");
-                        }
-                        appendToBuffer("\tadd\tr10, r10, #4*");
-                        stackFrames.peek().needRegisterValue();
-                        appendToBuffer("+" + offset + "+16 ; Getting param : " + label + "\n\tmov\tr" + returnRegister + ", r10\n");
-
-                        return (Record) getSymbolFromLabel(record.getFields().get(field), destinationRegion);
-                    }
-                }
-
-                appendToBuffer("\tmov\tr10, r12\n");
-                for (int i = 0; i < linkingsToGoUp; i++) {
-                    appendToBuffer("\tldr\tr10, [r10]\n");
+                    field = fields.get(i);
+                    fieldOffset += record.getOffset(field);
+                    record = (Record) getSymbolFromLabel(record.getFields().get(field), destinationRegion);
                 }
-                appendToBuffer("\tadd\tr10, r10, #4*");
-                stackFrames.peek().needRegisterValue();
-                appendToBuffer("+" + offset + "+16 ; Getting param : " + label + "\n\tmov\tr" + returnRegister + ", r10\n");
+                field = fields.get(fields.size() - 1);
+                assert record != null;
+                fieldOffset += record.getOffset(field);
+                type = record.getFields().get(field);
+            }
 
-                // handle record access
-                if (fields.isEmpty() && TDS.offsets.get(param.getType()) != 4) {
-                    return (Record) getSymbolFromLabel(param.getType(), destinationRegion);
-                }
+            StackFrame owner = stackFrames.get(stackFrames.size() - 1 - linkingsToGoUp);
+            if (linkingsToGoUp < 2) {
+                code().frame(returnRegister, linkingsToGoUp);
+            } else {
+                // the global of the procedure holds the frame of its latest activation, the one enclosing this code
+                code().address(returnRegister, owner.getGlobal());
+                code().load(returnRegister, returnRegister, 0, "Frame of " + owner.getName());
             }
-            else {
-                throw new RuntimeException("Unhandeled getVar : " + symbol + " " + name + " " + symbol.getClass());
+            if (symbol instanceof Var) {
+                code().binaryImm(Op.ADD, returnRegister, returnRegister, -4 - offset + fieldOffset, "Getting address of var : " + label);
+            } else {
+                // parameters are above the registers saved by the procedure declaring them, offset being past their last word
+                int size = tds.getOffsets().get(((Param) symbol).getType());
+                code().addSaved(returnRegister, returnRegister, offset + 8 - size + fieldOffset, owner.getName(), "Getting param : " + label);
             }
-        }
-        return null;
-    }
 
-    private int getRegionFromLabel(String label, int reg) {
-        int father = 0;
-        for (Symbol symbol : tds.getTds().get(reg)) {
-            father = symbol.getFather();
-            if (symbol.getName().equals(label)) {
-                return reg;
+            // several fields need to be accessed
+            if (tds.getOffsets().get(type) != 4) {
+                return (Record) getSymbolFromLabel(type, destinationRegion);
             }
         }
-        if (reg != 0) {
-            return getRegionFromLabel(label, father);
-        } else {
-            return -1;
-        }
+        return null;
     }
 
     private Symbol getSymbolFromLabel(String label, int reg) {
-        int father = 0;
-        for (Symbol symbol : tds.getTds().get(reg)) {
-            father = symbol.getFather();
-            if (symbol.getName().equals(label)) {
-                return symbol;
-            }
-        }
-        if (reg != 0) {
-            return getSymbolFromLabel(label, father);
-        } else {
-            return null;
-        }
+        return tds.lookup(tds.find(label), reg);
     }
 
     public void stackReturn(Symbol symbol, int region) {
         if (codeGenOn) {
             String name = symbol.getName() + region;
             if (symbol instanceof Func) {
-                appendToBuffer("\tsub\tr13, r13, #" + TDS.offsets.get(((Func) symbol).getReturnType()) + " ; " + name + " return val init\n");
+                code().binaryImm(Op.SUB, Op.SP, Op.SP, tds.getOffsets().get(((Func) symbol).getReturnType()), name + " return val init");
             }
         }
     }
@@ -974,21 +1139,10 @@ public class CodeGenerator {
         }
     }
 
-    public void copyStructs(Record structToCopy, Integer addrToCopyTo, Integer addrToCopyFrom, Integer offset, boolean isParam) {
+    /* copy of all the words of a record, the registers holding the addresses being used up */
+    public void copyStructs(Record structToCopy, int addrToCopyTo, int addrToCopyFrom) {
         if (codeGenOn) {
-            int updateOffset = offset;
-            for (String field : structToCopy.getFields().keySet()) {
-                if (TDS.offsets.get(structToCopy.getFields().get(field)) == 4) {
-                    appendToBuffer("\tldr\tr10, [r" + addrToCopyFrom + ", #" + (isParam ? "-" : "") + "4*" + updateOffset + "] ; Copying field " + field + " of struct\n");
-                    appendToBuffer("\tstr\tr10, [r" + addrToCopyTo + ", #4*" + updateOffset + "]\n");
-                    updateOffset++;
-                } else {
-                    Record record = (Record) getSymbolFromLabel(structToCopy.getFields().get(field), stack.peek());
-                    copyStructs(record, addrToCopyTo, addrToCopyFrom, updateOffset, isParam);
-                    assert record != null;
-                    updateOffset += record.getOffset() / 4;
-                }
-            }
+            code().copy(newRegister(), addrToCopyFrom, addrToCopyTo, structToCopy.getOffset() / 4, false, "Copying struct " + structToCopy.getName());
         }
     }
 
@@ -996,34 +1150,24 @@ public class CodeGenerator {
         if (codeGenOn) {
             appendToBuffer("\n\t; Return block\n");
 
-            //borrow register
-            int register;
-            try {
-                register = stackFrames.peek().getRegisterManager().borrowRegister();
-            } catch (RuntimeException e) {
-                register = 0;
-            }
+            int register = newRegister();
             int child = ast.getTree().nodes.get(nodeInt).getChildren().get(0);
 
-            // set the return value
+            // set the return value, above the registers saved by the function
             // handle record case
             int offset;
             if ((offset = expressionGen(ast, child, register)) != 0) {
-                appendToBuffer("\tmov\tr13, r11\n");
-                for (int o = 0; o < offset; o += 4) {
-                    appendToBuffer("\tldr\tr10, [r" + register + ", #" + o + "] ; Getting value of var\n");
-                    appendToBuffer("\tstr\tr10, [r13, #4*");
-                    stackFrames.peek().needRegisterValue();
-                    appendToBuffer("+24+" + o + "] ; Setting the return value\n");
-                }
+                code().move(Op.SP, Op.R11, null);
+                int returned = newRegister();
+                code().addSaved(returned, Op.SP, 12, null, null);
+                code().copy(newRegister(), register, returned, offset / 4, false, "Setting the return value");
             } else {
-                appendToBuffer("\tmov\tr13, r11\n\tstr\tr" + register + ", [r13, #4*");
-                stackFrames.peek().needRegisterValue();
-                appendToBuffer("+24] ; Setting the return value\n");
+                code().move(Op.SP, Op.R11, null);
+                code().storeSaved(register, Op.SP, 12, "Setting the return value");
             }
 
-            appendToBuffer("\tb\tend" + name + callableElements.lastIndexOf(name) + " ; Jumping to the end of the function\n\t; End of return block\n   \n"); // Jump to the end of the function
-
+            code().branch(Op.AL, "end" + name + callableElements.lastIndexOf(name), "Jumping to the end of the function"); // Jump to the end of the function
+            appendToBuffer("\t; End of return block\n   \n");
         }
     }
 
@@ -0,0 +1,196 @@
+package asm;
+
+import ast.Node;
+import ast.Tree;
+
+import java.util.Arrays;
+import java.util.List;
+
+/* Value of the expressions of the AST known at compile time, computed once per node.
+ * An expression is constant when all its operands are and the code computing it could not raise an error:
+ * a division by zero or a character'val out of range stays in the code so it still raises at run time.
+ * Divisions and remainders give what the mul, div and rem subroutines would, 32-bit wrap-around included. */
+public class ConstantFolder {
+    private static final byte UNKNOWN = 0, CONSTANT = 1, VARIABLE = 2;
+    // loop turns after which a division is left to the subroutine, which would not stop
+    private static final int MAX_TURNS = 64;
+
+    private final Tree tree;
+    private byte[] states;
+    private int[] values;
+
+    public ConstantFolder(Tree tree) {
+        this.tree = tree;
+        this.states = new byte[tree.size()];
+        this.values = new int[tree.size()];
+    }
+
+    public boolean isConstant(int node) {
+        if (node >= states.length) {
+            states = Arrays.copyOf(states, tree.size());
+            values = Arrays.copyOf(values, tree.size());
+        }
+        if (states[node] == UNKNOWN) {
+            Integer value = fold(node);
+            states[node] = value != null ? CONSTANT : VARIABLE;
+            values[node] = value != null ? value : 0;
+        }
+        return states[node] == CONSTANT;
+    }
+
+    /* value of a constant node */
+    public int value(int node) {
+        if (!isConstant(node)) {
+            throw new IllegalStateException("Node " + node + " is not constant");
+        }
+        return values[node];
+    }
+
+    /* the node is constant and has this value */
+    public boolean hasValue(int node, int value) {
+        return isConstant(node) && values[node] == value;
+    }
+
+    /* the code of the expression may be left out: it calls nothing and raises nothing */
+    public boolean isPure(int node) {
+        if (isConstant(node)) {
+            return true;
+        }
+        switch (tree.label(node)) {
+            case "CALL", "/", "rem", "CHARACTER'VAL":
+                return false;
+        }
+        for (int child : tree.nodes.get(node).getChildren()) {
+            if (!isPure(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Integer fold(int node) {
+        String label = tree.label(node);
+        try {
+            return Integer.parseInt(label);
+        } catch (NumberFormatException e) {
+            // Not a number so we continue
+        }
+        if (label.charAt(0) == '\'') {
+            return (int) label.charAt(1);
+        }
+        switch (label) {
+            case "true":
+                return 1;
+            case "false":
+                return 0;
+        }
+
+        List<Integer> children = tree.nodes.get(node).getChildren();
+        switch (label) {
+            case "*", "/", "rem", "+", "-", "=", "/=", ">", ">=", "<", "<=", "OR", "AND", "OR ELSE", "AND THEN":
+                if (children.size() != 2 || !isConstant(children.get(0)) || !isConstant(children.get(1))) {
+                    return null;
+                }
+                return binary(label, values[children.get(0)], values[children.get(1)]);
+            case "NOT", "UNARY", "CHARACTER'VAL":
+                if (children.size() != 1 || !isConstant(children.get(0))) {
+                    return null;
+                }
+                int operand = values[children.get(0)];
+                switch (label) {
+                    case "NOT":
+                        return 1 - operand;
+                    case "UNARY":
+                        return -operand;
+                    default:
+                        return operand < 0 || operand > 127 ? null : operand;
+                }
+            default:
+                return null;
+        }
+    }
+
+    /* operands in the order of the children, the subtraction takes the first one from the second */
+    private static Integer binary(String label, int left, int right) {
+        switch (label) {
+            case "*":
+                return left * right;
+            case "/":
+                return divide(left, right, false);
+            case "rem":
+                return divide(left, right, true);
+            case "+":
+                return left + right;
+            case "-":
+                return right - left;
+            case "=":
+                return left == right ? 1 : 0;
+            case "/=":
+                return left != right ? 1 : 0;
+            case ">":
+                return left > right ? 1 : 0;
+            case ">=":
+                return left >= right ? 1 : 0;
+            case "<":
+                return left < right ? 1 : 0;
+            case "<=":
+                return left <= right ? 1 : 0;
+            case "OR", "OR ELSE":
+                return left | right;
+            default:
+                return left & right;
+        }
+    }
+
+    /* quotient or remainder as the div and rem subroutines compute them, null when they raise or loop */
+    static Integer divide(int dividend, int divisor, boolean remainder) {
+        if (divisor == 0) {
+            return null;
+        }
+        int r1 = dividend, r2 = divisor, r0 = 0;
+        boolean negative = false;
+        if (r1 < 0) {
+            r1 = -r1;
+            negative = !negative;
+        }
+        if (r2 < 0) {
+            r2 = -r2;
+            negative = !negative;
+        }
+        int r4 = r2, r5 = 1;
+        int turns = 0;
+        do {
+            r4 <<= 1;
+            r5 <<= 1;
+            if (++turns > MAX_TURNS) {
+                return null;
+            }
+        } while (r4 <= r1);
+        do {
+            do {
+                r4 >>>= 1;
+                r5 >>>= 1;
+                if (++turns > MAX_TURNS) {
+                    return null;
+                }
+            } while (r4 > r1);
+            r0 += r5;
+            r1 -= r4;
+        } while (r1 >= r2);
+        if (negative) {
+            boolean inexact = r1 != 0;
+            if (inexact) {
+                r0++;
+            }
+            r0 = -r0;
+            r1 = -r1;
+            if (inexact) {
+                r1 += r2;
+            }
+        }
+        if (!remainder) {
+            return r0;
+        }
+        return r0 == 0 ? dividend : r1;
+    }
+}
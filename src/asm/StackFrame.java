@@ -1,116 +1,124 @@
 package asm;
 
-import java.lang.reflect.Array;
-import java.util.ArrayList;
-import java.util.List;
+import asm.ir.Code;
+import asm.ir.Emitter;
+import asm.ir.LinearScan;
+import asm.ir.Op;
+import asm.ir.Peephole;
+
+import java.util.Map;
 
 public class StackFrame {
-    private RegisterManager registerManager;
     private String name;
-    private StringBuilder beforeVarBuffer;
+    // word holding the frame of the latest activation of the procedure, restored when it returns
+    private String global;
+    private int registers = Op.FIRST_VIRTUAL;
+    private Code beforeVarCode;
     private boolean varBufferSwitch = false;
-    private StringBuilder varBuffer;
-    private ArrayList<StringBuilder> varBufferList;
-    private StringBuilder buffer;
-    private StringBuilder endBuffer;
-    private StringBuilder startBuffer;
-    private ArrayList<StringBuilder> bufferList;
+    private Code varCode;
+    private Code code;
+    private Code endCode;
+    private Code startCode;
     private boolean isVarGen = false;
+    private LinearScan allocation;
+    // source line the procedure is declared on, given to its entry and exit, and of the code generated now
+    private int declarationLine = 0;
+    private int line = 0;
 
-    public StackFrame(String name) {
-        this.registerManager = new RegisterManager();
+    public StackFrame(String name, String global) {
         this.name = name;
-        this.beforeVarBuffer = new StringBuilder();
-        this.varBuffer = new StringBuilder();
-        this.buffer = new StringBuilder();
-        this.endBuffer = new StringBuilder();
-        this.startBuffer = new StringBuilder();
-        bufferList = new ArrayList<StringBuilder>();
-        varBufferList = new ArrayList<StringBuilder>();
+        this.global = global;
+        this.beforeVarCode = new Code();
+        this.varCode = new Code();
+        this.code = new Code();
+        this.endCode = new Code();
+        this.startCode = new Code();
     }
 
-    public RegisterManager getRegisterManager() {
-        return registerManager;
+    /* a new virtual register, given a physical one when the frame is emitted */
+    public int newRegister() {
+        return registers++;
     }
 
     public String getName() {
         return name;
     }
 
-    public StringBuilder getBuffer() {
-        return buffer;
+    /* code of the instructions, or of the initialisation of the variables while it is generated */
+    public Code getCode() {
+        return isVarGen ? varCode : code;
     }
 
-    public StringBuilder getEndBuffer() {
-        return endBuffer;
+    public String getGlobal() {
+        return global;
     }
 
-    public StringBuilder getStartBuffer() {
-        return startBuffer;
+    public Code getEndCode() {
+        return endCode;
     }
 
-    public StringBuilder getVarBuffer() {
-        return varBuffer;
+    public Code getStartCode() {
+        return startCode;
     }
 
     public void switchVarBuffer() {
         if(!varBufferSwitch) {
             varBufferSwitch = true;
-            beforeVarBuffer = buffer;
-            buffer = new StringBuilder();
+            beforeVarCode = code;
+            code = new Code();
+            code.setLine(line);
         }
     }
 
-    public void setIsVarGen(boolean isVarGen) {
-        this.isVarGen = isVarGen;
-    }
-
-    private String bufferListToString() {
-        StringBuilder bufferListString = new StringBuilder();
-        for (StringBuilder buffer : bufferList) {
-            bufferListString.append(buffer.toString());
-            bufferListString.append(registerManager.getHighestUsedRegister());
+    /* source line of the instructions generated from now on, 0 to leave them without one */
+    public void setLine(int line) {
+        if (declarationLine == 0) {
+            declarationLine = line;
         }
-        return bufferListString.toString();
+        this.line = line;
+        beforeVarCode.setLine(line);
+        varCode.setLine(line);
+        code.setLine(line);
+        endCode.setLine(line);
+        startCode.setLine(line);
     }
 
-    private String varBufferListToString() {
-        StringBuilder varBufferListString = new StringBuilder();
-        for (StringBuilder varBuffer : varBufferList) {
-            varBufferListString.append(varBuffer.toString());
-            varBufferListString.append(registerManager.getHighestUsedRegister());
-        }
-        return varBufferListString.toString();
+    public void setIsVarGen(boolean isVarGen) {
+        this.isVarGen = isVarGen;
     }
 
-    public void needRegisterValue() {
-        if(isVarGen) {
-            varBufferList.add(varBuffer);
-            varBuffer = new StringBuilder();
+    /* puts the code of the frame together, simplifies it and allocates its registers */
+    public void close(boolean isMain, Peephole peephole) {
+        Code frame = new Code();
+        frame.setLine(declarationLine);
+        if (isMain) {
+            frame.append(startCode);
+            frame.entry(name, null);
+            frame.move(Op.R11, Op.SP, null);
         } else {
-            bufferList.add(buffer);
-            buffer = new StringBuilder();
+            frame.entry(name, "Beginning of " + name);
+            frame.pseudo(Op.ENTER);
         }
-    }
-
-    public String toString(boolean isMain) {
+        frame.append(beforeVarCode);
+        frame.append(varCode);
+        frame.append(code);
         if (isMain) {
-            return  startBuffer.toString() + name + "\n" +
-                    "\tmov\tr11, r13\n" +
-                    beforeVarBuffer.toString() +
-                    varBufferListToString() +
-                    varBuffer.toString() +
-                    buffer.toString() +
-                    "end\n\n";
+            frame.pseudo(Op.END);
         } else {
-            return  name + "\t;Beginning of " + name + "\n" +
-                    "\tstmfd\t" + registerManager.generateStmfd() + "\n" +
-                    beforeVarBuffer.toString() +
-                    varBufferListToString() +
-                    varBuffer.toString() +
-                    bufferListToString() +
-                    buffer.toString() + endBuffer.toString() +
-                    "\tldmfd\t" + registerManager.generateLdmfd() + "\n\n";
+            frame.append(endCode);
+            frame.pseudo(Op.RETURN);
         }
+        frame.text("\n");
+        allocation = new LinearScan(peephole.run(frame));
+    }
+
+    /* size of the registers the procedure saves on entry, once the frame is closed */
+    public int getSavedBytes() {
+        return Emitter.savedBytes(allocation);
+    }
+
+    /* assembly of a closed frame, from the saved sizes of all the frames */
+    public String toString(Map<String, Integer> savedBytes) {
+        return new Emitter(allocation, savedBytes).emit();
     }
 }
@@ -0,0 +1,102 @@
+package asm.interpreter;
+
+/* Opcodes, conditions, shifts and addressing modes of the ARM subset the interpreter runs */
+public class Arm {
+    public final static int
+        END = 0,
+        // data processing, rd := rn op operand 2
+        MOV = 1,
+        MVN = 2,
+        ADD = 3,
+        SUB = 4,
+        RSB = 5,
+        AND = 6,
+        ORR = 7,
+        EOR = 8,
+        BIC = 9,
+        MUL = 10,       // rd := rn * rm
+        // flags only
+        CMP = 11,
+        CMN = 12,
+        TST = 13,
+        TEQ = 14,
+        // memory
+        LDR = 15,
+        STR = 16,
+        LDRB = 17,
+        STRB = 18,
+        LDM = 19,
+        STM = 20,
+        // control
+        B = 21,
+        BL = 22,
+        // superinstructions, an instruction and the next one run at once
+        COMPARE_BRANCH = 23,    // cmp then b
+        TEST_BRANCH = 24,       // tst then b
+        PUSH_CALL = 25,         // stmfd sp! then bl
+        LOAD_GLOBAL = 26;       // ldr rd, =address then ldr rd, [rd, offset]
+
+    final static String[] NAMES = {"end", "mov", "mvn", "add", "sub", "rsb", "and", "orr", "eor", "bic", "mul",
+            "cmp", "cmn", "tst", "teq", "ldr", "str", "ldrb", "strb", "ldm", "stm", "b", "bl"};
+
+    public final static int
+        EQ = 0,
+        NE = 1,
+        HS = 2,
+        LO = 3,
+        MI = 4,
+        PL = 5,
+        VS = 6,
+        VC = 7,
+        HI = 8,
+        LS = 9,
+        GE = 10,
+        LT = 11,
+        GT = 12,
+        LE = 13,
+        AL = 14;
+
+    final static String[] CONDITIONS = {"eq", "ne", "hs", "lo", "mi", "pl", "vs", "vc", "hi", "ls", "ge", "lt", "gt", "le", "al"};
+
+    public final static int
+        LSL = 0,
+        LSR = 1,
+        ASR = 2,
+        ROR = 3;
+
+    final static String[] SHIFTS = {"lsl", "lsr", "asr", "ror"};
+
+    // addressing of ldr and str, and of ldm and stm
+    public final static int
+        OFFSET = 0,     // [rn, offset]
+        PRE = 1,        // [rn, offset]!
+        POST = 2,       // [rn], offset
+        IA = 0,         // increment after
+        IB = 1,         // increment before
+        DA = 2,         // decrement after
+        DB = 3;         // decrement before
+
+    public final static int
+        NONE = -1,
+        SP = 13,
+        LR = 14,
+        PC = 15;
+
+    /* condition of a mnemonic suffix, with the aliases cs and cc, NONE if it is not one */
+    static int condition(String suffix) {
+        switch (suffix) {
+            case "":
+                return AL;
+            case "cs":
+                return HS;
+            case "cc":
+                return LO;
+        }
+        for (int cond = 0; cond < CONDITIONS.length; cond++) {
+            if (CONDITIONS[cond].equals(suffix)) {
+                return cond;
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,508 @@
+package asm.interpreter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/* Assembles the VisUAL syntax the code generator and the runtime routines are written in.
+ * A first pass numbers the instructions and lays out the data, the second one decodes the instructions
+ * once the addresses of all the labels are known. */
+public class Assembler {
+    // VisUAL puts the data after the instruction memory
+    public static final int DATA_START = 0x2000;
+
+    private final List<Integer> lines = new ArrayList<>();
+    private final List<String> mnemonics = new ArrayList<>();
+    private final List<String> operands = new ArrayList<>();
+    // labels of the instructions by number, of the data by offset from the start of the data
+    private final Map<String, Integer> codeLabels = new HashMap<>();
+    private final Map<String, Integer> dataLabels = new HashMap<>();
+    private int[] data = new int[64];
+    private int dataSize = 0;
+    private Map<String, Integer> addresses;
+
+    private Assembler() {
+    }
+
+    public static Program assemble(List<String> source) {
+        return assemble(source, true);
+    }
+
+    /* without fusing, every instruction dispatches on its own opcode */
+    public static Program assemble(List<String> source, boolean fuse) {
+        Program program = new Assembler().program(source);
+        if (fuse) {
+            Superinstructions.fuse(program, program.address(Interpreter.OUTPUT_POINT));
+        }
+        return program;
+    }
+
+    private Program program(List<String> source) {
+        List<String> pending = new ArrayList<>();
+        for (int line = 1; line <= source.size(); line++) {
+            statement(source.get(line - 1), line, pending);
+        }
+        for (String label : pending) {
+            codeLabels.put(label, mnemonics.size());
+        }
+
+        int dataStart = Math.max(DATA_START, 4 * mnemonics.size());
+        addresses = new HashMap<>();
+        codeLabels.forEach((label, i) -> addresses.put(label, 4 * i));
+        dataLabels.forEach((label, offset) -> addresses.put(label, dataStart + offset));
+        Program program = new Program();
+        addresses.forEach(program::label);
+        for (int i = 0; i < mnemonics.size(); i++) {
+            try {
+                instruction(program, mnemonics.get(i), operands(operands.get(i)), lines.get(i));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Line " + lines.get(i) + ": " + e.getMessage(), e);
+            }
+        }
+        int[] words = new int[(dataSize + 3) / 4];
+        System.arraycopy(data, 0, words, 0, words.length);
+        program.setData(dataStart, words);
+        return program;
+    }
+
+    /* one line: labels go with the next instruction, or with the data of their line */
+    private void statement(String text, int line, List<String> pending) {
+        String code = stripComment(text);
+        if (code.isBlank()) {
+            return;
+        }
+        String[] tokens = code.trim().split("\\s+", 2);
+        String label = null;
+        String rest = code.trim();
+        boolean atStart = !Character.isWhitespace(code.charAt(0));
+        if (atStart && !tokens[0].equalsIgnoreCase("end") || !atStart && !isMnemonic(tokens[0]) && !isDirective(tokens[0])) {
+            label = tokens[0].toLowerCase();
+            rest = tokens.length > 1 ? tokens[1].trim() : "";
+        }
+        if (rest.isEmpty()) {
+            pending.add(label);
+            return;
+        }
+        tokens = rest.split("\\s+", 2);
+        String mnemonic = tokens[0].toLowerCase();
+        String arguments = tokens.length > 1 ? tokens[1].trim() : "";
+        switch (mnemonic) {
+            case "fill":
+                if (label != null) {
+                    dataLabels.put(label, dataSize);
+                }
+                reserve(dataSize + value(arguments));
+                return;
+            case "dcd":
+                dataSize = (dataSize + 3) & ~3;
+                if (label != null) {
+                    dataLabels.put(label, dataSize);
+                }
+                for (String word : operands(arguments)) {
+                    reserve(dataSize + 4);
+                    data[dataSize / 4 - 1] = value(word);
+                }
+                return;
+        }
+        if (!isMnemonic(mnemonic)) {
+            throw new IllegalArgumentException("Line " + line + ": unknown instruction " + mnemonic);
+        }
+        if (label != null) {
+            pending.add(label);
+        }
+        for (String pendingLabel : pending) {
+            codeLabels.put(pendingLabel, mnemonics.size());
+        }
+        pending.clear();
+        lines.add(line);
+        mnemonics.add(mnemonic);
+        operands.add(arguments);
+    }
+
+    private void reserve(int size) {
+        while (data.length * 4 < size + 3) {
+            data = Arrays.copyOf(data, 2 * data.length);
+        }
+        dataSize = size;
+    }
+
+    private static String stripComment(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == ';' && !quoted) {
+                return line.substring(0, i);
+            }
+        }
+        return line;
+    }
+
+    /* operands separated by commas, those between brackets or braces kept together */
+    private static String[] operands(String text) {
+        List<String> operands = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '[' || c == '{') {
+                depth++;
+            } else if (c == ']' || c == '}') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                operands.add(text.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        if (!text.isBlank()) {
+            operands.add(text.substring(start).trim());
+        }
+        return operands.toArray(new String[0]);
+    }
+
+    private static boolean isDirective(String word) {
+        return word.equalsIgnoreCase("fill") || word.equalsIgnoreCase("dcd");
+    }
+
+    private static boolean isMnemonic(String mnemonic) {
+        return decode(mnemonic.toLowerCase()) != null;
+    }
+
+    /* opcode, condition, flags and addressing mode of a mnemonic, null if it is not one */
+    private static int[] decode(String mnemonic) {
+        if (mnemonic.equals("end")) {
+            return new int[]{Arm.END, Arm.AL, 0, 0};
+        }
+        if (mnemonic.startsWith("ldm") || mnemonic.startsWith("stm")) {
+            boolean load = mnemonic.startsWith("ldm");
+            String rest = mnemonic.substring(3);
+            for (String mode : new String[]{"ia", "ib", "da", "db", "fd", "ed", "fa", "ea", ""}) {
+                int cond = Arm.NONE;
+                if (rest.startsWith(mode)) {
+                    cond = Arm.condition(rest.substring(mode.length()));
+                }
+                if (cond == Arm.NONE && rest.endsWith(mode)) {
+                    cond = Arm.condition(rest.substring(0, rest.length() - mode.length()));
+                }
+                if (cond != Arm.NONE) {
+                    return new int[]{load ? Arm.LDM : Arm.STM, cond, 0, blockMode(mode, load)};
+                }
+            }
+            return null;
+        }
+        if (mnemonic.startsWith("b") && !mnemonic.startsWith("bic")) {
+            String rest = mnemonic.substring(1);
+            if (Arm.condition(rest) != Arm.NONE) {
+                return new int[]{Arm.B, Arm.condition(rest), 0, 0};
+            }
+            if (rest.startsWith("l") && Arm.condition(rest.substring(1)) != Arm.NONE) {
+                return new int[]{Arm.BL, Arm.condition(rest.substring(1)), 0, 0};
+            }
+            return null;
+        }
+        for (String memory : new String[]{"ldrb", "strb", "ldr", "str"}) {
+            if (mnemonic.startsWith(memory)) {
+                String rest = mnemonic.substring(memory.length());
+                boolean bytes = memory.endsWith("b");
+                if (!bytes && rest.endsWith("b") && Arm.condition(rest.substring(0, rest.length() - 1)) != Arm.NONE) {
+                    bytes = true;
+                    rest = rest.substring(0, rest.length() - 1);
+                }
+                if (Arm.condition(rest) == Arm.NONE) {
+                    continue;
+                }
+                int op = memory.startsWith("ldr") ? (bytes ? Arm.LDRB : Arm.LDR) : (bytes ? Arm.STRB : Arm.STR);
+                return new int[]{op, Arm.condition(rest), 0, 0};
+            }
+        }
+        for (String name : new String[]{"mov", "mvn", "add", "sub", "rsb", "and", "orr", "eor", "bic", "mul",
+                "cmp", "cmn", "tst", "teq", "lsl", "lsr", "asr", "ror"}) {
+            if (!mnemonic.startsWith(name)) {
+                continue;
+            }
+            String rest = mnemonic.substring(name.length());
+            int flag = 0;
+            int cond = Arm.condition(rest);
+            if (cond == Arm.NONE && rest.startsWith("s")) {
+                cond = Arm.condition(rest.substring(1));
+                flag = Program.SET_FLAGS;
+            }
+            if (cond == Arm.NONE && rest.endsWith("s")) {
+                cond = Arm.condition(rest.substring(0, rest.length() - 1));
+                flag = Program.SET_FLAGS;
+            }
+            if (cond == Arm.NONE) {
+                continue;
+            }
+            int op = shiftOf(name) != Arm.NONE ? Arm.MOV : opcode(name);
+            if (op == Arm.CMP || op == Arm.CMN || op == Arm.TST || op == Arm.TEQ) {
+                flag = Program.SET_FLAGS;
+            }
+            return new int[]{op, cond, flag, shiftOf(name)};
+        }
+        return null;
+    }
+
+    private static int opcode(String name) {
+        for (int op = 0; op < Arm.NAMES.length; op++) {
+            if (Arm.NAMES[op].equals(name)) {
+                return op;
+            }
+        }
+        return Arm.NONE;
+    }
+
+    private static int shiftOf(String name) {
+        for (int shift = 0; shift < Arm.SHIFTS.length; shift++) {
+            if (Arm.SHIFTS[shift].equals(name)) {
+                return shift;
+            }
+        }
+        return Arm.NONE;
+    }
+
+    /* ldm and stm in the stack modes are the same instructions as in the increment and decrement ones */
+    private static int blockMode(String mode, boolean load) {
+        switch (mode) {
+            case "ib":
+                return Arm.IB;
+            case "da":
+                return Arm.DA;
+            case "db":
+                return Arm.DB;
+            case "fd":
+                return load ? Arm.IA : Arm.DB;
+            case "ed":
+                return load ? Arm.IB : Arm.DA;
+            case "fa":
+                return load ? Arm.DA : Arm.IB;
+            case "ea":
+                return load ? Arm.DB : Arm.IA;
+            default:
+                return Arm.IA;
+        }
+    }
+
+    private void instruction(Program program, String mnemonic, String[] args, int line) {
+        int[] decoded = decode(mnemonic);
+        int op = decoded[0], cond = decoded[1], flag = decoded[2];
+        switch (op) {
+            case Arm.END:
+                program.add(op, cond, 0, Arm.NONE, Arm.NONE, Arm.NONE, 0, Arm.LSL, Arm.NONE, 0, line);
+                break;
+            case Arm.B:
+            case Arm.BL:
+                Integer target = codeLabels.get(args[0].toLowerCase());
+                if (target == null) {
+                    throw new IllegalArgumentException("unknown label " + args[0]);
+                }
+                program.add(op, cond, 0, Arm.NONE, Arm.NONE, Arm.NONE, target, Arm.LSL, Arm.NONE, 0, line);
+                break;
+            case Arm.LDM:
+            case Arm.STM:
+                String base = args[0];
+                if (base.endsWith("!")) {
+                    flag |= Program.WRITEBACK;
+                    base = base.substring(0, base.length() - 1);
+                }
+                program.add(op, cond, flag, Arm.NONE, register(base), Arm.NONE, registerList(args), Arm.LSL, Arm.NONE, decoded[3], line);
+                break;
+            case Arm.LDR:
+            case Arm.STR:
+            case Arm.LDRB:
+            case Arm.STRB:
+                memory(program, op, cond, args, line);
+                break;
+            case Arm.MUL:
+                program.add(op, cond, flag, register(args[0]), register(args[1]), register(args[2]), 0, Arm.LSL, Arm.NONE, 0, line);
+                break;
+            case Arm.CMP:
+            case Arm.CMN:
+            case Arm.TST:
+            case Arm.TEQ:
+                operand2(program, op, cond, flag, Arm.NONE, register(args[0]), args, 1, line);
+                break;
+            case Arm.MOV:
+            case Arm.MVN:
+                if (decoded[3] != Arm.NONE) {
+                    // lsl rd, rm, amount is mov rd, rm, lsl amount
+                    String source = args.length > 2 ? args[1] : args[0];
+                    String amount = args[args.length - 1];
+                    operand2(program, op, cond, flag, register(args[0]), Arm.NONE,
+                            new String[]{source, Arm.SHIFTS[decoded[3]] + " " + amount}, 0, line);
+                } else {
+                    operand2(program, op, cond, flag, register(args[0]), Arm.NONE, args, 1, line);
+                }
+                break;
+            default:
+                operand2(program, op, cond, flag, register(args[0]), register(args[1]), args, 2, line);
+        }
+    }
+
+    /* data processing instruction whose operand 2 starts at args[from] */
+    private void operand2(Program program, int op, int cond, int flag, int rd, int rn, String[] args, int from, int line) {
+        String operand = args[from];
+        if (operand.startsWith("#")) {
+            program.add(op, cond, flag, rd, rn, Arm.NONE, value(operand.substring(1)), Arm.LSL, Arm.NONE, 0, line);
+            return;
+        }
+        int rm = register(operand);
+        int shift = Arm.LSL, amount = 0, rs = Arm.NONE;
+        if (args.length > from + 1) {
+            String[] shifted = args[from + 1].trim().split("\\s+", 2);
+            shift = shiftOf(shifted[0].toLowerCase());
+            if (shift == Arm.NONE) {
+                throw new IllegalArgumentException("unknown shift " + shifted[0]);
+            }
+            if (shifted[1].trim().startsWith("#")) {
+                amount = value(shifted[1].trim().substring(1));
+            } else {
+                rs = register(shifted[1]);
+            }
+        }
+        program.add(op, cond, flag, rd, rn, rm, amount, shift, rs, 0, line);
+    }
+
+    /* ldr and str: [rn, offset], [rn, offset]!, [rn], offset, or the constant =value */
+    private void memory(Program program, int op, int cond, String[] args, int line) {
+        int rd = register(args[0]);
+        String address = args[1];
+        if (address.startsWith("=")) {
+            if (op != Arm.LDR) {
+                throw new IllegalArgumentException("constant operand of a store");
+            }
+            program.add(Arm.MOV, cond, 0, rd, Arm.NONE, Arm.NONE, value(address.substring(1)), Arm.LSL, Arm.NONE, 0, line);
+            return;
+        }
+        int mode = Arm.OFFSET;
+        int flag = 0;
+        if (address.endsWith("!")) {
+            mode = Arm.PRE;
+            flag = Program.WRITEBACK;
+            address = address.substring(0, address.length() - 1).trim();
+        }
+        String[] inside = operands(address.substring(1, address.length() - 1));
+        String offset = inside.length > 1 ? inside[1] : null;
+        String shift = inside.length > 2 ? inside[2] : null;
+        if (args.length > 2) {
+            mode = Arm.POST;
+            flag = Program.WRITEBACK;
+            offset = args[2];
+            shift = args.length > 3 ? args[3] : null;
+        }
+        int rn = register(inside[0]);
+        if (offset == null || offset.startsWith("#")) {
+            int imm = offset == null ? 0 : value(offset.substring(1));
+            program.add(op, cond, flag, rd, rn, Arm.NONE, imm, Arm.LSL, Arm.NONE, mode, line);
+            return;
+        }
+        if (offset.startsWith("-")) {
+            flag |= Program.SUBTRACT;
+            offset = offset.substring(1);
+        } else if (offset.startsWith("+")) {
+            offset = offset.substring(1);
+        }
+        int kind = Arm.LSL, amount = 0;
+        if (shift != null) {
+            String[] shifted = shift.trim().split("\\s+", 2);
+            kind = shiftOf(shifted[0].toLowerCase());
+            amount = value(shifted[1].trim().substring(1));
+        }
+        program.add(op, cond, flag, rd, rn, register(offset), amount, kind, Arm.NONE, mode, line);
+    }
+
+    /* registers of {r0-r2, r11, lr} as a bit set */
+    private static int registerList(String[] args) {
+        String list = String.join(",", Arrays.copyOfRange(args, 1, args.length)).trim();
+        if (!list.startsWith("{") || !list.endsWith("}")) {
+            throw new IllegalArgumentException("bad register list " + list);
+        }
+        int registers = 0;
+        for (String part : list.substring(1, list.length() - 1).split(",")) {
+            String[] range = part.split("-");
+            int first = register(range[0]);
+            int last = range.length > 1 ? register(range[1]) : first;
+            for (int register = first; register <= last; register++) {
+                registers |= 1 << register;
+            }
+        }
+        return registers;
+    }
+
+    static int register(String name) {
+        String register = name.trim().toLowerCase();
+        switch (register) {
+            case "sp":
+                return Arm.SP;
+            case "lr":
+                return Arm.LR;
+            case "pc":
+                return Arm.PC;
+            case "fp":
+                return 11;
+            case "ip":
+                return 12;
+        }
+        if (register.matches("r(1[0-5]|[0-9])")) {
+            return Integer.parseInt(register.substring(1));
+        }
+        throw new IllegalArgumentException("unknown register " + name.trim());
+    }
+
+    /* value of a constant: sums and products of numbers, characters and labels */
+    private int value(String expression) {
+        String text = expression.replace(" ", "").replace("\t", "");
+        int total = 0;
+        int sign = 1;
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || (text.charAt(i) == '+' || text.charAt(i) == '-') && i > start) {
+                total += sign * product(text.substring(start, i));
+                if (i < text.length()) {
+                    sign = text.charAt(i) == '-' ? -1 : 1;
+                }
+                start = i + 1;
+            }
+        }
+        return total;
+    }
+
+    private int product(String text) {
+        int product = 1;
+        for (String factor : text.split("\\*")) {
+            product *= number(factor);
+        }
+        return product;
+    }
+
+    private int number(String text) {
+        if (text.startsWith("-")) {
+            return -number(text.substring(1));
+        }
+        if (text.length() == 3 && text.charAt(0) == '\'' && text.charAt(2) == '\'') {
+            return text.charAt(1);
+        }
+        String lower = text.toLowerCase();
+        try {
+            if (lower.startsWith("0x")) {
+                return (int) Long.parseLong(lower.substring(2), 16);
+            }
+            if (lower.startsWith("&")) {
+                return (int) Long.parseLong(lower.substring(1), 16);
+            }
+            if (lower.startsWith("0b")) {
+                return (int) Long.parseLong(lower.substring(2), 2);
+            }
+            return (int) Long.parseLong(lower);
+        } catch (NumberFormatException e) {
+            Integer address = addresses != null ? addresses.get(lower) : null;
+            if (address == null) {
+                throw new IllegalArgumentException("bad constant " + text);
+            }
+            return address;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package asm.interpreter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/* Runs an assembled program on a flat memory of words: the data of the program, then the stack,
+ * which goes down from the address VisUAL starts it at since the generated code relies on it.
+ * The println routines of print.s leave each line in str_out at println_end, where it is handed to the output. */
+public class Interpreter {
+    public static final int STACK_TOP = 0xFF000000;
+    public static final int DEFAULT_STACK_SIZE = 1 << 22;
+    public static final String OUTPUT_BUFFER = "str_out";
+    public static final String OUTPUT_POINT = "println_end";
+
+    private final Program program;
+    private final int[] memory;
+    private final int dataStart;
+    private final int dataSize;
+    private final int stackBottom;
+    private final int stackSize;
+    private final Consumer<String> output;
+    // instruction after which a line is in the output buffer, NONE without print.s
+    private final int outputPoint;
+    private final int outputBuffer;
+
+    private final int[] r = new int[16];
+    private boolean n, z, c, v;
+    // carry out of the last shift of operand 2
+    private boolean carry;
+    private long executed = 0;
+    private long memoryAccesses = 0;
+    // counts of the run per routine and source line, null when not profiled
+    private Profiler profiler;
+
+    public Interpreter(Program program, Consumer<String> output) {
+        this(program, DEFAULT_STACK_SIZE, output);
+    }
+
+    public Interpreter(Program program, int stackSize, Consumer<String> output) {
+        this.program = program;
+        int[] data = program.getData();
+        this.memory = new int[data.length + stackSize / 4];
+        this.dataStart = program.getDataStart();
+        this.dataSize = 4 * data.length;
+        this.stackBottom = STACK_TOP - stackSize;
+        this.stackSize = stackSize;
+        this.output = output;
+        System.arraycopy(data, 0, memory, 0, data.length);
+        Integer point = program.address(OUTPUT_POINT);
+        Integer buffer = program.address(OUTPUT_BUFFER);
+        this.outputPoint = point != null && buffer != null ? point / 4 : Arm.NONE;
+        this.outputBuffer = buffer != null ? buffer : 0;
+        r[Arm.SP] = STACK_TOP;
+    }
+
+    /* counts the next run per routine and source line, the program being assembled without fusion */
+    public void setProfiler(Profiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /* runs the program from its first instruction until its end instruction */
+    public void run() {
+        int size = program.size();
+        int pc = 0;
+        while (true) {
+            if (pc < 0 || pc >= size) {
+                throw new IllegalStateException("Execution went out of the program, at address 0x" + Integer.toHexString(4 * pc));
+            }
+            int i = pc++;
+            executed++;
+            if (profiler != null) {
+                profiler.step(i, memoryAccesses);
+            }
+            if (program.cond(i) != Arm.AL && !holds(program.cond(i))) {
+                continue;
+            }
+            r[Arm.PC] = 4 * i + 8;
+            // instruction running, the second one of a superinstruction once the first has run
+            int at = i;
+            try {
+                switch (program.dispatch(i)) {
+                    case Arm.END:
+                        if (profiler != null) {
+                            profiler.finish(memoryAccesses);
+                        }
+                        return;
+                    case Arm.MOV:
+                        pc = result(i, operand2(i), pc, true);
+                        break;
+                    case Arm.MVN:
+                        pc = result(i, ~operand2(i), pc, true);
+                        break;
+                    case Arm.ADD:
+                        pc = result(i, add(r[program.rn(i)], operand2(i), i), pc, false);
+                        break;
+                    case Arm.SUB:
+                        pc = result(i, subtract(r[program.rn(i)], operand2(i), i), pc, false);
+                        break;
+                    case Arm.RSB:
+                        pc = result(i, subtract(operand2(i), r[program.rn(i)], i), pc, false);
+                        break;
+                    case Arm.AND:
+                        pc = result(i, r[program.rn(i)] & operand2(i), pc, true);
+                        break;
+                    case Arm.ORR:
+                        pc = result(i, r[program.rn(i)] | operand2(i), pc, true);
+                        break;
+                    case Arm.EOR:
+                        pc = result(i, r[program.rn(i)] ^ operand2(i), pc, true);
+                        break;
+                    case Arm.BIC:
+                        pc = result(i, r[program.rn(i)] & ~operand2(i), pc, true);
+                        break;
+                    case Arm.MUL:
+                        carry = c;
+                        pc = result(i, r[program.rn(i)] * r[program.rm(i)], pc, true);
+                        break;
+                    case Arm.CMP:
+                        subtract(r[program.rn(i)], operand2(i), i);
+                        break;
+                    case Arm.CMN:
+                        add(r[program.rn(i)], operand2(i), i);
+                        break;
+                    case Arm.TST:
+                        logical(r[program.rn(i)] & operand2(i));
+                        break;
+                    case Arm.TEQ:
+                        logical(r[program.rn(i)] ^ operand2(i));
+                        break;
+                    case Arm.LDR:
+                    case Arm.STR:
+                    case Arm.LDRB:
+                    case Arm.STRB:
+                        pc = transfer(i, pc);
+                        break;
+                    case Arm.LDM:
+                    case Arm.STM:
+                        pc = block(i, pc);
+                        break;
+                    case Arm.BL:
+                        r[Arm.LR] = 4 * (i + 1);
+                        pc = program.imm(i);
+                        break;
+                    case Arm.B:
+                        pc = program.imm(i);
+                        break;
+                    case Arm.COMPARE_BRANCH:
+                        subtract(r[program.rn(i)], operand2(i), i);
+                        executed++;
+                        pc = branch(i + 1);
+                        break;
+                    case Arm.TEST_BRANCH:
+                        logical(r[program.rn(i)] & operand2(i));
+                        executed++;
+                        pc = branch(i + 1);
+                        break;
+                    case Arm.PUSH_CALL:
+                        block(i, pc);
+                        executed++;
+                        r[Arm.LR] = 4 * (i + 2);
+                        pc = program.imm(i + 1);
+                        break;
+                    case Arm.LOAD_GLOBAL:
+                        executed++;
+                        at = i + 1;
+                        memoryAccesses++;
+                        r[program.rd(i)] = load(program.imm(i) + program.imm(i + 1));
+                        pc = i + 2;
+                        break;
+                    default:
+                        throw new IllegalStateException("unknown opcode " + program.op(i));
+                }
+            } catch (IllegalStateException e) {
+                throw new IllegalStateException("Line " + program.line(at) + ": " + e.getMessage(), e);
+            }
+            if (i == outputPoint) {
+                output.accept(string(outputBuffer));
+            }
+        }
+    }
+
+    private boolean holds(int cond) {
+        switch (cond) {
+            case Arm.EQ:
+                return z;
+            case Arm.NE:
+                return !z;
+            case Arm.HS:
+                return c;
+            case Arm.LO:
+                return !c;
+            case Arm.MI:
+                return n;
+            case Arm.PL:
+                return !n;
+            case Arm.VS:
+                return v;
+            case Arm.VC:
+                return !v;
+            case Arm.HI:
+                return c && !z;
+            case Arm.LS:
+                return !c || z;
+            case Arm.GE:
+                return n == v;
+            case Arm.LT:
+                return n != v;
+            case Arm.GT:
+                return !z && n == v;
+            case Arm.LE:
+                return z || n != v;
+            default:
+                return true;
+        }
+    }
+
+    /* target of the branch j when its condition holds, the instruction after it otherwise */
+    private int branch(int j) {
+        return program.cond(j) == Arm.AL || holds(program.cond(j)) ? program.imm(j) : j + 1;
+    }
+
+    /* writes the result of instruction i, a jump when it goes to pc; logical results set the flags with the carry of the shift */
+    private int result(int i, int value, int pc, boolean logical) {
+        if (logical && (program.flags(i) & Program.SET_FLAGS) != 0) {
+            logical(value);
+        }
+        if (program.rd(i) == Arm.PC) {
+            return jump(value);
+        }
+        r[program.rd(i)] = value;
+        return pc;
+    }
+
+    private void logical(int value) {
+        n = value < 0;
+        z = value == 0;
+        c = carry;
+    }
+
+    private int add(int a, int b, int i) {
+        int sum = a + b;
+        if ((program.flags(i) & Program.SET_FLAGS) != 0) {
+            n = sum < 0;
+            z = sum == 0;
+            c = Integer.compareUnsigned(sum, a) < 0;
+            v = ((a ^ sum) & (b ^ sum)) < 0;
+        }
+        return sum;
+    }
+
+    private int subtract(int a, int b, int i) {
+        int difference = a - b;
+        if ((program.flags(i) & Program.SET_FLAGS) != 0) {
+            n = difference < 0;
+            z = difference == 0;
+            c = Integer.compareUnsigned(a, b) >= 0;
+            v = ((a ^ b) & (a ^ difference)) < 0;
+        }
+        return difference;
+    }
+
+    /* immediate or shifted register, the carry out of the shift left in carry */
+    private int operand2(int i) {
+        int rm = program.rm(i);
+        if (rm == Arm.NONE) {
+            carry = c;
+            return program.imm(i);
+        }
+        int amount = program.rs(i) == Arm.NONE ? program.imm(i) : r[program.rs(i)] & 0xFF;
+        return shift(program.shift(i), r[rm], amount);
+    }
+
+    private int shift(int kind, int value, int amount) {
+        if (amount == 0) {
+            carry = c;
+            return value;
+        }
+        switch (kind) {
+            case Arm.LSL:
+                carry = amount <= 32 && (value << (amount - 1)) < 0;
+                return amount < 32 ? value << amount : 0;
+            case Arm.LSR:
+                carry = amount <= 32 && (value >>> (amount - 1) & 1) != 0;
+                return amount < 32 ? value >>> amount : 0;
+            case Arm.ASR:
+                carry = (value >> Math.min(amount - 1, 31) & 1) != 0;
+                return value >> Math.min(amount, 31);
+            default:
+                int rotated = Integer.rotateRight(value, amount);
+                carry = rotated < 0;
+                return rotated;
+        }
+    }
+
+    private int jump(int address) {
+        if ((address & 3) != 0) {
+            throw new IllegalStateException("jump to the unaligned address 0x" + Integer.toHexString(address));
+        }
+        return address >>> 2;
+    }
+
+    /* ldr, str, ldrb and strb */
+    private int transfer(int i, int pc) {
+        int base = r[program.rn(i)];
+        int offset = program.imm(i);
+        if (program.rm(i) != Arm.NONE) {
+            offset = shift(program.shift(i), r[program.rm(i)], program.imm(i));
+            if ((program.flags(i) & Program.SUBTRACT) != 0) {
+                offset = -offset;
+            }
+        }
+        int address = program.mode(i) == Arm.POST ? base : base + offset;
+        int rd = program.rd(i);
+        int value = 0;
+        memoryAccesses++;
+        switch (program.op(i)) {
+            case Arm.LDR:
+                value = load(address);
+                break;
+            case Arm.LDRB:
+                value = load(address & ~3) >>> 8 * (address & 3) & 0xFF;
+                break;
+            case Arm.STR:
+                store(address, r[rd]);
+                break;
+            default:
+                int shift = 8 * (address & 3);
+                int word = load(address & ~3);
+                store(address & ~3, word & ~(0xFF << shift) | (r[rd] & 0xFF) << shift);
+        }
+        if ((program.flags(i) & Program.WRITEBACK) != 0) {
+            r[program.rn(i)] = base + offset;
+        }
+        if (program.op(i) == Arm.LDR || program.op(i) == Arm.LDRB) {
+            if (rd == Arm.PC) {
+                return jump(value);
+            }
+            r[rd] = value;
+        }
+        return pc;
+    }
+
+    /* ldm and stm, the lowest register at the lowest address */
+    private int block(int i, int pc) {
+        int registers = program.imm(i);
+        int count = Integer.bitCount(registers);
+        int base = r[program.rn(i)];
+        int address;
+        switch (program.mode(i)) {
+            case Arm.IB:
+                address = base + 4;
+                break;
+            case Arm.DA:
+                address = base - 4 * count + 4;
+                break;
+            case Arm.DB:
+                address = base - 4 * count;
+                break;
+            default:
+                address = base;
+        }
+        boolean load = program.op(i) == Arm.LDM;
+        memoryAccesses += count;
+        int next = pc;
+        for (int register = 0; register < 16; register++) {
+            if ((registers & 1 << register) == 0) {
+                continue;
+            }
+            if (!load) {
+                store(address, r[register]);
+            } else if (register == Arm.PC) {
+                next = jump(load(address));
+            } else {
+                r[register] = load(address);
+            }
+            address += 4;
+        }
+        if ((program.flags(i) & Program.WRITEBACK) != 0 && !(load && (registers & 1 << program.rn(i)) != 0)) {
+            int mode = program.mode(i);
+            r[program.rn(i)] = mode == Arm.IA || mode == Arm.IB ? base + 4 * count : base - 4 * count;
+        }
+        return next;
+    }
+
+    private int load(int address) {
+        return memory[index(address)];
+    }
+
+    private void store(int address, int value) {
+        memory[index(address)] = value;
+    }
+
+    /* index in memory of the word at an address, the stack being right after the data */
+    private int index(int address) {
+        if ((address & 3) == 0) {
+            if (Integer.compareUnsigned(address - stackBottom, stackSize) < 0) {
+                return (dataSize + address - stackBottom) >>> 2;
+            }
+            if (Integer.compareUnsigned(address - dataStart, dataSize) < 0) {
+                return (address - dataStart) >>> 2;
+            }
+        }
+        throw new IllegalStateException("invalid memory access at address 0x" + Integer.toHexString(address));
+    }
+
+    /* zero terminated UTF-8 string at an address */
+    private String string(int address) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int at = address; ; at++) {
+            int character = load(at & ~3) >>> 8 * (at & 3) & 0xFF;
+            if (character == 0) {
+                break;
+            }
+            bytes.write(character);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    public int register(int register) {
+        return r[register];
+    }
+
+    /* instructions run, those whose condition failed included */
+    public long getExecuted() {
+        return executed;
+    }
+
+    /* words read or written by the loads and stores */
+    public long getMemoryAccesses() {
+        return memoryAccesses;
+    }
+}
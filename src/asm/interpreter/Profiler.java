@@ -0,0 +1,291 @@
+package asm.interpreter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/* Instructions run and memory accessed by a program, per routine and per line of the Ada source.
+ * A routine runs from a bl to the return to the instruction after it, whatever the return is done with,
+ * and is named after the label it starts at: the procedures and functions, mul, div, rem and the print routines.
+ * Each instruction goes to the source line of its "@ line" comment, left by the code generator with --profile,
+ * the others to the last line of their routine, so that the runtime routines count for the line calling them.
+ * The program must not be fused, each instruction being counted where it is. */
+public class Profiler {
+    private static final Pattern LINE_MARK = Pattern.compile("@ line (\\d+)");
+    // source lines listed in the flat profile
+    private static final int HOT_LINES = 20;
+
+    private final Program program;
+    // source line of each instruction, 0 without one
+    private final int[] sourceLines;
+
+    // routines by id, with their number of calls, and the routine starting at each instruction called
+    private final List<String> routines = new ArrayList<>();
+    private long[] calls = new long[16];
+    private final Map<Integer, Integer> routineAt = new HashMap<>();
+
+    // call paths: routine and parent path of each, with what ran in the routine itself on that path
+    private int paths = 0;
+    private int[] pathRoutines = new int[64];
+    private int[] pathParents = new int[64];
+    private long[] pathInstructions = new long[64];
+    private long[] pathMemory = new long[64];
+    private final Map<Long, Integer> pathIds = new HashMap<>();
+
+    // routines being run: path, instruction they return to, and current source line of each
+    private int depth = 0;
+    private int[] stackPaths = new int[64];
+    private int[] stackReturns = new int[64];
+    private int[] stackLines = new int[64];
+
+    private final long[] lineInstructions;
+    private final long[] lineMemory;
+
+    // last instruction counted, its line, and the memory accesses before it ran
+    private int previous = Arm.NONE;
+    private int previousLine = 0;
+    private long memory = 0;
+
+    /* assembly: the lines the program was assembled from */
+    public Profiler(Program program, List<String> assembly) {
+        this.program = program;
+        this.sourceLines = new int[program.size()];
+        int lastLine = 0;
+        for (int i = 0; i < program.size(); i++) {
+            if (program.dispatch(i) != program.op(i)) {
+                throw new IllegalArgumentException("Line " + program.line(i) + ": a fused program cannot be profiled");
+            }
+            Matcher mark = LINE_MARK.matcher(assembly.get(program.line(i) - 1));
+            if (mark.find()) {
+                sourceLines[i] = Integer.parseInt(mark.group(1));
+                lastLine = Math.max(lastLine, sourceLines[i]);
+            }
+        }
+        this.lineInstructions = new long[lastLine + 1];
+        this.lineMemory = new long[lastLine + 1];
+        int entry = routine(entryName());
+        calls[entry]++;
+        stackPaths[0] = path(Arm.NONE, entry);
+        stackReturns[0] = Arm.NONE;
+        depth = 1;
+    }
+
+    /* the program is at instruction i, memoryAccesses having been made so far */
+    void step(int i, long memoryAccesses) {
+        if (previous != Arm.NONE) {
+            count(memoryAccesses);
+            if (program.op(previous) == Arm.BL && program.imm(previous) == i) {
+                call(i, previous + 1);
+            } else if (i != previous + 1 && depth > 1 && i == stackReturns[depth - 1]) {
+                depth--;
+            }
+        }
+        int line = sourceLines[i] != 0 ? sourceLines[i] : stackLines[depth - 1];
+        stackLines[depth - 1] = line;
+        pathInstructions[stackPaths[depth - 1]]++;
+        lineInstructions[line]++;
+        previous = i;
+        previousLine = line;
+    }
+
+    /* the program ended, memoryAccesses having been made in all */
+    void finish(long memoryAccesses) {
+        count(memoryAccesses);
+        previous = Arm.NONE;
+    }
+
+    /* memory accessed by the previous instruction */
+    private void count(long memoryAccesses) {
+        pathMemory[stackPaths[depth - 1]] += memoryAccesses - memory;
+        lineMemory[previousLine] += memoryAccesses - memory;
+        memory = memoryAccesses;
+    }
+
+    private void call(int target, int returnTo) {
+        Integer routine = routineAt.get(target);
+        if (routine == null) {
+            List<String> labels = program.labels(4 * target);
+            routine = routine(labels.isEmpty() ? String.format("0x%X", 4 * target) : labels.get(0));
+            routineAt.put(target, routine);
+        }
+        calls[routine]++;
+        if (depth == stackPaths.length) {
+            stackPaths = Arrays.copyOf(stackPaths, 2 * depth);
+            stackReturns = Arrays.copyOf(stackReturns, 2 * depth);
+            stackLines = Arrays.copyOf(stackLines, 2 * depth);
+        }
+        stackPaths[depth] = path(stackPaths[depth - 1], routine);
+        stackReturns[depth] = returnTo;
+        stackLines[depth] = previousLine;
+        depth++;
+    }
+
+    /* the main procedure, which the code generator labels main and after itself */
+    private String entryName() {
+        Integer main = program.address("main");
+        if (main == null) {
+            return "main";
+        }
+        for (String label : program.labels(main)) {
+            if (!label.equals("main")) {
+                return label;
+            }
+        }
+        return "main";
+    }
+
+    private int routine(String name) {
+        int id = routines.indexOf(name);
+        if (id < 0) {
+            id = routines.size();
+            routines.add(name);
+            if (id == calls.length) {
+                calls = Arrays.copyOf(calls, 2 * id);
+            }
+        }
+        return id;
+    }
+
+    private int path(int parent, int routine) {
+        return pathIds.computeIfAbsent((long) parent << 32 | routine, key -> {
+            if (paths == pathRoutines.length) {
+                pathRoutines = Arrays.copyOf(pathRoutines, 2 * paths);
+                pathParents = Arrays.copyOf(pathParents, 2 * paths);
+                pathInstructions = Arrays.copyOf(pathInstructions, 2 * paths);
+                pathMemory = Arrays.copyOf(pathMemory, 2 * paths);
+            }
+            pathRoutines[paths] = routine;
+            pathParents[paths] = parent;
+            return paths++;
+        });
+    }
+
+    /* instructions run in a routine itself, 0 if it never ran */
+    public long getSelfInstructions(String routine) {
+        long count = 0;
+        for (int path = 0; path < paths; path++) {
+            if (routines.get(pathRoutines[path]).equals(routine)) {
+                count += pathInstructions[path];
+            }
+        }
+        return count;
+    }
+
+    /* instructions run in a routine and in the ones it called, recursive calls counted once */
+    public long getInclusiveInstructions(String routine) {
+        int id = routines.indexOf(routine);
+        return id < 0 ? 0 : inclusive(pathInstructions)[id];
+    }
+
+    public long getMemoryAccesses(String routine) {
+        long count = 0;
+        for (int path = 0; path < paths; path++) {
+            if (routines.get(pathRoutines[path]).equals(routine)) {
+                count += pathMemory[path];
+            }
+        }
+        return count;
+    }
+
+    public long getCalls(String routine) {
+        int id = routines.indexOf(routine);
+        return id < 0 ? 0 : calls[id];
+    }
+
+    /* instructions run for a line of the source, 0 for the ones without a line */
+    public long getLineInstructions(int line) {
+        return line < lineInstructions.length ? lineInstructions[line] : 0;
+    }
+
+    public long getLineMemoryAccesses(int line) {
+        return line < lineMemory.length ? lineMemory[line] : 0;
+    }
+
+    /* counts per routine of all the paths through it */
+    private long[] inclusive(long[] counts) {
+        long[] total = new long[routines.size()];
+        boolean[] seen = new boolean[routines.size()];
+        for (int path = 0; path < paths; path++) {
+            Arrays.fill(seen, false);
+            for (int at = path; at != Arm.NONE; at = pathParents[at]) {
+                if (!seen[pathRoutines[at]]) {
+                    seen[pathRoutines[at]] = true;
+                    total[pathRoutines[at]] += counts[path];
+                }
+            }
+        }
+        return total;
+    }
+
+    /* one line per call path with instructions of its own, its routines from the entry separated by ';',
+     * then its count, as flame graph tools read them */
+    public List<String> folded() {
+        List<String> lines = new ArrayList<>();
+        for (int path = 0; path < paths; path++) {
+            if (pathInstructions[path] > 0) {
+                StringBuilder stack = new StringBuilder(routines.get(pathRoutines[path]));
+                for (int at = pathParents[path]; at != Arm.NONE; at = pathParents[at]) {
+                    stack.insert(0, ';').insert(0, routines.get(pathRoutines[at]));
+                }
+                lines.add(stack.append(' ').append(pathInstructions[path]).toString());
+            }
+        }
+        lines.sort(null);
+        return lines;
+    }
+
+    /* the routines by instructions run in themselves, then the lines of the source that ran the most */
+    public void writeFlat(PrintWriter out, List<String> source) {
+        long[] self = new long[routines.size()];
+        long[] accessed = new long[routines.size()];
+        for (int path = 0; path < paths; path++) {
+            self[pathRoutines[path]] += pathInstructions[path];
+            accessed[pathRoutines[path]] += pathMemory[path];
+        }
+        long[] inclusive = inclusive(pathInstructions);
+        long total = Arrays.stream(self).sum();
+        long totalMemory = Arrays.stream(accessed).sum();
+        out.printf("%d instructions, %d memory accesses%n%n", total, totalMemory);
+
+        out.printf("%12s %7s %12s %7s %12s %10s  %s%n", "self", "%", "inclusive", "%", "memory", "calls", "routine");
+        Integer[] order = new Integer[routines.size()];
+        Arrays.setAll(order, id -> id);
+        Arrays.sort(order, (a, b) -> Long.compare(self[b], self[a]));
+        for (int id : order) {
+            out.printf("%12d %6.2f%% %12d %6.2f%% %12d %10d  %s%n", self[id], percent(self[id], total),
+                    inclusive[id], percent(inclusive[id], total), accessed[id], calls[id], routines.get(id));
+        }
+
+        out.printf("%n%12s %7s %12s %6s  %s%n", "instructions", "%", "memory", "line", "source");
+        Integer[] lines = new Integer[lineInstructions.length];
+        Arrays.setAll(lines, line -> line);
+        Arrays.sort(lines, (a, b) -> Long.compare(lineInstructions[b], lineInstructions[a]));
+        for (int at = 0; at < Math.min(HOT_LINES, lines.length) && lineInstructions[lines[at]] > 0; at++) {
+            int line = lines[at];
+            String text = line == 0 ? "(no source line)" : line <= source.size() ? source.get(line - 1).strip() : "";
+            out.printf("%12d %6.2f%% %12d %6s  %s%n", lineInstructions[line], percent(lineInstructions[line], total),
+                    lineMemory[line], line == 0 ? "-" : String.valueOf(line), text);
+        }
+    }
+
+    /* the flat profile in base-profile.txt and the call paths in base-profile.folded */
+    public void write(String base, List<String> source) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Path.of(base + "-profile.txt"), StandardCharsets.UTF_8))) {
+            writeFlat(out, source);
+        }
+        Files.write(Path.of(base + "-profile.folded"), folded(), StandardCharsets.UTF_8);
+    }
+
+    private static double percent(long count, long total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+}
@@ -0,0 +1,179 @@
+package asm.interpreter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/* Assembled program: its instructions decoded into a few packed words each, instruction i being at address 4 * i,
+ * then its data from dataStart on, as VisUAL lays them out. */
+public class Program {
+    private static final int INITIAL_CAPACITY = 256;
+
+    public final static int
+        // flags of an instruction
+        SET_FLAGS = 1,      // the s suffix
+        WRITEBACK = 2,      // rn is left at the address past the words accessed
+        SUBTRACT = 4;       // the register offset of a ldr or str is subtracted
+
+    // words of an instruction: opcode, condition, flags, shift and mode packed in CODE, rd, rn, rm and rs
+    // a byte each in REGISTERS, then its immediate and its line
+    private static final int CODE = 0, REGISTERS = 1, IMM = 2, LINE = 3, WORDS = 4;
+
+    private int size = 0;
+    private int[] words = new int[WORDS * INITIAL_CAPACITY];
+
+    private final Map<String, Integer> labels = new HashMap<>();
+    private int dataStart;
+    private int[] data = new int[0];
+
+    int add(int op, int cond, int flag, int rd, int rn, int rm, int imm, int shift, int rs, int mode, int line) {
+        if (WORDS * size == words.length) {
+            words = Arrays.copyOf(words, 2 * words.length);
+        }
+        int at = WORDS * size;
+        words[at + CODE] = op | cond << 8 | flag << 12 | shift << 16 | mode << 20 | op << 24;
+        words[at + REGISTERS] = rd & 0xFF | (rn & 0xFF) << 8 | (rm & 0xFF) << 16 | rs << 24;
+        words[at + IMM] = imm;
+        words[at + LINE] = line;
+        return size++;
+    }
+
+    void setImm(int i, int imm) {
+        words[WORDS * i + IMM] = imm;
+    }
+
+    /* has the interpreter run instruction i and the next one as the superinstruction op */
+    void fuse(int i, int op) {
+        words[WORDS * i + CODE] = words[WORDS * i + CODE] & 0xFFFFFF | op << 24;
+    }
+
+    void setData(int dataStart, int[] data) {
+        this.dataStart = dataStart;
+        this.data = data;
+    }
+
+    void label(String label, int address) {
+        labels.put(label, address);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int op(int i) {
+        return words[WORDS * i + CODE] & 0xFF;
+    }
+
+    /* opcode the interpreter dispatches on: op, or the superinstruction starting at i */
+    public int dispatch(int i) {
+        return words[WORDS * i + CODE] >>> 24;
+    }
+
+    public int cond(int i) {
+        return words[WORDS * i + CODE] >> 8 & 0xF;
+    }
+
+    public int flags(int i) {
+        return words[WORDS * i + CODE] >> 12 & 0xF;
+    }
+
+    public int rd(int i) {
+        return (byte) words[WORDS * i + REGISTERS];
+    }
+
+    public int rn(int i) {
+        return (byte) (words[WORDS * i + REGISTERS] >> 8);
+    }
+
+    public int rm(int i) {
+        return (byte) (words[WORDS * i + REGISTERS] >> 16);
+    }
+
+    public int imm(int i) {
+        return words[WORDS * i + IMM];
+    }
+
+    public int shift(int i) {
+        return words[WORDS * i + CODE] >> 16 & 0xF;
+    }
+
+    public int rs(int i) {
+        return words[WORDS * i + REGISTERS] >> 24;
+    }
+
+    public int mode(int i) {
+        return words[WORDS * i + CODE] >> 20 & 0xF;
+    }
+
+    /* line of the instruction in the assembly file, from 1 */
+    public int line(int i) {
+        return words[WORDS * i + LINE];
+    }
+
+    /* address of a label, null if the program does not define it */
+    public Integer address(String label) {
+        return labels.get(label.toLowerCase());
+    }
+
+    /* labels of an address, in alphabetical order */
+    public List<String> labels(int address) {
+        List<String> found = new ArrayList<>();
+        for (Map.Entry<String, Integer> label : labels.entrySet()) {
+            if (label.getValue() == address) {
+                found.add(label.getKey());
+            }
+        }
+        found.sort(null);
+        return found;
+    }
+
+    public int getDataStart() {
+        return dataStart;
+    }
+
+    /* initial words of the data, from dataStart on */
+    public int[] getData() {
+        return data;
+    }
+
+    /* the decoded words, data and labels, as read reads them back */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int at = 0; at < WORDS * size; at++) {
+            out.writeInt(words[at]);
+        }
+        out.writeInt(dataStart);
+        out.writeInt(data.length);
+        for (int word : data) {
+            out.writeInt(word);
+        }
+        out.writeInt(labels.size());
+        for (Map.Entry<String, Integer> label : labels.entrySet()) {
+            out.writeUTF(label.getKey());
+            out.writeInt(label.getValue());
+        }
+    }
+
+    static Program read(DataInputStream in) throws IOException {
+        Program program = new Program();
+        program.size = in.readInt();
+        program.words = new int[Math.max(WORDS * program.size, WORDS)];
+        for (int at = 0; at < WORDS * program.size; at++) {
+            program.words[at] = in.readInt();
+        }
+        program.dataStart = in.readInt();
+        program.data = new int[in.readInt()];
+        for (int at = 0; at < program.data.length; at++) {
+            program.data[at] = in.readInt();
+        }
+        for (int count = in.readInt(); count > 0; count--) {
+            program.labels.put(in.readUTF(), in.readInt());
+        }
+        return program;
+    }
+}
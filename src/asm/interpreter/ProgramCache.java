@@ -0,0 +1,82 @@
+package asm.interpreter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/* Decoded programs kept in a directory, under the SHA-256 of the text they were assembled from,
+ * so that running an unchanged assembly file again skips the assembler. */
+public class ProgramCache {
+    // written first in every file, to be changed with the layout of Program
+    private static final int VERSION = 1;
+
+    private final Path directory;
+    private boolean hit = false;
+
+    public ProgramCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /* default directory, in the temporary files of the user */
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("java.io.tmpdir"), "canada-programs");
+    }
+
+    /* the program of an assembly file, assembled and stored only if no program of the same text is */
+    public Program load(Path assembly) throws IOException {
+        byte[] text = Files.readAllBytes(assembly);
+        Path file = directory.resolve(hash(text) + ".program");
+        hit = false;
+        if (Files.exists(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                // a file of another layout is assembled again too
+                if (in.readInt() == VERSION) {
+                    Program program = Program.read(in);
+                    hit = true;
+                    return program;
+                }
+            } catch (IOException | RuntimeException e) {
+                // truncated or damaged, assembled again below
+            }
+        }
+        List<String> source = Arrays.asList(new String(text, StandardCharsets.UTF_8).split("\r?\n", -1));
+        Program program = Assembler.assemble(source);
+        store(file, program);
+        return program;
+    }
+
+    /* whether the last program loaded came from the directory */
+    public boolean wasHit() {
+        return hit;
+    }
+
+    private void store(Path file, Program program) throws IOException {
+        Files.createDirectories(directory);
+        // written aside then moved, another run never reads half a program
+        Path partial = Files.createTempFile(directory, "program", ".partial");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+            out.writeInt(VERSION);
+            program.write(out);
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String hash(byte[] text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
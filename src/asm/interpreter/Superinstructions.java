@@ -0,0 +1,45 @@
+package asm.interpreter;
+
+/* Fuses the pairs of instructions the generated code runs most into superinstructions: the comparisons
+ * and the branches after them, the last push of the arguments and the call, and the loads through the
+ * globals of the procedures that walk the static links. The second instruction stays decoded as it is
+ * for the jumps to it, only the first one dispatches to the superinstruction. */
+class Superinstructions {
+    private Superinstructions() {
+    }
+
+    /* fuses the pairs of program, those around the instruction at the address point excepted */
+    static void fuse(Program program, Integer point) {
+        for (int i = 0; i + 1 < program.size(); i++) {
+            if (point != null && (4 * i == point || 4 * (i + 1) == point)) {
+                continue;
+            }
+            int op = superinstruction(program, i);
+            if (op != Arm.NONE) {
+                program.fuse(i, op);
+            }
+        }
+    }
+
+    private static int superinstruction(Program program, int i) {
+        int next = i + 1;
+        switch (program.op(i)) {
+            case Arm.CMP:
+                return program.op(next) == Arm.B ? Arm.COMPARE_BRANCH : Arm.NONE;
+            case Arm.TST:
+                return program.op(next) == Arm.B ? Arm.TEST_BRANCH : Arm.NONE;
+            case Arm.STM:
+                boolean push = program.rn(i) == Arm.SP && (program.flags(i) & Program.WRITEBACK) != 0
+                        && (program.imm(i) & 1 << Arm.PC) == 0;
+                return push && program.op(next) == Arm.BL && program.cond(next) == Arm.AL ? Arm.PUSH_CALL : Arm.NONE;
+            case Arm.MOV:
+                int rd = program.rd(i);
+                boolean constant = program.rm(i) == Arm.NONE && rd != Arm.PC && program.flags(i) == 0;
+                return constant && program.op(next) == Arm.LDR && program.cond(next) == Arm.AL
+                        && program.mode(next) == Arm.OFFSET && program.flags(next) == 0 && program.rm(next) == Arm.NONE
+                        && program.rd(next) == rd && program.rn(next) == rd ? Arm.LOAD_GLOBAL : Arm.NONE;
+            default:
+                return Arm.NONE;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package asm.ir;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/* Basic blocks of a Code: a block starts at a label or after a branch and runs up to the next one.
+ * Branches to labels outside of the code, the runtime errors, have no successor. */
+public class BasicBlocks {
+    private final int[] starts;
+    private final int[][] successors;
+
+    public BasicBlocks(Code code) {
+        int[] found = new int[code.size() + 1];
+        int count = 0;
+        for (int i = 0; i < code.size(); i++) {
+            if (i == 0 || isLabel(code, i) || code.endsBlock(i - 1)) {
+                found[count++] = i;
+            }
+        }
+        found[count] = code.size();
+        starts = Arrays.copyOf(found, count + 1);
+
+        Map<String, Integer> blocks = new HashMap<>();
+        for (int block = 0; block < count; block++) {
+            if (isLabel(code, starts[block])) {
+                blocks.put(code.label(starts[block]), block);
+            }
+        }
+        successors = new int[count][];
+        for (int block = 0; block < count; block++) {
+            int last = end(block) - 1;
+            Integer target = code.op(last) == Op.BRANCH ? blocks.get(code.label(last)) : null;
+            boolean next = code.fallsThrough(last) && block + 1 < count;
+            if (target != null && next && target != block + 1) {
+                successors[block] = new int[]{block + 1, target};
+            } else if (target != null) {
+                successors[block] = new int[]{target};
+            } else if (next) {
+                successors[block] = new int[]{block + 1};
+            } else {
+                successors[block] = new int[0];
+            }
+        }
+    }
+
+    private static boolean isLabel(Code code, int i) {
+        return code.op(i) == Op.LABEL || code.op(i) == Op.ENTRY;
+    }
+
+    public int count() {
+        return successors.length;
+    }
+
+    /* index of the first instruction of a block */
+    public int start(int block) {
+        return starts[block];
+    }
+
+    /* index just past the last instruction of a block */
+    public int end(int block) {
+        return starts[block + 1];
+    }
+
+    public int[] successors(int block) {
+        return successors[block];
+    }
+}
@@ -0,0 +1,226 @@
+package asm.ir;
+
+import java.util.Arrays;
+
+/* Instructions of a procedure in three-address form, one slot per instruction in parallel arrays.
+ * Operands are registers, physical below Op.FIRST_VIRTUAL and virtual from it on, or NONE. */
+public class Code {
+    private static final int INITIAL_CAPACITY = 32;
+
+    private int size = 0;
+    private int[] ops = new int[INITIAL_CAPACITY];
+    private int[] conds = new int[INITIAL_CAPACITY];
+    private int[] dsts = new int[INITIAL_CAPACITY];
+    private int[] as = new int[INITIAL_CAPACITY];
+    private int[] bs = new int[INITIAL_CAPACITY];
+    private int[] imms = new int[INITIAL_CAPACITY];
+    private int[] flags = new int[INITIAL_CAPACITY];
+    private String[] labels = new String[INITIAL_CAPACITY];
+    private String[] comments = new String[INITIAL_CAPACITY];
+    // line of the Ada source each instruction was generated for, 0 if unknown
+    private int[] lines = new int[INITIAL_CAPACITY];
+    private int line = 0;
+
+    public int add(int op, int cond, int dst, int a, int b, int imm, int flag, String label, String comment) {
+        if (size == ops.length) {
+            int capacity = 2 * size;
+            ops = Arrays.copyOf(ops, capacity);
+            conds = Arrays.copyOf(conds, capacity);
+            dsts = Arrays.copyOf(dsts, capacity);
+            as = Arrays.copyOf(as, capacity);
+            bs = Arrays.copyOf(bs, capacity);
+            imms = Arrays.copyOf(imms, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+            comments = Arrays.copyOf(comments, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+        }
+        ops[size] = op;
+        conds[size] = cond;
+        dsts[size] = dst;
+        as[size] = a;
+        bs[size] = b;
+        imms[size] = imm;
+        flags[size] = flag;
+        labels[size] = label;
+        comments[size] = comment;
+        lines[size] = line;
+        return size++;
+    }
+
+    /* source line of the instructions added from now on */
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public void append(Code code) {
+        for (int i = 0; i < code.size; i++) {
+            int j = add(code.ops[i], code.conds[i], code.dsts[i], code.as[i], code.bs[i], code.imms[i], code.flags[i], code.labels[i], code.comments[i]);
+            lines[j] = code.lines[i];
+        }
+    }
+
+    public void text(String text) {
+        add(Op.TEXT, Op.AL, Op.NONE, Op.NONE, Op.NONE, 0, 0, text, null);
+    }
+
+    public void label(String label, String comment) {
+        add(Op.LABEL, Op.AL, Op.NONE, Op.NONE, Op.NONE, 0, 0, label, comment);
+    }
+
+    public void entry(String label, String comment) {
+        add(Op.ENTRY, Op.AL, Op.NONE, Op.NONE, Op.NONE, 0, 0, label, comment);
+    }
+
+    public void pseudo(int op) {
+        add(op, Op.AL, Op.NONE, Op.NONE, Op.NONE, 0, 0, null, null);
+    }
+
+    public void move(int dst, int a, String comment) {
+        add(Op.MOVE, Op.AL, dst, a, Op.NONE, 0, 0, null, comment);
+    }
+
+    public void constant(int cond, int dst, int imm, String comment) {
+        add(Op.MOVE, cond, dst, Op.NONE, Op.NONE, imm, 0, null, comment);
+    }
+
+    public void address(int dst, String label) {
+        add(Op.ADDRESS, Op.AL, dst, Op.NONE, Op.NONE, 0, 0, label, null);
+    }
+
+    /* frame pointer of the procedure depth static links up from the current one */
+    public void frame(int dst, int depth) {
+        if (depth == 0) {
+            move(dst, Op.R12, null);
+            return;
+        }
+        load(dst, Op.R12, 0, "Going up in the static linkings");
+        for (int link = 1; link < depth; link++) {
+            load(dst, dst, 0, "Going up in the static linkings");
+        }
+    }
+
+    public void load(int dst, int base, int offset, String comment) {
+        add(Op.LOAD, Op.AL, dst, base, Op.NONE, offset, 0, null, comment);
+    }
+
+    public void store(int value, int base, int offset, String comment) {
+        add(Op.STORE, Op.AL, Op.NONE, value, base, offset, 0, null, comment);
+    }
+
+    /* store to an offset counted from the top of the registers saved on entry */
+    public void storeSaved(int value, int base, int offset, String comment) {
+        add(Op.STORE, Op.AL, Op.NONE, value, base, offset, Op.SAVED, null, comment);
+    }
+
+    public void push(int a, String comment) {
+        add(Op.PUSH, Op.AL, Op.NONE, a, Op.NONE, 0, 0, null, comment);
+    }
+
+    public void pop(int dst, String comment) {
+        add(Op.POP, Op.AL, dst, Op.NONE, Op.NONE, 0, 0, null, comment);
+    }
+
+    /* copy of words from the address in from to the one in to, both registers being left past the words;
+     * when down they hold the addresses right past the words, and to may be sp to push them */
+    public void copy(int scratch, int from, int to, int words, boolean down, String comment) {
+        add(Op.COPY, Op.AL, scratch, from, to, words, down ? Op.DOWN : 0, null, comment);
+    }
+
+    public void binary(int op, int dst, int a, int b, String comment) {
+        add(op, Op.AL, dst, a, b, 0, 0, null, comment);
+    }
+
+    /* dst := a op (b shifted left by shift) */
+    public void binaryShifted(int op, int dst, int a, int b, int shift, String comment) {
+        add(op, Op.AL, dst, a, b, shift, 0, null, comment);
+    }
+
+    public void binaryImm(int op, int dst, int a, int imm, String comment) {
+        add(op, Op.AL, dst, a, Op.NONE, imm, 0, null, comment);
+    }
+
+    /* addition of an offset counted from the top of the registers saved on entry to a procedure */
+    public void addSaved(int dst, int a, int offset, String procedure, String comment) {
+        add(Op.ADD, Op.AL, dst, a, Op.NONE, offset, Op.SAVED, procedure, comment);
+    }
+
+    /* room on the stack for the local variables and the spill slots */
+    public void locals(int size) {
+        add(Op.SUB, Op.AL, Op.SP, Op.SP, Op.NONE, size, Op.LOCALS, null, null);
+    }
+
+    public void runtime(String routine, int dst, int a, int b, String comment) {
+        add(Op.RUNTIME, Op.AL, dst, a, b, 0, 0, routine, comment);
+    }
+
+    public void compare(int a, int b, String comment) {
+        add(Op.CMP, Op.AL, Op.NONE, a, b, 0, 0, null, comment);
+    }
+
+    public void compareImm(int a, int imm, String comment) {
+        add(Op.CMP, Op.AL, Op.NONE, a, Op.NONE, imm, 0, null, comment);
+    }
+
+    public void branch(int cond, String label, String comment) {
+        add(Op.BRANCH, cond, Op.NONE, Op.NONE, Op.NONE, 0, 0, label, comment);
+    }
+
+    public void call(String label, String comment) {
+        add(Op.CALL, Op.AL, Op.NONE, Op.NONE, Op.NONE, 0, 0, label, comment);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int op(int i) {
+        return ops[i];
+    }
+
+    public int cond(int i) {
+        return conds[i];
+    }
+
+    public int dst(int i) {
+        return dsts[i];
+    }
+
+    public int a(int i) {
+        return as[i];
+    }
+
+    public int b(int i) {
+        return bs[i];
+    }
+
+    public int imm(int i) {
+        return imms[i];
+    }
+
+    public int flags(int i) {
+        return flags[i];
+    }
+
+    public String label(int i) {
+        return labels[i];
+    }
+
+    public String comment(int i) {
+        return comments[i];
+    }
+
+    public int line(int i) {
+        return lines[i];
+    }
+
+    /* the instruction is the last one of its basic block */
+    public boolean endsBlock(int i) {
+        return ops[i] == Op.BRANCH || ops[i] == Op.RETURN || ops[i] == Op.END;
+    }
+
+    /* the next instruction may run after this one */
+    public boolean fallsThrough(int i) {
+        return !(ops[i] == Op.BRANCH && conds[i] == Op.AL) && ops[i] != Op.RETURN && ops[i] != Op.END;
+    }
+}
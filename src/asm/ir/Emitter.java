@@ -0,0 +1,228 @@
+package asm.ir;
+
+import java.util.Map;
+
+/* VisUAL assembly of the code of a procedure, once its registers are allocated */
+public class Emitter {
+    // ends the comment of the instructions whose source line is known, followed by the line
+    private static final String LINE_MARK = "@ line ";
+
+    private final LinearScan allocation;
+    private final Code code;
+    // size of the registers each procedure saves on entry
+    private final Map<String, Integer> savedBytes;
+    private final int ownSavedBytes;
+
+    public Emitter(LinearScan allocation, Map<String, Integer> savedBytes) {
+        this.allocation = allocation;
+        this.code = allocation.getCode();
+        this.savedBytes = savedBytes;
+        this.ownSavedBytes = savedBytes(allocation);
+    }
+
+    /* size of the registers saved by ENTER: those written by the procedure, r12 and lr */
+    public static int savedBytes(LinearScan allocation) {
+        return 4 * (Integer.bitCount(allocation.getUsedRegisters()) + 2);
+    }
+
+    public String emit() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < code.size(); i++) {
+            instruction(builder, i);
+        }
+        return builder.toString();
+    }
+
+    /* registers saved on entry, last being lr to save them or pc to restore them and return */
+    private String savedRegisters(String last) {
+        StringBuilder registers = new StringBuilder("r13!, {");
+        for (int register = 0; register < LinearScan.REGISTERS; register++) {
+            if ((allocation.getUsedRegisters() & 1 << register) != 0) {
+                registers.append("r").append(register).append(", ");
+            }
+        }
+        return registers.append("r12, ").append(last).append("}").toString();
+    }
+
+    private String reg(int register) {
+        return "r" + allocation.physical(register);
+    }
+
+    /* immediate of an instruction, with the sizes only known once the registers are allocated */
+    private int offset(int i) {
+        if ((code.flags(i) & Op.SAVED) != 0) {
+            return (code.label(i) != null ? savedBytes.get(code.label(i)) : ownSavedBytes) + code.imm(i);
+        }
+        if ((code.flags(i) & Op.LOCALS) != 0) {
+            return code.imm(i) + 4 * allocation.getSpillSlots();
+        }
+        return code.imm(i);
+    }
+
+    private String operand(int i) {
+        if (code.b(i) == Op.NONE) {
+            return "#" + offset(i);
+        }
+        return code.imm(i) == 0 ? reg(code.b(i)) : reg(code.b(i)) + ", lsl #" + code.imm(i);
+    }
+
+    private String address(int base, int offset) {
+        return offset == 0 ? "[" + reg(base) + "]" : "[" + reg(base) + ", #" + offset + "]";
+    }
+
+    private void line(StringBuilder builder, String mnemonic, String operands, int i) {
+        builder.append('\t').append(mnemonic).append(Op.condition(code.cond(i))).append('\t').append(operands);
+        comment(builder, i);
+    }
+
+    private void comment(StringBuilder builder, int i) {
+        if (code.comment(i) != null) {
+            builder.append(" ; ").append(code.comment(i));
+        }
+        if (code.line(i) > 0) {
+            builder.append(code.comment(i) != null ? " " : " ; ").append(LINE_MARK).append(code.line(i));
+        }
+        builder.append('\n');
+    }
+
+    /* end of the other lines an instruction is emitted as, which only keep its source line */
+    private void mark(StringBuilder builder, int i) {
+        if (code.line(i) > 0) {
+            builder.append(" ; ").append(LINE_MARK).append(code.line(i));
+        }
+        builder.append('\n');
+    }
+
+    /* ldm and stm of as many words as the registers of the copy hold, until all of them are moved */
+    private void copy(StringBuilder builder, int i) {
+        boolean down = (code.flags(i) & Op.DOWN) != 0;
+        String load = down ? "ldmdb" : "ldmia";
+        String store = !down ? "stmia" : code.b(i) == Op.SP ? "stmfd" : "stmdb";
+        int registers = allocation.getCopyRegisters(i);
+        for (int left = code.imm(i); left > 0; left -= Integer.bitCount(registers)) {
+            StringBuilder list = new StringBuilder();
+            for (int register = 0, count = 0; register < LinearScan.REGISTERS && count < left; register++) {
+                if ((registers & 1 << register) != 0) {
+                    list.append(count++ == 0 ? "" : ", ").append("r").append(register);
+                }
+            }
+            builder.append('\t').append(load).append('\t').append(reg(code.a(i))).append("!, {").append(list).append('}');
+            if (left == code.imm(i)) {
+                comment(builder, i);
+            } else {
+                mark(builder, i);
+            }
+            builder.append('\t').append(store).append('\t').append(reg(code.b(i))).append("!, {").append(list).append('}');
+            mark(builder, i);
+        }
+    }
+
+    private void instruction(StringBuilder builder, int i) {
+        switch (code.op(i)) {
+            case Op.TEXT:
+                builder.append(code.label(i));
+                break;
+            case Op.LABEL:
+                builder.append('\t').append(code.label(i));
+                comment(builder, i);
+                break;
+            case Op.ENTRY:
+                builder.append(code.label(i));
+                if (code.comment(i) != null) {
+                    builder.append("\t;").append(code.comment(i));
+                }
+                builder.append('\n');
+                break;
+            case Op.ENTER:
+                builder.append("\tstmfd\t").append(savedRegisters("lr"));
+                mark(builder, i);
+                break;
+            case Op.RETURN:
+                builder.append("\tldmfd\t").append(savedRegisters("pc"));
+                mark(builder, i);
+                break;
+            case Op.END:
+                builder.append("end\n");
+                break;
+            case Op.MOVE:
+                if (code.a(i) != Op.NONE) {
+                    line(builder, "mov", reg(code.dst(i)) + ", " + reg(code.a(i)), i);
+                } else if (code.imm(i) > 256 || code.imm(i) < 0) {
+                    line(builder, "ldr", reg(code.dst(i)) + ", =" + code.imm(i), i);
+                } else {
+                    line(builder, "mov", reg(code.dst(i)) + ", #" + code.imm(i), i);
+                }
+                break;
+            case Op.ADDRESS:
+                line(builder, "ldr", reg(code.dst(i)) + ", =" + code.label(i), i);
+                break;
+            case Op.LOAD:
+                line(builder, "ldr", reg(code.dst(i)) + ", " + address(code.a(i), offset(i)), i);
+                break;
+            case Op.STORE:
+                line(builder, "str", reg(code.a(i)) + ", " + address(code.b(i), offset(i)), i);
+                break;
+            case Op.PUSH:
+                line(builder, "stmfd", "r13!, {" + reg(code.a(i)) + "}", i);
+                break;
+            case Op.POP:
+                line(builder, "ldmfd", "r13!, {" + reg(code.dst(i)) + "}", i);
+                break;
+            case Op.COPY:
+                copy(builder, i);
+                break;
+            case Op.ADD:
+                line(builder, "add", reg(code.dst(i)) + ", " + reg(code.a(i)) + ", " + operand(i), i);
+                break;
+            case Op.SUB:
+                line(builder, "sub", reg(code.dst(i)) + ", " + reg(code.a(i)) + ", " + operand(i), i);
+                break;
+            case Op.RSB:
+                line(builder, "rsb", reg(code.dst(i)) + ", " + reg(code.a(i)) + ", " + operand(i), i);
+                break;
+            case Op.AND:
+                line(builder, "and", reg(code.dst(i)) + ", " + reg(code.a(i)) + ", " + operand(i), i);
+                break;
+            case Op.ORR:
+                line(builder, "orr", reg(code.dst(i)) + ", " + reg(code.a(i)) + ", " + operand(i), i);
+                break;
+            case Op.MUL:
+                line(builder, "mul", reg(code.dst(i)) + ", " + reg(code.a(i)) + ", " + reg(code.b(i)), i);
+                break;
+            case Op.LSL:
+                line(builder, "lsl", reg(code.dst(i)) + ", " + reg(code.a(i)) + ", #" + code.imm(i), i);
+                break;
+            case Op.LSR:
+                line(builder, "lsr", reg(code.dst(i)) + ", " + reg(code.a(i)) + ", #" + code.imm(i), i);
+                break;
+            case Op.RUNTIME:
+                // the subroutine takes the left operand on top of the right one and a slot for the result
+                line(builder, "stmfd", "r13!, {" + reg(code.b(i)) + "}", i);
+                builder.append("\tstmfd\tr13!, {").append(reg(code.a(i))).append('}');
+                mark(builder, i);
+                builder.append("\tsub\tr13, r13, #4");
+                mark(builder, i);
+                builder.append("\tbl\t").append(code.label(i));
+                mark(builder, i);
+                builder.append("\tldr\t").append(reg(code.dst(i))).append(", [r13]");
+                mark(builder, i);
+                builder.append("\tadd\tr13, r13, #4*3 ; 2 paramètres et 1 valeur de retour");
+                if (code.line(i) > 0) {
+                    builder.append(' ').append(LINE_MARK).append(code.line(i));
+                }
+                builder.append("\n\n");
+                break;
+            case Op.CMP:
+                line(builder, "cmp", reg(code.a(i)) + ", " + operand(i), i);
+                break;
+            case Op.BRANCH:
+                line(builder, "b", code.label(i), i);
+                break;
+            case Op.CALL:
+                line(builder, "bl", code.label(i), i);
+                break;
+            default:
+                throw new IllegalStateException("Unknown op " + code.op(i));
+        }
+    }
+}
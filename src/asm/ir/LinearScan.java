@@ -0,0 +1,229 @@
+package asm.ir;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/* Linear scan allocation of the virtual registers of a procedure on r0-r9, over their live intervals.
+ * When all of them are taken, the interval ending last goes to a spill slot below the local variables:
+ * it is then loaded before each use and stored after each definition through short-lived registers,
+ * and the allocation runs again on the rewritten code.
+ * A copy also takes the registers no interval holds over it, to move as many words at once as they can hold. */
+public class LinearScan {
+    public static final int REGISTERS = 10;
+
+    private Code code;
+    private int[] physical;
+    private int spillSlots = 0;
+    // bit i set when ri is given to a virtual register
+    private int usedRegisters = 0;
+    // registers of each copy, as bit sets
+    private int[] copyRegisters;
+
+    public LinearScan(Code code) {
+        this.code = code;
+        // registers created to reach the spill slots
+        BitSet unspillable = new BitSet();
+        int localsSize = localsSize(code);
+        Liveness liveness;
+        while (true) {
+            liveness = new Liveness(this.code);
+            List<Integer> spilled = scan(liveness, unspillable);
+            if (spilled.isEmpty()) {
+                break;
+            }
+            if (localsSize < 0) {
+                throw new IllegalStateException("No room for spill slots");
+            }
+            this.code = spill(spilled, localsSize, unspillable);
+        }
+        for (int register : physical) {
+            if (register != Op.NONE) {
+                usedRegisters |= 1 << register;
+            }
+        }
+        copyRegisters = new int[this.code.size()];
+        for (int i = 0; i < this.code.size(); i++) {
+            if (this.code.op(i) == Op.COPY) {
+                copyRegisters[i] = copyRegisters(liveness, i);
+            }
+        }
+        for (int registers : copyRegisters) {
+            usedRegisters |= registers;
+        }
+    }
+
+    /* the register of the scratch of copy i, then as many free ones as it has words to move,
+     * those the procedure already saves first */
+    private int copyRegisters(Liveness liveness, int i) {
+        int busy = 0;
+        for (int v = Op.FIRST_VIRTUAL; v < physical.length; v++) {
+            if (physical[v] != Op.NONE && liveness.start(v) <= 2 * i + 1 && liveness.end(v) >= 2 * i) {
+                busy |= 1 << physical[v];
+            }
+        }
+        int registers = 1 << physical(code.dst(i));
+        int words = code.imm(i);
+        for (int saved : new int[]{usedRegisters, ~usedRegisters}) {
+            for (int register = 0; register < REGISTERS && Integer.bitCount(registers) < words; register++) {
+                if ((saved & ~busy & 1 << register) != 0) {
+                    registers |= 1 << register;
+                }
+            }
+        }
+        return registers;
+    }
+
+    /* size of the local variables, -1 if the code does not reserve them */
+    private static int localsSize(Code code) {
+        for (int i = 0; i < code.size(); i++) {
+            if ((code.flags(i) & Op.LOCALS) != 0) {
+                return code.imm(i);
+            }
+        }
+        return -1;
+    }
+
+    /* gives a physical register to every interval, returns those that did not get one */
+    private List<Integer> scan(Liveness liveness, BitSet unspillable) {
+        int count = Liveness.registerCount(code);
+        physical = new int[count];
+        Arrays.fill(physical, Op.NONE);
+        List<Integer> intervals = new ArrayList<>();
+        for (int v = Op.FIRST_VIRTUAL; v < count; v++) {
+            if (!liveness.isUnused(v)) {
+                intervals.add(v);
+            }
+        }
+        intervals.sort((v, w) -> liveness.start(v) != liveness.start(w) ? Integer.compare(liveness.start(v), liveness.start(w)) : Integer.compare(v, w));
+
+        List<Integer> spilled = new ArrayList<>();
+        List<Integer> active = new ArrayList<>();
+        boolean[] free = new boolean[REGISTERS];
+        Arrays.fill(free, true);
+        for (int v : intervals) {
+            // intervals over before this one starts give their register back
+            for (int j = active.size() - 1; j >= 0; j--) {
+                int w = active.get(j);
+                if (liveness.end(w) < liveness.start(v)) {
+                    free[physical[w]] = true;
+                    active.remove(j);
+                }
+            }
+            int register = 0;
+            while (register < REGISTERS && !free[register]) {
+                register++;
+            }
+            if (register < REGISTERS) {
+                free[register] = false;
+                physical[v] = register;
+                active.add(v);
+                continue;
+            }
+            int victim = Op.NONE;
+            for (int w : active) {
+                if (!unspillable.get(w) && (victim == Op.NONE || liveness.end(w) > liveness.end(victim))) {
+                    victim = w;
+                }
+            }
+            if (!unspillable.get(v) && (victim == Op.NONE || liveness.end(victim) <= liveness.end(v))) {
+                spilled.add(v);
+            } else if (victim == Op.NONE) {
+                throw new IllegalStateException("No register left for the spill code");
+            } else {
+                physical[v] = physical[victim];
+                physical[victim] = Op.NONE;
+                active.remove((Integer) victim);
+                active.add(v);
+                spilled.add(victim);
+            }
+        }
+        return spilled;
+    }
+
+    /* the code with each spilled register replaced by loads and stores of its slot */
+    private Code spill(List<Integer> spilled, int localsSize, BitSet unspillable) {
+        int count = Liveness.registerCount(code);
+        int[] slots = new int[count];
+        Arrays.fill(slots, Op.NONE);
+        for (int v : spilled) {
+            slots[v] = spillSlots++;
+        }
+        Code rewritten = new Code();
+        int next = count;
+        for (int i = 0; i < code.size(); i++) {
+            int a = code.a(i);
+            int b = code.b(i);
+            int dst = code.dst(i);
+            rewritten.setLine(code.line(i));
+            int loadedA = Op.NONE;
+            if (isSpilled(a, slots)) {
+                loadedA = next++;
+                unspillable.set(loadedA);
+                rewritten.load(loadedA, Op.R11, slotOffset(slots[a], localsSize), "Reloading a spilled value");
+            }
+            int loadedB = loadedA;
+            if (b != a && isSpilled(b, slots)) {
+                loadedB = next++;
+                unspillable.set(loadedB);
+                rewritten.load(loadedB, Op.R11, slotOffset(slots[b], localsSize), "Reloading a spilled value");
+            }
+            int stored = Op.NONE;
+            if (isSpilled(dst, slots)) {
+                if (dst == a) {
+                    stored = loadedA;
+                } else if (dst == b) {
+                    stored = loadedB;
+                } else {
+                    stored = next++;
+                    unspillable.set(stored);
+                    if (Liveness.isPartialDef(code, i)) {
+                        rewritten.load(stored, Op.R11, slotOffset(slots[dst], localsSize), "Reloading a spilled value");
+                    }
+                }
+            }
+            rewritten.add(code.op(i), code.cond(i),
+                    stored != Op.NONE ? stored : dst,
+                    isSpilled(a, slots) ? loadedA : a,
+                    isSpilled(b, slots) ? loadedB : b,
+                    code.imm(i), code.flags(i), code.label(i), code.comment(i));
+            if (stored != Op.NONE) {
+                rewritten.store(stored, Op.R11, slotOffset(slots[dst], localsSize), "Spilling a value");
+            }
+        }
+        return rewritten;
+    }
+
+    private static boolean isSpilled(int register, int[] slots) {
+        return Op.isVirtual(register) && slots[register] != Op.NONE;
+    }
+
+    /* slots are below the local variables, under the frame pointer r11 */
+    private static int slotOffset(int slot, int localsSize) {
+        return -localsSize - 4 * (slot + 1);
+    }
+
+    /* the code with the spill code added */
+    public Code getCode() {
+        return code;
+    }
+
+    public int physical(int register) {
+        return Op.isVirtual(register) ? physical[register] : register;
+    }
+
+    /* registers copy i moves the words through, as a bit set */
+    public int getCopyRegisters(int i) {
+        return copyRegisters[i];
+    }
+
+    public int getSpillSlots() {
+        return spillSlots;
+    }
+
+    /* registers of r0-r9 the procedure writes, as a bit set */
+    public int getUsedRegisters() {
+        return usedRegisters;
+    }
+}
@@ -0,0 +1,119 @@
+package asm.ir;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/* Live interval of every virtual register of a Code, from the live sets of its basic blocks.
+ * Instruction i reads its operands at position 2 * i and writes its result at 2 * i + 1,
+ * so a register read for the last time may hold the result of the same instruction,
+ * except for a mul or a copy whose result already lives at 2 * i. */
+public class Liveness {
+    private final int[] starts;
+    private final int[] ends;
+
+    public Liveness(Code code) {
+        int registers = registerCount(code);
+        starts = new int[registers];
+        ends = new int[registers];
+        Arrays.fill(starts, Integer.MAX_VALUE);
+        Arrays.fill(ends, -1);
+
+        BasicBlocks blocks = new BasicBlocks(code);
+        int count = blocks.count();
+        BitSet[] uses = new BitSet[count];
+        BitSet[] defs = new BitSet[count];
+        for (int block = 0; block < count; block++) {
+            uses[block] = new BitSet();
+            defs[block] = new BitSet();
+            for (int i = blocks.start(block); i < blocks.end(block); i++) {
+                use(code.a(i), uses[block], defs[block]);
+                use(code.b(i), uses[block], defs[block]);
+                if (isPartialDef(code, i)) {
+                    use(code.dst(i), uses[block], defs[block]);
+                } else if (Op.isVirtual(code.dst(i))) {
+                    defs[block].set(code.dst(i));
+                }
+                extend(code.a(i), 2 * i);
+                extend(code.b(i), 2 * i);
+                extend(code.dst(i), 2 * i + 1);
+                if (isPartialDef(code, i) || code.op(i) == Op.MUL || code.op(i) == Op.COPY) {
+                    extend(code.dst(i), 2 * i);
+                }
+            }
+        }
+
+        // live in = uses + (live out - defs), until nothing changes
+        BitSet[] liveIn = new BitSet[count];
+        BitSet[] liveOut = new BitSet[count];
+        for (int block = 0; block < count; block++) {
+            liveIn[block] = (BitSet) uses[block].clone();
+            liveOut[block] = new BitSet();
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int block = count - 1; block >= 0; block--) {
+                for (int successor : blocks.successors(block)) {
+                    liveOut[block].or(liveIn[successor]);
+                }
+                BitSet in = (BitSet) liveOut[block].clone();
+                in.andNot(defs[block]);
+                in.or(uses[block]);
+                if (!in.equals(liveIn[block])) {
+                    liveIn[block] = in;
+                    changed = true;
+                }
+            }
+        }
+
+        for (int block = 0; block < count; block++) {
+            int first = 2 * blocks.start(block);
+            int last = 2 * (blocks.end(block) - 1) + 1;
+            for (int v = liveIn[block].nextSetBit(0); v >= 0; v = liveIn[block].nextSetBit(v + 1)) {
+                extend(v, first);
+            }
+            for (int v = liveOut[block].nextSetBit(0); v >= 0; v = liveOut[block].nextSetBit(v + 1)) {
+                extend(v, last);
+            }
+        }
+    }
+
+    static int registerCount(Code code) {
+        int count = Op.FIRST_VIRTUAL;
+        for (int i = 0; i < code.size(); i++) {
+            count = Math.max(count, Math.max(code.dst(i), Math.max(code.a(i), code.b(i))) + 1);
+        }
+        return count;
+    }
+
+    /* a conditional move keeps the previous value of its register when it does not run */
+    static boolean isPartialDef(Code code, int i) {
+        return code.op(i) == Op.MOVE && code.cond(i) != Op.AL;
+    }
+
+    private static void use(int register, BitSet uses, BitSet defs) {
+        if (Op.isVirtual(register) && !defs.get(register)) {
+            uses.set(register);
+        }
+    }
+
+    private void extend(int register, int position) {
+        if (Op.isVirtual(register)) {
+            starts[register] = Math.min(starts[register], position);
+            ends[register] = Math.max(ends[register], position);
+        }
+    }
+
+    /* the register does not appear in the code */
+    public boolean isUnused(int register) {
+        return ends[register] < 0;
+    }
+
+    public int start(int register) {
+        return starts[register];
+    }
+
+    public int end(int register) {
+        return ends[register];
+    }
+}
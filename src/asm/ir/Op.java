@@ -0,0 +1,80 @@
+package asm.ir;
+
+/* Opcodes, conditions and fixed registers of the intermediate representation */
+public class Op {
+    public final static int
+        // pseudo instructions
+        TEXT = 0,       // verbatim assembly in label: comments and data
+        LABEL = 1,      // label
+        ENTRY = 2,      // label of a procedure, at the beginning of the line
+        ENTER = 3,      // saves the registers the procedure uses
+        RETURN = 4,     // restores them and returns to the caller
+        END = 5,        // end of the program
+        // data
+        MOVE = 6,       // dst := a, or imm when a is NONE
+        ADDRESS = 7,    // dst := address of label
+        LOAD = 8,       // dst := [a + imm]
+        STORE = 9,      // [b + imm] := a
+        PUSH = 10,      // pushes a
+        POP = 11,       // pops dst
+        COPY = 12,      // copies imm words from [a] to [b] through dst and the registers free there, a and b end past them
+        // arithmetic, dst := a op (b lsl imm), or a op imm when b is NONE
+        ADD = 13,
+        SUB = 14,
+        RSB = 15,
+        AND = 16,
+        ORR = 17,
+        MUL = 18,       // dst := a * b, dst is written before a is read so they never share a register
+        LSL = 19,       // dst := a shifted by imm
+        LSR = 20,
+        RUNTIME = 21,   // dst := label(a, b), call of the mul, div or rem subroutine
+        // control
+        CMP = 22,       // flags of a - b, or a - imm when b is NONE
+        BRANCH = 23,    // to label when cond holds
+        CALL = 24;      // bl label
+
+    public final static int
+        AL = 0,
+        EQ = 1,
+        NE = 2,
+        GT = 3,
+        GE = 4,
+        LT = 5,
+        LE = 6,
+        // unsigned
+        LO = 7,
+        HS = 8;
+
+    public final static int
+        // imm is counted from the top of the registers saved by ENTER, of the procedure named by label if any
+        SAVED = 1,
+        // imm is the size of the local variables, the spill slots are reserved with them
+        LOCALS = 2,
+        // a copy goes down from the addresses right past the words, pushing them when b is sp
+        DOWN = 4;
+
+    public final static int
+        NONE = -1,
+        R10 = 10,
+        R11 = 11,
+        R12 = 12,
+        SP = 13,
+        // registers from this one on are virtual
+        FIRST_VIRTUAL = 16;
+
+    private final static String[] CONDITIONS = {"", "eq", "ne", "gt", "ge", "lt", "le", "lo", "hs"};
+    private final static int[] NEGATIONS = {AL, NE, EQ, LE, LT, GE, GT, HS, LO};
+
+    public static String condition(int cond) {
+        return CONDITIONS[cond];
+    }
+
+    /* condition holding when cond does not, AL for AL */
+    public static int negate(int cond) {
+        return NEGATIONS[cond];
+    }
+
+    public static boolean isVirtual(int register) {
+        return register >= FIRST_VIRTUAL;
+    }
+}
@@ -0,0 +1,233 @@
+package asm.ir;
+
+import java.util.Objects;
+
+/* Rewrites of short sequences of the code of a procedure, before its registers are allocated.
+ * Each rule looks at an instruction and the next one, and only rewrites them when the registers
+ * it stops writing are not read afterwards. The rules run again until none applies. */
+public class Peephole {
+    public final static int
+        MOVE = 1,           // mov d, s then an instruction reading d: it reads s instead
+        OFFSET = 2,         // add d, s, #k then ldr/str at [d, #o] or add e, d, #o: s + k + o
+        STORE_LOAD = 4,     // str v then ldr w of the same slot: mov w, v
+        PUSH_POP = 8,       // stmfd {v} then ldmfd {w}: mov w, v
+        BRANCH = 16,        // branch to a label reached anyway
+        ALL = 31,
+        NONE = 0;
+
+    private final static String[] NAMES = {"move", "offset", "store-load", "push-pop", "branch"};
+
+    private final int rules;
+    // instructions each rule removed, over all the procedures seen
+    private final int[] removed = new int[NAMES.length];
+
+    public Peephole(int rules) {
+        this.rules = rules;
+    }
+
+    /* rules named in a comma-separated list, "all" or "none" */
+    public static int parseRules(String list) {
+        int rules = NONE;
+        for (String name : list.split(",")) {
+            name = name.trim();
+            if (name.equals("all")) {
+                rules |= ALL;
+            } else if (!name.equals("none") && !name.isEmpty()) {
+                int rule = 0;
+                while (rule < NAMES.length && !NAMES[rule].equals(name)) {
+                    rule++;
+                }
+                if (rule == NAMES.length) {
+                    throw new IllegalArgumentException("Unknown peephole rule " + name + ", expected one of " + String.join(", ", NAMES));
+                }
+                rules |= 1 << rule;
+            }
+        }
+        return rules;
+    }
+
+    public Code run(Code code) {
+        if (rules == NONE) {
+            return code;
+        }
+        while (true) {
+            Code rewritten = pass(code);
+            if (rewritten == null) {
+                return code;
+            }
+            code = rewritten;
+        }
+    }
+
+    /* instructions removed by a rule */
+    public int removed(int rule) {
+        return removed[Integer.numberOfTrailingZeros(rule)];
+    }
+
+    public int totalRemoved() {
+        int total = 0;
+        for (int count : removed) {
+            total += count;
+        }
+        return total;
+    }
+
+    /* count of each rule, as "move 3, offset 2, ..." */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (int rule = 0; rule < NAMES.length; rule++) {
+            if ((rules & 1 << rule) != 0) {
+                if (report.length() > 0) {
+                    report.append(", ");
+                }
+                report.append(NAMES[rule]).append(' ').append(removed[rule]);
+            }
+        }
+        return report.toString();
+    }
+
+    /* the code with the rules applied once, null if none applies */
+    private Code pass(Code code) {
+        Liveness liveness = new Liveness(code);
+        Code rewritten = new Code();
+        boolean changed = false;
+        for (int i = 0; i < code.size(); i++) {
+            int next = i + 1 < code.size() ? i + 1 : -1;
+            rewritten.setLine(code.line(i));
+            if (next >= 0 && (rules & MOVE) != 0 && isMove(code, i) && foldMove(code, i, next, liveness, rewritten)) {
+                removed[0]++;
+            } else if (next >= 0 && (rules & OFFSET) != 0 && foldOffset(code, i, next, liveness, rewritten)) {
+                removed[1]++;
+            } else if (next >= 0 && (rules & STORE_LOAD) != 0 && isStoreLoad(code, i, next)) {
+                copy(code, i, rewritten);
+                if (code.dst(next) != code.a(i)) {
+                    rewritten.add(Op.MOVE, Op.AL, code.dst(next), code.a(i), Op.NONE, 0, 0, null, code.comment(next));
+                }
+                removed[2]++;
+            } else if (next >= 0 && (rules & PUSH_POP) != 0 && code.op(i) == Op.PUSH && code.op(next) == Op.POP) {
+                if (code.dst(next) != code.a(i)) {
+                    rewritten.add(Op.MOVE, Op.AL, code.dst(next), code.a(i), Op.NONE, 0, 0, null, code.comment(i));
+                    removed[3]++;
+                } else {
+                    removed[3] += 2;
+                }
+            } else if ((rules & BRANCH) != 0 && code.op(i) == Op.BRANCH && reachesAnyway(code, i)) {
+                removed[4]++;
+                changed = true;
+                continue;
+            } else {
+                copy(code, i, rewritten);
+                continue;
+            }
+            // both instructions were replaced
+            changed = true;
+            i++;
+        }
+        return changed ? rewritten : null;
+    }
+
+    private static void copy(Code code, int i, Code to) {
+        to.add(code.op(i), code.cond(i), code.dst(i), code.a(i), code.b(i), code.imm(i), code.flags(i), code.label(i), code.comment(i));
+    }
+
+    private static boolean isMove(Code code, int i) {
+        return code.op(i) == Op.MOVE && code.cond(i) == Op.AL && code.a(i) != Op.NONE && Op.isVirtual(code.dst(i));
+    }
+
+    /* the register written by instruction i is not read after instruction next */
+    private static boolean diesAt(Code code, int i, int next, Liveness liveness) {
+        int register = code.dst(i);
+        boolean overwritten = code.dst(next) == register && !Liveness.isPartialDef(code, next);
+        return overwritten || liveness.end(register) <= 2 * next;
+    }
+
+    /* mov d, s then an instruction reading d, which reads s instead */
+    private static boolean foldMove(Code code, int i, int next, Liveness liveness, Code to) {
+        int moved = code.dst(i);
+        int source = code.a(i);
+        switch (code.op(next)) {
+            case Op.MOVE, Op.LOAD, Op.STORE, Op.ADD, Op.SUB, Op.RSB, Op.AND, Op.ORR, Op.LSL, Op.LSR, Op.CMP:
+                break;
+            case Op.PUSH:
+                if (source == Op.SP) {
+                    return false;
+                }
+                break;
+            default:
+                return false;
+        }
+        if (code.a(next) != moved && code.b(next) != moved || !diesAt(code, i, next, liveness)) {
+            return false;
+        }
+        to.add(code.op(next), code.cond(next), code.dst(next),
+                code.a(next) == moved ? source : code.a(next),
+                code.b(next) == moved ? source : code.b(next),
+                code.imm(next), code.flags(next), code.label(next),
+                code.comment(next) != null ? code.comment(next) : code.comment(i));
+        return true;
+    }
+
+    /* add d, s, #k then a load or store at [d, #o], which goes to [s, #k + o], or an add of o to d */
+    private static boolean foldOffset(Code code, int i, int next, Liveness liveness, Code to) {
+        if (code.op(i) != Op.ADD || code.cond(i) != Op.AL || code.b(i) != Op.NONE || !Op.isVirtual(code.dst(i))
+                || code.flags(next) != 0 || code.cond(next) != Op.AL) {
+            return false;
+        }
+        int address = code.dst(i);
+        boolean load = code.op(next) == Op.LOAD && code.a(next) == address;
+        boolean store = code.op(next) == Op.STORE && code.b(next) == address && code.a(next) != address;
+        boolean add = code.op(next) == Op.ADD && code.a(next) == address && code.b(next) == Op.NONE;
+        if (!load && !store && !add || !diesAt(code, i, next, liveness)) {
+            return false;
+        }
+        String comment = code.comment(next) != null ? code.comment(next) : code.comment(i);
+        int offset = code.imm(i) + code.imm(next);
+        if (add) {
+            to.add(Op.ADD, Op.AL, code.dst(next), code.a(i), Op.NONE, offset, code.flags(i), code.label(i), comment);
+        } else if (load) {
+            to.add(Op.LOAD, Op.AL, code.dst(next), code.a(i), Op.NONE, offset, code.flags(i), code.label(i), comment);
+        } else {
+            to.add(Op.STORE, Op.AL, Op.NONE, code.a(next), code.a(i), offset, code.flags(i), code.label(i), comment);
+        }
+        return true;
+    }
+
+    /* a load of the slot the previous instruction stored to */
+    private static boolean isStoreLoad(Code code, int i, int next) {
+        return code.op(i) == Op.STORE && code.op(next) == Op.LOAD
+                && code.cond(i) == Op.AL && code.cond(next) == Op.AL
+                && code.b(i) == code.a(next) && code.imm(i) == code.imm(next)
+                && code.flags(i) == code.flags(next) && Objects.equals(code.label(i), code.label(next));
+    }
+
+    /* nothing but labels and comments lies between a branch and its label */
+    private static boolean reachesAnyway(Code code, int i) {
+        for (int j = i + 1; j < code.size(); j++) {
+            switch (code.op(j)) {
+                case Op.LABEL, Op.ENTRY:
+                    if (code.label(j).equals(code.label(i))) {
+                        return true;
+                    }
+                    break;
+                case Op.TEXT:
+                    if (!isComment(code.label(j))) {
+                        return false;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isComment(String text) {
+        for (String line : text.split("\n")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith(";")) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,8 +1,16 @@
 package asm.visual;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Stream;
 
+import asm.interpreter.Assembler;
+import asm.interpreter.Interpreter;
+import asm.interpreter.Profiler;
+import asm.interpreter.Program;
+import asm.interpreter.ProgramCache;
 import visual.EmulatorLogFile;
 import visual.HeadlessController;
 public class Launcher {
@@ -28,24 +36,91 @@ public class Launcher {
         HeadlessController.setInstMemSize(instMemSize);
         String logFile = String.format("%s_log.xml", assemblyFile);
 
+        /* the log is parsed while VisUAL writes it, each line printed once its breakpoint is logged;
+         * the log of a previous run must not be taken for the beginning of this one */
+        try {
+            Files.deleteIfExists(Path.of(logFile));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        LogTail log = new LogTail(Path.of(logFile));
+        Thread reader = new Thread(() -> {
+            try (log) {
+                OutputParser.parseOutput(log, Launcher::printLine);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }, "VisUAL log");
+        reader.setDaemon(true);
+        System.out.println("╌╌╌╌╌╌ \033[1mPROGRAM OUTPUT\033[0m ╌╌╌╌╌╌");
+        reader.start();
 
+        // VisUAL exits once the program ends, what it logged last is read before the end
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            List<String> output = OutputParser.parseOutput(logFile);
-            System.out.println("╌╌╌╌╌╌ \033[1mPROGRAM OUTPUT\033[0m ╌╌╌╌╌╌");
-            for (String line : output) {
-                if (line.startsWith("Error:")) {
-                    System.out.println("\nA \033[31mRuntime error\033[0m occurred:");
-                    System.out.print("  └ " + line);
-                } else {
-                    System.out.print(line);
-                }
+            log.finish();
+            try {
+                reader.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
             System.out.println("╌╌╌╌ \033[1mEND PROGRAM OUTPUT\033[0m ╌╌╌╌");
         }));
 
         HeadlessController.runFile(assemblyFile, logFile);
     }
+    /* runs the program in the built-in interpreter, its lines printed as it writes them,
+     * the decoded program taken from the cache when the file has not changed */
+    public static void interpret(String assemblyFile) {
+        Interpreter interpreter;
+        try {
+            interpreter = new Interpreter(new ProgramCache(ProgramCache.defaultDirectory()).load(Path.of(assemblyFile)), Launcher::printLine);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        System.out.println("╌╌╌╌╌╌ \033[1mPROGRAM OUTPUT\033[0m ╌╌╌╌╌╌");
+        interpreter.run();
+        System.out.println("╌╌╌╌ \033[1mEND PROGRAM OUTPUT\033[0m ╌╌╌╌");
+    }
+    /* runs the program in the built-in interpreter, unfused, and writes its profile next to the assembly file:
+     * base-profile.txt per routine and source line, base-profile.folded per call path for flame graphs */
+    public static void profile(String assemblyFile, String sourceFile) {
+        String base = assemblyFile.endsWith("-output.s") ? assemblyFile.substring(0, assemblyFile.length() - "-output.s".length()) : assemblyFile;
+        try {
+            List<String> assembly = Files.readAllLines(Path.of(assemblyFile));
+            // each instruction counted where it is, without the superinstructions
+            Program program = Assembler.assemble(assembly, false);
+            Profiler profiler = new Profiler(program, assembly);
+            Interpreter interpreter = new Interpreter(program, Launcher::printLine);
+            interpreter.setProfiler(profiler);
+            System.out.println("╌╌╌╌╌╌ \033[1mPROGRAM OUTPUT\033[0m ╌╌╌╌╌╌");
+            interpreter.run();
+            System.out.println("╌╌╌╌ \033[1mEND PROGRAM OUTPUT\033[0m ╌╌╌╌\n");
+            List<String> source = Files.exists(Path.of(sourceFile)) ? Files.readAllLines(Path.of(sourceFile)) : List.of();
+            profiler.write(base, source);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        System.out.println("Profile written \033[32msuccessfully\033[0m");
+        System.out.println("  ├ Flat profile at \033[4m" + base + "-profile.txt\033[0m");
+        System.out.println("  └ Collapsed stacks at \033[4m" + base + "-profile.folded\033[0m");
+    }
+    private static void printLine(String line) {
+        if (line.startsWith("Error:")) {
+            System.out.println("\nA \033[31mRuntime error\033[0m occurred:");
+            System.out.print("  └ " + line);
+        } else {
+            System.out.print(line);
+        }
+        System.out.flush();
+    }
+    public static void run(String assemblyFile, boolean visual) {
+        if (visual) {
+            executeAndParseOutput(assemblyFile);
+        } else {
+            interpret(assemblyFile);
+        }
+    }
     public static void run(String assemblyFile) {
-        executeAndParseOutput(assemblyFile);
+        run(assemblyFile, false);
     }
 }
\ No newline at end of file
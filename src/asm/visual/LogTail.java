@@ -0,0 +1,69 @@
+package asm.visual;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/* The log of the emulator read while it is being written: at the end of what is written so far,
+ * a read waits for more until finish is called, so that each line is parsed as soon as it is logged. */
+final class LogTail extends InputStream {
+    private static final long POLL_MILLIS = 5;
+
+    private final Path file;
+    private InputStream in;
+    private volatile boolean finished = false;
+
+    LogTail(Path file) {
+        this.file = file;
+    }
+
+    /* nothing more will be written, the reads end with what the file holds */
+    void finish() {
+        finished = true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (true) {
+            // seen before reading, the bytes written just before finish are still read
+            boolean last = finished;
+            if (in == null && Files.exists(file)) {
+                in = new FileInputStream(file.toFile());
+            }
+            if (in != null) {
+                int read = in.read(bytes, offset, length);
+                if (read > 0) {
+                    return read;
+                }
+            }
+            if (last) {
+                return -1;
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for the log");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        }
+    }
+}
@@ -1,65 +1,134 @@
 package asm.visual;
 
-import java.io.ByteArrayOutputStream;
-import java.io.File;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.DocumentBuilder;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
-import org.w3c.dom.Node;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+/* Reads the lines printed by a program out of the log VisUAL writes at each breakpoint.
+ * The log is streamed: the hex digits of the words of a line go into a buffer, decoded into the bytes
+ * of the line once the word ends, so that only one line is ever held whatever the size of the log. */
 public final class OutputParser {
     private OutputParser() {
     }
 
-    private static boolean hexStringToByteArray(ByteArrayOutputStream bytes, String hex) {
-        String hexValue = hex.substring(2);
-        int l = hexValue.length();
-        if (l % 2 == 1) {
-            /* pad to a pair number of hex digits */
-            hexValue = "0" + hexValue;
-            l++;
+    /* bytes of the line being read, reused from one line to the next */
+    private static final class LineBuffer {
+        private byte[] bytes = new byte[Launcher.outputBufferLength];
+        private int length = 0;
+        private char[] digits = new char[16];
+        private int digitCount = 0;
+        // a zero byte ended the string, the words after it are not part of the line
+        private boolean ended = false;
+
+        void startLine() {
+            length = 0;
+            ended = false;
         }
-        for (int i = l - 2; i >= 0; i -= 2) {
-            int currentByte = (Character.digit(hexValue.charAt(i), 16) << 4)
-                    + Character.digit(hexValue.charAt(i + 1), 16);
-            if (currentByte == 0) return false;
-            bytes.write(currentByte);
+
+        void startWord() {
+            digitCount = 0;
         }
-        return true;
-    }
 
-    private static String parseLine(Node line) {
-        NodeList children = line.getChildNodes();
-        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
-        for (int j = 0; j < children.getLength(); j++) {
-            Node child = children.item(j);
-            if (child.getNodeName().equals("word")) {
-                boolean more = hexStringToByteArray(bytes, child.getTextContent());
-                if (!more) break;
+        void digits(char[] text, int start, int count) {
+            if (digitCount + count > digits.length) {
+                digits = Arrays.copyOf(digits, Math.max(2 * digits.length, digitCount + count));
             }
+            System.arraycopy(text, start, digits, digitCount, count);
+            digitCount += count;
         }
-        return bytes.toString(StandardCharsets.UTF_8);
-    }
 
-    public static List<String> parseOutput(String XMLPath) {
-        List<String> outputs = new ArrayList<>();
-        try {
-            File XMLFile = new File(XMLPath);
-            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-            Document doc = dBuilder.parse(XMLFile);
-            doc.getDocumentElement().normalize();
-            NodeList lines = doc.getElementsByTagName("line");
-            for (int i = 0; i < lines.getLength(); i++) {
-                Node line = lines.item(i);
-                outputs.add(parseLine(line));
+        /* the word 0x6968 is the bytes 68 69, the lowest address being the last pair of digits */
+        void endWord() {
+            int first = 0;
+            int last = digitCount;
+            while (first < last && Character.isWhitespace(digits[first])) {
+                first++;
+            }
+            while (last > first && Character.isWhitespace(digits[last - 1])) {
+                last--;
+            }
+            if (last - first >= 2 && digits[first] == '0' && (digits[first + 1] == 'x' || digits[first + 1] == 'X')) {
+                first += 2;
             }
+            for (int i = last; i > first && !ended; i -= 2) {
+                /* an odd number of digits has its first one on its own */
+                int high = i - 2 >= first ? Character.digit(digits[i - 2], 16) : 0;
+                int value = high << 4 | Character.digit(digits[i - 1], 16);
+                if (value == 0) {
+                    ended = true;
+                } else {
+                    if (length == bytes.length) {
+                        bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+                    }
+                    bytes[length++] = (byte) value;
+                }
+            }
+        }
+
+        String line() {
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /* hands each line of the log to output in order */
+    public static void parseOutput(String XMLPath, Consumer<String> output) {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(XMLPath))) {
+            parseOutput(in, output);
         } catch (Exception e) {
             e.printStackTrace();
         }
-        return outputs;
     }
-}
\ No newline at end of file
+
+    public static void parseOutput(InputStream log, Consumer<String> output) throws Exception {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLStreamReader reader = factory.createXMLStreamReader(log);
+        LineBuffer buffer = new LineBuffer();
+        // depth of the current element, of the line being read (0 outside one) and of the word being read
+        int depth = 0;
+        int lineDepth = 0;
+        int wordDepth = 0;
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        depth++;
+                        String name = reader.getLocalName();
+                        if (lineDepth == 0 && name.equals("line")) {
+                            lineDepth = depth;
+                            buffer.startLine();
+                        } else if (lineDepth != 0 && depth == lineDepth + 1 && name.equals("word")) {
+                            wordDepth = depth;
+                            buffer.startWord();
+                        }
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        if (wordDepth != 0 && depth == wordDepth) {
+                            buffer.digits(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (depth == wordDepth) {
+                            wordDepth = 0;
+                            buffer.endWord();
+                        } else if (depth == lineDepth) {
+                            lineDepth = 0;
+                            output.accept(buffer.line());
+                        }
+                        depth--;
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -18,7 +18,7 @@ println_loop ldrb    r2, [r0], #1
              mov     r2, #10
              strb    r2, [r1, #-1]
              mov     r2, #0
-             strb    r2, [r1]
+println_end  strb    r2, [r1]
              mov     r13, r11
              ldmfd   r13!, {r0-r2, r11, pc}
 
@@ -0,0 +1,85 @@
+package ast;
+
+import tds.Symbol;
+import tds.TDS;
+
+import java.util.Arrays;
+
+/* Outcome of the semantic analysis: the AST with its bindings, the TDS with the offsets of every symbol,
+ * and what the analysis found out about some nodes, which the code generator reads as it walks the AST:
+ * the region and the size of the locals of each procedure or function, the procedure or function each call runs */
+public class AnalyzedProgram {
+    private final GraphViz ast;
+    private final TDS tds;
+    private final Bindings bindings;
+
+    // by node: region of the parameters and locals of a PROCEDURE or FUNCTION node, and bytes of its locals
+    private int[] regions = new int[0];
+    private int[] frameSizes = new int[0];
+    // by node: procedure or function run by a CALL node, and region it is declared in
+    private Symbol[] callees = new Symbol[0];
+    private int[] calleeRegions = new int[0];
+
+    public AnalyzedProgram(GraphViz ast, TDS tds, Bindings bindings) {
+        this.ast = ast;
+        this.tds = tds;
+        this.bindings = bindings;
+    }
+
+    private void reserve(int node) {
+        if (node >= regions.length) {
+            int capacity = Math.max(ast.getTree().size(), 2 * regions.length);
+            regions = Arrays.copyOf(regions, capacity);
+            frameSizes = Arrays.copyOf(frameSizes, capacity);
+            callees = Arrays.copyOf(callees, capacity);
+            calleeRegions = Arrays.copyOf(calleeRegions, capacity);
+        }
+    }
+
+    void setRegion(int node, int region) {
+        reserve(node);
+        regions[node] = region;
+    }
+
+    void setFrameSize(int node, int size) {
+        reserve(node);
+        frameSizes[node] = size;
+    }
+
+    void setCallee(int call, Symbol callee, int region) {
+        reserve(call);
+        callees[call] = callee;
+        calleeRegions[call] = region;
+    }
+
+    /* region of the parameters and locals of a procedure or function node */
+    public int region(int node) {
+        return regions[node];
+    }
+
+    /* bytes of the locals of a procedure or function node, loop variables included */
+    public int frameSize(int node) {
+        return frameSizes[node];
+    }
+
+    /* procedure or function a call node runs, null if it was not analysed */
+    public Symbol callee(int call) {
+        return call < callees.length ? callees[call] : null;
+    }
+
+    public int calleeRegion(int call) {
+        return calleeRegions[call];
+    }
+
+    public GraphViz getAst() {
+        return ast;
+    }
+
+    public TDS getTds() {
+        return tds;
+    }
+
+    public Bindings getBindings() {
+        return bindings;
+    }
+}
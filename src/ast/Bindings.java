@@ -0,0 +1,77 @@
+package ast;
+
+import tds.Symbol;
+import tds.TDS;
+
+import java.util.Arrays;
+
+/* Symbol each identifier node of the AST stands for, resolved once from the region using it.
+ * The semantic checks and the code generator read it instead of looking the name up again. */
+public class Bindings {
+    private final Tree tree;
+    private final TDS tds;
+    private Symbol[] symbols = new Symbol[0];
+    // region the node was resolved from, region declaring its symbol,
+    // and static links to follow from the first to the second
+    private int[] usedIn = new int[0];
+    private int[] regions = new int[0];
+    private int[] depths = new int[0];
+
+    public Bindings(Tree tree, TDS tds) {
+        this.tree = tree;
+        this.tds = tds;
+    }
+
+    /* symbol of an identifier node seen from a region, null if it is not declared */
+    public Symbol resolve(int node, int region) {
+        reserve(node);
+        if (symbols[node] != null && usedIn[node] == region) {
+            return symbols[node];
+        }
+        int nameId = tree.nameId(node) >= 0 ? tree.nameId(node) : tds.find(tree.label(node));
+        int declaring = tds.regionOf(nameId, region);
+        if (declaring < 0) {
+            return null;
+        }
+        Symbol symbol = tds.lookup(nameId, declaring);
+        symbols[node] = symbol;
+        usedIn[node] = region;
+        regions[node] = declaring;
+        depths[node] = tds.getLevel(region) - symbol.getNestingLevel();
+        return symbol;
+    }
+
+    /* symbol declared by a name node in a region */
+    void declare(int node, Symbol symbol, int region) {
+        reserve(node);
+        symbols[node] = symbol;
+        usedIn[node] = region;
+        regions[node] = region;
+        depths[node] = 0;
+    }
+
+    private void reserve(int node) {
+        if (node >= symbols.length) {
+            int capacity = Math.max(tree.size(), 2 * symbols.length);
+            symbols = Arrays.copyOf(symbols, capacity);
+            usedIn = Arrays.copyOf(usedIn, capacity);
+            regions = Arrays.copyOf(regions, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+        }
+    }
+
+    /* symbol of a resolved node, null if it was never resolved */
+    public Symbol symbol(int node) {
+        return node < symbols.length ? symbols[node] : null;
+    }
+
+    /* region declaring the symbol of a resolved node */
+    public int region(int node) {
+        return regions[node];
+    }
+
+    /* static links to follow from the region using a resolved node to reach its symbol */
+    public int depth(int node) {
+        return depths[node];
+    }
+}
@@ -0,0 +1,56 @@
+package ast;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/* Streams a Tree as a GraphViz .dot graph, nodes and edges in the order the parser created them */
+public class DotWriter {
+    private final Writer out;
+
+    public DotWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void write(Tree tree) throws IOException {
+        out.write("graph\n" +
+                "\t{\n" +
+                "\t\tfontname=\"Helvetica bold,bold\"\n" +
+                "\t\tnode [fontname=\"Helvetica bold,bold\"]\n" +
+                "\t\tedge [fontname=\"Helvetica,Arial,sans-serif\"]\n" +
+                "\t\t{\n" +
+                "\t\t\tlabel=\"AST\"\n");
+        int written = 0;
+        for (int edge = 0; edge < tree.edgeCount(); edge++) {
+            // the nodes created before this edge come first
+            while (written < tree.nodesBeforeEdge(edge)) {
+                writeNode(tree, written++);
+            }
+            out.write("\t\t\tnode");
+            out.write(Integer.toString(tree.edgeParent(edge)));
+            out.write(" -- node");
+            out.write(Integer.toString(tree.edgeChild(edge)));
+            out.write(";\n");
+        }
+        while (written < tree.size()) {
+            writeNode(tree, written++);
+        }
+        out.write("\t\t}\n" +
+                "\t}");
+        out.flush();
+    }
+
+    private void writeNode(Tree tree, int node) throws IOException {
+        String id = Integer.toString(node);
+        out.write("\t\t\tnode");
+        out.write(id);
+        out.write(";\n\t\t\tnode");
+        out.write(id);
+        out.write(" [label=\"");
+        out.write(tree.label(node));
+        if (tree.isToken(node)) {
+            out.write("\" shape=plaintext fontcolor=mediumseagreen];\n");
+        } else {
+            out.write("\" shape=egg fontcolor=black style=filled fillcolor=antiquewhite];\n");
+        }
+    }
+}
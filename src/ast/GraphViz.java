@@ -1,7 +1,9 @@
 package ast;
 
 
+import lexer.IdentifierTable;
 import lexer.Lexer;
+import lexer.Word;
 
 import java.io.*;
 import java.net.HttpURLConnection;
@@ -15,68 +17,55 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
+import java.util.function.IntSupplier;
 
+/* AST built in memory while parsing, written as a .dot file only on request */
 public class GraphViz {
-    private FileWriter file;
     public int lastNode = -1;
     public Stack<Integer> buffer;
     private String filename;
     private Lexer lexer;
+    // line recorded on the nodes, the line of the token being parsed
+    private final IntSupplier line;
     public String getFilename() {
         return filename;
     }
     private Tree tree;
     public GraphViz(Lexer lexer) {
+        this(lexer, lexer::getLine);
+    }
+
+    public GraphViz(Lexer lexer, IntSupplier line) {
         this.lexer = lexer;
+        this.line = line;
         this.filename = lexer.getFileName();
-        try {
-            file = new FileWriter(filename + "-ast.dot");
-            file.write("graph\n" +
-                    "\t{\n" +
-                    "\t\tfontname=\"Helvetica bold,bold\"\n" +
-                    "\t\tnode [fontname=\"Helvetica bold,bold\"]\n" +
-                    "\t\tedge [fontname=\"Helvetica,Arial,sans-serif\"]\n" +
-                    "\t\t{\n" +
-                    "\t\t\tlabel=\"AST\"\n");
-
-            buffer = new Stack<>();
-        } catch (IOException e) {
-            System.out.println("An error occurred: " + e.getMessage());
-        }
+        this.buffer = new Stack<>();
         this.tree = new Tree();
    }
 
     public int addNode(String node, boolean isLeaf) {
-        try {
-            lastNode++;
-            file.write("\t\t\tnode" + lastNode + ";\n");
-            file.write("\t\t\tnode" + lastNode + " [label=\"" + node + "\" shape=" + (isLeaf ? "plaintext" : "egg") + " fontcolor=" + (isLeaf ? "mediumseagreen" : "black") + (!isLeaf ? " style=filled fillcolor=antiquewhite" : "") + "];\n");
-            this.tree.addNode(lastNode, node, lexer.getLine());
-            return lastNode;
-        } catch (IOException e) {
-            System.out.println("An error occurred: " + e.getMessage());
-        }
-        return -1;
+        return addNode(node, isLeaf, -1);
     }
 
-    public void addEdge(int node1, int node2) {
-        try {
-            file.write("\t\t\tnode" + node1 + " -- node" + node2 + ";\n");
-            this.tree.addEdge(node1, node2);
-        } catch (IOException e) {
-            System.out.println("An error occurred: " + e.getMessage());
-        }
+    /* node labelled by a word, keeps the word id for the name lookups of the semantic analysis */
+    public int addNode(Word word, boolean isLeaf) {
+        return addNode(word.lexeme, isLeaf, word.id);
     }
 
+    private int addNode(String node, boolean isLeaf, int nameId) {
+        lastNode++;
+        this.tree.addNode(lastNode, node, line.getAsInt(), nameId, isLeaf);
+        return lastNode;
+    }
 
+    public void addEdge(int node1, int node2) {
+        this.tree.addEdge(node1, node2);
+    }
 
-
-    public void close() {
-        try {
-            file.write("\t\t}\n" +
-                    "\t}");
-            file.flush();
-            file.close();
+    /* writes the AST to <file>-ast.dot */
+    public void writeDot() {
+        try (Writer file = new BufferedWriter(new FileWriter(filename + "-ast.dot"))) {
+            new DotWriter(file).write(tree);
         } catch (IOException e) {
             System.out.println("An error occurred: " + e.getMessage());
         }
@@ -84,7 +73,13 @@ public class GraphViz {
 
     public void export() {
         try {
-            String graph = new String(Files.readAllBytes(Paths.get(filename + "-ast.dot")));
+            // serialised once, for the .dot file and the request
+            StringWriter dot = new StringWriter();
+            new DotWriter(dot).write(tree);
+            String graph = dot.toString();
+            try (Writer file = new FileWriter(filename + "-ast.dot")) {
+                file.write(graph);
+            }
             String layout = "dot";
             String format = "svg";
 
@@ -145,6 +140,10 @@ public class GraphViz {
         }
     }
 
+    public IdentifierTable getNames() {
+        return lexer.getIdentifiers();
+    }
+
     public Tree getTree() {
         return tree;
     }
@@ -1,23 +1,19 @@
 package ast;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.Objects;
 
+/* view of one node of a Tree, for the code that walks the AST by Node */
 public class Node {
-    private int id;
-    private String label;
+    private final Tree tree;
+    private final int id;
+    // children of the node, read from the tree on first use
     private List<Integer> children;
-    private int line;
 
-    public Node(int id, String label, int line) {
+    Node(Tree tree, int id) {
+        this.tree = tree;
         this.id = id;
-        this.label = label;
-        this.children = new ArrayList<>();
-        this.line = line;
-    }
-
-    public void addChild(int child) {
-        children.add(child);
     }
 
     public int getId() {
@@ -25,18 +21,47 @@ public class Node {
     }
 
     public String getLabel() {
-        return label;
+        return tree.label(id);
     }
 
     public List<Integer> getChildren() {
+        if (children == null) {
+            int[] ids = tree.children(id);
+            children = new AbstractList<>() {
+                @Override
+                public Integer get(int index) {
+                    // same exception as the ArrayList the children used to live in
+                    return ids[Objects.checkIndex(index, ids.length)];
+                }
+
+                @Override
+                public int size() {
+                    return ids.length;
+                }
+            };
+        }
         return children;
     }
 
+    /* id of the label in the identifier table, -1 if the node is not a name */
+    public int getNameId() {
+        return tree.nameId(id);
+    }
+
     public int getLine() {
-        return line;
+        return tree.line(id);
+    }
+
+    /* the node stands for a token of the source, drawn as plain text in the .dot file */
+    public boolean isToken() {
+        return tree.isToken(id);
     }
 
     public boolean isLeaf(){
-        return this.children.size() == 0;
+        return tree.firstEdge(id) < 0;
+    }
+
+    void childrenChanged() {
+        children = null;
     }
 }
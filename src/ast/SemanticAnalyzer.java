@@ -1,6 +1,5 @@
 package ast;
 
-import asm.CodeGenerator;
 import tds.*;
 import tds.Record;
 
@@ -15,37 +14,45 @@ public class SemanticAnalyzer {
     private Stack<Integer> stack;
     private GraphViz ast;
     private TDS tds;
+    private Bindings bindings;
     private Stack<Integer> currentDecl;
-    private CodeGenerator codeGen;
+    private AnalyzedProgram program;
     private int returnNeeded;
     private int returnNeededTmp;
     private Stack<Integer> offset;
+    // type of each expression node already typed, as 1 + its id in typeNames, 0 if not typed yet,
+    // and the region it was typed in: typing a call types its arguments again, so a node is typed once
+    private int[] nodeTypes = new int[0];
+    private int[] nodeTypeRegions = new int[0];
+    private final List<String> typeNames = new ArrayList<>();
+    private final Map<String, Integer> typeIds = new HashMap<>();
 
     public SemanticAnalyzer(GraphViz ast) {
         this.stack = new Stack<>();
         this.ast = ast;
-        this.tds = new TDS();
+        this.tds = new TDS(ast.getNames());
+        this.bindings = new Bindings(ast.getTree(), tds);
         this.currentDecl = new Stack<>();
         this.returnNeeded = 0;
         this.returnNeededTmp = 0;
-        this.codeGen = new CodeGenerator();
+        this.program = new AnalyzedProgram(ast, tds, bindings);
         this.offset = new Stack<>();
     }
 
-    public void analyze() throws SemanticException {
+    public AnalyzedProgram analyze() throws SemanticException {
         try {
             // init stack with imported functions
             stack.push(tds.newRegion());
             Proc putInt = new Proc(0, -1);
-            putInt.setName("put");
+            putInt.setName("put", tds.idOf("put"));
             putInt.addType("integer");
             tds.addSymbol(stack.lastElement(), putInt, -1);
             Proc putChar = new Proc(0, -1);
-            putChar.setName("put");
+            putChar.setName("put", tds.idOf("put"));
             putChar.addType("character");
             tds.addSymbol(stack.lastElement(), putChar, -1);
             Func characterVal = new Func(0, -1);
-            characterVal.setName("character'val");
+            characterVal.setName("character'val", tds.idOf("character'val"));
             characterVal.setReturnType("character");
             characterVal.addType("integer");
             tds.addSymbol(stack.lastElement(), characterVal, -1);
@@ -53,12 +60,10 @@ public class SemanticAnalyzer {
             // DFT on AST
             int tmp;
             List<String> undefinedTypes = new ArrayList<>();
-            int fatherInt;
-            String fatherName;
             for (Node node : ast.getDepthFirstTraversal()) {
                 switch (node.getLabel()) {
                     case "ROOT":
-                        stack.push(tds.newRegion());
+                        stack.push(tds.newRegion(stack.lastElement()));
                         break;
                     case "PROCEDURE":
                         // reset offset
@@ -73,23 +78,13 @@ public class SemanticAnalyzer {
                         tmp = stack.pop();
                         Proc proc = new Proc(stack.size(), stack.lastElement());
                         stack.push(tmp);
-                        proc.setName(ast.getTree().nodes.get(node.getChildren().get(0)).getLabel());
+                        setName(proc, ast.getTree().nodes.get(node.getChildren().get(0)));
                         currentDecl.push(tds.addSymbol(stack.lastElement(), proc, node.getLine()));
-
-
-                        // code generation
-                        fatherInt = tds.getTds().get(stack.lastElement()).get(currentDecl.lastElement()).getFather();
-                        if (fatherInt == 0) {
-                            codeGen.procedureGen(proc.getName(), String.valueOf(stack.lastElement()), null); // pass the father name
-                        } else {
-                            List<Symbol> fatherRegion = tds.getTds().get(fatherInt);
-                            fatherName = fatherRegion.get(fatherRegion.size() - 1).getName();
-                            codeGen.procedureGen(proc.getName(), String.valueOf(stack.lastElement()), fatherName); // pass the father name
-                        }
-
+                        bindings.declare(node.getChildren().get(0), proc, stack.lastElement());
 
                         // create new region
-                        stack.push(tds.newRegion());
+                        stack.push(tds.newRegion(stack.lastElement()));
+                        program.setRegion(node.getId(), stack.lastElement());
                         break;
                     case "FUNCTION":
                         // reset offset
@@ -104,18 +99,14 @@ public class SemanticAnalyzer {
                         tmp = stack.pop();
                         Func func = new Func(stack.size(), stack.lastElement());
                         stack.push(tmp);
-                        func.setName(ast.getTree().nodes.get(node.getChildren().get(0)).getLabel());
+                        setName(func, ast.getTree().nodes.get(node.getChildren().get(0)));
                         func.setReturnType("");
                         currentDecl.push(tds.addSymbol(stack.lastElement(), func, node.getLine()));
-
-                        // code generation
-                        fatherInt = tds.getTds().get(stack.lastElement()).get(currentDecl.lastElement()).getFather();
-                        List<Symbol> fatherRegion = tds.getTds().get(fatherInt);
-                        fatherName = fatherRegion.get(fatherRegion.size() - 1).getName();
-                        codeGen.functionGen(func.getName(), String.valueOf(stack.lastElement()), fatherName);
+                        bindings.declare(node.getChildren().get(0), func, stack.lastElement());
 
                         // create new region
-                        stack.push(tds.newRegion());
+                        stack.push(tds.newRegion(stack.lastElement()));
+                        program.setRegion(node.getId(), stack.lastElement());
                         returnNeeded = returnNeeded + 1;
                         break;
                     case "PARAM":
@@ -136,7 +127,7 @@ public class SemanticAnalyzer {
                             param = new Param(stack.size(), stack.lastElement());
                             stack.push(tmp);
 
-                            param.setName(ast.getTree().nodes.get(node.getChildren().get(i)).getLabel());
+                            setName(param, ast.getTree().nodes.get(node.getChildren().get(i)));
                             param.setMode(mode.equals("IN") ? 0 : 1);
                             param.setType(type);
 
@@ -159,9 +150,6 @@ public class SemanticAnalyzer {
                                 ((Proc) tds.getTds().get(stack.lastElement()).get(currentDecl.lastElement())).addMode(param.getMode());
                             }
 
-                            // code generation gestion des paramètres
-                            codeGen.appendToBuffer("\t\t;" + param.getType() + "\t" + param.getName() + "\n");
-
                             stack.push(tmp);
                         }
                         break;
@@ -180,28 +168,25 @@ public class SemanticAnalyzer {
                             var = new Var(stack.size(), stack.lastElement());
                             stack.push(tmp);
 
-                            var.setName(ast.getTree().nodes.get(node.getChildren().get(i)).getLabel());
+                            setName(var, ast.getTree().nodes.get(node.getChildren().get(i)));
                             var.setType(ast.getTree().nodes.get(node.getChildren().get(nbVars)).getLabel());
                             if (!(var.getType().equals("boolean") || var.getType().equals("integer") || var.getType().equals("character") || (getSymbolFromLabel(var.getType(), stack.lastElement()) instanceof Record))) {
                                 throw new SemanticException("Type '" + var.getType() + "' is not defined", node.getLine());
                             }
                             // update offset
-                            if (TDS.offsets.get(var.getType()) == null) {
+                            if (tds.getOffsets().get(var.getType()) == null) {
                                 throw new SemanticException("Type '" + var.getType() + "' is not defined", node.getLine());
                             }
-                            offset.push(offset.pop() + TDS.offsets.get(var.getType()));
+                            offset.push(offset.pop() + tds.getOffsets().get(var.getType()));
                             var.setOffset(offset.lastElement());
                             tds.addSymbol(stack.lastElement(), var, node.getLine());
+                            bindings.declare(node.getChildren().get(i), var, stack.lastElement());
 
                             // assignation in declaration case
                             if (initVar != null) {
                                 if (!typeOfOperands(initVar.getChildren().get(0)).equals(var.getType())) {
                                     throw new SemanticException("Expected type " + var.getType() + " for variable '" + var.getName() + "', got " + typeOfOperands(initVar.getId()), node.getLine());
                                 }
-                                codeGen.addInitVar(var, initVar.getChildren().get(0));
-                            } else {
-                                // no assignation, init to 0
-                                codeGen.addInitVar(var, -1);
                             }
                         }
                         break;
@@ -215,10 +200,6 @@ public class SemanticAnalyzer {
                             }
                             ((Func) tds.getTds().get(stack.lastElement()).get(currentDecl.lastElement())).setReturnType(return_type);
                         }
-
-                        // code generation gestion du type de retour
-                        codeGen.appendToBuffer("\t;RETURN_TYPE\n\t\t;" + ((Func) tds.getTds().get(stack.lastElement()).get(currentDecl.lastElement())).getReturnType() + "\n");
-
                         stack.push(tmp);
 
 //                        computeOffsets(symbol, stack.lastElement());
@@ -238,7 +219,7 @@ public class SemanticAnalyzer {
                         tmp = stack.pop();
                         tds.Record record = new Record(stack.size(), stack.lastElement());
                         stack.push(tmp);
-                        record.setName(ast.getTree().nodes.get(node.getChildren().get(0)).getLabel());
+                        setName(record, ast.getTree().nodes.get(node.getChildren().get(0)));
                         record.setOffset(0);
                         if (ast.getTree().nodes.get(node.getChildren().get(1)).getLabel().equals("RECORD")) {
                             Node child;
@@ -250,11 +231,11 @@ public class SemanticAnalyzer {
                                     if (!(type.equals("boolean") || type.equals("integer") || type.equals("character") || (getSymbolFromLabel(type, stack.lastElement()) instanceof Record))) {
                                         throw new SemanticException("Type '" + type + "' is not defined", node.getLine());
                                     }
-                                    record.addField(ast.getTree().nodes.get(child.getChildren().get(j)).getLabel(), type, child.getLine());
+                                    record.addField(ast.getTree().nodes.get(child.getChildren().get(j)).getLabel(), type, child.getLine(), tds);
                                 }
                             }
                             // offset.push(offset.pop() + record.getOffset());
-                            TDS.offsets.put(record.getName(), record.getOffset());
+                            tds.getOffsets().put(record.getName(), record.getOffset());
                         }
                         tds.addSymbol(stack.lastElement(), record, node.getLine());
                         // remove type from undefined types
@@ -272,17 +253,11 @@ public class SemanticAnalyzer {
                         offset.push(0);
                         break;
                     case "INSTRUCTIONS":
-                        //  code generation
-                        this.codeGen.switchForVar();
-                        List<Symbol> delayedVarGen = tds.getTds().get(stack.lastElement());
-
                         // check if all the declared types are defined
                         if (!undefinedTypes.isEmpty()) {
                             throw new SemanticException("Undefined types: " + undefinedTypes, node.getLine());
                         }
 
-                        // code generation
-                        this.codeGen.appendToBuffer("\t;BEGIN of instructions\n");
                         analyzeInstructions(node.getId(), currentDecl.lastElement(), returnNeeded);
 
                         tmp = stack.pop();
@@ -292,7 +267,8 @@ public class SemanticAnalyzer {
                             }
                         }
                         stack.push(tmp);
-                        this.codeGen.varGen(ast, delayedVarGen, offset.peek());
+                        // locals and loop variables, all known once the instructions are analysed
+                        program.setFrameSize(node.getId(), offset.peek());
 
                         stack.pop();
                         int index = currentDecl.pop();
@@ -302,9 +278,6 @@ public class SemanticAnalyzer {
                             returnNeeded = returnNeeded - 1;
                         }
 
-                        // end of block for code generation
-                        this.codeGen.appendToBuffer("\t;END of instructions\n");
-                        codeGen.endBlock();
                         // pop offset
                         offset.pop();
                         break;
@@ -321,10 +294,9 @@ public class SemanticAnalyzer {
             error.append("  └in ").append(ast.getTree().nodes.get(stack.pop()).getLabel()).append("\n");
             throw new SemanticException(error.toString(), -1);
         }
-        codeGen.writeDownBlocks();
+        return program;
     }
 
-
     public void analyzeInstructions(int instructionNode, int currentDecl, int returnNeeded) throws SemanticException {
         List<Integer> childrens = ast.getTree().nodes.get(instructionNode).getChildren();
         returnNeededTmp = returnNeeded;
@@ -364,20 +336,9 @@ public class SemanticAnalyzer {
             switch (nodeChild.getLabel()) {
                 case "CONDITION":
                     analyseCondition(children);
-
-                    // code generation
-                    codeGen.appendToBuffer("\twhile" + nodeInt + " ; while\n");
-                    int reg = codeGen.stackFrames.peek().getRegisterManager().borrowRegister();
-                    codeGen.expressionGen(ast, nodeChild.getChildren().get(0), reg);
-                    codeGen.appendToBuffer("\tcmp\tr" + reg + ", #0 ; Condition\n");
-                    codeGen.appendToBuffer("\tbeq\twhile" + nodeInt + "_end ; Jump to end\n");
                     break;
                 case "DO":
                     analyzeInstructions(children, currentDecl.lastElement(), returnNeededTmp);
-
-                    // code generation
-                    codeGen.appendToBuffer("\tb\twhile" + nodeInt + " ; Jump to while\n");
-                    codeGen.appendToBuffer("\twhile" + nodeInt + "_end ; end of while\n");
                     break;
             }
         }
@@ -385,7 +346,7 @@ public class SemanticAnalyzer {
 
     private void analyzeAssignation(Integer nodeInt) throws SemanticException {
         Node node = ast.getTree().nodes.get(nodeInt);
-        Symbol symbol = getSymbolFromLabel(ast.getTree().nodes.get(node.getChildren().get(0)).getLabel(), stack.lastElement());
+        Symbol symbol = bindings.resolve(node.getChildren().get(0), stack.lastElement());
         // Not defined
         if (symbol == null) {
             throw new SemanticException("'" + ast.getTree().nodes.get(node.getChildren().get(0)).getLabel() + "' is not defined", node.getLine());
@@ -416,7 +377,6 @@ public class SemanticAnalyzer {
         } else if (!(rightType.equals(leftType))) {
             throw new SemanticException(leftType + " cannot be assigned to type " + rightType, node.getLine());
         }
-        this.codeGen.assignationGen(ast, node);
     }
 
     private void analyzeIf(Integer node) throws SemanticException {
@@ -429,19 +389,9 @@ public class SemanticAnalyzer {
                     analyzeIf(child);
                 case "CONDITION":
                     analyseCondition(child);
-
-                    // code generation
-                    int reg = codeGen.stackFrames.peek().getRegisterManager().borrowRegister();
-                    codeGen.expressionGen(ast, nodeChild.getChildren().get(0), reg);
-                    codeGen.appendToBuffer("\tcmp\tr" + reg + ", #0 ; Condition\n");
-                    codeGen.appendToBuffer("\tbeq\tif" + node + " ; Jump to else\n");
                     break;
                 case "THEN":
                     analyzeThen(child);
-
-                    // code generation
-                    codeGen.appendToBuffer("\tb\tif" + node + "_end ; Jump to end\n");
-                    codeGen.appendToBuffer("\tif" + node + " ; else\n");
                     break;
                 case "ELSIF":
                     analyzeElsif(child, node);
@@ -454,9 +404,6 @@ public class SemanticAnalyzer {
         if (returnNeededTmp > returnNeeded) {
             returnNeededTmp = returnNeededTmp - 1;
         }
-
-        // code generation
-        codeGen.appendToBuffer("\tif" + node + "_end ; end of if\n");
     }
 
     private void analyseCondition(Integer nodeInt) throws SemanticException {
@@ -480,19 +427,9 @@ public class SemanticAnalyzer {
                     analyzeIf(children);
                 case "CONDITION":
                     analyseCondition(children);
-
-                    // code generation
-                    int reg = codeGen.stackFrames.peek().getRegisterManager().borrowRegister();
-                    codeGen.expressionGen(ast, nodeChild.getChildren().get(0), reg);
-                    codeGen.appendToBuffer("\tcmp\tr" + reg + ", #0 ; Condition\n");
-                    codeGen.appendToBuffer("\tbeq\tif" + node + " ; Jump to else\n");
                     break;
                 case "THEN":
                     analyzeThen(children);
-
-                    // code generation
-                    codeGen.appendToBuffer("\tb\tif" + ifId + "_end ; Jump to end\n");
-                    codeGen.appendToBuffer("\tif" + node + " ; else\n");
                     break;
                 case "ELSIF":
                     analyzeElsif(children, node);
@@ -518,13 +455,11 @@ public class SemanticAnalyzer {
 
         String returnType = typeOfOperands(child);
         String wanted;
-        String name;
 
         int tmp = stack.pop();
 
         if (tds.getTds().get(stack.lastElement()).get(currentDecl) instanceof Func) {
             wanted = ((Func) tds.getTds().get(stack.lastElement()).get(currentDecl)).getReturnType();
-            name = ((Func) tds.getTds().get(stack.lastElement()).get(currentDecl)).getName();
         } else {
             throw new SemanticException("Return statement in a procedure", ast.getTree().nodes.get(node).getLine());
         }
@@ -534,7 +469,6 @@ public class SemanticAnalyzer {
         if (!(returnType.equals(wanted))) {
             throw new SemanticException("Return type ('" + returnType + "') does not match the declaration ('" + wanted + "')", ast.getTree().nodes.get(node).getLine());
         }
-        this.codeGen.returnValue(ast, node, name);
     }
 
     private void analyzeFor(Integer nodeInt) throws SemanticException {
@@ -544,45 +478,27 @@ public class SemanticAnalyzer {
         Var incr = new Var(stack.size(), stack.lastElement());
         stack.push(temp);
         incr.setProtected(true);
-        incr.setName(node.getLabel());
+        setName(incr, node);
         incr.setType("integer");
         offset.push(offset.pop() + 8);
         incr.setOffset(offset.peek());
         tds.addSymbol(stack.lastElement(), incr, node.getLine());
+        // bound now, the variable leaves the TDS with the loop
+        bindings.resolve(children.get(0), stack.lastElement());
 
-        codeGen.addInitVar(incr, -1);
-
-
-        String lbl = ast.getTree().nodes.get(children.get(1)).getLabel();
-        boolean reverse = false;
-        if (lbl.equals("REVERSE")) {
-            reverse = true;
+        if (ast.getTree().nodes.get(children.get(1)).getLabel().equals("REVERSE")) {
             if (!typeOfOperands(children.get(2)).equals("integer") || !typeOfOperands(children.get(3)).equals("integer")) {
                 throw new SemanticException("Expected integer in for loop", ast.getTree().nodes.get(nodeInt).getLine());
             }
-            this.codeGen.forInitGen(ast, children, incr.getName(), 3, 2);
         } else {
             if (!typeOfOperands(children.get(1)).equals("integer") || !typeOfOperands(children.get(2)).equals("integer")) {
                 throw new SemanticException("Expected integer in for loop", ast.getTree().nodes.get(nodeInt).getLine());
             }
-            this.codeGen.forInitGen(ast, children, incr.getName(), 1, 2);
         }
 
-        this.codeGen.forCheckError(ast, incr.getName(), children.get(2), reverse);
-
-        this.codeGen.appendToBuffer("\tfor"+nodeInt+" ; begin of for\n");
-
         analyzeInstructions(children.get(children.size() - 1), currentDecl.lastElement(), returnNeededTmp);
 
-
-        this.codeGen.forCheckEnd(ast, incr.getName(), children.get(2), reverse); // check if end
-
-
-        this.codeGen.appendToBuffer("\tbeq\tendfor"+nodeInt+" ; jump to the end of the loop\n");
-        this.codeGen.forIncrement(incr.getName(), reverse); // increment or decrement
-        this.codeGen.appendToBuffer("\tb\tfor"+nodeInt+" ; jump to the beginning of the loop\n\tendfor"+nodeInt+" ; end of for\n");
-
-        tds.getTds().get(stack.lastElement()).remove(incr);
+        tds.removeSymbol(stack.lastElement(), incr);
     }
 
     private void analyseEnd(Integer node, int currentDecl) throws SemanticException {
@@ -605,10 +521,8 @@ public class SemanticAnalyzer {
     }
 
     public void analyzeCall(int nodeInt) throws SemanticException {
-        this.codeGen.appendToBuffer("\n\t; Start of calling stack\n");
         Node callNode = ast.getTree().nodes.get(nodeInt);
         Node labelNode = ast.getTree().nodes.get(callNode.getChildren().get(0));
-        this.codeGen.addNewFunc(false);
         Symbol symbol;
 
         // Exception "put" that supports overloading
@@ -622,12 +536,10 @@ public class SemanticAnalyzer {
                 default ->
                         throw new SemanticException("Expected type 'integer' or 'character' for parameter 1 of procedure 'put', got " + typeOfOperands(labelNode.getChildren().get(0)), callNode.getLine());
             };
-            this.codeGen.getReturnSize().push(0);
-            this.codeGen.stackArg(ast, labelNode.getChildren().get(0), false);
-            codeGen.callGen(symbol, getRegionFromLabel(symbol.getName(), stack.peek()));
+            program.setCallee(nodeInt, symbol, getRegionFromId(symbol.getNameId(), stack.peek()));
             return;
         } else {
-            symbol = getSymbolFromLabel(labelNode.getLabel(), stack.lastElement());
+            symbol = bindings.resolve(labelNode.getId(), stack.lastElement());
         }
 
         if (symbol == null) {
@@ -639,7 +551,6 @@ public class SemanticAnalyzer {
                 throw new SemanticException("Expected " + ((Func) symbol).getTypes().size() + " parameters, got " + labelNode.getChildren().size() + " for function '" + labelNode.getLabel() + "'", callNode.getLine());
             }
             String type;
-            this.codeGen.setNewFunc(true);
             for (int i = 0; i < labelNode.getChildren().size(); i++) {
                 type = typeOfOperands(labelNode.getChildren().get(i));
                 if (!type.equals(((Func) symbol).getTypes().get(i))) {
@@ -650,15 +561,7 @@ public class SemanticAnalyzer {
                         throw new SemanticException("Expected a 'variable' or 'x.f' with x type record for parameter 'in out' " + (i + 1) + " of function '" + labelNode.getLabel() + "', got " + getNatureOfLabel(labelNode.getChildren().get(i), stack.lastElement()), callNode.getLine());
                     }
                 }
-                this.codeGen.stackArg(ast, labelNode.getChildren().get(i), true);
-                this.codeGen.setNewFunc(false);
             }
-            if (((Func) symbol).getReturnType().isEmpty()) {
-                this.codeGen.getReturnSize().push(0);
-            } else {
-                this.codeGen.getReturnSize().push(TDS.offsets.get(((Func) symbol).getReturnType()));
-            }
-            this.codeGen.stackReturn(symbol, getRegionFromLabel(symbol.getName(), stack.peek()));
         } else if (symbol instanceof Proc) {
             if (labelNode.getChildren().size() != ((Proc) symbol).getTypes().size()) {
                 throw new SemanticException("Expected " + ((Proc) symbol).getTypes().size() + " parameters, got " + labelNode.getChildren().size() + " for procedure '" + labelNode.getLabel() + "'", callNode.getLine());
@@ -667,20 +570,41 @@ public class SemanticAnalyzer {
                     if (!typeOfOperands(labelNode.getChildren().get(i)).equals(((Proc) symbol).getTypes().get(i))) {
                         throw new SemanticException("Expected type " + ((Proc) symbol).getTypes().get(i) + " for parameter " + (i + 1) + " of procedure '" + labelNode.getLabel() + "', got " + typeOfOperands(labelNode.getChildren().get(i)), callNode.getLine());
                     }
-                    this.codeGen.stackArg(ast, labelNode.getChildren().get(i), false);
                 }
             }
-            this.codeGen.getReturnSize().push(0);
         } else {
             throw new SemanticException("Symbol '" + labelNode.getLabel() + "' is not callable", callNode.getLine());
         }
-        // code generation
-        codeGen.callGen(symbol, getRegionFromLabel(symbol.getName(), stack.peek()));
-        this.codeGen.removeNewFunc();
+        program.setCallee(nodeInt, symbol, bindings.region(labelNode.getId()));
     }
 
 
     public String typeOfOperands(int nodeInt) throws SemanticException {
+        if (nodeInt < 0 || nodeInt >= ast.getTree().size()) {
+            return inferType(nodeInt);
+        }
+        if (nodeInt >= nodeTypes.length) {
+            int capacity = Math.max(ast.getTree().size(), 2 * nodeTypes.length);
+            nodeTypes = Arrays.copyOf(nodeTypes, capacity);
+            nodeTypeRegions = Arrays.copyOf(nodeTypeRegions, capacity);
+        }
+        int region = stack.lastElement();
+        if (nodeTypes[nodeInt] != 0 && nodeTypeRegions[nodeInt] == region) {
+            return typeNames.get(nodeTypes[nodeInt] - 1);
+        }
+        String type = inferType(nodeInt);
+        Integer typeId = typeIds.get(type);
+        if (typeId == null) {
+            typeId = typeNames.size();
+            typeNames.add(type);
+            typeIds.put(type, typeId);
+        }
+        nodeTypes[nodeInt] = typeId + 1;
+        nodeTypeRegions[nodeInt] = region;
+        return type;
+    }
+
+    private String inferType(int nodeInt) throws SemanticException {
         Node node = ast.getTree().nodes.get(nodeInt);
         // Cas de base
         if (node.getChildren().isEmpty()) {
@@ -698,7 +622,7 @@ public class SemanticAnalyzer {
             analyzeCall(nodeInt);
             List<Integer> childrens = ast.getTree().nodes.get(nodeInt).getChildren();
             Node nodeCall = ast.getTree().nodes.get(childrens.get(0));
-            Symbol symbol = getSymbolFromLabel(nodeCall.getLabel(), stack.lastElement());
+            Symbol symbol = bindings.resolve(nodeCall.getId(), stack.lastElement());
             if (symbol instanceof Proc) {
                 throw new SemanticException("'" + ast.getTree().nodes.get(childrens.get(0)).getLabel() + "' is a procedure and return nothing", node.getLine());
             }
@@ -723,7 +647,7 @@ public class SemanticAnalyzer {
             return typeOfOperands(nodeSon.getId());
         }
         if (node.getChildren().size() == 1 && nodeSon.getLabel().equals("ACCESS_IDENT")) {
-            Symbol symbol = getSymbolFromLabel(node.getLabel(), stack.lastElement());
+            Symbol symbol = bindings.resolve(nodeInt, stack.lastElement());
             if (symbol == null) {
                 throw new SemanticException("Symbol '" + node.getLabel() + "' is not defined", node.getLine());
             } else if (symbol instanceof Var) {
@@ -762,94 +686,64 @@ public class SemanticAnalyzer {
     }
 
     public String getTypeOfLabel(int nodeInt, int region) {
-        int father = 0;
-        for (Symbol symbol : tds.getTds().get(region)) {
-            father = symbol.getFather();
-            if (symbol.getName().equals(ast.getTree().nodes.get(nodeInt).getLabel())) {
-                if (symbol instanceof Record) {
-                    return symbol.getName();
-                } else if (symbol instanceof Func) {
-                    return ((Func) symbol).getReturnType();
-                } else if (symbol instanceof Var) {
-                    return ((Var) symbol).getType();
-                } else if (symbol instanceof Param) {
-                    return ((Param) symbol).getType();
-                } else {
-                    return "undefined";
-                }
-            }
-        }
-        if (region != 0) {
-            return getTypeOfLabel(nodeInt, father);
+        Symbol symbol = bindings.resolve(nodeInt, region);
+        if (symbol instanceof Record) {
+            return symbol.getName();
+        } else if (symbol instanceof Func) {
+            return ((Func) symbol).getReturnType();
+        } else if (symbol instanceof Var) {
+            return ((Var) symbol).getType();
+        } else if (symbol instanceof Param) {
+            return ((Param) symbol).getType();
         } else {
             return "undefined";
         }
     }
 
     public String getNatureOfLabel(int nodeInt, int region) {
-        int father = 0;
-        for (Symbol symbol : tds.getTds().get(region)) {
-            father = symbol.getFather();
-            if (symbol.getName().equals(ast.getTree().nodes.get(nodeInt).getLabel())) {
-                if (symbol instanceof Record) {
-                    return "record";
-                } else if (symbol instanceof Func) {
-                    return "function";
-                } else if (symbol instanceof Var) {
-                    return "variable";
-                } else if (symbol instanceof Param) {
-                    return "parameter";
-                } else {
-                    return "undefined";
-                }
-            }
-        }
-        if (region != 0) {
-            return getNatureOfLabel(nodeInt, father);
+        Symbol symbol = bindings.resolve(nodeInt, region);
+        if (symbol instanceof Record) {
+            return "record";
+        } else if (symbol instanceof Func) {
+            return "function";
+        } else if (symbol instanceof Var) {
+            return "variable";
+        } else if (symbol instanceof Param) {
+            return "parameter";
         } else {
             return "undefined";
         }
     }
 
     public Symbol getSymbolFromLabel(String label, int region) {
-        int father = 0;
-        for (Symbol symbol : tds.getTds().get(region)) {
-            father = symbol.getFather();
-            if (symbol.getName().equals(label)) {
-                return symbol;
-            }
-        }
-        if (region != 0) {
-            return getSymbolFromLabel(label, father);
-        } else {
-            return null;
-        }
+        return getSymbolFromId(tds.find(label), region);
+    }
+
+    public Symbol getSymbolFromId(int nameId, int region) {
+        return tds.lookup(nameId, region);
     }
 
     public int getRegionFromLabel(String label, int region) {
-        int father = 0;
-        for (Symbol symbol : tds.getTds().get(region)) {
-            father = symbol.getFather();
-            if (symbol.getName().equals(label)) {
-                return region;
-            }
-        }
-        if (region != 0) {
-            return getRegionFromLabel(label, father);
-        } else {
-            return -1;
-        }
+        return getRegionFromId(tds.find(label), region);
+    }
+
+    public int getRegionFromId(int nameId, int region) {
+        return tds.regionOf(nameId, region);
+    }
+
+    private void setName(Symbol symbol, Node node) {
+        symbol.setName(node.getLabel(), node.getNameId() >= 0 ? node.getNameId() : tds.idOf(node.getLabel()));
     }
 
     public void computeOffsets(Symbol callable, int region) throws SemanticException {
-        int offset = (callable instanceof Func) ? TDS.offsets.get(((Func) callable).getReturnType()) : 0;
+        int offset = (callable instanceof Func) ? tds.getOffsets().get(((Func) callable).getReturnType()) : 0;
         int firstOffset = offset;
         List<Symbol> symbols = tds.getTds().get(region);
         Symbol symbol;
         for (int i = symbols.size() - 1; i >= 0; i--) {
             symbol = symbols.get(i);
             if (symbol instanceof Param) {
-                offset += TDS.offsets.get(((Param) symbol).getType());
+                offset += tds.getOffsets().get(((Param) symbol).getType());
                 ((Param) symbol).setOffset(offset);
             }
         }
@@ -859,17 +753,13 @@ public class SemanticAnalyzer {
             int tmp = stack.pop();
             Param param = new Param(stack.size(), stack.peek());
             stack.push(tmp);
-            param.setName("#fake");
+            param.setName("#fake", tds.idOf("#fake"));
             param.setType("integer");
             param.setOffset(0);
             tds.addSymbol(region, param, -1);
         }
     }
 
-    public void setCodeGen(CodeGenerator codeGen) {
-        this.codeGen = codeGen;
-    }
-
     public String typeOfField(Record record, int nodeInt) throws SemanticException {
         Node node = ast.getTree().nodes.get(nodeInt);
 
@@ -902,6 +792,10 @@ public class SemanticAnalyzer {
         return tds;
     }
 
+    public Bindings getBindings() {
+        return bindings;
+    }
+
     public Stack<Integer> getStack() {
         return stack;
     }
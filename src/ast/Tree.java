@@ -2,55 +2,337 @@ package ast;
 
 import java.util.*;
 
+/*
+ * AST stored as an arena: one slot per node in parallel int arrays and labels kept once in a pool.
+ * Children are chained through the edges, first edge of the parent then next edge, since the
+ * parser may add the same child twice.
+ * The nodes map and Node are views over the arena for the code that walks the tree by Node.
+ */
 public class Tree {
-    public Map<Integer, Node> nodes;
+    private static final int INITIAL_CAPACITY = 256;
+
+    public final Map<Integer, Node> nodes = new NodeMap();
+
+    private int size = 0;
+    private int[] labels = new int[INITIAL_CAPACITY];
+    private int[] firstEdge = new int[INITIAL_CAPACITY];
+    private int[] lastEdge = new int[INITIAL_CAPACITY];
+    private int[] lines = new int[INITIAL_CAPACITY];
+    private int[] nameIds = new int[INITIAL_CAPACITY];
+    private final BitSet tokens = new BitSet();
+    // Node views handed out so far, created on first access
+    private Node[] views = new Node[INITIAL_CAPACITY];
+
+    // label pool, a label keeps the first String it was given
+    private final List<String> labelPool = new ArrayList<>();
+    private final Map<String, Integer> labelIds = new HashMap<>();
+
+    // every edge in creation order: parent, child, number of nodes created before it, next edge of the parent
+    private static final int EDGE = 4;
+    private int[] edges = new int[EDGE * INITIAL_CAPACITY];
+    private int edgeCount = 0;
+
+    // depth-first order from the root and, at the same index, the index just past the subtree,
+    // computed on first use and dropped whenever a node or an edge is added
+    private int[] preorder;
+    private int[] subtreeEnds;
 
     public Tree(){
-        this.nodes = new HashMap<>();
     }
 
     public void addEdge(int parent, int child) {
-        nodes.get(parent).addChild(child);
+        if (EDGE * edgeCount == edges.length) {
+            edges = Arrays.copyOf(edges, 2 * edges.length);
+        }
+        preorder = null;
+        int edge = edgeCount++;
+        edges[EDGE * edge] = parent;
+        edges[EDGE * edge + 1] = child;
+        edges[EDGE * edge + 2] = size;
+        edges[EDGE * edge + 3] = -1;
+        // an edge from a missing node still goes to the .dot file, as it did when edges were written at once
+        if (parent < 0 || parent >= size) {
+            throw new NullPointerException("No node " + parent);
+        }
+        if (lastEdge[parent] < 0) {
+            firstEdge[parent] = edge;
+        } else {
+            edges[EDGE * lastEdge[parent] + 3] = edge;
+        }
+        lastEdge[parent] = edge;
+        if (views[parent] != null) {
+            views[parent].childrenChanged();
+        }
     }
 
     public void addNode(int id, String label, int line) {
-        nodes.put(id, new Node(id, label, line));
+        addNode(id, label, line, -1, false);
+    }
+
+    public void addNode(int id, String label, int line, int nameId) {
+        addNode(id, label, line, nameId, false);
+    }
+
+    /* ids are given in creation order, from 0 */
+    public void addNode(int id, String label, int line, int nameId, boolean token) {
+        if (id != size) {
+            throw new IllegalArgumentException("Node " + id + " created out of order, expected " + size);
+        }
+        if (size == labels.length) {
+            grow();
+        }
+        Integer labelId = labelIds.get(label);
+        if (labelId == null) {
+            labelId = labelPool.size();
+            labelPool.add(label);
+            labelIds.put(label, labelId);
+        }
+        labels[id] = labelId;
+        firstEdge[id] = -1;
+        lastEdge[id] = -1;
+        lines[id] = line;
+        nameIds[id] = nameId;
+        if (token) {
+            tokens.set(id);
+        }
+        size++;
+        preorder = null;
+    }
+
+    private void grow() {
+        int capacity = 2 * labels.length;
+        labels = Arrays.copyOf(labels, capacity);
+        firstEdge = Arrays.copyOf(firstEdge, capacity);
+        lastEdge = Arrays.copyOf(lastEdge, capacity);
+        lines = Arrays.copyOf(lines, capacity);
+        nameIds = Arrays.copyOf(nameIds, capacity);
+        views = Arrays.copyOf(views, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /* id of the label of a node in the label pool, nodes with the same label share it */
+    public int kind(int node) {
+        return labels[node];
+    }
+
+    /* id of a label in the pool, -1 if no node has it */
+    public int kindOf(String label) {
+        Integer labelId = labelIds.get(label);
+        return labelId == null ? -1 : labelId;
+    }
+
+    public String label(int node) {
+        return labelPool.get(labels[node]);
+    }
+
+    /* first edge to a child of a node, -1 if it has none */
+    public int firstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    /* edge to the next child of the same parent, -1 after the last one */
+    public int nextEdge(int edge) {
+        return edges[EDGE * edge + 3];
+    }
+
+    /* child an edge leads to */
+    public int child(int edge) {
+        return edges[EDGE * edge + 1];
+    }
+
+    public int line(int node) {
+        return lines[node];
+    }
+
+    public int nameId(int node) {
+        return nameIds[node];
+    }
+
+    public boolean isToken(int node) {
+        return tokens.get(node);
+    }
+
+    public int childCount(int node) {
+        int count = 0;
+        for (int edge = firstEdge[node]; edge >= 0; edge = nextEdge(edge)) {
+            count++;
+        }
+        return count;
     }
 
     public void display() {
-        for (Node node : nodes.values()) {
-            System.out.println("Node : " + node.getId() + " - " + node.getLabel());
-            System.out.println("Children : " + node.getChildren());
+        for (int id = 0; id < size; id++) {
+            System.out.println("Node : " + id + " - " + label(id));
+            System.out.println("Children : " + nodes.get(id).getChildren());
         }
     }
 
-    public List<Node> depthFirstTraversal() {
-        List<Node> result = new ArrayList<>();
-        Set<Integer> visited = new HashSet<>();
-        Stack<Integer> stack = new Stack<>();
-
-        if (!nodes.isEmpty()) {
-            int startNodeId = nodes.keySet().iterator().next();
-            stack.push(startNodeId);
-
-            while (!stack.isEmpty()) {
-                int nodeId = stack.pop();
-                if (!visited.contains(nodeId)) {
-                    Node currentNode = nodes.get(nodeId);
-                    result.add(currentNode);
-                    visited.add(nodeId);
-
-                    List<Integer> children = currentNode.getChildren();
-                    for (int i = children.size() - 1; i >= 0; i--) {
-                        int childId = children.get(i);
-                        if (!visited.contains(childId)) {
-                            stack.push(childId);
-                        }
+    /* nodes in depth-first order from the root, each node once; the array is shared, do not modify it */
+    public int[] preorder() {
+        if (preorder == null) {
+            computePreorder();
+        }
+        return preorder;
+    }
+
+    /*
+     * for each index of preorder(), the index just past the subtree of that node:
+     * the next node outside the subtree is at subtreeEnds()[i], so a pass can skip the subtree with i = subtreeEnds()[i]
+     */
+    public int[] subtreeEnds() {
+        if (preorder == null) {
+            computePreorder();
+        }
+        return subtreeEnds;
+    }
+
+    private void computePreorder() {
+        int[] order = new int[size];
+        int[] ends = new int[size];
+        int count = 0;
+        if (size > 0) {
+            BitSet visited = new BitSet(size);
+            // path from the root: index of the node in order and next edge to follow
+            int[] path = new int[32];
+            int[] nextEdges = new int[32];
+            int depth = 0;
+            visited.set(0);
+            order[count] = 0;
+            path[depth] = count++;
+            nextEdges[depth++] = firstEdge[0];
+            while (depth > 0) {
+                int edge = nextEdges[depth - 1];
+                if (edge < 0) {
+                    depth--;
+                    ends[path[depth]] = count;
+                    continue;
+                }
+                nextEdges[depth - 1] = nextEdge(edge);
+                int child = child(edge);
+                // a child already reached through an earlier edge is not visited again
+                if (!visited.get(child)) {
+                    visited.set(child);
+                    if (depth == path.length) {
+                        path = Arrays.copyOf(path, 2 * depth);
+                        nextEdges = Arrays.copyOf(nextEdges, 2 * depth);
                     }
+                    order[count] = child;
+                    path[depth] = count++;
+                    nextEdges[depth++] = firstEdge[child];
+                }
+            }
+        }
+        // nodes the root does not reach are left out
+        preorder = count == size ? order : Arrays.copyOf(order, count);
+        subtreeEnds = count == size ? ends : Arrays.copyOf(ends, count);
+    }
+
+    /* Node views in preorder(), the list follows the tree as it was when it was asked for */
+    public List<Node> depthFirstTraversal() {
+        int[] order = preorder();
+        return new AbstractList<>() {
+            @Override
+            public Node get(int index) {
+                return view(order[Objects.checkIndex(index, order.length)]);
+            }
+
+            @Override
+            public int size() {
+                return order.length;
+            }
+        };
+    }
+
+    /* children of a node in order */
+    int[] children(int node) {
+        int[] children = new int[childCount(node)];
+        int i = 0;
+        for (int edge = firstEdge[node]; edge >= 0; edge = nextEdge(edge)) {
+            children[i++] = child(edge);
+        }
+        return children;
+    }
+
+    int edgeCount() {
+        return edgeCount;
+    }
+
+    int edgeParent(int edge) {
+        return edges[EDGE * edge];
+    }
+
+    int edgeChild(int edge) {
+        return edges[EDGE * edge + 1];
+    }
+
+    int nodesBeforeEdge(int edge) {
+        return edges[EDGE * edge + 2];
+    }
+
+    private Node view(int node) {
+        Node view = views[node];
+        if (view == null) {
+            view = new Node(this, node);
+            views[node] = view;
+        }
+        return view;
+    }
+
+    /* read-only map from id to Node over the arena */
+    private class NodeMap extends AbstractMap<Integer, Node> {
+        @Override
+        public Node get(Object key) {
+            if (key instanceof Integer) {
+                int node = (Integer) key;
+                if (node >= 0 && node < size) {
+                    return view(node);
                 }
             }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
         }
 
-        return result;
+        @Override
+        public Set<Entry<Integer, Node>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Integer, Node>> iterator() {
+                    return new Iterator<>() {
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < size;
+                        }
+
+                        @Override
+                        public Entry<Integer, Node> next() {
+                            if (next >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            int node = next++;
+                            return new SimpleImmutableEntry<>(node, view(node));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
     }
 }
@@ -1,20 +1,58 @@
 package lexer;
 
 public class AsciiPrintableCharacters {
+    // character classes, one bit each
+    public static final byte LETTER = 1;
+    public static final byte DIGIT = 2;
+    public static final byte UNDERSCORE = 4;
+    public static final byte PRINTABLE = 8;
+    public static final byte WHITESPACE = 16;
+    // letters, digits and '_' may continue an identifier
+    public static final byte IDENTIFIER_PART = LETTER | DIGIT | UNDERSCORE;
+
+    /* class of every character below 256, anything above belongs to no class */
+    static final byte[] CLASSES = new byte[256];
+
+    static {
+        for (int c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] |= LETTER;
+        }
+        for (int c = 'A'; c <= 'Z'; c++) {
+            CLASSES[c] |= LETTER;
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            CLASSES[c] |= DIGIT;
+        }
+        CLASSES['_'] |= UNDERSCORE;
+        for (int c = 32; c <= 126; c++) {
+            CLASSES[c] |= PRINTABLE;
+        }
+        CLASSES[' '] |= WHITESPACE;
+        CLASSES['\n'] |= WHITESPACE;
+        CLASSES['\t'] |= WHITESPACE;
+    }
+
+    public static byte classOf(int c) {
+        return (c & ~0xFF) == 0 ? CLASSES[c] : 0;
+    }
 
     public static boolean isLetter(int c) {
-        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        return (classOf(c) & LETTER) != 0;
     }
 
     public static boolean isDigit(int c) {
-        return c >= '0' && c <= '9';
+        return (classOf(c) & DIGIT) != 0;
     }
 
     public static boolean isLetterOrDigit(int c) {
-        return isLetter(c) || isDigit(c);
+        return (classOf(c) & (LETTER | DIGIT)) != 0;
     }
 
     public static boolean isAsciiPrintable(int c) {
-        return c >= 32 && c <= 126;
+        return (classOf(c) & PRINTABLE) != 0;
+    }
+
+    public static boolean isWhitespace(int c) {
+        return (classOf(c) & WHITESPACE) != 0;
     }
 }
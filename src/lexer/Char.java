@@ -1,16 +1,31 @@
 package lexer;
 
 public class Char extends Token {
+    private static final Char[] CHARS = new Char[128];
+
+    static {
+        for (char c = 32; c <= 126; c++) {
+            CHARS[c] = new Char(c);
+        }
+    }
+
     public final char value;
+    private final String stringValue;
 
     public Char(char value) {
         super(Tag.CHAR);
         this.value = value;
+        this.stringValue = String.valueOf(value);
+    }
+
+    public static Char of(char value) {
+        Char c = value < CHARS.length ? CHARS[value] : null;
+        return c != null ? c : new Char(value);
     }
 
     @Override
     public String getStringValue() {
-        return String.valueOf(value);
+        return stringValue;
     }
 
     @Override
@@ -19,4 +34,3 @@ public class Char extends Token {
         return "Char{" + tag + ", " + value + "}";
     }
 }
-
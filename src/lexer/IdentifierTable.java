@@ -0,0 +1,104 @@
+package lexer;
+
+import java.util.ArrayList;
+
+/*
+ * Every name of a compilation gets one Word and one int id: names are interned straight from the
+ * source buffer, case folded, so later passes compare ids instead of strings.
+ * A table belongs to a single lexer and its compilation, it is not synchronized.
+ */
+public class IdentifierTable {
+    private final ArrayList<Word> words = new ArrayList<>();
+    // open addressing over word ids, slot value is id + 1 so that 0 means empty
+    private int[] slots = new int[256];
+    private int[] hashes = new int[256];
+
+    /* Word of an id handed out by this table */
+    public Word get(int id) {
+        return words.get(id);
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    /* id of a lower case name, interned as an identifier if it was never seen */
+    public int idOf(String name) {
+        int id = find(name);
+        return id >= 0 ? id : add(Tag.ID, name, Keywords.hash(name)).id;
+    }
+
+    /* id of a lower case name, -1 if no token or declaration ever used it */
+    public int find(String name) {
+        int hash = Keywords.hash(name);
+        int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && words.get(slots[slot] - 1).lexeme.equals(name)) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    Word reserve(int tag, String lexeme) {
+        return add(tag, lexeme, Keywords.hash(lexeme));
+    }
+
+    /* identifier spelled in any case by buffer[start, start + length), hash computed with Keywords.hash */
+    Word intern(char[] buffer, int start, int length, int hash) {
+        int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash) {
+                Word word = words.get(slots[slot] - 1);
+                if (word.tag == Tag.ID && Keywords.matches(word.lexeme, buffer, start, length)) {
+                    return word;
+                }
+            }
+        }
+        // first occurrence, the only time a String is built for this name
+        char[] lexeme = new char[length];
+        for (int i = 0; i < length; i++) {
+            char c = buffer[start + i];
+            lexeme[i] = c >= 'A' && c <= 'Z' ? (char) (c | 0x20) : c;
+        }
+        return add(Tag.ID, new String(lexeme), hash);
+    }
+
+    private Word add(int tag, String lexeme, int hash) {
+        Word word = new Word(tag, lexeme, words.size());
+        words.add(word);
+        if (words.size() * 2 > slots.length) {
+            grow();
+        }
+        insert(word.id, hash);
+        return word;
+    }
+
+    private void insert(int id, int hash) {
+        int mask = slots.length - 1;
+        int slot = spread(hash) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = id + 1;
+        hashes[slot] = hash;
+    }
+
+    // the polynomial hash keeps similar names in neighbouring slots, mix the bits before masking
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void grow() {
+        int[] oldSlots = slots;
+        int[] oldHashes = hashes;
+        slots = new int[oldSlots.length * 2];
+        hashes = new int[oldHashes.length * 2];
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] != 0) {
+                insert(oldSlots[i] - 1, oldHashes[i]);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package lexer;
 
 public class Invalid extends Token {
+    public static final Invalid INVALID = new Invalid();
 
     public Invalid() {
         super(Tag.INVALID);
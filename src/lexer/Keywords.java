@@ -0,0 +1,102 @@
+package lexer;
+
+/* Perfect hash over the reserved words: each keyword owns its slot, a lookup is one probe and one comparison */
+final class Keywords {
+    // slots are indexed by the top bits of hash * MULTIPLIER, the multiplier was searched offline for this set
+    private static final int MULTIPLIER = 0x9E37BE39;
+    private static final int BITS = 6;
+    static final int SIZE = 1 << BITS;
+
+    private static final String[] LEXEMES = new String[SIZE];
+    private static final int[] TAGS = new int[SIZE];
+
+    static {
+        put("access", Tag.ACCESS);
+        put("begin", Tag.BEGIN);
+        put("else", Tag.ELSE);
+        put("elsif", Tag.ELSIF);
+        put("end", Tag.END);
+        put("false", Tag.FALSE);
+        put("for", Tag.FOR);
+        put("function", Tag.FUNCTION);
+        put("if", Tag.IF);
+        put("in", Tag.IN);
+        put("is", Tag.IS);
+        put("loop", Tag.LOOP);
+        put("new", Tag.NEW);
+        put("null", Tag.NULL);
+        put("out", Tag.OUT);
+        put("procedure", Tag.PROCEDURE);
+        put("record", Tag.RECORD);
+        put("return", Tag.RETURN);
+        put("reverse", Tag.REVERSE);
+        put("then", Tag.THEN);
+        put("true", Tag.TRUE);
+        put("type", Tag.TYPE);
+        put("use", Tag.USE);
+        put("while", Tag.WHILE);
+        put("with", Tag.WITH);
+        put("not", Tag.NOT);
+        put("rem", Tag.REM);
+        put("and", Tag.AND);
+        put("or", Tag.OR);
+    }
+
+    private Keywords() {
+    }
+
+    private static void put(String lexeme, int tag) {
+        int slot = slot(hash(lexeme));
+        if (LEXEMES[slot] != null) {
+            // a new keyword needs a new multiplier
+            throw new IllegalStateException("Keywords '" + LEXEMES[slot] + "' and '" + lexeme + "' share a slot");
+        }
+        LEXEMES[slot] = lexeme;
+        TAGS[slot] = tag;
+    }
+
+    /* case-insensitive hash of identifier characters, also used by the identifier table */
+    static int hash(int hash, char c) {
+        return 31 * hash + (c | 0x20);
+    }
+
+    static int hash(String s) {
+        int hash = 0;
+        for (int i = 0; i < s.length(); i++) {
+            hash = hash(hash, s.charAt(i));
+        }
+        return hash;
+    }
+
+    private static int slot(int hash) {
+        return (hash * MULTIPLIER) >>> (32 - BITS);
+    }
+
+    /* slot of the keyword spelled in any case by buffer[start, start + length), -1 for an identifier */
+    static int lookup(char[] buffer, int start, int length, int hash) {
+        int slot = slot(hash);
+        String lexeme = LEXEMES[slot];
+        return lexeme != null && matches(lexeme, buffer, start, length) ? slot : -1;
+    }
+
+    /* lower case lexeme against identifier characters in any case */
+    static boolean matches(String lexeme, char[] buffer, int start, int length) {
+        if (lexeme.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (lexeme.charAt(i) != (buffer[start + i] | 0x20) && lexeme.charAt(i) != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String lexeme(int slot) {
+        return LEXEMES[slot];
+    }
+
+    static int tag(int slot) {
+        return TAGS[slot];
+    }
+}
@@ -1,94 +1,145 @@
 package lexer;
 
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.Hashtable;
+import java.io.PrintStream;
 
 public class Lexer {
+    private static final byte[] CLASSES = AsciiPrintableCharacters.CLASSES;
     private int line = 1;
     private char currentChar = ' ';
     private boolean invalidToken = false;
-    private final Hashtable<String, Word> words = new Hashtable<>();
-    private final FileReader fileReader;
+    private final IdentifierTable identifiers = new IdentifierTable();
+    // keyword words indexed by their perfect hash slot
+    private final Word[] keywords = new Word[Keywords.SIZE];
+    private final Word characterVal;
+    private final Word doublePoint;
+    private final Word geq;
+    private final Word leq;
+    private final Word different;
+    private final Word assignment;
+    private final NumberPool numbers = new NumberPool();
+    // payload of the last lexed token: character code, number value or word id
+    private int value;
+    private int tokenStart;
+    private int lineStart;
+    // where the last lexed token starts, taken before its lookahead moves to the next line
+    private int tokenLine;
+    private int tokenColumn;
+    private final SourceReader source;
     private final String fileName;
     private int character;
-    public Lexer(String fileName) throws FileNotFoundException {
+    // diagnostics of this file, kept apart when several files are compiled at once
+    private final PrintStream out;
+    public Lexer(String fileName) throws IOException {
+        this(fileName, System.out);
+    }
+
+    public Lexer(String fileName, PrintStream out) throws IOException {
+        this.out = out;
         // keywords
-        reserve(new Word(Tag.ACCESS, "access"));
-        reserve(new Word(Tag.BEGIN, "begin"));
-        reserve(new Word(Tag.ELSE, "else"));
-        reserve(new Word(Tag.ELSIF, "elsif"));
-        reserve(new Word(Tag.END, "end"));
-        reserve(new Word(Tag.FALSE, "false"));
-        reserve(new Word(Tag.FOR, "for"));
-        reserve(new Word(Tag.FUNCTION, "function"));
-        reserve(new Word(Tag.IF, "if"));
-        reserve(new Word(Tag.IN, "in"));
-        reserve(new Word(Tag.IS, "is"));
-        reserve(new Word(Tag.LOOP, "loop"));
-        reserve(new Word(Tag.NEW, "new"));
-        reserve(new Word(Tag.NULL, "null"));
-        reserve(new Word(Tag.OUT, "out"));
-        reserve(new Word(Tag.PROCEDURE, "procedure"));
-        reserve(new Word(Tag.RECORD, "record"));
-        reserve(new Word(Tag.RETURN, "return"));
-        reserve(new Word(Tag.REVERSE, "reverse"));
-        reserve(new Word(Tag.THEN, "then"));
-        reserve(new Word(Tag.TRUE, "true"));
-        reserve(new Word(Tag.TYPE, "type"));
-        reserve(new Word(Tag.USE, "use"));
-        reserve(new Word(Tag.WHILE, "while"));
-        reserve(new Word(Tag.WITH, "with"));
-        reserve(new Word(Tag.NOT, "not"));
-        reserve(new Word(Tag.CHARACTERVAL, "character'val"));
-//        reserve(new Word(Tag.PUT, "put"));
-        reserve(new Word(Tag.DOUBLEPOINT, ".."));
+        for (int slot = 0; slot < Keywords.SIZE; slot++) {
+            if (Keywords.lexeme(slot) != null) {
+                keywords[slot] = identifiers.reserve(Keywords.tag(slot), Keywords.lexeme(slot));
+            }
+        }
+        characterVal = identifiers.reserve(Tag.CHARACTERVAL, "character'val");
+//        reserve(Tag.PUT, "put");
+        doublePoint = identifiers.reserve(Tag.DOUBLEPOINT, "..");
         // operators
-        reserve(new Word(Tag.GEQ, ">="));
-        reserve(new Word(Tag.LEQ, "<="));
-        reserve(new Word(Tag.DIFFERENT, "/="));
-        reserve(new Word(Tag.REM, "rem"));
-        reserve(new Word(Tag.AND, "and"));
-        reserve(new Word(Tag.OR, "or"));
-        reserve(new Word(Tag.ASSIGNMENT, ":="));
+        geq = identifiers.reserve(Tag.GEQ, ">=");
+        leq = identifiers.reserve(Tag.LEQ, "<=");
+        different = identifiers.reserve(Tag.DIFFERENT, "/=");
+        assignment = identifiers.reserve(Tag.ASSIGNMENT, ":=");
 
         this.fileName = fileName.substring(0, fileName.lastIndexOf('.'));
-        this.fileReader = new FileReader(fileName);
+        this.source = new SourceReader(fileName);
     }
 
-    void reserve(Word t) {
-        words.put(t.lexeme, t);
+    /* names of this compilation, shared with the later passes */
+    public IdentifierTable getIdentifiers() {
+        return identifiers;
     }
 
     public Token scan() throws IOException {
+        return token(lex(), value);
+    }
+
+    /* lexes the next token straight into the buffer, without creating a Token object */
+    public void lex(TokenBuffer tokens) throws IOException {
+        int tag = lex();
+        tokens.add(tag, value, tokenLine, tokenColumn);
+    }
+
+    /* shared Token object for a lexed (tag, value) pair */
+    public Token token(int tag, int value) {
+        switch (tag) {
+            case Tag.SYMBOL:
+                return Symbol.of((char) value);
+            case Tag.CHAR:
+                return Char.of((char) value);
+            case Tag.NUMCONST:
+                return numbers.get(value);
+            case Tag.EOF:
+                return Token.EOF;
+            case Tag.INVALID:
+                return Invalid.INVALID;
+            default:
+                return tag < 256 ? new Token(tag) : identifiers.get(value);
+        }
+    }
+
+    private int word(Word w) {
+        value = w.id;
+        return w.tag;
+    }
+
+    private int lex() throws IOException {
         // handle whitespaces
-        while (((currentChar == ' ') || (currentChar == '\n') || (currentChar == '\t')) && ((character = fileReader.read()) != -1)) {
-            currentChar = (char) character;
-            if (currentChar == '\n') {
-                line++;
-            }
-            if ((currentChar != ' ') && (currentChar != '\n') && (currentChar != '\t')) {
-                // System.out.print(currentChar);
-                break;
+        if ((AsciiPrintableCharacters.classOf(currentChar) & AsciiPrintableCharacters.WHITESPACE) != 0) {
+            char[] buffer = source.getBuffer();
+            int position = source.getPosition();
+            int end = source.length();
+            char c = currentChar;
+            do {
+                if (position == end) {
+                    character = -1;
+                    break;
+                }
+                c = buffer[position++];
+                if (c == '\n') {
+                    line++;
+                    lineStart = position;
+                }
+            } while (c < 256 && (CLASSES[c] & AsciiPrintableCharacters.WHITESPACE) != 0);
+            source.setPosition(position);
+            if (character != -1) {
+                character = c;
             }
+            currentChar = c;
         }
         // handle end of file
         if (character == -1) {
-            return new Token(Tag.EOF);
+            tokenStart = source.getPosition();
+            tokenLine = line;
+            tokenColumn = tokenStart - lineStart + 1;
+            return Tag.EOF;
         }
+        tokenStart = source.getPosition() - 1;
+        tokenLine = line;
+        tokenColumn = tokenStart - lineStart + 1;
         // handle simple and double character tokens
         // switch case
         boolean isCharacter = false;
         boolean moinsUnaireCase = false;
-        Token t = null;
+        int t = 0;
         switch (currentChar) {
             case '/' : {
                 isCharacter = true;
-                char nextChar = (char) fileReader.read();
-                if (nextChar == '=') t = words.get("/=");
+                char nextChar = (char) source.read();
+                if (nextChar == '=') t = word(different);
                 else {
-                    t = new Symbol(currentChar);
+                    t = Tag.SYMBOL;
+                    value = currentChar;
                     moinsUnaireCase = true;
                     currentChar = nextChar;
                 }
@@ -96,10 +147,11 @@ public class Lexer {
             }
             case '<' : {
                 isCharacter = true;
-                char nextChar = (char) fileReader.read();
-                if (nextChar == '=') t = words.get("<=");
+                char nextChar = (char) source.read();
+                if (nextChar == '=') t = word(leq);
                 else {
-                    t = new Symbol(currentChar);
+                    t = Tag.SYMBOL;
+                    value = currentChar;
                     moinsUnaireCase = true;
                     currentChar = nextChar;
                 }
@@ -107,10 +159,11 @@ public class Lexer {
             }
             case '>' : {
                 isCharacter = true;
-                char nextChar = (char) fileReader.read();
-                if (nextChar == '=') t = words.get(">=");
+                char nextChar = (char) source.read();
+                if (nextChar == '=') t = word(geq);
                 else {
-                    t = new Symbol(currentChar);
+                    t = Tag.SYMBOL;
+                    value = currentChar;
                     moinsUnaireCase = true;
                     currentChar = nextChar;
                 }
@@ -118,10 +171,11 @@ public class Lexer {
             }
             case ':' : {
                 isCharacter = true;
-                char nextChar = (char) fileReader.read();
-                if (nextChar == '=') t = words.get(":=");
+                char nextChar = (char) source.read();
+                if (nextChar == '=') t = word(assignment);
                 else {
-                    t = new Symbol(currentChar);
+                    t = Tag.SYMBOL;
+                    value = currentChar;
                     moinsUnaireCase = true;
                     currentChar = nextChar;
                 }
@@ -129,29 +183,32 @@ public class Lexer {
             }
             case '-' : {
                 isCharacter = true;
-                char nextChar = (char) fileReader.read();
+                char nextChar = (char) source.read();
                 if (nextChar != '-') {
-                    t = new Symbol(currentChar);
+                    t = Tag.SYMBOL;
+                    value = currentChar;
                     moinsUnaireCase = true;
                     currentChar = nextChar;
                 }
                 else {
                     do {
-                        character = fileReader.read();
+                        character = source.read();
                         currentChar = (char) character;
                         // System.out.println(currentChar);
                     } while (currentChar != '\n');
                     line++;
-                    return scan();
+                    lineStart = source.getPosition();
+                    return lex();
                 }
                 break;
             }
             case '.' : {
                 isCharacter = true;
-                char nextChar = (char) fileReader.read();
-                if (nextChar == '.') { t = words.get(".."); }
+                char nextChar = (char) source.read();
+                if (nextChar == '.') { t = word(doublePoint); }
                 else {
-                    t = new Symbol(currentChar);
+                    t = Tag.SYMBOL;
+                    value = currentChar;
                     moinsUnaireCase = true;
                     currentChar = nextChar;
                 }
@@ -159,18 +216,19 @@ public class Lexer {
             }
             case '\'' : {
                 isCharacter = true;
-                char nextChar = (char) fileReader.read();
+                char nextChar = (char) source.read();
                 if (AsciiPrintableCharacters.isAsciiPrintable(nextChar)) {
-                    t = new Char(nextChar);
-                    character = fileReader.read();
+                    t = Tag.CHAR;
+                    value = nextChar;
+                    character = source.read();
                     currentChar = (char) character;
                     if (currentChar != '\'') {
-                        System.out.println("Invalid character: " + currentChar + " at line " + line);
+                        out.println("Invalid character: " + currentChar + " at line " + line);
                         invalidToken = true;
                     }
                 }
                 else {
-                    System.out.println("Invalid character: " + nextChar + " at line " + line);
+                    out.println("Invalid character: " + nextChar + " at line " + line);
                     invalidToken = true;
                 }
             }
@@ -181,113 +239,117 @@ public class Lexer {
             }
             if (invalidToken) {
                 invalidToken = false;
-                return new Invalid();
+                return Tag.INVALID;
             }
             return t;
         }
 
 
         // handle numbers
-        if( AsciiPrintableCharacters.isDigit(currentChar)) {
-            int v = 0;
+        if ((AsciiPrintableCharacters.classOf(currentChar) & AsciiPrintableCharacters.DIGIT) != 0) {
+            char[] buffer = source.getBuffer();
+            int position = source.getPosition();
+            int end = source.length();
+            int v = currentChar - '0';
             int v_tmp;
-            do {
-                v_tmp = 10*v + Character.digit(currentChar, 10);
+            char c;
+            while (position < end && (c = buffer[position]) < 256 && (CLASSES[c] & AsciiPrintableCharacters.DIGIT) != 0) {
+                v_tmp = 10*v + (c - '0');
                 if (v_tmp < v) {
-                    System.out.println("Integer overflow at line " + line);
+                    out.println("Integer overflow at line " + line);
                 }
-                character = fileReader.read();
-                currentChar = (char) character;
                 v = v_tmp;
-            } while(AsciiPrintableCharacters.isDigit(currentChar));
+                position++;
+            }
+            source.setPosition(position);
+            character = source.read();
+            currentChar = (char) character;
             if (character == '\n') {
                 line++;
+                lineStart = source.getPosition();
             }
-            return new Num(v);
+            value = v;
+            return Tag.NUMCONST;
         }
         // handle reserved words
-        if(AsciiPrintableCharacters.isLetter(currentChar)) {
-            StringBuilder reading_word = new StringBuilder();
-
-            do {  // identifiers are only made of letters / digit / _
-                reading_word.append(currentChar);
-                character = fileReader.read();
-                currentChar = (char) character;
-            } while(AsciiPrintableCharacters.isLetterOrDigit(currentChar) || currentChar == '_');
+        if ((AsciiPrintableCharacters.classOf(currentChar) & AsciiPrintableCharacters.LETTER) != 0) {
+            char[] buffer = source.getBuffer();
+            int start = source.getPosition() - 1;
+            int position = start + 1;
+            int end = source.length();
+            int hash = Keywords.hash(0, currentChar);
+            char c;
+            // identifiers are only made of letters / digit / _
+            while (position < end && (c = buffer[position]) < 256 && (CLASSES[c] & AsciiPrintableCharacters.IDENTIFIER_PART) != 0) {
+                hash = Keywords.hash(hash, c);
+                position++;
+            }
+            int length = position - start;
+            source.setPosition(position);
+            character = source.read();
+            currentChar = (char) character;
             if (character == '\n') {
                 line++;
+                lineStart = source.getPosition();
             }
 
-            String s = reading_word.toString().toLowerCase();  // case-insensitive language
-
             // handle character'val
-            if (s.equals("character")) {
-                if (currentChar == '\'') {
+            if (currentChar == '\'' && Keywords.matches("character", buffer, start, length)) {
+                StringBuilder reading_word = new StringBuilder(13).append(buffer, start, length);
+                String s;
+                reading_word.append(currentChar);
+                character = source.read();
+                currentChar = (char) character;
+                if (currentChar == 'V') {
                     reading_word.append(currentChar);
-                    character = fileReader.read();
+                    character = source.read();
                     currentChar = (char) character;
-                    if (currentChar == 'V') {
+                    if (currentChar == 'a') {
                         reading_word.append(currentChar);
-                        character = fileReader.read();
+                        character = source.read();
                         currentChar = (char) character;
-                        if (currentChar == 'a') {
-                            reading_word.append(currentChar);
-                            character = fileReader.read();
-                            currentChar = (char) character;
-                            if (currentChar == 'l') {
-                                reading_word.append(currentChar);
-                                currentChar = ' ';
-                                s = reading_word.toString().toLowerCase();
-                                return words.get(s);
-                            }
-                            else {
-                                s = reading_word.toString().toLowerCase();
-                                System.out.println("Invalid identifier or reserved word: " + s + " at line " + line);
-                            }
+                        if (currentChar == 'l') {
+                            currentChar = ' ';
+                            return word(characterVal);
                         }
                         else {
                             s = reading_word.toString().toLowerCase();
-                            System.out.println("Invalid identifier or reserved word: " + s + " at line " + line);
+                            out.println("Invalid identifier or reserved word: " + s + " at line " + line);
                         }
                     }
                     else {
                         s = reading_word.toString().toLowerCase();
-                        System.out.println("Invalid identifier or reserved word: " + s + " at line " + line);
+                        out.println("Invalid identifier or reserved word: " + s + " at line " + line);
                     }
                 }
                 else {
-                    Word w2 = new Word(Tag.ID, s);
-                    words.put(s, w2);
-                    return w2;
+                    s = reading_word.toString().toLowerCase();
+                    out.println("Invalid identifier or reserved word: " + s + " at line " + line);
                 }
+                return word(identifiers.get(identifiers.idOf(s)));
             }
 
-            if (words.containsKey(s)) { // checking if the identifier is a reserved word
-                return words.get(s);
-            }
-            else {
-                Word w2 = new Word(Tag.ID, s);
-                words.put(s, w2);
-                return w2;
-                }
+            int slot = Keywords.lookup(buffer, start, length, hash);
+            if (slot >= 0) { // checking if the identifier is a reserved word
+                return word(keywords[slot]);
             }
+            return word(identifiers.intern(buffer, start, length, hash));
+        }
         // handle characters
         if (AsciiPrintableCharacters.isAsciiPrintable(currentChar)) {
-            Token tmp = new Symbol(currentChar);
+            value = currentChar;
             currentChar = ' ';
-            return tmp;
+            return Tag.SYMBOL;
         }
         // handle invalid characters
-        if (words.get(Character.toString(currentChar)) == null) {
-            System.out.println("Invalid character: " + currentChar + " at line " + line);
-            invalidToken = true;
-        }
+        out.println("Invalid character: " + currentChar + " at line " + line);
+        invalidToken = true;
         currentChar = ' ';
         if (invalidToken) {
             invalidToken = false;
-            return new Invalid();
+            return Tag.INVALID;
         }
-        return new Token(currentChar);
+        return currentChar;
     }
 
     public int getLine() {
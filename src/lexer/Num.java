@@ -2,6 +2,7 @@ package lexer;
 
 public class Num extends Token {
     public final int value;
+    private String stringValue;
 
     public Num(int value) {
         super(Tag.NUMCONST);
@@ -10,7 +11,10 @@ public class Num extends Token {
 
     @Override
     public String getStringValue() {
-        return String.valueOf(value);
+        if (stringValue == null) {
+            stringValue = String.valueOf(value);
+        }
+        return stringValue;
     }
 
     @Override
@@ -0,0 +1,49 @@
+package lexer;
+
+/* One Num per distinct literal value, looked up without boxing */
+class NumberPool {
+    private int[] keys = new int[64];
+    private Num[] values = new Num[64];
+    private int size;
+
+    Num get(int value) {
+        int mask = keys.length - 1;
+        int slot = hash(value) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == value) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        Num num = new Num(value);
+        keys[slot] = value;
+        values[slot] = num;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return num;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        Num[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Num[oldValues.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,70 @@
+package lexer;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+public class SourceReader {
+    // below this size a single bulk read is cheaper than setting up a mapping
+    private static final long MAP_THRESHOLD = 1 << 16;
+
+    private final char[] buffer;
+    private final int length;
+    private int position;
+
+    public SourceReader(String fileName) throws IOException {
+        // FileInputStream keeps the FileNotFoundException the lexer used to throw
+        try (FileInputStream input = new FileInputStream(fileName);
+             FileChannel channel = input.getChannel()) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + fileName);
+            }
+            ByteBuffer bytes;
+            if (size >= MAP_THRESHOLD) {
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining() && channel.read(bytes) != -1) {
+                    // keep reading until the whole file is in memory
+                }
+                bytes.flip();
+            }
+            // same charset as the FileReader this replaces
+            CharBuffer chars = Charset.defaultCharset().decode(bytes);
+            this.length = chars.remaining();
+            if (chars.hasArray() && chars.arrayOffset() == 0) {
+                this.buffer = chars.array();
+            } else {
+                this.buffer = new char[length];
+                chars.get(buffer);
+            }
+        }
+        this.position = 0;
+    }
+
+    /* same contract as Reader.read(): next character or -1 at the end of the file */
+    public int read() {
+        return position < length ? buffer[position++] : -1;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    /* direct access for the lexer's scanning loops */
+    char[] getBuffer() {
+        return buffer;
+    }
+
+    void setPosition(int position) {
+        this.position = position;
+    }
+
+    public int length() {
+        return length;
+    }
+}
@@ -1,16 +1,32 @@
 package lexer;
 
 public class Symbol extends Token {
+    // one shared instance per printable character, symbols make up most of the tokens
+    private static final Symbol[] SYMBOLS = new Symbol[128];
+
+    static {
+        for (char c = 32; c <= 126; c++) {
+            SYMBOLS[c] = new Symbol(c);
+        }
+    }
+
     public final char value;
+    private final String stringValue;
 
     public Symbol(char value) {
         super(Tag.SYMBOL);
         this.value = value;
+        this.stringValue = String.valueOf(value);
+    }
+
+    public static Symbol of(char value) {
+        Symbol symbol = value < SYMBOLS.length ? SYMBOLS[value] : null;
+        return symbol != null ? symbol : new Symbol(value);
     }
 
     @Override
     public String getStringValue() {
-        return String.valueOf(value);
+        return stringValue;
     }
 
     @Override
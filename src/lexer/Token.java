@@ -1,6 +1,8 @@
 package lexer;
 
 public class Token {
+    public static final Token EOF = new Token(Tag.EOF);
+
     protected final int tag;
 
     public Token(int tag) {
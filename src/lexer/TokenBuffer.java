@@ -0,0 +1,66 @@
+package lexer;
+
+import java.util.Arrays;
+
+/* Structure-of-arrays token stream: the parser reads tokens by index, nothing is allocated per token */
+public class TokenBuffer {
+    private int[] tags;
+    private int[] values;
+    private int[] lines;
+    private int[] columns;
+    private int size;
+
+    public TokenBuffer() {
+        this(1024);
+    }
+
+    public TokenBuffer(int capacity) {
+        tags = new int[capacity];
+        values = new int[capacity];
+        lines = new int[capacity];
+        columns = new int[capacity];
+    }
+
+    public void add(int tag, int value, int line, int column) {
+        if (size == tags.length) {
+            int capacity = size * 2;
+            tags = Arrays.copyOf(tags, capacity);
+            values = Arrays.copyOf(values, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            columns = Arrays.copyOf(columns, capacity);
+        }
+        tags[size] = tag;
+        values[size] = value;
+        lines[size] = line;
+        columns[size] = column;
+        size++;
+    }
+
+    /* keeps the arrays so a buffer can be reused for the next file */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getTag(int index) {
+        return tags[index];
+    }
+
+    /* character code, number value or word id depending on the tag */
+    public int getValue(int index) {
+        return values[index];
+    }
+
+    /* line reported by the lexer once the token was read */
+    public int getLine(int index) {
+        return lines[index];
+    }
+
+    /* column of the first character of the token */
+    public int getColumn(int index) {
+        return columns[index];
+    }
+}
@@ -2,10 +2,17 @@ package lexer;
 
 public class Word extends Token {
     public final String lexeme;
+    // index of the word in its lexer, -1 if it does not come from one
+    public final int id;
 
     public Word(int tag, String lexeme) {
+        this(tag, lexeme, -1);
+    }
+
+    public Word(int tag, String lexeme, int id) {
         super(tag);
         this.lexeme = lexeme;
+        this.id = id;
     }
 
     @Override
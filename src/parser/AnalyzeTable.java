@@ -16,18 +16,12 @@ public class AnalyzeTable {
     }
 
     public void analyze(boolean export) throws IOException {
-        current = parser.lexer.scan();
-         try {
-            this.ficher();
-         } catch (Error e) {
-             parser.ast.close();
-             throw e;
-         }
+        current = parser.next();
+        this.ficher();
         int temp = parser.stack.pop();
         if (temp != Tag.FICHIER) {
-            throw new Error("Reduction/Stack error : expected <" + Tag.FICHIER + "> but found <" + current.getTag() + "> at line " + parser.lexer.getLine() + " '" + current.getStringValue() + "'");
+            throw new Error("Reduction/Stack error : expected <" + Tag.FICHIER + "> but found <" + current.getTag() + "> at line " + parser.getLine() + " '" + current.getStringValue() + "'");
         }
-        parser.ast.close();
         if (export) {
             parser.ast.export();
         }
@@ -40,42 +34,42 @@ public class AnalyzeTable {
         parser.ast.buffer.push(parser.ast.lastNode);
         if (current.getTag() == Tag.WITH) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if ((current.getTag() == Tag.ID) && (current.getStringValue().equals("ada"))) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 if ((current.getTag() == Tag.SYMBOL) && (current.getStringValue().equals("."))) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     if ((current.getTag() == Tag.ID) && (current.getStringValue().equals("text_io"))) {
                         parser.stack.push(current.getTag());
-                        current = parser.lexer.scan();
+                        current = parser.next();
                         if ((current.getTag() == Tag.SYMBOL) && (current.getStringValue().equals(";"))) {
                             parser.stack.push(current.getTag());
-                            current = parser.lexer.scan();
+                            current = parser.next();
                             if (current.getTag() == Tag.USE) {
                                 parser.stack.push(current.getTag());
-                                current = parser.lexer.scan();
+                                current = parser.next();
                                 if ((current.getTag() == Tag.ID) && (current.getStringValue().equals("ada"))) {
                                     parser.stack.push(current.getTag());
-                                    current = parser.lexer.scan();
+                                    current = parser.next();
                                     if ((current.getTag() == Tag.SYMBOL) && (current.getStringValue().equals("."))) {
                                         parser.stack.push(current.getTag());
-                                        current = parser.lexer.scan();
+                                        current = parser.next();
                                         if ((current.getTag() == Tag.ID) && (current.getStringValue().equals("text_io"))) {
                                             parser.stack.push(current.getTag());
-                                            current = parser.lexer.scan();
+                                            current = parser.next();
                                             if ((current.getTag() == Tag.SYMBOL) && (current.getStringValue().equals(";"))) {
                                                 parser.stack.push(current.getTag());
-                                                current = parser.lexer.scan();
+                                                current = parser.next();
                                                 this.procedure();
                                                 this.begin_instruction();
                                                 if ((current.getTag() == Tag.SYMBOL) && (current.getStringValue().equals(";"))) {
                                                     parser.stack.push(current.getTag());
-                                                    current = parser.lexer.scan();
+                                                    current = parser.next();
                                                     if (current.getTag() == Tag.EOF) {
                                                         parser.stack.push(current.getTag());
-                                                        current = parser.lexer.scan();
+                                                        current = parser.next();
                                                         // verify stack and replace with FICHIER
                                                         int temp = parser.stack.pop();
                                                         if (temp == Tag.EOF) {
@@ -150,42 +144,42 @@ public class AnalyzeTable {
                                                             throw new Error("Reduction/Stack error : expected <" + Tag.EOF + "> but found <" + current.getTag() + ">");
                                                         }
                                                     } else {
-                                                        throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.EOF + " 'EOF'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                                                        throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.EOF + " 'EOF'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                                                     }
                                                 } else {
-                                                    throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                                                    throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
 
                                                 }
                                             } else {
-                                                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                                                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                                             }
                                         } else {
-                                            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'text_io'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                                            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'text_io'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                                         }
                                     } else {
-                                        throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " '.'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                                        throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " '.'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                                     }
                                 } else {
-                                    throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'ada'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                                    throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'ada'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                                 }
                             } else {
-                                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.USE + " 'USE'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.USE + " 'USE'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                             }
                         } else {
-                            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                         }
                     } else {
-                        throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'text_io'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                        throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'text_io'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                     }
                 } else {
-                    throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " '.'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " '.'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'ada'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'ada'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.WITH + " 'WITH'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.WITH + " 'WITH'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -193,18 +187,18 @@ public class AnalyzeTable {
         //PROCEDURE ::= procedure ident is END_PROCEDURE (lecture de procedure)
         if (current.getTag() == Tag.PROCEDURE) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID) {
                 // semantic functions
-                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).lexeme, true));
+                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
                 parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode("DECLARATIONS", false));
                 parser.ast.buffer.push(parser.ast.lastNode);
                 // end semantic functions
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 if (current.getTag() == Tag.IS) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     this.end_procedure();
                     int temp = parser.stack.pop();
                     if (temp == Tag.END_PROCEDURE) {
@@ -231,14 +225,14 @@ public class AnalyzeTable {
                         throw new Error("Reduction/Stack error : expected <" + Tag.END_PROCEDURE + "> but found <" + temp + ">");
                     }
                 } else {
-                    throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.IS + " 'IS'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.IS + " 'IS'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -261,7 +255,7 @@ public class AnalyzeTable {
             parser.stack.push(Tag.END_PROCEDURE);
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> or <" + Tag.ID + " 'ident'> or <" + Tag.TYPE + " 'type'> or <" + Tag.FUNCTION + " 'function'> or <" + Tag.BEGIN + " 'begin'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> or <" + Tag.ID + " 'ident'> or <" + Tag.TYPE + " 'type'> or <" + Tag.FUNCTION + " 'function'> or <" + Tag.BEGIN + " 'begin'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -273,11 +267,11 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.generate_instructions();
             if (current.getTag() == Tag.END) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.end_begin_instruction();
                 int temp = parser.stack.pop();
                 if (temp == Tag.END_BEGIN_INSTRUCTION) {
@@ -301,11 +295,11 @@ public class AnalyzeTable {
                     throw new Error("Reduction/Stack error : expected <" + Tag.END_BEGIN_INSTRUCTION + "> but found <" + temp + ">");
                 }
             } else {
-                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.BEGIN + " 'begin'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.BEGIN + " 'begin'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -320,14 +314,14 @@ public class AnalyzeTable {
             // semantic function
             int endNode = parser.ast.addNode("END", false);
             parser.ast.addEdge(parser.ast.buffer.lastElement(), endNode);
-            parser.ast.addEdge(endNode, parser.ast.addNode(((Word)current).getStringValue(), true));
+            parser.ast.addEdge(endNode, parser.ast.addNode((Word)current, true));
             // end semantic function
-            current = parser.lexer.scan();
+            current = parser.next();
             parser.stack.push(Tag.END_BEGIN_INSTRUCTION);
 
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " ';'> or <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " ';'> or <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -353,7 +347,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> or <" + Tag.ID + " 'ident'> or <" + Tag.TYPE + " 'type'> or <" + Tag.FUNCTION + " 'function'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> or <" + Tag.ID + " 'ident'> or <" + Tag.TYPE + " 'type'> or <" + Tag.FUNCTION + " 'function'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -377,7 +371,7 @@ public class AnalyzeTable {
             parser.stack.push(Tag.GENERATE_DECLARATIONS_FACTORISATION);
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> or <" + Tag.ID + " 'ident'> or <" + Tag.TYPE + " 'type'> or <" + Tag.FUNCTION + " 'function'> or <" + Tag.BEGIN + " 'begin'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> or <" + Tag.ID + " 'ident'> or <" + Tag.TYPE + " 'type'> or <" + Tag.FUNCTION + " 'function'> or <" + Tag.BEGIN + " 'begin'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -414,7 +408,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'ident'> or <" + Tag.BEGIN + " 'begin'> or <" + Tag.SYMBOL + " '('> or <" + Tag.RETURN + " 'return'> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.SYMBOL + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.IF + " 'if'> or <" + Tag.FOR + " 'for'> or <" + Tag.WHILE + " 'while'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'ident'> or <" + Tag.BEGIN + " 'begin'> or <" + Tag.SYMBOL + " '('> or <" + Tag.RETURN + " 'return'> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.SYMBOL + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.IF + " 'if'> or <" + Tag.FOR + " 'for'> or <" + Tag.WHILE + " 'while'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -449,7 +443,7 @@ public class AnalyzeTable {
             parser.stack.push(Tag.GENERATE_INSTRUCTIONS_FACTORISATION);
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'ident'> or <" + Tag.BEGIN + " 'begin'> or <" + Tag.SYMBOL + " '('> or <" + Tag.RETURN + " 'return'> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.IF + " 'if'> or <" + Tag.FOR + " 'for'> or <" + Tag.WHILE + " 'while'> or <" + Tag.SYMBOL + " 'else'> or <" + Tag.SYMBOL + " 'end'> or <" + Tag.SYMBOL + " 'elsif'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'ident'> or <" + Tag.BEGIN + " 'begin'> or <" + Tag.SYMBOL + " '('> or <" + Tag.RETURN + " 'return'> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.IF + " 'if'> or <" + Tag.FOR + " 'for'> or <" + Tag.WHILE + " 'while'> or <" + Tag.SYMBOL + " 'else'> or <" + Tag.SYMBOL + " 'end'> or <" + Tag.SYMBOL + " 'elsif'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -466,13 +460,13 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID) {
                 // semantic functions
-                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).lexeme, true));
+                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
                 // end semantic functions
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.declaration_procedure();
                 int temp = parser.stack.pop();
                 if (temp == Tag.DECLARATION_PROCEDURE) {
@@ -494,7 +488,7 @@ public class AnalyzeTable {
                     throw new Error("Reduction/Stack error : expected <" + Tag.DECLARATION_PROCEDURE + "> but found <" + temp + ">");
                 }
             } else {
-                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.ID) {
@@ -505,7 +499,7 @@ public class AnalyzeTable {
             this.generate_ident();
             if ((current.getTag() == Tag.SYMBOL) && (current.getStringValue().equals(":"))) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.type();
                 this.declaration_with_expression();
                 int temp = parser.stack.pop();
@@ -536,11 +530,11 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID) {
-                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).lexeme, true));
+                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.declaration_type();
                 int temp = parser.stack.pop();
                 if (temp == Tag.DECLARATION_TYPE) {
@@ -559,7 +553,7 @@ public class AnalyzeTable {
                     throw new Error("Reduction/Stack error : expected <" + Tag.DECLARATION_TYPE + "> but found <" + temp + ">");
                 }
             } else {
-                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.FUNCTION) {
@@ -568,13 +562,13 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID) {
                 // semantic functions
-                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).lexeme, true));
+                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
                 // end semantic functions
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.declaration_function();
                 int temp = parser.stack.pop();
                 if (temp == Tag.DECLARATION_FUNCTION) {
@@ -596,11 +590,11 @@ public class AnalyzeTable {
                     throw new Error("Reduction/Stack error : expected <" + Tag.DECLARATION_FUNCTION + "> but found <" + temp + ">");
                 }
             } else {
-                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> or <" + Tag.ID + " 'ident'> or <" + Tag.TYPE + " 'type'> or <" + Tag.FUNCTION + " 'function'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.PROCEDURE + " 'procedure'> or <" + Tag.ID + " 'ident'> or <" + Tag.TYPE + " 'type'> or <" + Tag.FUNCTION + " 'function'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -609,7 +603,7 @@ public class AnalyzeTable {
         //DECLARATION_TYPE ::= ; (lecture de ;)
         //DECLARATION_TYPE ::= is ACCESS_RECORD (lecture de is)
         if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
-            current = parser.lexer.scan();
+            current = parser.next();
             parser.stack.push(Tag.DECLARATION_TYPE);
             // semantic functions
             parser.ast.buffer.pop();
@@ -617,7 +611,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.IS) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.access_record();
             int temp = parser.stack.pop();
             if (temp == Tag.ACCESS_RECORD) {
@@ -635,7 +629,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " ';'> or <" + Tag.IS + " 'is'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " ';'> or <" + Tag.IS + " 'is'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -649,16 +643,16 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID) {
                 // semantic function
-                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).lexeme, true));
+                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
                 // end semantic function
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     int temp = parser.stack.pop();
                     if (temp == Tag.SYMBOL) {
                         temp = parser.stack.pop();
@@ -679,10 +673,10 @@ public class AnalyzeTable {
                         throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                     }
                 } else {
-                    throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.RECORD) {
@@ -691,17 +685,17 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.generate_champs();
             if (current.getTag() == Tag.END) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 if (current.getTag() == Tag.RECORD) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                         parser.stack.push(current.getTag());
-                        current = parser.lexer.scan();
+                        current = parser.next();
                         int temp = parser.stack.pop();
                         if (temp == Tag.SYMBOL) {
                             temp = parser.stack.pop();
@@ -732,17 +726,17 @@ public class AnalyzeTable {
                             throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                         }
                     } else {
-                        throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                        throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                     }
                 } else {
-                    throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.RECORD + " 'record'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.RECORD + " 'record'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.ACCESS + " 'access'> or <" + Tag.RECORD + " 'record'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.ACCESS + " 'access'> or <" + Tag.RECORD + " 'record'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -752,14 +746,14 @@ public class AnalyzeTable {
         //DECLARATION_WITH_EXPRESSION ::= := UNARY EXPRESSION ; (lecture de := )
         if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
             parser.stack.push(Tag.DECLARATION_WITH_EXPRESSION);
-            current = parser.lexer.scan();
+            current = parser.next();
             // semantic functions
             parser.ast.buffer.pop();
             // end semantic functions
         }
         else if (current.getTag() == Tag.ASSIGNMENT) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression();
             // semantic functions
@@ -771,7 +765,7 @@ public class AnalyzeTable {
             // end semantic functions
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 int temp = parser.stack.pop();
                 if (temp == Tag.SYMBOL) {
                     temp = parser.stack.pop();
@@ -793,14 +787,14 @@ public class AnalyzeTable {
                         throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                     }
                 } else {
-                    throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.SYMBOL + " ';'> or <" + Tag.ASSIGNMENT + " ':='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.SYMBOL + " ';'> or <" + Tag.ASSIGNMENT + " ':='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line " + parser.lexer.getLine() + " : expected <" + Tag.EXPRESSION + "> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line " + parser.getLine() + " : expected <" + Tag.EXPRESSION + "> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -816,7 +810,7 @@ public class AnalyzeTable {
             this.begin_instruction();
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 int temp = parser.stack.pop();
                 if(temp == Tag.SYMBOL) {
                     temp = parser.stack.pop();
@@ -841,7 +835,7 @@ public class AnalyzeTable {
                 }
             }
             else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
             }
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("(")){
@@ -850,7 +844,7 @@ public class AnalyzeTable {
             this.begin_instruction();
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 int temp = parser.stack.pop();
                 if(temp == Tag.SYMBOL) {
                     temp = parser.stack.pop();
@@ -881,11 +875,11 @@ public class AnalyzeTable {
                 }
             }
             else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.IS+" 'is'> or <"+Tag.SYMBOL +" '('> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.IS+" 'is'> or <"+Tag.SYMBOL +" '('> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -897,7 +891,7 @@ public class AnalyzeTable {
             this.params();
             if(current.getTag() == Tag.RETURN){
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 // semantic functions
                 parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode("RETURN_TYPE", false));
                 parser.ast.buffer.push(parser.ast.lastNode);
@@ -910,7 +904,7 @@ public class AnalyzeTable {
                 this.begin_instruction();
                 if(current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     int temp = parser.stack.pop();
                     if(temp == Tag.SYMBOL) {
                         temp = parser.stack.pop();
@@ -953,19 +947,19 @@ public class AnalyzeTable {
                     }
                 }
                 else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
                 }
             }
         }
         else if (current.getTag() == Tag.RETURN) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.type();
             this.is_declaration();
             this.begin_instruction();
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 int temp = parser.stack.pop();
                 if(temp == Tag.SYMBOL) {
                     temp = parser.stack.pop();
@@ -1003,7 +997,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL +" '('> or <"+Tag.RETURN+" 'return'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL +" '('> or <"+Tag.RETURN+" 'return'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1012,10 +1006,10 @@ public class AnalyzeTable {
         //GENERATE_IDENT ::= ident END_GENERATE_IDENT (lecture de ident)
         if (current.getTag() == Tag.ID) {
             // semantic functions
-            parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).lexeme, true));
+            parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.end_generate_ident();
             int temp = parser.stack.pop();
             if(temp == Tag.END_GENERATE_IDENT) {
@@ -1032,7 +1026,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1045,7 +1039,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(",")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.generate_ident();
             int temp = parser.stack.pop();
             if(temp == Tag.GENERATE_IDENT) {
@@ -1062,7 +1056,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL +" ':'> or <"+Tag.SYMBOL +" ','> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL +" ':'> or <"+Tag.SYMBOL +" ','> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1077,7 +1071,7 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.is_declaration_factorisation();
             int temp = parser.stack.pop();
             if(temp == Tag.IS_DECLARATION_FACTORISATION) {
@@ -1097,7 +1091,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.IS+" 'is'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.IS+" 'is'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1122,7 +1116,7 @@ public class AnalyzeTable {
             parser.stack.push(Tag.IS_DECLARATION_FACTORISATION);
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.PROCEDURE+" 'procedure'> or <"+Tag.ID+" 'ident'> or <"+Tag.TYPE+" 'type'> or <"+Tag.FUNCTION+" 'function'> or <"+Tag.BEGIN+" 'begin'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.PROCEDURE+" 'procedure'> or <"+Tag.ID+" 'ident'> or <"+Tag.TYPE+" 'type'> or <"+Tag.FUNCTION+" 'function'> or <"+Tag.BEGIN+" 'begin'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1137,11 +1131,11 @@ public class AnalyzeTable {
             this.generate_ident();
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(":")){
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.type();
                 if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")){
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     int temp = parser.stack.pop();
                     if (temp == Tag.SYMBOL){
                         temp = parser.stack.pop();
@@ -1170,13 +1164,13 @@ public class AnalyzeTable {
                     }
                 }
                 else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
                 }
 
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1199,7 +1193,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1227,7 +1221,7 @@ public class AnalyzeTable {
             // end semantic functiond
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.END+" 'end'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.END+" 'end'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1237,10 +1231,10 @@ public class AnalyzeTable {
         // TYPE ::= access ident (lecture de access)
         if (current.getTag() == Tag.ID){
             // semantic functions
-            parser.ast.addEdge(parser.ast.buffer.lastElement(),parser.ast.addNode(((Word)current).lexeme, true));
+            parser.ast.addEdge(parser.ast.buffer.lastElement(),parser.ast.addNode((Word)current, true));
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.ID){
                 parser.stack.push(Tag.NT_TYPE);
@@ -1255,13 +1249,13 @@ public class AnalyzeTable {
             // parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID){
                 // semantic function
-                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).lexeme, true));
+                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
                 // end semantic function
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 int temp = parser.stack.pop();
                 if (temp == Tag.ID){
                     temp = parser.stack.pop();
@@ -1277,11 +1271,11 @@ public class AnalyzeTable {
                 }
             }
             else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.ACCESS+" 'access'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.ACCESS+" 'access'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1290,7 +1284,7 @@ public class AnalyzeTable {
         // PARAMS ::= ( PARAM (lecture de ( )
         if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("(")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.param();
             int temp = parser.stack.pop();
             if (temp == Tag.PARAM){
@@ -1307,7 +1301,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" '('> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" '('> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1322,7 +1316,7 @@ public class AnalyzeTable {
             this.generate_ident();
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(":")){
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.type_or_mode_type_param();
                 int temp = parser.stack.pop();
                 if (temp == Tag.TYPE_OR_MODE_TYPE_PARAM){
@@ -1345,11 +1339,11 @@ public class AnalyzeTable {
                 }
             }
             else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" ':'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" ':'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1425,7 +1419,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.ACCESS+" 'access'> or <"+Tag.IN+" 'in'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.ACCESS+" 'access'> or <"+Tag.IN+" 'in'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1438,7 +1432,7 @@ public class AnalyzeTable {
         // end semantic function
         if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.param();
             int temp = parser.stack.pop();
             if (temp == Tag.PARAM){
@@ -1456,7 +1450,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(")")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.SYMBOL){
                 parser.stack.push(Tag.END_PARAM);
@@ -1466,7 +1460,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1475,7 +1469,7 @@ public class AnalyzeTable {
         // MODE ::= in OUT_OR_NOT (lecture de in)
         if (current.getTag() == Tag.IN){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.out_or_not();
             int temp = parser.stack.pop();
             if (temp == Tag.OUT_OR_NOT){
@@ -1492,7 +1486,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.IN+" 'in'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.IN+" 'in'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1512,7 +1506,7 @@ public class AnalyzeTable {
             parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode("IN OUT", false));
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.OUT){
                 parser.stack.push(Tag.OUT_OR_NOT);
@@ -1522,7 +1516,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.ACCESS+" 'access'> or <"+Tag.OUT+" 'out'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.ACCESS+" 'access'> or <"+Tag.OUT+" 'out'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1565,13 +1559,13 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.addNode("EXPRESSION_NEW", false));
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID){
                 // semantic functions
-                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).lexeme, true));
+                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
                 // end semantic functions
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.expression_or();
                 int temp = parser.stack.pop();
                 if (temp == Tag.EXPRESSION_OR){
@@ -1594,7 +1588,7 @@ public class AnalyzeTable {
                 }
             }
             else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
             }
         }
         else if (current.getTag() == Tag.CHARACTERVAL){
@@ -1602,10 +1596,10 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.addNode("CHARACTER'VAL", false));
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("(")){
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.unary();
                 this.expression();
                 // semantic function
@@ -1614,7 +1608,7 @@ public class AnalyzeTable {
                 // end semantic function
                 if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(")")){
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     this.expression_or();
                     int temp = parser.stack.pop();
                     if (temp == Tag.EXPRESSION_OR) {
@@ -1648,14 +1642,14 @@ public class AnalyzeTable {
                             throw new Error("Reduction/Stack error : expected <" + Tag.EXPRESSION_OR + "> but found <" + temp + ">");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ')'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ')'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " '('> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " '('> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.SYMBOL+" '('> or <"+Tag.NOT+" 'not'> or <"+Tag.NUMCONST+" 'entier'> or <"+Tag.CHAR+" 'caractere'> or <"+Tag.TRUE+" 'true'> or <"+Tag.FALSE+" 'false'> or <"+Tag.NULL+" 'null'> or <"+Tag.NEW+" 'new'> or <"+Tag.CHARACTERVAL+" 'character_val'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.SYMBOL+" '('> or <"+Tag.NOT+" 'not'> or <"+Tag.NUMCONST+" 'entier'> or <"+Tag.CHAR+" 'caractere'> or <"+Tag.TRUE+" 'true'> or <"+Tag.FALSE+" 'false'> or <"+Tag.NULL+" 'null'> or <"+Tag.NEW+" 'new'> or <"+Tag.CHARACTERVAL+" 'character_val'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1673,7 +1667,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.OR){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.expression_else();
             int temp = parser.stack.pop();
             if (temp == Tag.EXPRESSION_ELSE){
@@ -1690,7 +1684,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.THEN+" 'then'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.OR+" 'or'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.THEN+" 'then'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.OR+" 'or'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1730,7 +1724,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.ELSE) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_1();
             this.expression_or();
@@ -1765,7 +1759,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.ELSE + " 'else'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.ELSE + " 'else'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -1797,7 +1791,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.SYMBOL+" '('> or <"+Tag.NOT+" 'not'> or <"+Tag.NUMCONST+" 'entier'> or <"+Tag.CHAR+" 'caractere'> or <"+Tag.TRUE+" 'true'> or <"+Tag.FALSE+" 'false'> or <"+Tag.NULL+" 'null'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.SYMBOL+" '('> or <"+Tag.NOT+" 'not'> or <"+Tag.NUMCONST+" 'entier'> or <"+Tag.CHAR+" 'caractere'> or <"+Tag.TRUE+" 'true'> or <"+Tag.FALSE+" 'false'> or <"+Tag.NULL+" 'null'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
 
     }
@@ -1817,7 +1811,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.AND){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.expression_then();
             int temp = parser.stack.pop();
             if (temp == Tag.EXPRESSION_THEN){
@@ -1835,7 +1829,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.THEN+" 'then'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.AND+" 'and'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.THEN+" 'then'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.AND+" 'and'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -1877,7 +1871,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.THEN){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_not();
             this.expression_and();
@@ -1916,7 +1910,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.THEN + " 'then'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.THEN + " 'then'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -1949,7 +1943,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.NOT){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_not();
             // semantic function
@@ -1979,7 +1973,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.NOT + " 'not'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.NOT + " 'not'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -2010,7 +2004,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -2031,7 +2025,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("=")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_4();
             // semantic function
@@ -2071,7 +2065,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.DIFFERENT) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_4();
             // semantic function
@@ -2105,7 +2099,7 @@ public class AnalyzeTable {
                 throw new Error("Reduction/Stack error : expected <" + Tag.EXPRESSION_EQUALS + "> but found <" + temp + ">");
             }
         } else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
 
     }
@@ -2137,7 +2131,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -2162,7 +2156,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(">")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_5();
             // semantic function
@@ -2202,7 +2196,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.GEQ) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_5();
             // semantic function
@@ -2238,7 +2232,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("<")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_5();
             // semantic function
@@ -2278,7 +2272,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.LEQ) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_5();
             // semantic function
@@ -2312,7 +2306,7 @@ public class AnalyzeTable {
                 throw new Error("Reduction/Stack error : expected <" + Tag.EXPRESSION_COMPARAISON + "> but found <" + temp + ">");
             }
         } else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.SYMBOL+" '>'> or <"+Tag.GEQ+" '>='> or <"+Tag.SYMBOL+" '<'> or <"+Tag.LEQ+" '<='> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.SYMBOL+" '>'> or <"+Tag.GEQ+" '>='> or <"+Tag.SYMBOL+" '<'> or <"+Tag.LEQ+" '<='> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -2343,7 +2337,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -2372,7 +2366,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("+")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_6();
             // semantic function
@@ -2409,7 +2403,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("-")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_6();
             // semantic function
@@ -2444,7 +2438,7 @@ public class AnalyzeTable {
                 throw new Error("Reduction/Stack error : expected <" + Tag.EXPRESSION_PLUS_MOINS + "> but found <" + temp + ">");
             }
         } else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> or <"+Tag.SYMBOL+" '>'> or <"+Tag.GEQ+" '>='> or <"+Tag.SYMBOL+" '<'> or <"+Tag.LEQ+" '<='> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.SYMBOL+" '+'> or <"+Tag.SYMBOL+" '-'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> or <"+Tag.SYMBOL+" '>'> or <"+Tag.GEQ+" '>='> or <"+Tag.SYMBOL+" '<'> or <"+Tag.LEQ+" '<='> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.SYMBOL+" '+'> or <"+Tag.SYMBOL+" '-'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
 
     }
@@ -2476,7 +2470,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -2506,7 +2500,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("*")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_7();
             // semantic function
@@ -2542,7 +2536,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("/")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_7();
             // semantic function
@@ -2578,7 +2572,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.REM) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression_7();
             // semantic function
@@ -2612,7 +2606,7 @@ public class AnalyzeTable {
                 throw new Error("Reduction/Stack error : expected <" + Tag.EXPRESSION_MULT_DIV + "> but found <" + temp + ">");
             }
         } else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> or <"+Tag.SYMBOL+" '>'> or <"+Tag.GEQ+" '>='> or <"+Tag.SYMBOL+" '<'> or <"+Tag.LEQ+" '<='> or <"+Tag.SYMBOL+" '+'> or <"+Tag.SYMBOL+" '-'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.REM+" 'rem'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> or <"+Tag.SYMBOL+" '>'> or <"+Tag.GEQ+" '>='> or <"+Tag.SYMBOL+" '<'> or <"+Tag.LEQ+" '<='> or <"+Tag.SYMBOL+" '+'> or <"+Tag.SYMBOL+" '-'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.REM+" 'rem'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -2643,7 +2637,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -2675,19 +2669,19 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(".")){
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID) {
                 // semantic function
                 int expr = parser.ast.buffer.pop();
                 int accessIdent = parser.ast.addNode("ACCESS_IDENT", false);
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 parser.ast.addEdge(expr, accessIdent);
                 parser.ast.addEdge(accessIdent, ident);
                 parser.ast.buffer.push(expr);
                 parser.ast.buffer.push(ident);
                 // end semantic function
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.expression_access_ident();
                 int temp = parser.stack.pop();
                 if (temp == Tag.EXPRESSION_ACCESS_IDENT) {
@@ -2709,11 +2703,11 @@ public class AnalyzeTable {
                     throw new Error("Reduction/Stack error : expected <" + Tag.EXPRESSION_ACCESS_IDENT + "> but found <" + temp + ">");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.ASSIGNMENT+" ':='> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> or <"+Tag.SYMBOL+" '>'> or <"+Tag.GEQ+" '>='> or <"+Tag.SYMBOL+" '<'> or <"+Tag.LEQ+" '<='> or <"+Tag.SYMBOL+" '+'> or <"+Tag.SYMBOL+" '-'> or <"+Tag.SYMBOL+" '*'> or <"+Tag.SYMBOL+" '/'> or <"+Tag.REM+" 'rem'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.SYMBOL+" '.'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL+" ';'> or <"+Tag.ASSIGNMENT+" ':='> or <"+Tag.SYMBOL+" ')'> or <"+Tag.SYMBOL+" ','> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> or <"+Tag.THEN+" 'then'> or <"+Tag.SYMBOL+" '='> or <"+Tag.DIFFERENT+" '/='> or <"+Tag.SYMBOL+" '>'> or <"+Tag.GEQ+" '>='> or <"+Tag.SYMBOL+" '<'> or <"+Tag.LEQ+" '<='> or <"+Tag.SYMBOL+" '+'> or <"+Tag.SYMBOL+" '-'> or <"+Tag.SYMBOL+" '*'> or <"+Tag.SYMBOL+" '/'> or <"+Tag.REM+" 'rem'> or <"+Tag.LOOP+" 'loop'> or <"+Tag.DOUBLEPOINT+" '..'> or <"+Tag.SYMBOL+" '.'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -2730,7 +2724,7 @@ public class AnalyzeTable {
             // semantic function
             if (parser.ast.buffer.lastElement() < 0){
                 int moins = parser.ast.buffer.pop();
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 int tmp = ident;
                 int tmp1;
                 for (int i = 0; i < -moins; i++) {
@@ -2740,12 +2734,12 @@ public class AnalyzeTable {
                 }
                 parser.ast.buffer.push(tmp);
             } else {
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 parser.ast.buffer.push(ident);
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.start_new_expression();
             int temp = parser.stack.pop();
             if (temp == Tag.START_NEW_EXPRESSION){
@@ -2764,11 +2758,11 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("(")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.expression();
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(")")) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 int temp = parser.stack.pop();
                 if (temp == Tag.SYMBOL) {
                     temp = parser.stack.pop();
@@ -2786,7 +2780,7 @@ public class AnalyzeTable {
                     throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ')'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ')'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.NUMCONST) {
@@ -2808,7 +2802,7 @@ public class AnalyzeTable {
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.NUMCONST) {
                 parser.stack.push(Tag.EXPRESSION_ATOMS);
@@ -2835,7 +2829,7 @@ public class AnalyzeTable {
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.CHAR) {
                 parser.stack.push(Tag.EXPRESSION_ATOMS);
@@ -2847,7 +2841,7 @@ public class AnalyzeTable {
             // semantic function
             if (parser.ast.buffer.lastElement() < 0){
                 int moins = parser.ast.buffer.pop();
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 int tmp = ident;
                 int tmp1;
                 for (int i = 0; i < -moins; i++) {
@@ -2857,12 +2851,12 @@ public class AnalyzeTable {
                 }
                 parser.ast.buffer.push(tmp);
             } else {
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 parser.ast.buffer.push(ident);
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.TRUE) {
                 parser.stack.push(Tag.EXPRESSION_ATOMS);
@@ -2874,7 +2868,7 @@ public class AnalyzeTable {
             // semantic function
             if (parser.ast.buffer.lastElement() < 0){
                 int moins = parser.ast.buffer.pop();
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 int tmp = ident;
                 int tmp1;
                 for (int i = 0; i < -moins; i++) {
@@ -2884,12 +2878,12 @@ public class AnalyzeTable {
                 }
                 parser.ast.buffer.push(tmp);
             } else {
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 parser.ast.buffer.push(ident);
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.FALSE) {
                 parser.stack.push(Tag.EXPRESSION_ATOMS);
@@ -2901,7 +2895,7 @@ public class AnalyzeTable {
             // semantic function
             if (parser.ast.buffer.lastElement() < 0){
                 int moins = parser.ast.buffer.pop();
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 int tmp = ident;
                 int tmp1;
                 for (int i = 0; i < -moins; i++) {
@@ -2911,12 +2905,12 @@ public class AnalyzeTable {
                 }
                 parser.ast.buffer.push(tmp);
             } else {
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 parser.ast.buffer.push(ident);
             }
             // end semantic functionnot
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.NULL) {
                 parser.stack.push(Tag.EXPRESSION_ATOMS);
@@ -2925,7 +2919,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -2961,7 +2955,7 @@ public class AnalyzeTable {
             }
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             int temp = parser.stack.pop();
             if (temp == Tag.UNARY) {
@@ -2976,7 +2970,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.SYMBOL+" '('> or <"+Tag.NEW+" 'new'> or <"+Tag.CHARACTERVAL+" 'character'val'> or <"+Tag.ELSE+" 'else'> or <"+Tag.THEN+" 'then'> or <"+Tag.NOT+" 'not'> or <"+Tag.NUMCONST+" 'entier'> or <"+Tag.CHAR+" 'caractere'> or <"+Tag.TRUE+" 'true'> or <"+Tag.FALSE+" 'false'> or <"+Tag.NULL+" 'null'> or <"+Tag.SYMBOL+" '-'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.SYMBOL+" '('> or <"+Tag.NEW+" 'new'> or <"+Tag.CHARACTERVAL+" 'character'val'> or <"+Tag.ELSE+" 'else'> or <"+Tag.THEN+" 'then'> or <"+Tag.NOT+" 'not'> or <"+Tag.NUMCONST+" 'entier'> or <"+Tag.CHAR+" 'caractere'> or <"+Tag.TRUE+" 'true'> or <"+Tag.FALSE+" 'false'> or <"+Tag.NULL+" 'null'> or <"+Tag.SYMBOL+" '-'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -3008,7 +3002,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("(")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             // semantic function
             int ident = parser.ast.buffer.pop();
             int callNode = parser.ast.addNode("CALL", false);
@@ -3039,7 +3033,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " '.'> or <" + Tag.SYMBOL + " ';'> or <" + Tag.SYMBOL + " ')'> or <" + Tag.SYMBOL + " ','> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.THEN + " 'then'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> or <" + Tag.SYMBOL + " '>'> or <" + Tag.GEQ + " '>='> or <" + Tag.SYMBOL + " '<'> or <" + Tag.LEQ + " '<='> or <" + Tag.SYMBOL + " '+'> or <" + Tag.SYMBOL + " '-'> or <" + Tag.SYMBOL + " '*'> or <" + Tag.SYMBOL + " '/'> or <" + Tag.REM + " 'rem'> or <" + Tag.LOOP + " 'loop'> or <" + Tag.DOUBLEPOINT + " '..'> or <" + Tag.SYMBOL + " '('> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " '.'> or <" + Tag.SYMBOL + " ';'> or <" + Tag.SYMBOL + " ')'> or <" + Tag.SYMBOL + " ','> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.THEN + " 'then'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> or <" + Tag.SYMBOL + " '>'> or <" + Tag.GEQ + " '>='> or <" + Tag.SYMBOL + " '<'> or <" + Tag.LEQ + " '<='> or <" + Tag.SYMBOL + " '+'> or <" + Tag.SYMBOL + " '-'> or <" + Tag.SYMBOL + " '*'> or <" + Tag.SYMBOL + " '/'> or <" + Tag.REM + " 'rem'> or <" + Tag.LOOP + " 'loop'> or <" + Tag.DOUBLEPOINT + " '..'> or <" + Tag.SYMBOL + " '('> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -3077,7 +3071,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -3087,7 +3081,7 @@ public class AnalyzeTable {
         // END_GENERATE_EXPRESSION ::= , UNARY GENERATE_EXPRESSION (lecture de , )
         if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(")")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.SYMBOL) {
                 parser.stack.push(Tag.END_GENERATE_EXPRESSION);
@@ -3097,7 +3091,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(",")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.generate_expression();
             int temp = parser.stack.pop();
@@ -3118,7 +3112,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ')'> or <" + Tag.SYMBOL + " ','> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ')'> or <" + Tag.SYMBOL + " ','> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -3141,10 +3135,10 @@ public class AnalyzeTable {
         // INSTRUCTION ::= while UNARY EXPRESSION loop GENERATE_INSTRUCTIONS end loop ; (lecture de while)
         if (current.getTag() == Tag.ID){
             // semantic function
-            parser.ast.buffer.push(parser.ast.addNode(((Word)current).getStringValue(), true));
+            parser.ast.buffer.push(parser.ast.addNode((Word)current, true));
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.instruction_ident_expression();
             int temp = parser.stack.pop();
             if (temp == Tag.INSTRUCTION_IDENT_EXPRESSION){
@@ -3162,7 +3156,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.BEGIN) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             // semantic function
             parser.ast.addEdge(parser.ast.buffer.lastElement(),parser.ast.addNode("BLOCK_INSTRCUTIONS", false));
             parser.ast.buffer.push(parser.ast.lastNode);
@@ -3170,10 +3164,10 @@ public class AnalyzeTable {
             this.generate_instructions();
             if (current.getTag() == Tag.END) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     int temp = parser.stack.pop();
                     if (temp == Tag.SYMBOL) {
                         temp = parser.stack.pop();
@@ -3199,10 +3193,10 @@ public class AnalyzeTable {
                         throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.RETURN) {
@@ -3211,7 +3205,7 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.end_return();
             // semantic functions
             int expr = parser.ast.buffer.pop();
@@ -3235,16 +3229,16 @@ public class AnalyzeTable {
         else if ((current.getTag() == Tag.SYMBOL && current.getStringValue().equals("(")) || (current.getTag() == Tag.NEW) || (current.getTag() == Tag.CHARACTERVAL) || (current.getTag() == Tag.NOT) || (current.getTag() == Tag.NUMCONST) || (current.getTag() == Tag.CHAR) || (current.getTag() == Tag.TRUE) || (current.getTag() == Tag.FALSE) || (current.getTag() == Tag.NULL)) {
             this.wi_expression();
             if (!this.checkIdent) {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected '. ident' got ':='");
+                throw new Error("Error line "+parser.getLine()+" : expected '. ident' got ':='");
             }
             if (current.getTag() == Tag.ASSIGNMENT) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.unary();
                 this.expression();
                 if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     int tmp = parser.stack.pop();
                     if (tmp == Tag.SYMBOL) {
                         tmp = parser.stack.pop();
@@ -3272,10 +3266,10 @@ public class AnalyzeTable {
                         throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + tmp + ">");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.IF) {
@@ -3286,7 +3280,7 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression();
             // semantic functions
@@ -3296,7 +3290,7 @@ public class AnalyzeTable {
             // end functions
             if (current.getTag() == Tag.THEN) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 // semantic functions
                 parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode("THEN", false));
                 parser.ast.buffer.push(parser.ast.lastNode);
@@ -3341,7 +3335,7 @@ public class AnalyzeTable {
                     throw new Error("Reduction/Stack error : expected <" + Tag.NEXT_IF + "> but found <" + temp + ">");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.THEN + " 'then'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.THEN + " 'then'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.FOR) {
@@ -3350,16 +3344,16 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID) {
                 parser.stack.push(current.getTag());
                 // semantic functions
-                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).getStringValue(), true));
+                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
                 // end semantic functions
-                current = parser.lexer.scan();
+                current = parser.next();
                 if (current.getTag() == Tag.IN) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     this.for_instruction();
                     int temp = parser.stack.pop();
                     if (temp == Tag.FOR_INSTRUCTION) {
@@ -3383,10 +3377,10 @@ public class AnalyzeTable {
                         throw new Error("Reduction/Stack error : expected <" + Tag.FOR_INSTRUCTION + "> but found <" + temp + ">");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.IN + " 'in'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.IN + " 'in'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.WHILE) {
@@ -3397,7 +3391,7 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression();
             // semantic functions
@@ -3407,7 +3401,7 @@ public class AnalyzeTable {
             // end functions
             if (current.getTag() == Tag.LOOP) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 // semantic functions
                 parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode("DO", false));
                 parser.ast.buffer.push(parser.ast.lastNode);
@@ -3418,13 +3412,13 @@ public class AnalyzeTable {
                 // end functions
                 if (current.getTag() == Tag.END) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     if (current.getTag() == Tag.LOOP) {
                         parser.stack.push(current.getTag());
-                        current = parser.lexer.scan();
+                        current = parser.next();
                         if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                             parser.stack.push(current.getTag());
-                            current = parser.lexer.scan();
+                            current = parser.next();
                             int temp = parser.stack.pop();
                             if (temp == Tag.SYMBOL) {
                                 temp = parser.stack.pop();
@@ -3470,19 +3464,19 @@ public class AnalyzeTable {
                                 throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                             }
                         } else {
-                            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                         }
                     } else {
-                        throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                        throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         } else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.BEGIN + " 'begin'> or <" + Tag.RETURN + " 'return'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.IF + " 'if'> or <" + Tag.FOR + " 'for'> or <" + Tag.WHILE + " 'while'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.BEGIN + " 'begin'> or <" + Tag.RETURN + " 'return'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.IF + " 'if'> or <" + Tag.FOR + " 'for'> or <" + Tag.WHILE + " 'while'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -3513,7 +3507,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " '.'> or <" + Tag.SYMBOL + " ';'> or <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.SYMBOL + " '('> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " '.'> or <" + Tag.SYMBOL + " ';'> or <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.SYMBOL + " '('> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
 
         }
     }
@@ -3524,19 +3518,19 @@ public class AnalyzeTable {
         // INSTRUCTION_IDENT_EXPRESSION1 ::= := UNARY EXPRESSION ; (lecture de :=)
         if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(".")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.ID) {
                 // semantic function
                 int expr = parser.ast.buffer.pop();
                 int accessIdent = parser.ast.addNode("ACCESS_IDENT", false);
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 parser.ast.addEdge(expr > 0 ? expr : -expr, accessIdent);
                 parser.ast.addEdge(accessIdent, ident);
                 parser.ast.buffer.push(expr);
                 parser.ast.buffer.push(-ident);
                 // end semantic function
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.instruction_ident_expression1();
                 int temp = parser.stack.pop();
                 if (temp == Tag.INSTRUCTION_IDENT_EXPRESSION1) {
@@ -3562,7 +3556,7 @@ public class AnalyzeTable {
                 parser.ast.buffer.pop();
             }
             // end semantic functions
-            current = parser.lexer.scan();
+            current = parser.next();
             parser.stack.push(Tag.INSTRUCTION_IDENT_EXPRESSION1);
             // semantic functions
             int ident = parser.ast.buffer.pop();
@@ -3578,7 +3572,7 @@ public class AnalyzeTable {
             }
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression();
             // semantic function
@@ -3591,7 +3585,7 @@ public class AnalyzeTable {
             // end semantic function
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 int temp = parser.stack.pop();
                 if (temp == Tag.SYMBOL) {
                     temp = parser.stack.pop();
@@ -3616,11 +3610,11 @@ public class AnalyzeTable {
                 }
             }
             else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " '.'> or <" + Tag.SYMBOL + " ';'> or <" + Tag.ASSIGNMENT + " ':='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " '.'> or <" + Tag.SYMBOL + " ';'> or <" + Tag.ASSIGNMENT + " ':='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -3628,7 +3622,7 @@ public class AnalyzeTable {
         // INSTRUCTION_IDENT_EXPRESSION2 ::= ( UNARY GENERATE_EXPRESSION INSTRUCTION_IDENT_EXPRESSION1 (lecture de ( )
         if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("(")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.generate_expression();
             this.instruction_ident_expression1();
@@ -3655,7 +3649,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " '('> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " '('> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -3675,7 +3669,7 @@ public class AnalyzeTable {
         // END_RETURN ::= UNARY EXPRESSION ; (lecture de null)
         if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             int temp = parser.stack.pop();
             if (temp == Tag.SYMBOL) {
                 parser.stack.push(Tag.END_RETURN);
@@ -3688,7 +3682,7 @@ public class AnalyzeTable {
             this.expression();
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 int temp = parser.stack.pop();
                 if (temp == Tag.SYMBOL) {
                    temp = parser.stack.pop();
@@ -3706,10 +3700,10 @@ public class AnalyzeTable {
                     throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         } else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> or <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.SYMBOL + " '-'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> or <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.SYMBOL + " '-'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -3736,7 +3730,7 @@ public class AnalyzeTable {
             // end semantic functions
             if (current.getTag() == Tag.DOUBLEPOINT) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.unary();
                 this.expression();
                 // semantic functions
@@ -3745,7 +3739,7 @@ public class AnalyzeTable {
                 // end semantic functions
                 if (current.getTag() == Tag.LOOP) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     // semantic functions
                     parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode("DO", false));
                     parser.ast.buffer.push(parser.ast.lastNode);
@@ -3756,13 +3750,13 @@ public class AnalyzeTable {
                     // end semantic functions
                     if (current.getTag() == Tag.END) {
                         parser.stack.push(current.getTag());
-                        current = parser.lexer.scan();
+                        current = parser.next();
                         if (current.getTag() == Tag.LOOP) {
                             parser.stack.push(current.getTag());
-                            current = parser.lexer.scan();
+                            current = parser.next();
                             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                                 parser.stack.push(current.getTag());
-                                current = parser.lexer.scan();
+                                current = parser.next();
                                 int temp = parser.stack.pop();
                                 if (temp == Tag.SYMBOL) {
                                     temp = parser.stack.pop();
@@ -3818,19 +3812,19 @@ public class AnalyzeTable {
                                     throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                                 }
                             } else {
-                                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                             }
                         } else {
-                            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                         }
                     } else {
-                        throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                        throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.DOUBLEPOINT + " '..'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.DOUBLEPOINT + " '..'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.REVERSE) {
@@ -3838,7 +3832,7 @@ public class AnalyzeTable {
             parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode("REVERSE", false));
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.unary();
             this.expression();
             // semantic functions
@@ -3847,7 +3841,7 @@ public class AnalyzeTable {
             // end semantic functions
             if (current.getTag() == Tag.DOUBLEPOINT) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.unary();
                 this.expression();
                 // semantic functions
@@ -3856,7 +3850,7 @@ public class AnalyzeTable {
                 // end semantic functions
                 if (current.getTag() == Tag.LOOP) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     // semantic functions
                     parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode("DO", false));
                     parser.ast.buffer.push(parser.ast.lastNode);
@@ -3867,13 +3861,13 @@ public class AnalyzeTable {
                     // end semantic functions
                     if (current.getTag() == Tag.END) {
                         parser.stack.push(current.getTag());
-                        current = parser.lexer.scan();
+                        current = parser.next();
                         if (current.getTag() == Tag.LOOP) {
                             parser.stack.push(current.getTag());
-                            current = parser.lexer.scan();
+                            current = parser.next();
                             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                                 parser.stack.push(current.getTag());
-                                current = parser.lexer.scan();
+                                current = parser.next();
                                 int temp = parser.stack.pop();
                                 if (temp == Tag.SYMBOL) {
                                     temp = parser.stack.pop();
@@ -3934,23 +3928,23 @@ public class AnalyzeTable {
                                     throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                                 }
                             } else {
-                                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                             }
                         } else {
-                            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                         }
                     } else {
-                        throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                        throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.LOOP + " 'loop'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.DOUBLEPOINT + " '..'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.DOUBLEPOINT + " '..'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.SYMBOL + " '-'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.REVERSE + " 'reverse'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.SYMBOL + " '('> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.SYMBOL + " '-'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.REVERSE + " 'reverse'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -3961,13 +3955,13 @@ public class AnalyzeTable {
         // NEXT_IF ::= elsif ELSIF (lecture de elsif)
         if (current.getTag() == Tag.END) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.IF) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     int temp = parser.stack.pop();
                     if (temp == Tag.SYMBOL) {
                         temp = parser.stack.pop();
@@ -3985,10 +3979,10 @@ public class AnalyzeTable {
                         throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.IF + " 'if'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.IF + " 'if'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.ELSE) {
@@ -3997,7 +3991,7 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.nt_else();
             int temp = parser.stack.pop();
             if (temp == Tag.NT_ELSE) {
@@ -4016,7 +4010,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.ELSIF) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.elsif();
             int temp = parser.stack.pop();
             if (temp == Tag.NT_ELSIF) {
@@ -4031,7 +4025,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.END + " 'end'> or <" + Tag.ELSE + " 'else'> or <" + Tag.ELSIF + " 'elsif'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.END + " 'end'> or <" + Tag.ELSE + " 'else'> or <" + Tag.ELSIF + " 'elsif'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4056,13 +4050,13 @@ public class AnalyzeTable {
             this.generate_instructions();
             if (current.getTag() == Tag.END) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 if (current.getTag() == Tag.IF) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                         parser.stack.push(current.getTag());
-                        current = parser.lexer.scan();
+                        current = parser.next();
                         int temp = parser.stack.pop();
                         if (temp == Tag.SYMBOL) {
                             temp = parser.stack.pop();
@@ -4085,17 +4079,17 @@ public class AnalyzeTable {
                             throw new Error("Reduction/Stack error : expected <" + Tag.SYMBOL + "> but found <" + temp + ">");
                         }
                     } else {
-                        throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                        throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ';'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.IF + " 'if'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.IF + " 'if'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.END + " 'end'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.BEGIN + " 'begin'> or <" + Tag.SYMBOL + " '('> or <" + Tag.RETURN + " 'return'> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.IF + " 'if'> or <" + Tag.FOR + " 'for'> or <" + Tag.WHILE + " 'while'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> or <" + Tag.BEGIN + " 'begin'> or <" + Tag.SYMBOL + " '('> or <" + Tag.RETURN + " 'return'> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.IF + " 'if'> or <" + Tag.FOR + " 'for'> or <" + Tag.WHILE + " 'while'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4128,7 +4122,7 @@ public class AnalyzeTable {
             // end semantic functions
             if (current.getTag() == Tag.THEN) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 // semantic functions
                 parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode("THEN", false));
                 parser.ast.buffer.push(parser.ast.lastNode);
@@ -4171,11 +4165,11 @@ public class AnalyzeTable {
                 }
             }
             else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.THEN+" 'then'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.THEN+" 'then'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.SYMBOL +" '('> or <"+Tag.NEW+" 'new'> or <"+Tag.CHARACTERVAL+" 'character'val'> or <"+Tag.NOT+" 'not'> or <"+Tag.SYMBOL +" '-'> or <"+Tag.NUMCONST+" 'entier'> or <"+Tag.CHAR+" 'caractere'> or <"+Tag.TRUE+" 'true'> or <"+Tag.FALSE+" 'false'> or <"+Tag.NULL+" 'null'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ID+" 'ident'> or <"+Tag.SYMBOL +" '('> or <"+Tag.NEW+" 'new'> or <"+Tag.CHARACTERVAL+" 'character'val'> or <"+Tag.NOT+" 'not'> or <"+Tag.SYMBOL +" '-'> or <"+Tag.NUMCONST+" 'entier'> or <"+Tag.CHAR+" 'caractere'> or <"+Tag.TRUE+" 'true'> or <"+Tag.FALSE+" 'false'> or <"+Tag.NULL+" 'null'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -4189,13 +4183,13 @@ public class AnalyzeTable {
         // end semantic functions
         if (current.getTag() == Tag.END) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             if (current.getTag() == Tag.IF) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(";")) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     int temp = parser.stack.pop();
                     if(temp == Tag.SYMBOL) {
                         temp = parser.stack.pop();
@@ -4217,11 +4211,11 @@ public class AnalyzeTable {
                     }
                 }
                 else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.SYMBOL +" ';'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
                 }
             }
             else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.IF+" 'if'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.IF+" 'if'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
             }
         }
         else if (current.getTag() == Tag.ELSE) {
@@ -4230,7 +4224,7 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.lastNode);
             // end semantic functions
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.nt_else();
             int temp = parser.stack.pop();
             if(temp == Tag.NT_ELSE) {
@@ -4251,7 +4245,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.ELSIF) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.elsif();
             int temp = parser.stack.pop();
             if(temp == Tag.NT_ELSIF) {
@@ -4268,7 +4262,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.END+" 'end'> or <"+Tag.ELSE+" 'else'> or <"+Tag.ELSIF+" 'elsif'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.END+" 'end'> or <"+Tag.ELSE+" 'else'> or <"+Tag.ELSIF+" 'elsif'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -4303,14 +4297,14 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.addNode("EXPRESSION_NEW", false));
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             if (current.getTag() == Tag.ID) {
                 // semantic functions
-                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode(((Word)current).lexeme, true));
+                parser.ast.addEdge(parser.ast.buffer.lastElement(), parser.ast.addNode((Word)current, true));
                 // end semantic functions
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.checkIdent = false;
                 this.wi_expression_or();
                 int temp = parser.stack.pop();
@@ -4330,7 +4324,7 @@ public class AnalyzeTable {
                     throw new Error("Reduction/Stack error : expected <" + Tag.WI_EXPRESSION_OR + "> but found <" + temp + ">");
                 }
             } else {
-                throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ID + " 'ident'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
             }
         }
         else if (current.getTag() == Tag.CHARACTERVAL) {
@@ -4338,11 +4332,11 @@ public class AnalyzeTable {
             parser.ast.buffer.push(parser.ast.addNode("CHARACTER'VAL", false));
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals("(")) {
                 parser.stack.push(current.getTag());
-                current = parser.lexer.scan();
+                current = parser.next();
                 this.checkIdent = false;
                 this.unary();
                 this.expression();
@@ -4352,7 +4346,7 @@ public class AnalyzeTable {
                 // end semantic functions
                 if (current.getTag() == Tag.SYMBOL && current.getStringValue().equals(")")) {
                     parser.stack.push(current.getTag());
-                    current = parser.lexer.scan();
+                    current = parser.next();
                     this.checkIdent = false;
                     this.wi_expression_or();
                     int temp = parser.stack.pop();
@@ -4387,12 +4381,12 @@ public class AnalyzeTable {
                         throw new Error("Reduction/Stack error : expected <" + Tag.WI_EXPRESSION_OR + "> but found <" + temp + ">");
                     }
                 } else {
-                    throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " ')'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+                    throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " ')'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
                 }
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.OR + " 'or'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.OR + " 'or'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.NEW + " 'new'> or <" + Tag.CHARACTERVAL + " 'character'val'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4405,7 +4399,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.OR) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.wi_expression_else();
             int temp = parser.stack.pop();
@@ -4423,7 +4417,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ASSIGNMENT+" ':='> or <"+Tag.OR+" 'or'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ASSIGNMENT+" ':='> or <"+Tag.OR+" 'or'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -4462,7 +4456,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.ELSE) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_1();
@@ -4498,7 +4492,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.OR + " 'or'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.ELSE + " 'else'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.OR + " 'or'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> or <" + Tag.ELSE + " 'else'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4527,7 +4521,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4544,7 +4538,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.AND) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.wi_expression_then();
             int temp = parser.stack.pop();
@@ -4562,7 +4556,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <"+Tag.ASSIGNMENT+" ':='> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <"+Tag.ASSIGNMENT+" ':='> or <"+Tag.OR+" 'or'> or <"+Tag.AND+" 'and'> but found <"+current.getTag()+" '"+current.getStringValue()+"'>");
         }
     }
 
@@ -4601,7 +4595,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.THEN) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_not();
@@ -4637,7 +4631,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.THEN + " 'then'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.THEN + " 'then'> or <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4661,7 +4655,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.NOT) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_not();
@@ -4689,7 +4683,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.NOT + " 'not'> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4717,7 +4711,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4733,7 +4727,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && Objects.equals(current.getStringValue(), "=")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_4();
@@ -4770,7 +4764,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.DIFFERENT) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_4();
@@ -4806,7 +4800,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4834,7 +4828,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -4854,7 +4848,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && Objects.equals(current.getStringValue(), ">")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_5();
@@ -4891,7 +4885,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.GEQ) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_5();
@@ -4928,7 +4922,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && Objects.equals(current.getStringValue(), "<")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_5();
@@ -4965,7 +4959,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.LEQ) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_5();
@@ -5001,7 +4995,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> or <" + Tag.SYMBOL + " '>'> or <" + Tag.GEQ + " '>='> or <" + Tag.SYMBOL + " '<'> or <" + Tag.LEQ + " '<='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> or <" + Tag.SYMBOL + " '>'> or <" + Tag.GEQ + " '>='> or <" + Tag.SYMBOL + " '<'> or <" + Tag.LEQ + " '<='> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -5029,7 +5023,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -5051,7 +5045,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && Objects.equals(current.getStringValue(), "+")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_6();
@@ -5088,7 +5082,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && Objects.equals(current.getStringValue(), "-")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_6();
@@ -5124,7 +5118,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> or <" + Tag.SYMBOL + " '>'> or <" + Tag.GEQ + " '>='> or <" + Tag.SYMBOL + " '<'> or <" + Tag.LEQ + " '<='> or <" + Tag.SYMBOL + " '+'> or <" + Tag.SYMBOL + " '-'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> or <" + Tag.SYMBOL + " '>'> or <" + Tag.GEQ + " '>='> or <" + Tag.SYMBOL + " '<'> or <" + Tag.LEQ + " '<='> or <" + Tag.SYMBOL + " '+'> or <" + Tag.SYMBOL + " '-'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -5152,7 +5146,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -5177,7 +5171,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && Objects.equals(current.getStringValue(), "*")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_access_ident();
@@ -5214,7 +5208,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.SYMBOL && Objects.equals(current.getStringValue(), "/")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_access_ident();
@@ -5251,7 +5245,7 @@ public class AnalyzeTable {
         }
         else if (current.getTag() == Tag.REM) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.wi_expression_access_ident();
@@ -5287,7 +5281,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> or <" + Tag.SYMBOL + " '>'> or <" + Tag.GEQ + " '>='> or <" + Tag.SYMBOL + " '<'> or <" + Tag.LEQ + " '<='> or <" + Tag.SYMBOL + " '+'> or <" + Tag.SYMBOL + " '-'> or <" + Tag.SYMBOL + " '*'> or <" + Tag.SYMBOL + " '/'> or <" + Tag.REM + " 'rem'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.ASSIGNMENT + " ':='> or <" + Tag.OR + " 'or'> or <" + Tag.AND + " 'and'> or <" + Tag.SYMBOL + " '='> or <" + Tag.DIFFERENT + " '/='> or <" + Tag.SYMBOL + " '>'> or <" + Tag.GEQ + " '>='> or <" + Tag.SYMBOL + " '<'> or <" + Tag.LEQ + " '<='> or <" + Tag.SYMBOL + " '+'> or <" + Tag.SYMBOL + " '-'> or <" + Tag.SYMBOL + " '*'> or <" + Tag.SYMBOL + " '/'> or <" + Tag.REM + " 'rem'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -5318,7 +5312,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 
@@ -5332,7 +5326,7 @@ public class AnalyzeTable {
         //WI_EXPRESSION_ATOMS ::= null (lecture de null)
         if (current.getTag() == Tag.SYMBOL && Objects.equals(current.getStringValue(), "(")) {
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             this.unary();
             this.generate_expression();
@@ -5372,7 +5366,7 @@ public class AnalyzeTable {
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             int temp = parser.stack.pop();
             if (temp == Tag.NUMCONST) {
@@ -5400,7 +5394,7 @@ public class AnalyzeTable {
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             int temp = parser.stack.pop();
             if (temp == Tag.CHAR) {
@@ -5413,7 +5407,7 @@ public class AnalyzeTable {
             // semantic function
             if (parser.ast.buffer.lastElement() < 0){
                 int moins = parser.ast.buffer.pop();
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 int tmp = ident;
                 int tmp1;
                 for (int i = 0; i < -moins; i++) {
@@ -5423,12 +5417,12 @@ public class AnalyzeTable {
                 }
                 parser.ast.buffer.push(tmp);
             } else {
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 parser.ast.buffer.push(ident);
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             int temp = parser.stack.pop();
             if (temp == Tag.TRUE) {
@@ -5441,7 +5435,7 @@ public class AnalyzeTable {
             // semantic function
             if (parser.ast.buffer.lastElement() < 0){
                 int moins = parser.ast.buffer.pop();
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 int tmp = ident;
                 int tmp1;
                 for (int i = 0; i < -moins; i++) {
@@ -5451,12 +5445,12 @@ public class AnalyzeTable {
                 }
                 parser.ast.buffer.push(tmp);
             } else {
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 parser.ast.buffer.push(ident);
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             int temp = parser.stack.pop();
             if (temp == Tag.FALSE) {
@@ -5469,7 +5463,7 @@ public class AnalyzeTable {
             // semantic function
             if (parser.ast.buffer.lastElement() < 0){
                 int moins = parser.ast.buffer.pop();
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 int tmp = ident;
                 int tmp1;
                 for (int i = 0; i < -moins; i++) {
@@ -5479,12 +5473,12 @@ public class AnalyzeTable {
                 }
                 parser.ast.buffer.push(tmp);
             } else {
-                int ident = parser.ast.addNode(((Word)current).getStringValue(), true);
+                int ident = parser.ast.addNode((Word)current, true);
                 parser.ast.buffer.push(ident);
             }
             // end semantic function
             parser.stack.push(current.getTag());
-            current = parser.lexer.scan();
+            current = parser.next();
             this.checkIdent = false;
             int temp = parser.stack.pop();
             if (temp == Tag.NULL) {
@@ -5494,7 +5488,7 @@ public class AnalyzeTable {
             }
         }
         else {
-            throw new Error("Error line "+parser.lexer.getLine()+" : expected <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
+            throw new Error("Error line "+parser.getLine()+" : expected <" + Tag.SYMBOL + " '('> or <" + Tag.NUMCONST + " 'entier'> or <" + Tag.CHAR + " 'caractere'> or <" + Tag.TRUE + " 'true'> or <" + Tag.FALSE + " 'false'> or <" + Tag.NULL + " 'null'> but found <" + current.getTag() + " '" + current.getStringValue() + "'>");
         }
     }
 }
@@ -0,0 +1,36 @@
+package parser;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/* stack of symbols of the parser, without boxing every tag pushed */
+public class IntStack {
+    private int[] elements = new int[64];
+    private int size = 0;
+
+    public void push(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = value;
+    }
+
+    public int pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        return elements[--size];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
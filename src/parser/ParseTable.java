@@ -0,0 +1,851 @@
+package parser;
+
+import lexer.Symbol;
+import lexer.Tag;
+import lexer.Token;
+
+/* Generated by ParseTableGenerator from docs/grammar/grammar.ll1, do not edit */
+final class ParseTable {
+    // stack symbols: terminals are small indexes, non-terminals their Tag, actions start at ACTION
+    static final int ACTION = 2000;
+
+    // kinds of semantic actions
+    static final int ROOT = 0;
+    static final int POP = 1;
+    static final int WORD = 2;
+    static final int NODE = 3;
+    static final int END = 4;
+    static final int INIT = 5;
+    static final int LEAF = 6;
+    static final int ORPHAN = 7;
+    static final int ATTACH = 8;
+    static final int BINARY = 9;
+    static final int NOT = 10;
+    static final int REVERSED = 11;
+    static final int ACCESS = 12;
+    static final int OPERAND = 13;
+    static final int NUMBER = 14;
+    static final int CHARACTER = 15;
+    static final int MINUS = 16;
+    static final int CALL = 17;
+    static final int PUSH = 18;
+    static final int REQUIRE_DOT = 19;
+    static final int TARGET = 20;
+    static final int DROP_TARGETS = 21;
+    static final int CALL_STATEMENT = 22;
+    static final int ASSIGN = 23;
+    static final int CLEAR_DOT = 24;
+    static final int MARK_DOT = 25;
+    static final int CHARACTER_WORD = 26;
+
+    // kind and label of each action symbol
+    static final int[] ACTION_KIND = {
+            0, 1, 2, 3, 3, 4, 3, 3,
+            3, 3, 3, 3, 5, 3, 3, 3,
+            6, 6, 7, 7, 8, 9, 9, 9,
+            9, 10, 9, 9, 9, 9, 9, 9,
+            9, 11, 9, 9, 9, 12, 13, 14,
+            15, 16, 17, 18, 3, 3, 19, 3,
+            3, 3, 3, 3, 3, 20, 21, 22,
+            23, 6, 3, 3, 24, 9, 9, 25,
+            26,
+    };
+    static final String[] ACTION_LABEL = {
+            null, null, null, "DECLARATIONS", "INSTRUCTIONS", null, "PROCEDURE", "VARIABLE",
+            "TYPE", "FUNCTION", "ACCESS", "RECORD", null, "RETURN_TYPE", "CHAMP", "PARAM",
+            "IN", "IN OUT", "EXPRESSION_NEW", "CHARACTER'VAL", null, "OR", "OR ELSE", "AND",
+            "AND THEN", null, "=", "/=", ">", ">=", "<", "<=",
+            "+", "-", "*", "/", "rem", null, null, null,
+            null, null, null, null, "BLOCK_INSTRCUTIONS", "RETURN_EXPRESSION", null, "IF",
+            "CONDITION", "THEN", "FOR", "WHILE", "DO", null, null, null,
+            null, "REVERSE", "ELSE", "ELSIF", null, "-", "REM", null,
+            null,
+    };
+
+    // terminals: token class and, for Ada and Text_IO, the spelling of the identifier
+    static final int[] TERMINAL_CLASS = {
+            0, 1, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14,
+            15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30,
+            1, 31, 32, 33, 34, 35, 36, 37, 38, 39, 40, 41, 42, 43, 44, 45,
+            46, 47, 48, 49, 50, 51,
+    };
+    static final String[] TERMINAL_LEXEME = {
+            null, "ada", "text_io", null, null, null, null, null,
+            null, null, null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null,
+            null, null, null, null, null, null,
+    };
+
+    static final int CLASSES = 52;
+    // token class of the keywords and operators, from Tag.ACCESS, and of the symbols, by character
+    private static final int[] TAG_CLASS = {
+            9, 18, 7, 17, 26, 8, 23, 27, 4, 25, 12, 6, 30, 14, 20, 24,
+            16, 13, 3, 10, 21, 11, 28, 19, 22, 5, 2, 29, 0, 35, 36, 33,
+            34, 1, -1, 31, 15, -1, 37, 51, -1, 32,
+    };
+    private static final int[] SYMBOL_CLASS = {
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, 42, 43, 49, 47, 40, 48, 39, 50,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 41, 38, 46, 44, 45, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+    };
+
+    // production to expand for (non-terminal - Tag.FICHIER, token class), -1 on a syntax error
+    private static final int[] PREDICT = {
+            // FICHIER
+            0, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // NT_PROCEDURE
+            -1, -1, -1, 1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // END_PROCEDURE
+            -1, 2, -1, 2, 2, 2, -1, 3, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // BEGIN_INSTRUCTION
+            -1, -1, -1, -1, -1, -1, -1, 4, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // END_BEGIN_INSTRUCTION
+            -1, 6, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 5, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // GENERATE_DECLARATIONS
+            -1, 7, -1, 7, 7, 7, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // GENERATE_DECLARATIONS_FACTORISATION
+            -1, 8, -1, 8, 8, 8, -1, 9, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // GENERATE_INSTRUCTIONS
+            -1, 10, -1, -1, -1, -1, -1, 10, -1, -1, -1, 10, -1, -1, 10, 10,
+            -1, -1, -1, -1, 10, -1, 10, 10, 10, 10, -1, 10, -1, 10, -1, 10,
+            10, -1, -1, -1, -1, -1, -1, -1, -1, -1, 10, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // GENERATE_INSTRUCTIONS_FACTORISATION
+            -1, 11, -1, -1, -1, -1, -1, 11, 12, -1, -1, 11, -1, -1, 11, 11,
+            -1, 12, -1, -1, 11, -1, 11, 11, 11, 11, 12, 11, -1, 11, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 11, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // DECLARATION
+            -1, 14, -1, 13, 16, 15, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // DECLARATION_TYPE
+            -1, -1, -1, -1, -1, -1, 18, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 17, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // ACCESS_RECORD
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, 19, 20, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // DECLARATION_WITH_EXPRESSION
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 22, -1, -1, -1, -1, 21, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // DECLARATION_PROCEDURE
+            -1, -1, -1, -1, -1, -1, 23, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 24, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // DECLARATION_FUNCTION
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 26, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 25, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // GENERATE_IDENT
+            -1, 27, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // END_GENERATE_IDENT
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, 29, 28, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // IS_DECLARATION
+            -1, -1, -1, -1, -1, -1, 30, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // IS_DECLARATION_FACTORISATION
+            -1, 31, -1, 31, 31, 31, -1, 32, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // CHAMPS
+            -1, 33, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // GENERATE_CHAMPS
+            -1, 34, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // END_GENERATE_CHAMPS
+            -1, 35, -1, -1, -1, -1, -1, -1, 36, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // NT_TYPE
+            -1, 37, -1, -1, -1, -1, -1, -1, -1, 38, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // PARAMS
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 39, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // PARAM
+            -1, 40, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // TYPE_OR_MODE_TYPE_PARAM
+            -1, 41, -1, -1, -1, -1, -1, -1, -1, 41, -1, -1, 42, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // END_PARAM
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 43, -1, -1, -1, -1, 44, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // MODE
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 45, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // OUT_OR_NOT
+            -1, 46, -1, -1, -1, -1, -1, -1, -1, 46, -1, -1, -1, 47, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION
+            -1, 48, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 49, 50,
+            -1, -1, -1, -1, 48, -1, 48, 48, 48, -1, -1, -1, -1, -1, -1, 48,
+            48, -1, -1, -1, -1, -1, -1, -1, -1, -1, 48, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_OR
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            52, -1, -1, 51, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 51, -1,
+            -1, -1, -1, -1, -1, 51, 51, -1, 51, -1, -1, 51, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_ELSE
+            -1, 53, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 54, -1, -1, 53, -1, 53, 53, 53, -1, -1, -1, -1, -1, -1, 53,
+            53, -1, -1, -1, -1, -1, -1, -1, -1, -1, 53, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_1
+            -1, 55, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, 55, -1, 55, 55, 55, -1, -1, -1, -1, -1, -1, 55,
+            55, -1, -1, -1, -1, -1, -1, -1, -1, -1, 55, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_AND
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            56, -1, 57, 56, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 56, -1,
+            -1, -1, -1, -1, -1, 56, 56, -1, 56, -1, -1, 56, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_THEN
+            -1, 58, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, 59, 58, -1, 58, 58, 58, -1, -1, -1, -1, -1, -1, 58,
+            58, -1, -1, -1, -1, -1, -1, -1, -1, -1, 58, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_NOT
+            -1, 60, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, 61, -1, 60, 60, 60, -1, -1, -1, -1, -1, -1, 60,
+            60, -1, -1, -1, -1, -1, -1, -1, -1, -1, 60, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_3
+            -1, 62, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 62, 62, 62, -1, -1, -1, -1, -1, -1, 62,
+            62, -1, -1, -1, -1, -1, -1, -1, -1, -1, 62, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_EQUALS
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            63, -1, 63, 63, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 63, -1,
+            -1, -1, 65, -1, -1, 63, 63, -1, 63, -1, -1, 63, 64, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_4
+            -1, 66, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 66, 66, 66, -1, -1, -1, -1, -1, -1, 66,
+            66, -1, -1, -1, -1, -1, -1, -1, -1, -1, 66, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_COMPARAISON
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            67, -1, 67, 67, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 67, -1,
+            -1, -1, 67, 69, 71, 67, 67, -1, 67, -1, -1, 67, 67, 68, 70, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_5
+            -1, 72, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 72, 72, 72, -1, -1, -1, -1, -1, -1, 72,
+            72, -1, -1, -1, -1, -1, -1, -1, -1, -1, 72, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_PLUS_MOINS
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            73, -1, 73, 73, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 73, -1,
+            -1, -1, 73, 73, 73, 73, 73, -1, 73, -1, -1, 73, 73, 73, 73, 74,
+            75, -1, -1, -1,
+            // EXPRESSION_6
+            -1, 76, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 76, 76, 76, -1, -1, -1, -1, -1, -1, 76,
+            76, -1, -1, -1, -1, -1, -1, -1, -1, -1, 76, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_MULT_DIV
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            77, -1, 77, 77, -1, 80, -1, -1, -1, -1, -1, -1, -1, -1, 77, -1,
+            -1, -1, 77, 77, 77, 77, 77, -1, 77, -1, -1, 77, 77, 77, 77, 77,
+            77, 78, 79, -1,
+            // EXPRESSION_7
+            -1, 81, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 81, 81, 81, -1, -1, -1, -1, -1, -1, 81,
+            81, -1, -1, -1, -1, -1, -1, -1, -1, -1, 81, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // EXPRESSION_ACCESS_IDENT
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            82, -1, 82, 82, -1, 82, -1, -1, -1, -1, -1, -1, -1, -1, 82, -1,
+            -1, 82, 82, 82, 82, 82, 82, 83, 82, -1, -1, 82, 82, 82, 82, 82,
+            82, 82, 82, -1,
+            // EXPRESSION_ATOMS
+            -1, 84, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 88, 89, 90, -1, -1, -1, -1, -1, -1, 86,
+            87, -1, -1, -1, -1, -1, -1, -1, -1, -1, 85, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // UNARY
+            -1, 91, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 91, 91,
+            -1, -1, -1, -1, 91, -1, 91, 91, 91, -1, -1, -1, -1, -1, -1, 91,
+            91, -1, -1, -1, -1, -1, -1, -1, -1, -1, 91, -1, -1, -1, -1, -1,
+            92, -1, -1, -1,
+            // START_NEW_EXPRESSION
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            93, -1, 93, 93, -1, 93, -1, -1, -1, -1, -1, -1, -1, -1, 93, -1,
+            -1, -1, 93, 93, 93, 93, 93, 93, 93, -1, 94, 93, 93, 93, 93, 93,
+            93, 93, 93, -1,
+            // GENERATE_EXPRESSION
+            -1, 95, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 95, 95,
+            -1, -1, -1, -1, 95, -1, 95, 95, 95, -1, -1, -1, -1, -1, -1, 95,
+            95, -1, -1, -1, -1, -1, -1, -1, -1, -1, 95, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // END_GENERATE_EXPRESSION
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, 97, -1, -1, 96, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // INSTRUCTION
+            -1, 98, -1, -1, -1, -1, -1, 99, -1, -1, -1, 100, -1, -1, 101, 101,
+            -1, -1, -1, -1, 101, -1, 101, 101, 101, 102, -1, 103, -1, 104, -1, 101,
+            101, -1, -1, -1, -1, -1, -1, -1, -1, -1, 101, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // INSTRUCTION_IDENT_EXPRESSION
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 105, -1, -1, -1, -1, 105, 105, -1, -1, 106, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // END_RETURN
+            -1, 112, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 112, 112,
+            -1, -1, -1, -1, 112, -1, 112, 112, 112, -1, -1, -1, -1, -1, -1, 112,
+            112, -1, -1, -1, -1, -1, 111, -1, -1, -1, 112, -1, -1, -1, -1, -1,
+            112, -1, -1, -1,
+            // FOR_INSTRUCTION
+            -1, 113, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 113, 113,
+            -1, -1, -1, -1, 113, -1, 113, 113, 113, -1, -1, -1, 114, -1, -1, 113,
+            113, -1, -1, -1, -1, -1, -1, -1, -1, -1, 113, -1, -1, -1, -1, -1,
+            113, -1, -1, -1,
+            // NEXT_IF
+            -1, -1, -1, -1, -1, -1, -1, -1, 115, -1, -1, -1, -1, -1, -1, -1,
+            -1, 116, -1, -1, -1, -1, -1, -1, -1, -1, 117, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // NT_ELSE
+            -1, 118, -1, -1, -1, -1, -1, 118, -1, -1, -1, 118, -1, -1, 118, 118,
+            -1, -1, -1, -1, 118, -1, 118, 118, 118, 118, -1, 118, -1, 118, -1, 118,
+            118, -1, -1, -1, -1, -1, -1, -1, -1, -1, 118, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // NT_ELSIF
+            -1, 119, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 119, 119,
+            -1, -1, -1, -1, 119, -1, 119, 119, 119, -1, -1, -1, -1, -1, -1, 119,
+            119, -1, -1, -1, -1, -1, -1, -1, -1, -1, 119, -1, -1, -1, -1, -1,
+            119, -1, -1, -1,
+            // END_ELSIF
+            -1, -1, -1, -1, -1, -1, -1, -1, 120, -1, -1, -1, -1, -1, -1, -1,
+            -1, 121, -1, -1, -1, -1, -1, -1, -1, -1, 122, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 124, 125,
+            -1, -1, -1, -1, 123, -1, 123, 123, 123, -1, -1, -1, -1, -1, -1, 123,
+            123, -1, -1, -1, -1, -1, -1, -1, -1, -1, 123, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_OR
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            127, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 126, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_ELSE
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 129, -1, -1, 128, -1, 128, 128, 128, -1, -1, -1, -1, -1, -1, 128,
+            128, -1, -1, -1, -1, -1, -1, -1, -1, -1, 128, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_1
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, 130, -1, 130, 130, 130, -1, -1, -1, -1, -1, -1, 130,
+            130, -1, -1, -1, -1, -1, -1, -1, -1, -1, 130, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_AND
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            131, -1, 132, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 131, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_THEN
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, 134, 133, -1, 133, 133, 133, -1, -1, -1, -1, -1, -1, 133,
+            133, -1, -1, -1, -1, -1, -1, -1, -1, -1, 133, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_NOT
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, 136, -1, 135, 135, 135, -1, -1, -1, -1, -1, -1, 135,
+            135, -1, -1, -1, -1, -1, -1, -1, -1, -1, 135, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_3
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 137, 137, 137, -1, -1, -1, -1, -1, -1, 137,
+            137, -1, -1, -1, -1, -1, -1, -1, -1, -1, 137, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_EQUALS
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            138, -1, 138, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 138, 140, -1, -1, -1, -1, -1, -1, -1, -1, -1, 139, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_4
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 141, 141, 141, -1, -1, -1, -1, -1, -1, 141,
+            141, -1, -1, -1, -1, -1, -1, -1, -1, -1, 141, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_COMPARAISON
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            142, -1, 142, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 142, 142, 144, 146, -1, -1, -1, -1, -1, -1, -1, 142, 143, 145, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_5
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 147, 147, 147, -1, -1, -1, -1, -1, -1, 147,
+            147, -1, -1, -1, -1, -1, -1, -1, -1, -1, 147, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_PLUS_MOINS
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            148, -1, 148, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 148, 148, 148, 148, -1, -1, -1, -1, -1, -1, -1, 148, 148, 148, 149,
+            150, -1, -1, -1,
+            // WI_EXPRESSION_6
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 151, 151, 151, -1, -1, -1, -1, -1, -1, 151,
+            151, -1, -1, -1, -1, -1, -1, -1, -1, -1, 151, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_MUL_DIV
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            152, -1, 152, -1, -1, 155, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 152, 152, 152, 152, -1, -1, -1, -1, -1, -1, -1, 152, 152, 152, 152,
+            152, 153, 154, -1,
+            // WI_EXPRESSION_ACCES_IDENT
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 156, 156, 156, -1, -1, -1, -1, -1, -1, 156,
+            156, -1, -1, -1, -1, -1, -1, -1, -1, -1, 156, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // WI_EXPRESSION_ATOMS
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, 160, 161, 162, -1, -1, -1, -1, -1, -1, 158,
+            159, -1, -1, -1, -1, -1, -1, -1, -1, -1, 157, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // INSTRUCTION_IDENT_EXPRESSION1
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, 109, -1, -1, -1, -1, 108, 107, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+            // INSTRUCTION_IDENT_EXPRESSION2
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 110, -1, -1, -1, -1, -1,
+            -1, -1, -1, -1,
+    };
+
+    // right-hand sides, reversed so that pushing them in order leaves the first symbol on top
+    private static final int[] RHS_START = {
+            0, 16, 23, 24, 24, 29, 29, 31, 33, 34, 34, 36, 37, 37, 43, 48,
+            53, 59, 61, 64, 70, 77, 79, 84, 88, 93, 102, 108, 111, 111, 113, 117,
+            118, 118, 123, 125, 127, 128, 130, 133, 135, 139, 141, 144, 147, 149, 151, 152,
+            154, 156, 161, 169, 169, 171, 174, 179, 181, 181, 183, 186, 191, 192, 196, 198,
+            198, 203, 208, 210, 210, 215, 220, 225, 230, 232, 232, 237, 242, 244, 244, 249,
+            254, 259, 261, 261, 266, 269, 272, 274, 276, 278, 280, 282, 282, 285, 285, 290,
+            293, 294, 297, 300, 306, 311, 317, 330, 336, 351, 352, 353, 357, 360, 366, 370,
+            371, 374, 389, 406, 409, 413, 415, 419, 430, 434, 439, 442, 444, 451, 462, 462,
+            465, 468, 474, 476, 476, 479, 482, 488, 489, 494, 496, 496, 502, 508, 510, 510,
+            516, 522, 528, 534, 536, 536, 542, 548, 550, 550, 556, 562, 568, 571, 575, 578,
+            581, 584, 587, 590,
+    };
+    private static final int[] RHS = {
+            // 0: FICHIER ::= @root with ada . text_io ; use ada . text_io ; NT_PROCEDURE BEGIN_INSTRUCTION ; EOF @pop
+            2001, 53, 40, 1003, 1001, 40, 2, 41, 1, 3, 40, 2, 41, 1, 0, 2000,
+            // 1: NT_PROCEDURE ::= procedure @word @node(DECLARATIONS) ident is END_PROCEDURE @pop
+            2001, 1002, 7, 32, 2003, 2002, 4,
+            // 2: END_PROCEDURE ::= GENERATE_DECLARATIONS
+            1005,
+            // 3: END_PROCEDURE ::= ''
+            // 4: BEGIN_INSTRUCTION ::= @node(INSTRUCTIONS) begin GENERATE_INSTRUCTIONS end END_BEGIN_INSTRUCTION
+            1004, 9, 1007, 8, 2004,
+            // 5: END_BEGIN_INSTRUCTION ::= ''
+            // 6: END_BEGIN_INSTRUCTION ::= @end ident
+            32, 2005,
+            // 7: GENERATE_DECLARATIONS ::= DECLARATION GENERATE_DECLARATIONS_FACTORISATION
+            1006, 1009,
+            // 8: GENERATE_DECLARATIONS_FACTORISATION ::= GENERATE_DECLARATIONS
+            1005,
+            // 9: GENERATE_DECLARATIONS_FACTORISATION ::= ''
+            // 10: GENERATE_INSTRUCTIONS ::= INSTRUCTION GENERATE_INSTRUCTIONS_FACTORISATION
+            1008, 1051,
+            // 11: GENERATE_INSTRUCTIONS_FACTORISATION ::= GENERATE_INSTRUCTIONS
+            1007,
+            // 12: GENERATE_INSTRUCTIONS_FACTORISATION ::= ''
+            // 13: DECLARATION ::= @node(PROCEDURE) procedure @word ident DECLARATION_PROCEDURE @pop
+            2001, 1013, 32, 2002, 4, 2006,
+            // 14: DECLARATION ::= @node(VARIABLE) GENERATE_IDENT : NT_TYPE DECLARATION_WITH_EXPRESSION
+            1012, 1022, 43, 1015, 2007,
+            // 15: DECLARATION ::= @node(TYPE) type @word ident DECLARATION_TYPE
+            1010, 32, 2002, 6, 2008,
+            // 16: DECLARATION ::= @node(FUNCTION) function @word ident DECLARATION_FUNCTION @pop
+            2001, 1014, 32, 2002, 5, 2009,
+            // 17: DECLARATION_TYPE ::= ; @pop
+            2001, 40,
+            // 18: DECLARATION_TYPE ::= is ACCESS_RECORD @pop
+            2001, 1011, 7,
+            // 19: ACCESS_RECORD ::= @node(ACCESS) access @word ident ; @pop
+            2001, 40, 32, 2002, 10, 2010,
+            // 20: ACCESS_RECORD ::= @node(RECORD) record GENERATE_CHAMPS end record ; @pop
+            2001, 40, 11, 9, 1020, 11, 2011,
+            // 21: DECLARATION_WITH_EXPRESSION ::= ; @pop
+            2001, 40,
+            // 22: DECLARATION_WITH_EXPRESSION ::= := UNARY EXPRESSION @init ;
+            40, 2012, 1029, 1047, 35,
+            // 23: DECLARATION_PROCEDURE ::= IS_DECLARATION BEGIN_INSTRUCTION ; @pop
+            2001, 40, 1003, 1017,
+            // 24: DECLARATION_PROCEDURE ::= PARAMS IS_DECLARATION BEGIN_INSTRUCTION ; @pop
+            2001, 40, 1003, 1017, 1023,
+            // 25: DECLARATION_FUNCTION ::= PARAMS return @node(RETURN_TYPE) NT_TYPE @pop IS_DECLARATION BEGIN_INSTRUCTION ; @pop
+            2001, 40, 1003, 1017, 2001, 1022, 2013, 12, 1023,
+            // 26: DECLARATION_FUNCTION ::= return NT_TYPE IS_DECLARATION BEGIN_INSTRUCTION ; @pop
+            2001, 40, 1003, 1017, 1022, 12,
+            // 27: GENERATE_IDENT ::= @word ident END_GENERATE_IDENT
+            1016, 32, 2002,
+            // 28: END_GENERATE_IDENT ::= ''
+            // 29: END_GENERATE_IDENT ::= , GENERATE_IDENT
+            1015, 42,
+            // 30: IS_DECLARATION ::= @node(DECLARATIONS) is IS_DECLARATION_FACTORISATION @pop
+            2001, 1018, 7, 2003,
+            // 31: IS_DECLARATION_FACTORISATION ::= GENERATE_DECLARATIONS
+            1005,
+            // 32: IS_DECLARATION_FACTORISATION ::= ''
+            // 33: CHAMPS ::= @node(CHAMP) GENERATE_IDENT : NT_TYPE ;
+            40, 1022, 43, 1015, 2014,
+            // 34: GENERATE_CHAMPS ::= CHAMPS END_GENERATE_CHAMPS
+            1021, 1019,
+            // 35: END_GENERATE_CHAMPS ::= @pop GENERATE_CHAMPS
+            1020, 2001,
+            // 36: END_GENERATE_CHAMPS ::= @pop
+            2001,
+            // 37: NT_TYPE ::= @word ident
+            32, 2002,
+            // 38: NT_TYPE ::= access @word ident
+            32, 2002, 10,
+            // 39: PARAMS ::= ( PARAM
+            1024, 44,
+            // 40: PARAM ::= @node(PARAM) GENERATE_IDENT : TYPE_OR_MODE_TYPE_PARAM
+            1025, 43, 1015, 2015,
+            // 41: TYPE_OR_MODE_TYPE_PARAM ::= NT_TYPE END_PARAM
+            1026, 1022,
+            // 42: TYPE_OR_MODE_TYPE_PARAM ::= MODE NT_TYPE END_PARAM
+            1026, 1022, 1027,
+            // 43: END_PARAM ::= @pop ; PARAM
+            1024, 40, 2001,
+            // 44: END_PARAM ::= @pop )
+            45, 2001,
+            // 45: MODE ::= in OUT_OR_NOT
+            1028, 13,
+            // 46: OUT_OR_NOT ::= @leaf(IN)
+            2016,
+            // 47: OUT_OR_NOT ::= @leaf(IN OUT) out
+            14, 2017,
+            // 48: EXPRESSION ::= EXPRESSION_1 EXPRESSION_OR
+            1030, 1032,
+            // 49: EXPRESSION ::= @orphan(EXPRESSION_NEW) new @word ident EXPRESSION_OR
+            1030, 32, 2002, 15, 2018,
+            // 50: EXPRESSION ::= @orphan(CHARACTER'VAL) character'val ( UNARY EXPRESSION @attach ) EXPRESSION_OR
+            1030, 45, 2020, 1029, 1047, 44, 16, 2019,
+            // 51: EXPRESSION_OR ::= ''
+            // 52: EXPRESSION_OR ::= or EXPRESSION_ELSE
+            1031, 17,
+            // 53: EXPRESSION_ELSE ::= EXPRESSION_1 EXPRESSION_OR @binary(OR)
+            2021, 1030, 1032,
+            // 54: EXPRESSION_ELSE ::= else UNARY EXPRESSION_1 EXPRESSION_OR @binary(OR ELSE)
+            2022, 1030, 1032, 1047, 18,
+            // 55: EXPRESSION_1 ::= EXPRESSION_NOT EXPRESSION_AND
+            1033, 1035,
+            // 56: EXPRESSION_AND ::= ''
+            // 57: EXPRESSION_AND ::= and EXPRESSION_THEN
+            1034, 19,
+            // 58: EXPRESSION_THEN ::= EXPRESSION_NOT EXPRESSION_AND @binary(AND)
+            2023, 1033, 1035,
+            // 59: EXPRESSION_THEN ::= then UNARY EXPRESSION_NOT EXPRESSION_AND @binary(AND THEN)
+            2024, 1033, 1035, 1047, 20,
+            // 60: EXPRESSION_NOT ::= EXPRESSION_3
+            1036,
+            // 61: EXPRESSION_NOT ::= not UNARY EXPRESSION_NOT @not
+            2025, 1035, 1047, 21,
+            // 62: EXPRESSION_3 ::= EXPRESSION_4 EXPRESSION_EQUALS
+            1037, 1038,
+            // 63: EXPRESSION_EQUALS ::= ''
+            // 64: EXPRESSION_EQUALS ::= = UNARY EXPRESSION_4 @binary(=) EXPRESSION_EQUALS
+            1037, 2026, 1038, 1047, 46,
+            // 65: EXPRESSION_EQUALS ::= /= UNARY EXPRESSION_4 @binary(/=) EXPRESSION_EQUALS
+            1037, 2027, 1038, 1047, 36,
+            // 66: EXPRESSION_4 ::= EXPRESSION_5 EXPRESSION_COMPARAISON
+            1039, 1040,
+            // 67: EXPRESSION_COMPARAISON ::= ''
+            // 68: EXPRESSION_COMPARAISON ::= > UNARY EXPRESSION_5 @binary(>) EXPRESSION_COMPARAISON
+            1039, 2028, 1040, 1047, 47,
+            // 69: EXPRESSION_COMPARAISON ::= >= UNARY EXPRESSION_5 @binary(>=) EXPRESSION_COMPARAISON
+            1039, 2029, 1040, 1047, 37,
+            // 70: EXPRESSION_COMPARAISON ::= < UNARY EXPRESSION_5 @binary(<) EXPRESSION_COMPARAISON
+            1039, 2030, 1040, 1047, 48,
+            // 71: EXPRESSION_COMPARAISON ::= <= UNARY EXPRESSION_5 @binary(<=) EXPRESSION_COMPARAISON
+            1039, 2031, 1040, 1047, 38,
+            // 72: EXPRESSION_5 ::= EXPRESSION_6 EXPRESSION_PLUS_MOINS
+            1041, 1042,
+            // 73: EXPRESSION_PLUS_MOINS ::= ''
+            // 74: EXPRESSION_PLUS_MOINS ::= + UNARY EXPRESSION_6 @binary(+) EXPRESSION_PLUS_MOINS
+            1041, 2032, 1042, 1047, 49,
+            // 75: EXPRESSION_PLUS_MOINS ::= - UNARY EXPRESSION_6 @reversed(-) EXPRESSION_PLUS_MOINS
+            1041, 2033, 1042, 1047, 50,
+            // 76: EXPRESSION_6 ::= EXPRESSION_7 EXPRESSION_MULT_DIV
+            1043, 1044,
+            // 77: EXPRESSION_MULT_DIV ::= ''
+            // 78: EXPRESSION_MULT_DIV ::= * UNARY EXPRESSION_7 @binary(*) EXPRESSION_MULT_DIV
+            1043, 2034, 1044, 1047, 51,
+            // 79: EXPRESSION_MULT_DIV ::= / UNARY EXPRESSION_7 @binary(/) EXPRESSION_MULT_DIV
+            1043, 2035, 1044, 1047, 52,
+            // 80: EXPRESSION_MULT_DIV ::= rem UNARY EXPRESSION_7 @binary(rem) EXPRESSION_MULT_DIV
+            1043, 2036, 1044, 1047, 22,
+            // 81: EXPRESSION_7 ::= EXPRESSION_ATOMS EXPRESSION_ACCESS_IDENT
+            1045, 1046,
+            // 82: EXPRESSION_ACCESS_IDENT ::= ''
+            // 83: EXPRESSION_ACCESS_IDENT ::= . @access ident EXPRESSION_ACCESS_IDENT @pop
+            2001, 1045, 32, 2037, 41,
+            // 84: EXPRESSION_ATOMS ::= @operand ident START_NEW_EXPRESSION
+            1048, 32, 2038,
+            // 85: EXPRESSION_ATOMS ::= ( EXPRESSION )
+            45, 1029, 44,
+            // 86: EXPRESSION_ATOMS ::= @number entier
+            33, 2039,
+            // 87: EXPRESSION_ATOMS ::= @character caractere
+            34, 2040,
+            // 88: EXPRESSION_ATOMS ::= @operand true
+            23, 2038,
+            // 89: EXPRESSION_ATOMS ::= @operand false
+            24, 2038,
+            // 90: EXPRESSION_ATOMS ::= @operand null
+            25, 2038,
+            // 91: UNARY ::= ''
+            // 92: UNARY ::= @minus - UNARY
+            1047, 50, 2041,
+            // 93: START_NEW_EXPRESSION ::= ''
+            // 94: START_NEW_EXPRESSION ::= ( @call UNARY GENERATE_EXPRESSION @pop
+            2001, 1049, 1047, 2042, 44,
+            // 95: GENERATE_EXPRESSION ::= EXPRESSION @attach END_GENERATE_EXPRESSION
+            1050, 2020, 1029,
+            // 96: END_GENERATE_EXPRESSION ::= )
+            45,
+            // 97: END_GENERATE_EXPRESSION ::= , UNARY GENERATE_EXPRESSION
+            1049, 1047, 42,
+            // 98: INSTRUCTION ::= @push ident INSTRUCTION_IDENT_EXPRESSION
+            1052, 32, 2043,
+            // 99: INSTRUCTION ::= begin @node(BLOCK_INSTRCUTIONS) GENERATE_INSTRUCTIONS end ; @pop
+            2001, 40, 9, 1007, 2044, 8,
+            // 100: INSTRUCTION ::= @node(RETURN_EXPRESSION) return END_RETURN @attach @pop
+            2001, 2020, 1053, 12, 2045,
+            // 101: INSTRUCTION ::= WI_EXPRESSION @requireDot := UNARY EXPRESSION ;
+            40, 1029, 1047, 35, 2046, 1059,
+            // 102: INSTRUCTION ::= @node(IF) @node(CONDITION) if UNARY EXPRESSION @attach @pop then @node(THEN) GENERATE_INSTRUCTIONS @pop NEXT_IF @pop
+            2001, 1055, 2001, 1007, 2049, 20, 2001, 2020, 1029, 1047, 26, 2048, 2047,
+            // 103: INSTRUCTION ::= @node(FOR) for @word ident in FOR_INSTRUCTION
+            1054, 13, 32, 2002, 28, 2050,
+            // 104: INSTRUCTION ::= @node(WHILE) @node(CONDITION) while UNARY EXPRESSION @attach @pop loop @node(DO) GENERATE_INSTRUCTIONS @pop end loop ; @pop
+            2001, 40, 31, 9, 2001, 1007, 2052, 31, 2001, 2020, 1029, 1047, 30, 2048, 2051,
+            // 105: INSTRUCTION_IDENT_EXPRESSION ::= INSTRUCTION_IDENT_EXPRESSION1
+            1076,
+            // 106: INSTRUCTION_IDENT_EXPRESSION ::= INSTRUCTION_IDENT_EXPRESSION2
+            1077,
+            // 107: INSTRUCTION_IDENT_EXPRESSION1 ::= . @target ident INSTRUCTION_IDENT_EXPRESSION1
+            1076, 32, 2053, 41,
+            // 108: INSTRUCTION_IDENT_EXPRESSION1 ::= @dropTargets ; @callStatement
+            2055, 40, 2054,
+            // 109: INSTRUCTION_IDENT_EXPRESSION1 ::= @dropTargets := UNARY EXPRESSION @assign ;
+            40, 2056, 1029, 1047, 35, 2054,
+            // 110: INSTRUCTION_IDENT_EXPRESSION2 ::= ( UNARY GENERATE_EXPRESSION INSTRUCTION_IDENT_EXPRESSION1
+            1076, 1049, 1047, 44,
+            // 111: END_RETURN ::= ;
+            40,
+            // 112: END_RETURN ::= UNARY EXPRESSION ;
+            40, 1029, 1047,
+            // 113: FOR_INSTRUCTION ::= UNARY EXPRESSION @attach .. UNARY EXPRESSION @attach loop @node(DO) GENERATE_INSTRUCTIONS @pop end loop ; @pop
+            2001, 40, 31, 9, 2001, 1007, 2052, 31, 2020, 1029, 1047, 39, 2020, 1029, 1047,
+            // 114: FOR_INSTRUCTION ::= @leaf(REVERSE) reverse UNARY EXPRESSION @attach .. UNARY EXPRESSION @attach loop @node(DO) GENERATE_INSTRUCTIONS @pop end loop ; @pop
+            2001, 40, 31, 9, 2001, 1007, 2052, 31, 2020, 1029, 1047, 39, 2020, 1029, 1047, 29, 2057,
+            // 115: NEXT_IF ::= end if ;
+            40, 26, 9,
+            // 116: NEXT_IF ::= @node(ELSE) else NT_ELSE @pop
+            2001, 1056, 18, 2058,
+            // 117: NEXT_IF ::= elsif NT_ELSIF
+            1057, 27,
+            // 118: NT_ELSE ::= GENERATE_INSTRUCTIONS end if ;
+            40, 26, 9, 1007,
+            // 119: NT_ELSIF ::= @node(ELSIF) @node(CONDITION) UNARY EXPRESSION @attach @pop then @node(THEN) GENERATE_INSTRUCTIONS @pop END_ELSIF
+            1058, 2001, 1007, 2049, 20, 2001, 2020, 1029, 1047, 2048, 2059,
+            // 120: END_ELSIF ::= @pop end if ;
+            40, 26, 9, 2001,
+            // 121: END_ELSIF ::= @pop @node(ELSE) else NT_ELSE @pop
+            2001, 1056, 18, 2058, 2001,
+            // 122: END_ELSIF ::= @pop elsif NT_ELSIF
+            1057, 27, 2001,
+            // 123: WI_EXPRESSION ::= WI_EXPRESSION_1 WI_EXPRESSION_OR
+            1060, 1062,
+            // 124: WI_EXPRESSION ::= @orphan(EXPRESSION_NEW) new @clearDot @word ident @clearDot WI_EXPRESSION_OR
+            1060, 2060, 32, 2002, 2060, 15, 2018,
+            // 125: WI_EXPRESSION ::= @orphan(CHARACTER'VAL) character'val @clearDot ( @clearDot UNARY EXPRESSION @attach ) @clearDot WI_EXPRESSION_OR
+            1060, 2060, 45, 2020, 1029, 1047, 2060, 44, 2060, 16, 2019,
+            // 126: WI_EXPRESSION_OR ::= ''
+            // 127: WI_EXPRESSION_OR ::= or @clearDot WI_EXPRESSION_ELSE
+            1061, 2060, 17,
+            // 128: WI_EXPRESSION_ELSE ::= WI_EXPRESSION_1 WI_EXPRESSION_OR @binary(OR)
+            2021, 1060, 1062,
+            // 129: WI_EXPRESSION_ELSE ::= else @clearDot UNARY WI_EXPRESSION_1 WI_EXPRESSION_OR @binary(OR ELSE)
+            2022, 1060, 1062, 1047, 2060, 18,
+            // 130: WI_EXPRESSION_1 ::= WI_EXPRESSION_NOT WI_EXPRESSION_AND
+            1063, 1065,
+            // 131: WI_EXPRESSION_AND ::= ''
+            // 132: WI_EXPRESSION_AND ::= and @clearDot WI_EXPRESSION_THEN
+            1064, 2060, 19,
+            // 133: WI_EXPRESSION_THEN ::= WI_EXPRESSION_NOT WI_EXPRESSION_AND @binary(AND)
+            2023, 1063, 1065,
+            // 134: WI_EXPRESSION_THEN ::= then @clearDot UNARY WI_EXPRESSION_NOT WI_EXPRESSION_AND @binary(AND THEN)
+            2024, 1063, 1065, 1047, 2060, 20,
+            // 135: WI_EXPRESSION_NOT ::= WI_EXPRESSION_3
+            1066,
+            // 136: WI_EXPRESSION_NOT ::= not @clearDot UNARY WI_EXPRESSION_NOT @not
+            2025, 1065, 1047, 2060, 21,
+            // 137: WI_EXPRESSION_3 ::= WI_EXPRESSION_4 WI_EXPRESSION_EQUALS
+            1067, 1068,
+            // 138: WI_EXPRESSION_EQUALS ::= ''
+            // 139: WI_EXPRESSION_EQUALS ::= = @clearDot UNARY WI_EXPRESSION_4 @binary(=) WI_EXPRESSION_EQUALS
+            1067, 2026, 1068, 1047, 2060, 46,
+            // 140: WI_EXPRESSION_EQUALS ::= /= @clearDot UNARY WI_EXPRESSION_4 @binary(/=) WI_EXPRESSION_EQUALS
+            1067, 2027, 1068, 1047, 2060, 36,
+            // 141: WI_EXPRESSION_4 ::= WI_EXPRESSION_5 WI_EXPRESSION_COMPARAISON
+            1069, 1070,
+            // 142: WI_EXPRESSION_COMPARAISON ::= ''
+            // 143: WI_EXPRESSION_COMPARAISON ::= > @clearDot UNARY WI_EXPRESSION_5 @binary(>) WI_EXPRESSION_COMPARAISON
+            1069, 2028, 1070, 1047, 2060, 47,
+            // 144: WI_EXPRESSION_COMPARAISON ::= >= @clearDot UNARY WI_EXPRESSION_5 @binary(>=) WI_EXPRESSION_COMPARAISON
+            1069, 2029, 1070, 1047, 2060, 37,
+            // 145: WI_EXPRESSION_COMPARAISON ::= < @clearDot UNARY WI_EXPRESSION_5 @binary(<) WI_EXPRESSION_COMPARAISON
+            1069, 2030, 1070, 1047, 2060, 48,
+            // 146: WI_EXPRESSION_COMPARAISON ::= <= @clearDot UNARY WI_EXPRESSION_5 @binary(<=) WI_EXPRESSION_COMPARAISON
+            1069, 2031, 1070, 1047, 2060, 38,
+            // 147: WI_EXPRESSION_5 ::= WI_EXPRESSION_6 WI_EXPRESSION_PLUS_MOINS
+            1071, 1072,
+            // 148: WI_EXPRESSION_PLUS_MOINS ::= ''
+            // 149: WI_EXPRESSION_PLUS_MOINS ::= + @clearDot UNARY WI_EXPRESSION_6 @binary(+) WI_EXPRESSION_PLUS_MOINS
+            1071, 2032, 1072, 1047, 2060, 49,
+            // 150: WI_EXPRESSION_PLUS_MOINS ::= - @clearDot UNARY WI_EXPRESSION_6 @binary(-) WI_EXPRESSION_PLUS_MOINS
+            1071, 2061, 1072, 1047, 2060, 50,
+            // 151: WI_EXPRESSION_6 ::= WI_EXPRESSION_ACCES_IDENT WI_EXPRESSION_MUL_DIV
+            1073, 1074,
+            // 152: WI_EXPRESSION_MUL_DIV ::= ''
+            // 153: WI_EXPRESSION_MUL_DIV ::= * @clearDot UNARY WI_EXPRESSION_ACCES_IDENT @binary(*) WI_EXPRESSION_MUL_DIV
+            1073, 2034, 1074, 1047, 2060, 51,
+            // 154: WI_EXPRESSION_MUL_DIV ::= / @clearDot UNARY WI_EXPRESSION_ACCES_IDENT @binary(/) WI_EXPRESSION_MUL_DIV
+            1073, 2035, 1074, 1047, 2060, 52,
+            // 155: WI_EXPRESSION_MUL_DIV ::= rem @clearDot UNARY WI_EXPRESSION_ACCES_IDENT @binary(REM) WI_EXPRESSION_MUL_DIV
+            1073, 2062, 1074, 1047, 2060, 22,
+            // 156: WI_EXPRESSION_ACCES_IDENT ::= WI_EXPRESSION_ATOMS @markDot EXPRESSION_ACCESS_IDENT
+            1045, 2063, 1075,
+            // 157: WI_EXPRESSION_ATOMS ::= ( @clearDot UNARY GENERATE_EXPRESSION
+            1049, 1047, 2060, 44,
+            // 158: WI_EXPRESSION_ATOMS ::= @number entier @clearDot
+            2060, 33, 2039,
+            // 159: WI_EXPRESSION_ATOMS ::= @characterWord caractere @clearDot
+            2060, 34, 2064,
+            // 160: WI_EXPRESSION_ATOMS ::= @operand true @clearDot
+            2060, 23, 2038,
+            // 161: WI_EXPRESSION_ATOMS ::= @operand false @clearDot
+            2060, 24, 2038,
+            // 162: WI_EXPRESSION_ATOMS ::= @operand null @clearDot
+            2060, 25, 2038,
+    };
+
+    private ParseTable() {
+    }
+
+    /* class of a token in the table, -1 for a token the grammar never expects */
+    static int classOf(Token token) {
+        int tag = token.getTag();
+        if (tag == Tag.SYMBOL) {
+            char c = ((Symbol) token).value;
+            return c < SYMBOL_CLASS.length ? SYMBOL_CLASS[c] : -1;
+        }
+        tag -= Tag.ACCESS;
+        return tag >= 0 && tag < TAG_CLASS.length ? TAG_CLASS[tag] : -1;
+    }
+
+    static boolean matches(int terminal, int tokenClass, Token token) {
+        return TERMINAL_CLASS[terminal] == tokenClass
+                && (TERMINAL_LEXEME[terminal] == null || TERMINAL_LEXEME[terminal].equals(token.getStringValue()));
+    }
+
+    /* production of the non-terminal for the token class, -1 if there is none */
+    static int predict(int nonTerminal, int tokenClass) {
+        return tokenClass < 0 ? -1 : PREDICT[(nonTerminal - Tag.FICHIER) * CLASSES + tokenClass];
+    }
+
+    static int rhsStart(int production) {
+        return RHS_START[production];
+    }
+
+    static int rhsEnd(int production) {
+        return RHS_START[production + 1];
+    }
+
+    static int rhs(int index) {
+        return RHS[index];
+    }
+}
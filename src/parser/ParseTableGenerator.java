@@ -0,0 +1,407 @@
+package parser;
+
+import lexer.Tag;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/* Builds ParseTable from the annotated LL(1) grammar in docs/grammar/grammar.ll1 */
+public final class ParseTableGenerator {
+    // an @action, with an optional label in parentheses, or any other symbol
+    private static final Pattern SYMBOL = Pattern.compile("@\\w+(?:\\([^)]*\\))?|\\S+");
+    private static final String EPSILON = "''";
+    // first stack symbol of the actions, above every Tag
+    private static final int ACTION = 2000;
+
+    private final Map<String, Integer> terminals = new LinkedHashMap<>();
+    private final List<Integer> terminalClass = new ArrayList<>();
+    private final List<String> terminalLexeme = new ArrayList<>();
+    // token classes, keyed by tag for keywords and operators and by character for symbols
+    private final Map<String, Integer> classes = new LinkedHashMap<>();
+    private final List<Integer> classTag = new ArrayList<>();
+    private final List<Character> classSymbol = new ArrayList<>();
+
+    private final Map<String, Integer> actions = new LinkedHashMap<>();
+    private final Map<String, Integer> kinds = new LinkedHashMap<>();
+    private final List<Integer> actionKind = new ArrayList<>();
+    private final List<String> actionLabel = new ArrayList<>();
+
+    private final Map<String, Integer> nonTerminals = new LinkedHashMap<>();
+    private final List<Integer> lhs = new ArrayList<>();
+    private final List<int[]> rhs = new ArrayList<>();
+    private final List<String> text = new ArrayList<>();
+    // (non-terminal, terminal) pairs the table must leave empty
+    private final List<int[]> exceptions = new ArrayList<>();
+
+    private ParseTableGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: ParseTableGenerator <grammar.ll1> <ParseTable.java>");
+            System.exit(2);
+        }
+        Files.write(Paths.get(args[1]), generate(Paths.get(args[0])).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /* source of ParseTable for the given grammar, fails on an unknown symbol or an LL(1) conflict */
+    public static String generate(Path grammar) throws IOException {
+        ParseTableGenerator generator = new ParseTableGenerator();
+        for (String line : Files.readAllLines(grammar, StandardCharsets.UTF_8)) {
+            generator.read(line);
+        }
+        return generator.emit(generator.table());
+    }
+
+    private void read(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return;
+        }
+        if (trimmed.startsWith("%terminal")) {
+            String[] fields = trimmed.split("\\s+");
+            if (fields.length < 3 || fields.length > 4) {
+                throw new IllegalArgumentException("Malformed terminal: " + line);
+            }
+            int tag = tag(fields[2]);
+            String lexeme = fields.length == 4 ? fields[3] : null;
+            String key = tag == Tag.SYMBOL ? "'" + lexeme + "'" : fields[2];
+            Integer tokenClass = classes.get(key);
+            if (tokenClass == null) {
+                tokenClass = classes.size();
+                classes.put(key, tokenClass);
+                classTag.add(tag);
+                classSymbol.add(tag == Tag.SYMBOL ? lexeme.charAt(0) : null);
+            }
+            terminals.put(fields[1], terminals.size());
+            terminalClass.add(tokenClass);
+            // the character of a symbol is already its class, only words keep a spelling to check
+            terminalLexeme.add(tag == Tag.SYMBOL ? null : lexeme);
+            return;
+        }
+        if (trimmed.startsWith("%except")) {
+            String[] fields = trimmed.split("\\s+");
+            int head = nonTerminal(fields[1]);
+            for (int i = 2; i < fields.length; i++) {
+                Integer terminal = terminals.get(fields[i]);
+                if (terminal == null) {
+                    throw new IllegalArgumentException("Unknown terminal: " + fields[i]);
+                }
+                exceptions.add(new int[]{head, terminal});
+            }
+            return;
+        }
+        int arrow = trimmed.indexOf("::=");
+        if (arrow < 0) {
+            throw new IllegalArgumentException("Malformed production: " + line);
+        }
+        String head = trimmed.substring(0, arrow).trim();
+        List<Integer> symbols = new ArrayList<>();
+        Matcher matcher = SYMBOL.matcher(trimmed.substring(arrow + 3));
+        while (matcher.find()) {
+            String symbol = matcher.group();
+            if (!symbol.equals(EPSILON)) {
+                symbols.add(symbol(symbol));
+            }
+        }
+        lhs.add(nonTerminal(head));
+        rhs.add(symbols.stream().mapToInt(Integer::intValue).toArray());
+        text.add(head + " ::= " + trimmed.substring(arrow + 3).trim());
+    }
+
+    private int symbol(String symbol) {
+        if (symbol.startsWith("@")) {
+            Integer action = actions.get(symbol);
+            if (action == null) {
+                int open = symbol.indexOf('(');
+                String name = open < 0 ? symbol.substring(1) : symbol.substring(1, open);
+                action = actions.size();
+                actions.put(symbol, action);
+                actionKind.add(kinds.computeIfAbsent(name, k -> kinds.size()));
+                actionLabel.add(open < 0 ? null : symbol.substring(open + 1, symbol.length() - 1));
+            }
+            return ACTION + action;
+        }
+        Integer terminal = terminals.get(symbol);
+        return terminal != null ? terminal : nonTerminal(symbol);
+    }
+
+    private int nonTerminal(String name) {
+        int tag = tag(name);
+        if (tag < Tag.FICHIER) {
+            throw new IllegalArgumentException("Not a non-terminal: " + name);
+        }
+        nonTerminals.putIfAbsent(name, tag);
+        return tag;
+    }
+
+    private static int tag(String name) {
+        try {
+            Field field = Tag.class.getField(name);
+            return field.getInt(null);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Unknown symbol: " + name);
+        }
+    }
+
+    private boolean isNonTerminal(int symbol) {
+        return symbol >= Tag.FICHIER && symbol < ACTION;
+    }
+
+    /* production for each (non-terminal, token class), from the FIRST and FOLLOW sets */
+    private int[] table() {
+        for (Map.Entry<String, Integer> nonTerminal : nonTerminals.entrySet()) {
+            if (!lhs.contains(nonTerminal.getValue())) {
+                throw new IllegalArgumentException("No production for " + nonTerminal.getKey());
+            }
+        }
+        int rows = Tag.INSTRUCTION_IDENT_EXPRESSION2 - Tag.FICHIER + 1;
+        BitSet nullable = new BitSet(rows);
+        BitSet[] first = new BitSet[rows];
+        BitSet[] follow = new BitSet[rows];
+        for (int i = 0; i < rows; i++) {
+            first[i] = new BitSet();
+            follow[i] = new BitSet();
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int p = 0; p < lhs.size(); p++) {
+                int head = lhs.get(p) - Tag.FICHIER;
+                BitSet before = (BitSet) first[head].clone();
+                boolean empty = firstOf(rhs.get(p), 0, first, nullable, first[head]);
+                if (empty && !nullable.get(head)) {
+                    nullable.set(head);
+                    changed = true;
+                }
+                changed |= !before.equals(first[head]);
+            }
+        }
+        changed = true;
+        while (changed) {
+            changed = false;
+            for (int p = 0; p < lhs.size(); p++) {
+                int head = lhs.get(p) - Tag.FICHIER;
+                int[] symbols = rhs.get(p);
+                for (int i = 0; i < symbols.length; i++) {
+                    if (!isNonTerminal(symbols[i])) {
+                        continue;
+                    }
+                    BitSet target = follow[symbols[i] - Tag.FICHIER];
+                    BitSet before = (BitSet) target.clone();
+                    if (firstOf(symbols, i + 1, first, nullable, target)) {
+                        target.or(follow[head]);
+                    }
+                    changed |= !before.equals(target);
+                }
+            }
+        }
+        int[] table = new int[rows * classes.size()];
+        Arrays.fill(table, -1);
+        for (int p = 0; p < lhs.size(); p++) {
+            int head = lhs.get(p) - Tag.FICHIER;
+            BitSet lookahead = new BitSet();
+            if (firstOf(rhs.get(p), 0, first, nullable, lookahead)) {
+                lookahead.or(follow[head]);
+            }
+            for (int c = lookahead.nextSetBit(0); c >= 0; c = lookahead.nextSetBit(c + 1)) {
+                int cell = head * classes.size() + c;
+                if (table[cell] >= 0) {
+                    throw new IllegalStateException("LL(1) conflict on " + className(c) + " between '"
+                            + text.get(table[cell]) + "' and '" + text.get(p) + "'");
+                }
+                table[cell] = p;
+            }
+        }
+        for (int[] exception : exceptions) {
+            table[(exception[0] - Tag.FICHIER) * classes.size() + terminalClass.get(exception[1])] = -1;
+        }
+        return table;
+    }
+
+    /* adds FIRST(symbols[from..]) to set, true when that suffix can derive the empty word */
+    private boolean firstOf(int[] symbols, int from, BitSet[] first, BitSet nullable, BitSet set) {
+        for (int i = from; i < symbols.length; i++) {
+            int symbol = symbols[i];
+            if (symbol >= ACTION) {
+                continue;
+            }
+            if (!isNonTerminal(symbol)) {
+                set.set(terminalClass.get(symbol));
+                return false;
+            }
+            set.or(first[symbol - Tag.FICHIER]);
+            if (!nullable.get(symbol - Tag.FICHIER)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String className(int tokenClass) {
+        for (Map.Entry<String, Integer> entry : classes.entrySet()) {
+            if (entry.getValue() == tokenClass) {
+                return entry.getKey();
+            }
+        }
+        return String.valueOf(tokenClass);
+    }
+
+    private String nonTerminalName(int tag) {
+        for (Map.Entry<String, Integer> entry : nonTerminals.entrySet()) {
+            if (entry.getValue() == tag) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private String emit(int[] table) {
+        StringBuilder out = new StringBuilder();
+        out.append("package parser;\n\n");
+        out.append("import lexer.Symbol;\n");
+        out.append("import lexer.Tag;\n");
+        out.append("import lexer.Token;\n\n");
+        out.append("/* Generated by ParseTableGenerator from docs/grammar/grammar.ll1, do not edit */\n");
+        out.append("final class ParseTable {\n");
+        out.append("    // stack symbols: terminals are small indexes, non-terminals their Tag, actions start at ACTION\n");
+        out.append("    static final int ACTION = ").append(ACTION).append(";\n\n");
+        out.append("    // kinds of semantic actions\n");
+        for (Map.Entry<String, Integer> kind : kinds.entrySet()) {
+            out.append("    static final int ").append(constant(kind.getKey())).append(" = ").append(kind.getValue()).append(";\n");
+        }
+        out.append("\n    // kind and label of each action symbol\n");
+        out.append("    static final int[] ACTION_KIND = {");
+        appendInts(out, actionKind.stream().mapToInt(Integer::intValue).toArray(), 8);
+        out.append("};\n");
+        out.append("    static final String[] ACTION_LABEL = {");
+        for (int i = 0; i < actionLabel.size(); i++) {
+            out.append(i % 8 == 0 ? "\n            " : " ");
+            out.append(actionLabel.get(i) == null ? "null" : "\"" + actionLabel.get(i) + "\"").append(",");
+        }
+        out.append("\n    };\n\n");
+
+        out.append("    // terminals: token class and, for Ada and Text_IO, the spelling of the identifier\n");
+        out.append("    static final int[] TERMINAL_CLASS = {");
+        appendInts(out, terminalClass.stream().mapToInt(Integer::intValue).toArray(), 16);
+        out.append("};\n");
+        out.append("    static final String[] TERMINAL_LEXEME = {");
+        for (int i = 0; i < terminalLexeme.size(); i++) {
+            out.append(i % 8 == 0 ? "\n            " : " ");
+            out.append(terminalLexeme.get(i) == null ? "null" : "\"" + terminalLexeme.get(i) + "\"").append(",");
+        }
+        out.append("\n    };\n\n");
+
+        int[] tagClass = new int[Tag.CHAR - Tag.ACCESS + 1];
+        int[] symbolClass = new int[128];
+        Arrays.fill(tagClass, -1);
+        Arrays.fill(symbolClass, -1);
+        for (int c = 0; c < classTag.size(); c++) {
+            if (classSymbol.get(c) != null) {
+                symbolClass[classSymbol.get(c)] = c;
+            } else {
+                tagClass[classTag.get(c) - Tag.ACCESS] = c;
+            }
+        }
+        out.append("    static final int CLASSES = ").append(classes.size()).append(";\n");
+        out.append("    // token class of the keywords and operators, from Tag.ACCESS, and of the symbols, by character\n");
+        out.append("    private static final int[] TAG_CLASS = {");
+        appendInts(out, tagClass, 16);
+        out.append("};\n");
+        out.append("    private static final int[] SYMBOL_CLASS = {");
+        appendInts(out, symbolClass, 16);
+        out.append("};\n\n");
+
+        out.append("    // production to expand for (non-terminal - Tag.FICHIER, token class), -1 on a syntax error\n");
+        out.append("    private static final int[] PREDICT = {\n");
+        int rows = table.length / classes.size();
+        for (int row = 0; row < rows; row++) {
+            String name = nonTerminalName(row + Tag.FICHIER);
+            out.append("            // ").append(name == null ? "unused" : name);
+            for (int c = 0; c < classes.size(); c++) {
+                out.append(c % 16 == 0 ? "\n            " : " ").append(table[row * classes.size() + c]).append(",");
+            }
+            out.append("\n");
+        }
+        out.append("    };\n\n");
+
+        out.append("    // right-hand sides, reversed so that pushing them in order leaves the first symbol on top\n");
+        out.append("    private static final int[] RHS_START = {");
+        int[] start = new int[rhs.size() + 1];
+        for (int p = 0; p < rhs.size(); p++) {
+            start[p + 1] = start[p] + rhs.get(p).length;
+        }
+        appendInts(out, start, 16);
+        out.append("};\n");
+        out.append("    private static final int[] RHS = {\n");
+        for (int p = 0; p < rhs.size(); p++) {
+            out.append("            // ").append(p).append(": ").append(text.get(p)).append("\n");
+            int[] symbols = rhs.get(p);
+            if (symbols.length == 0) {
+                continue;
+            }
+            out.append("           ");
+            for (int i = symbols.length - 1; i >= 0; i--) {
+                out.append(" ").append(symbols[i]).append(",");
+            }
+            out.append("\n");
+        }
+        out.append("    };\n\n");
+
+        out.append("    private ParseTable() {\n");
+        out.append("    }\n\n");
+        out.append("    /* class of a token in the table, -1 for a token the grammar never expects */\n");
+        out.append("    static int classOf(Token token) {\n");
+        out.append("        int tag = token.getTag();\n");
+        out.append("        if (tag == Tag.SYMBOL) {\n");
+        out.append("            char c = ((Symbol) token).value;\n");
+        out.append("            return c < SYMBOL_CLASS.length ? SYMBOL_CLASS[c] : -1;\n");
+        out.append("        }\n");
+        out.append("        tag -= Tag.ACCESS;\n");
+        out.append("        return tag >= 0 && tag < TAG_CLASS.length ? TAG_CLASS[tag] : -1;\n");
+        out.append("    }\n\n");
+        out.append("    static boolean matches(int terminal, int tokenClass, Token token) {\n");
+        out.append("        return TERMINAL_CLASS[terminal] == tokenClass\n");
+        out.append("                && (TERMINAL_LEXEME[terminal] == null || TERMINAL_LEXEME[terminal].equals(token.getStringValue()));\n");
+        out.append("    }\n\n");
+        out.append("    /* production of the non-terminal for the token class, -1 if there is none */\n");
+        out.append("    static int predict(int nonTerminal, int tokenClass) {\n");
+        out.append("        return tokenClass < 0 ? -1 : PREDICT[(nonTerminal - Tag.FICHIER) * CLASSES + tokenClass];\n");
+        out.append("    }\n\n");
+        out.append("    static int rhsStart(int production) {\n");
+        out.append("        return RHS_START[production];\n");
+        out.append("    }\n\n");
+        out.append("    static int rhsEnd(int production) {\n");
+        out.append("        return RHS_START[production + 1];\n");
+        out.append("    }\n\n");
+        out.append("    static int rhs(int index) {\n");
+        out.append("        return RHS[index];\n");
+        out.append("    }\n");
+        out.append("}\n");
+        return out.toString();
+    }
+
+    private static void appendInts(StringBuilder out, int[] values, int perLine) {
+        for (int i = 0; i < values.length; i++) {
+            out.append(i % perLine == 0 ? "\n            " : " ").append(values[i]).append(",");
+        }
+        out.append("\n    ");
+    }
+
+    /* characterWord -> CHARACTER_WORD */
+    private static String constant(String name) {
+        return name.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+    }
+}
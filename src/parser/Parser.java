@@ -1,32 +1,61 @@
 package parser;
 
 import ast.GraphViz;
+import ast.Tree;
 import lexer.Lexer;
+import lexer.Token;
+import lexer.TokenBuffer;
 
 
 import java.io.IOException;
-import java.util.Stack;
 
 public class Parser {
-    Stack<Integer> stack = new Stack<>();
+    IntStack stack = new IntStack();
     Lexer lexer;
     AnalyzeTable analyzeTable;
+    TableParser tableParser;
     GraphViz ast;
+    TokenBuffer tokens = new TokenBuffer();
+    int cursor = 0;
     public Parser(Lexer lexer) {
         this.lexer = lexer;
         this.analyzeTable = new AnalyzeTable(this);
-        this.ast = new GraphViz(lexer);
+        this.tableParser = new TableParser(this);
+        this.ast = new GraphViz(lexer, this::getLine);
     }
     public void parse(boolean export) throws IOException {
-        analyzeTable.analyze(export);
+        tableParser.analyze(export);
         if (!stack.isEmpty()) {
             throw new RuntimeException("Stack is not empty");
         }
     }
 
+    /* next token of the stream, lexed on demand so the lexer state matches the token being parsed */
+    public Token next() throws IOException {
+        if (cursor == tokens.size()) {
+            lexer.lex(tokens);
+        }
+        Token token = lexer.token(tokens.getTag(cursor), tokens.getValue(cursor));
+        cursor++;
+        return token;
+    }
+
+    /* back to the first token with an empty AST, the tokens already lexed are kept */
+    void rewind() {
+        cursor = 0;
+        stack.clear();
+        ast = new GraphViz(lexer, this::getLine);
+    }
+
+    /* line of the last token read */
+    public int getLine() {
+        return cursor == 0 ? lexer.getLine() : tokens.getLine(cursor - 1);
+    }
+
     public void printDepthFirstTraversal() {
-        for (int i = 0; i < ast.getDepthFirstTraversal().size(); i++) {
-            System.out.println(ast.getDepthFirstTraversal().get(i).getLabel());
+        Tree tree = ast.getTree();
+        for (int node : tree.preorder()) {
+            System.out.println(tree.label(node));
         }
     }
 
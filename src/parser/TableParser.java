@@ -0,0 +1,258 @@
+package parser;
+
+import ast.GraphViz;
+import lexer.*;
+
+import java.io.IOException;
+
+import static parser.ParseTable.*;
+
+/* LL(1) parser driven by ParseTable, builds the same AST as AnalyzeTable.
+ * On a syntax error the tokens are replayed through AnalyzeTable, which reports it. */
+public class TableParser {
+
+    public Parser parser;
+    public Token current;
+    private int currentClass;
+    private boolean checkIdent = false;
+
+    public TableParser(Parser parser) {
+        this.parser = parser;
+    }
+
+    public void analyze(boolean export) throws IOException {
+        if (!parse()) {
+            parser.rewind();
+            parser.analyzeTable.analyze(export);
+            return;
+        }
+        if (export) {
+            parser.ast.export();
+        }
+    }
+
+    /* false on a syntax error, the AST is then incomplete */
+    private boolean parse() throws IOException {
+        IntStack stack = parser.stack;
+        checkIdent = false;
+        read();
+        stack.push(Tag.FICHIER);
+        while (!stack.isEmpty()) {
+            int symbol = stack.pop();
+            if (symbol >= ACTION) {
+                if (!action(symbol - ACTION)) {
+                    return false;
+                }
+            } else if (symbol >= Tag.FICHIER) {
+                int production = predict(symbol, currentClass);
+                if (production < 0) {
+                    return false;
+                }
+                for (int i = rhsStart(production); i < rhsEnd(production); i++) {
+                    stack.push(rhs(i));
+                }
+            } else if (matches(symbol, currentClass, current)) {
+                read();
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void read() throws IOException {
+        current = parser.next();
+        currentClass = classOf(current);
+    }
+
+    /* runs an action of the grammar, false if it rejects the program */
+    private boolean action(int action) {
+        GraphViz ast = parser.ast;
+        String label = ACTION_LABEL[action];
+        switch (ACTION_KIND[action]) {
+            case ROOT:
+                ast.addNode("ROOT", false);
+                ast.addEdge(ast.lastNode, ast.addNode("PROCEDURE", false));
+                ast.buffer.push(ast.lastNode);
+                break;
+            case POP:
+                ast.buffer.pop();
+                break;
+            case WORD:
+                ast.addEdge(ast.buffer.lastElement(), ast.addNode((Word) current, true));
+                break;
+            case NODE:
+                ast.addEdge(ast.buffer.lastElement(), ast.addNode(label, false));
+                ast.buffer.push(ast.lastNode);
+                break;
+            case LEAF:
+                ast.addEdge(ast.buffer.lastElement(), ast.addNode(label, false));
+                break;
+            case ORPHAN:
+                ast.buffer.push(ast.addNode(label, false));
+                break;
+            case PUSH:
+                ast.buffer.push(ast.addNode((Word) current, true));
+                break;
+            case END: {
+                int endNode = ast.addNode("END", false);
+                ast.addEdge(ast.buffer.lastElement(), endNode);
+                ast.addEdge(endNode, ast.addNode((Word) current, true));
+                break;
+            }
+            case INIT: {
+                int expression = ast.buffer.pop();
+                int init = ast.addNode("INIT VAL", false);
+                ast.addEdge(init, expression);
+                ast.addEdge(ast.buffer.lastElement(), init);
+                ast.buffer.pop();
+                break;
+            }
+            case ATTACH: {
+                int expression = ast.buffer.pop();
+                ast.addEdge(ast.buffer.lastElement(), expression);
+                break;
+            }
+            case BINARY: {
+                int right = ast.buffer.pop();
+                int left = ast.buffer.pop();
+                ast.buffer.push(operator(label, left, right));
+                break;
+            }
+            case REVERSED: {
+                int left = ast.buffer.pop();
+                int right = ast.buffer.pop();
+                ast.buffer.push(operator(label, left, right));
+                break;
+            }
+            case NOT: {
+                int operand = ast.buffer.pop();
+                int not = ast.addNode("NOT", false);
+                ast.addEdge(not, operand);
+                ast.buffer.push(not);
+                break;
+            }
+            case MINUS:
+                if (ast.buffer.lastElement() >= 0) {
+                    ast.buffer.push(-1);
+                } else {
+                    ast.buffer.push(ast.buffer.pop() - 1);
+                }
+                break;
+            case OPERAND:
+                if (ast.buffer.lastElement() < 0) {
+                    int moins = ast.buffer.pop();
+                    ast.buffer.push(unary(ast.addNode((Word) current, true), moins));
+                } else {
+                    ast.buffer.push(ast.addNode((Word) current, true));
+                }
+                break;
+            case NUMBER:
+                if (ast.buffer.lastElement() < 0) {
+                    int moins = ast.buffer.pop();
+                    ast.buffer.push(unary(ast.addNode(((Num) current).getStringValue(), true), moins));
+                } else {
+                    ast.buffer.push(ast.addNode(((Num) current).getStringValue(), true));
+                }
+                break;
+            case CHARACTER:
+                if (ast.buffer.lastElement() < 0) {
+                    int moins = ast.buffer.pop();
+                    ast.buffer.push(unary(ast.addNode("'" + ((Char) current).getStringValue() + "'", true), moins));
+                } else {
+                    ast.buffer.push(ast.addNode("'" + ((Char) current).getStringValue() + "'", true));
+                }
+                break;
+            case CHARACTER_WORD:
+                if (ast.buffer.lastElement() < 0) {
+                    int moins = ast.buffer.pop();
+                    ast.buffer.push(unary(ast.addNode("'" + ((Char) current).getStringValue() + "'", true), moins));
+                } else {
+                    ast.buffer.push(ast.addNode("'" + ((Word) current).getStringValue() + "'", true));
+                }
+                break;
+            case ACCESS: {
+                int expression = ast.buffer.pop();
+                int access = ast.addNode("ACCESS_IDENT", false);
+                int ident = ast.addNode((Word) current, true);
+                ast.addEdge(expression, access);
+                ast.addEdge(access, ident);
+                ast.buffer.push(expression);
+                ast.buffer.push(ident);
+                break;
+            }
+            case CALL: {
+                int ident = ast.buffer.pop();
+                int call = ast.addNode("CALL", false);
+                ast.addEdge(call, ident);
+                ast.buffer.push(call);
+                ast.buffer.push(ident);
+                break;
+            }
+            case TARGET: {
+                int expression = ast.buffer.pop();
+                int access = ast.addNode("ACCESS_IDENT", false);
+                int ident = ast.addNode((Word) current, true);
+                ast.addEdge(expression > 0 ? expression : -expression, access);
+                ast.addEdge(access, ident);
+                ast.buffer.push(expression);
+                ast.buffer.push(-ident);
+                break;
+            }
+            case DROP_TARGETS:
+                while (ast.buffer.lastElement() < 0) {
+                    ast.buffer.pop();
+                }
+                break;
+            case CALL_STATEMENT: {
+                int ident = ast.buffer.pop();
+                int call = ast.addNode("CALL", false);
+                ast.addEdge(call, ident);
+                ast.addEdge(ast.buffer.lastElement(), call);
+                break;
+            }
+            case ASSIGN: {
+                int right = ast.buffer.pop();
+                int left = ast.buffer.pop();
+                int assignment = ast.addNode(":=", false);
+                ast.addEdge(ast.buffer.lastElement(), assignment);
+                ast.addEdge(assignment, left);
+                ast.addEdge(assignment, right);
+                break;
+            }
+            case CLEAR_DOT:
+                checkIdent = false;
+                break;
+            case MARK_DOT:
+                if (current.getTag() == Tag.SYMBOL && ((Symbol) current).value == '.') {
+                    checkIdent = true;
+                }
+                break;
+            case REQUIRE_DOT:
+                return checkIdent;
+            default:
+                throw new IllegalStateException("Unknown action " + action);
+        }
+        return true;
+    }
+
+    private int operator(String label, int left, int right) {
+        GraphViz ast = parser.ast;
+        int node = ast.addNode(label, false);
+        ast.addEdge(node, left);
+        ast.addEdge(node, right);
+        return node;
+    }
+
+    /* leaf under as many UNARY nodes as minus signs counted, moins being minus their number */
+    private int unary(int leaf, int moins) {
+        GraphViz ast = parser.ast;
+        int tmp = leaf;
+        for (int i = 0; i < -moins; i++) {
+            int tmp1 = ast.addNode("UNARY", false);
+            ast.addEdge(tmp1, tmp);
+            tmp = tmp1;
+        }
+        return tmp;
+    }
+}
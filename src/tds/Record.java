@@ -17,15 +17,15 @@ public class Record extends Symbol {
         this.offsets = new HashMap<>();
     }
 
-    public void addField(String name, String type, int line) throws SemanticException {
+    public void addField(String name, String type, int line, TDS tds) throws SemanticException {
         if (this.fields.containsKey(name)) {
             throw new SemanticException("Field '" + name + "' already defined in record + '" + getName() + "'", line);
-        } else if (TDS.offsets.get(type) == null) {
+        } else if (tds.getOffsets().get(type) == null) {
             throw new SemanticException("Type '" + type + "' not defined", line);
         }
         this.fields.put(name, type);
         this.offsets.put(name, this.offset);
-        this.offset += TDS.offsets.get(type);
+        this.offset += tds.getOffsets().get(type);
     }
 
     public HashMap<String, String> getFields() {
@@ -4,15 +4,19 @@ public abstract class Symbol {
     private int nestingLevel;
     private int father;
     private String name;
+    // id of the name in the identifier table, names are compared through it
+    private int nameId;
 
     public Symbol(int nestingLevel, int father) {
         this.nestingLevel = nestingLevel;
         this.father = father;
         this.name = "";
+        this.nameId = -1;
     }
 
-    public void setName(String name) {
+    public void setName(String name, int nameId) {
         this.name = name;
+        this.nameId = nameId;
     }
 
     public int getNestingLevel() {
@@ -26,4 +30,8 @@ public abstract class Symbol {
     public String getName() {
         return name;
     }
+
+    public int getNameId() {
+        return nameId;
+    }
 }
@@ -1,51 +1,140 @@
 package tds;
 
 import ast.SemanticException;
+import lexer.IdentifierTable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 
 public class TDS {
-    private HashMap<Integer, List<Symbol>> tds;
+    // symbols of each region in declaration order, read-only views of symbols
+    private final List<List<Symbol>> symbols = new ArrayList<>();
+    private final List<List<Symbol>> tds = new ArrayList<>();
+    // symbol of each name id in each region, the first declared one for the 'put' overloads
+    private final List<HashMap<Integer, Symbol>> scopes = new ArrayList<>();
+    // enclosing region of each region, -1 for the outermost one, and its number of enclosing regions
+    private int[] parents = new int[16];
+    private int[] levels = new int[16];
+    private final IdentifierTable names;
+    private final int putId;
 
-    public static HashMap<String, Integer> offsets = new HashMap<String, Integer>() {{
+    // size of each type, records are added as they are declared in this compilation
+    private final HashMap<String, Integer> offsets = new HashMap<String, Integer>() {{
         put("integer", 4);
         put("character", 4);
         put("boolean", 4);
     }};
 
     public TDS() {
-        this.tds = new HashMap<>();
+        this(new IdentifierTable());
     }
 
-    public HashMap<Integer, List<Symbol>> getTds() {
+    public TDS(IdentifierTable names) {
+        this.names = names;
+        this.putId = names.idOf("put");
+    }
+
+    /* id of a name, interned if needed: use it to name a new symbol */
+    public int idOf(String name) {
+        return names.idOf(name);
+    }
+
+    /* id of a name, -1 if it was never used so no symbol can match it */
+    public int find(String name) {
+        return names.find(name);
+    }
+
+    /* symbols of each region, use addSymbol and removeSymbol to change them */
+    public List<List<Symbol>> getTds() {
         return tds;
     }
 
+    public HashMap<String, Integer> getOffsets() {
+        return offsets;
+    }
+
+    /* outermost region */
     public int newRegion() {
-        int region = tds.size();
-        tds.put(region, new ArrayList<>());
+        return newRegion(-1);
+    }
+
+    public int newRegion(int parent) {
+        int region = symbols.size();
+        List<Symbol> list = new ArrayList<>();
+        symbols.add(list);
+        tds.add(Collections.unmodifiableList(list));
+        scopes.add(new HashMap<>());
+        if (region == parents.length) {
+            parents = Arrays.copyOf(parents, region * 2);
+            levels = Arrays.copyOf(levels, region * 2);
+        }
+        parents[region] = parent;
+        levels[region] = parent < 0 ? 0 : levels[parent] + 1;
         return region;
     }
 
+    public int getParent(int region) {
+        return parents[region];
+    }
+
+    /* nesting level of the symbols declared in a region */
+    public int getLevel(int region) {
+        return levels[region];
+    }
+
     public int addSymbol(int region, Symbol symbol, int line) throws SemanticException {
-        if (region != 0 && symbol.getName().equals("put")) {
+        if (region != 0 && symbol.getNameId() == putId) {
             throw new SemanticException("'put' is a reserved word, it cannot be redefined", line);
         }
-        for (Symbol s : tds.get(region)) {
-            if (s.getName().equals(symbol.getName()) && !s.getName().equals("put")) {
-                throw new SemanticException("Label '" + symbol.getName() + "' already used in this scope", line);
+        Symbol previous = scopes.get(region).putIfAbsent(symbol.getNameId(), symbol);
+        if (previous != null && symbol.getNameId() != putId) {
+            throw new SemanticException("Label '" + symbol.getName() + "' already used in this scope", line);
+        }
+        symbols.get(region).add(symbol);
+        return symbols.get(region).size() - 1;
+    }
+
+    /* removes a symbol going out of scope, like the variable of a for loop */
+    public void removeSymbol(int region, Symbol symbol) {
+        if (symbols.get(region).remove(symbol)) {
+            scopes.get(region).remove(symbol.getNameId(), symbol);
+        }
+    }
+
+    /* symbol of a name id seen from a region, searching the enclosing regions, null if not declared */
+    public Symbol lookup(int nameId, int region) {
+        if (nameId < 0) {
+            return null;
+        }
+        for (int r = region; r >= 0; r = parents[r]) {
+            Symbol symbol = scopes.get(r).get(nameId);
+            if (symbol != null) {
+                return symbol;
+            }
+        }
+        return null;
+    }
+
+    /* region declaring a name id seen from a region, -1 if not declared */
+    public int regionOf(int nameId, int region) {
+        if (nameId < 0) {
+            return -1;
+        }
+        for (int r = region; r >= 0; r = parents[r]) {
+            if (scopes.get(r).containsKey(nameId)) {
+                return r;
             }
         }
-        tds.get(region).add(symbol);
-        return tds.get(region).size() - 1;
+        return -1;
     }
 
     public void display() {
-        for (int region : tds.keySet()) {
+        for (int region = 0; region < symbols.size(); region++) {
             System.out.println("Region : " + region);
-            for (Symbol symbol : tds.get(region)) {
+            for (Symbol symbol : symbols.get(region)) {
                 System.out.println("\t" + symbol);
             }
         }
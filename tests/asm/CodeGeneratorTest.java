@@ -0,0 +1,20 @@
+package asm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CodeGeneratorTest {
+
+    @Test
+    public void testReciprocalIsExactOnTheFastDividends() {
+        for (int divisor : new int[]{3, 5, 7, 10, 100, 1000, 12345, CodeGenerator.FAST_DIVIDENDS - 1}) {
+            int[] reciprocal = CodeGenerator.reciprocal(divisor);
+            assertNotNull(reciprocal, "divisor " + divisor);
+            for (int dividend = 0; dividend < CodeGenerator.FAST_DIVIDENDS; dividend++) {
+                // the mul keeps the low 32 bits, the shift is logical
+                assertEquals(dividend / divisor, (dividend * reciprocal[0]) >>> reciprocal[1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package asm;
+
+import ast.Tree;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConstantFolderTest {
+
+    // (x - 3) * (7 rem 2), the subtraction taking its first child from its second
+    private Tree sample(String x) {
+        Tree tree = new Tree();
+        tree.addNode(0, "*", 1);
+        tree.addNode(1, "-", 1);
+        tree.addNode(2, "3", 1);
+        tree.addNode(3, x, 1);
+        tree.addNode(4, "rem", 1);
+        tree.addNode(5, "7", 1);
+        tree.addNode(6, "2", 1);
+        tree.addEdge(0, 1);
+        tree.addEdge(0, 4);
+        tree.addEdge(1, 2);
+        tree.addEdge(1, 3);
+        tree.addEdge(4, 5);
+        tree.addEdge(4, 6);
+        return tree;
+    }
+
+    @Test
+    public void testConstantExpression() {
+        ConstantFolder folder = new ConstantFolder(sample("10"));
+        assertTrue(folder.isConstant(0));
+        assertEquals(7, folder.value(1));
+        assertEquals(1, folder.value(4));
+        assertEquals(7, folder.value(0));
+        assertTrue(folder.hasValue(0, 7));
+    }
+
+    @Test
+    public void testVariableOperand() {
+        ConstantFolder folder = new ConstantFolder(sample("x"));
+        assertFalse(folder.isConstant(0));
+        assertFalse(folder.isConstant(1));
+        assertTrue(folder.isConstant(4));
+        assertTrue(folder.isPure(1));
+        assertThrows(IllegalStateException.class, () -> folder.value(0));
+    }
+
+    @Test
+    public void testErrorsAreLeftToTheRuntime() {
+        Tree tree = new Tree();
+        tree.addNode(0, "/", 1);
+        tree.addNode(1, "1", 1);
+        tree.addNode(2, "0", 1);
+        tree.addNode(3, "CHARACTER'VAL", 1);
+        tree.addNode(4, "200", 1);
+        tree.addEdge(0, 1);
+        tree.addEdge(0, 2);
+        tree.addEdge(3, 4);
+        ConstantFolder folder = new ConstantFolder(tree);
+        assertFalse(folder.isConstant(0));
+        assertFalse(folder.isPure(0));
+        assertFalse(folder.isConstant(3));
+    }
+
+    @Test
+    public void testDivisionAsTheSubroutines() {
+        assertEquals(3, ConstantFolder.divide(10, 3, false));
+        assertEquals(-4, ConstantFolder.divide(-10, 3, false));
+        assertEquals(-4, ConstantFolder.divide(10, -3, false));
+        assertEquals(1, ConstantFolder.divide(10, 3, true));
+        assertEquals(2, ConstantFolder.divide(10, -3, true));
+        assertEquals(2, ConstantFolder.divide(-10, 3, true));
+        assertEquals(1, ConstantFolder.divide(-10, -3, true));
+        assertEquals(1, ConstantFolder.divide(1, 2, true));
+        assertNull(ConstantFolder.divide(1, 0, false));
+        // the subroutine never stops on the largest dividends
+        assertNull(ConstantFolder.divide(Integer.MAX_VALUE, 3, false));
+    }
+}
@@ -0,0 +1,197 @@
+package asm.interpreter;
+
+import asm.CodeGenerator;
+import ast.SemanticAnalyzer;
+import lexer.Lexer;
+import org.junit.jupiter.api.Test;
+import parser.Parser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InterpreterTest {
+
+    private static Interpreter run(List<String> output, String... lines) {
+        Interpreter interpreter = new Interpreter(Assembler.assemble(List.of(lines)), output::add);
+        interpreter.run();
+        return interpreter;
+    }
+
+    private static Interpreter run(String... lines) {
+        return run(new ArrayList<>(), lines);
+    }
+
+    @Test
+    public void testConditionsOfASubtraction() {
+        Interpreter interpreter = run(
+                "        mov     r0, #5",
+                "        subs    r1, r0, #6",
+                "        movlt   r2, #1",
+                "        movge   r3, #1",
+                "        movlo   r4, #1",
+                "        cmp     r0, #5",
+                "        moveq   r5, #1",
+                "        mvnne   r6, #0",
+                "end");
+        assertEquals(-1, interpreter.register(1));
+        assertEquals(1, interpreter.register(2));
+        assertEquals(0, interpreter.register(3));
+        assertEquals(1, interpreter.register(4));
+        assertEquals(1, interpreter.register(5));
+        assertEquals(0, interpreter.register(6));
+        assertEquals(9, interpreter.getExecuted());
+    }
+
+    @Test
+    public void testLoopAndShifts() {
+        Interpreter interpreter = run(
+                "        mov     r0, #0",
+                "        mov     r1, #10",
+                "loop    add     r0, r0, r1, lsl #1",
+                "        subs    r1, r1, #1",
+                "        bne     loop",
+                "        asr     r2, r0, #2",
+                "        ldr     r3, =-8",
+                "        mov     r3, r3, asr #1",
+                "end");
+        assertEquals(110, interpreter.register(0));
+        assertEquals(27, interpreter.register(2));
+        assertEquals(-4, interpreter.register(3));
+    }
+
+    @Test
+    public void testBlockTransfersKeepTheLowestRegisterLowest() {
+        Interpreter interpreter = run(
+                "        mov     r0, #1",
+                "        mov     r1, #2",
+                "        mov     r2, #3",
+                "        stmfd   r13!, {r0-r2}",
+                "        ldr     r3, [r13]",
+                "        ldr     r4, [r13, #8]",
+                "        ldmia   r13, {r5, r6}",
+                "        ldmfd   r13!, {r7-r9}",
+                "end");
+        assertEquals(1, interpreter.register(3));
+        assertEquals(3, interpreter.register(4));
+        assertEquals(1, interpreter.register(5));
+        assertEquals(2, interpreter.register(6));
+        assertEquals(3, interpreter.register(9));
+        assertEquals(Interpreter.STACK_TOP, interpreter.register(Arm.SP));
+        assertEquals(3 + 1 + 1 + 2 + 3, interpreter.getMemoryAccesses());
+    }
+
+    @Test
+    public void testLinesPrintedAtTheEndOfPrintln() {
+        List<String> output = new ArrayList<>();
+        Interpreter interpreter = run(output,
+                "str_out      fill    0x100",
+                "word         dcd     0x6968",
+                "             ldr     r0, =word",
+                "             ldrb    r1, [r0, #1]",
+                "             ldr     r2, =str_out",
+                "             ldr     r3, [r0]",
+                "             str     r3, [r2]",
+                "             mov     r3, #10",
+                "             strb    r3, [r2, #2]!",
+                "println_end  strb    r1, [r2, #1]",
+                "end");
+        assertEquals(List.of("hi\ni"), output);
+        assertEquals('i', interpreter.register(1));
+        assertEquals(0x2002, interpreter.register(2));
+    }
+
+    @Test
+    public void testFaultsGiveTheirLine() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> run(
+                "        mov     r0, #0",
+                "        ldr     r1, [r0]",
+                "end"));
+        assertTrue(e.getMessage().startsWith("Line 2: invalid memory access"), e.getMessage());
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class, () -> run(
+                "        mov     r0, #0",
+                "        frob    r1, r0",
+                "end"));
+        assertTrue(unknown.getMessage().startsWith("Line 2"), unknown.getMessage());
+    }
+
+    @Test
+    public void testSuperinstructionsRunAsTheirPairs() {
+        String[] lines = {
+                "value   dcd     6, 9",
+                "        mov     r0, #0",
+                "        ldr     r1, =value",
+                "        ldr     r1, [r1]",
+                "loop    add     r0, r0, r1",
+                "        cmp     r0, #30",
+                "        blt     loop",
+                "        tst     r0, #1",
+                "        bne     odd",
+                "        stmfd   r13!, {r0}",
+                "        bl      twice",
+                "        ldmfd   r13!, {r2}",
+                "        b       done",
+                "odd     mvn     r3, #0",
+                "        b       done",
+                "twice   ldr     r2, [r13]",
+                "        add     r2, r2, r2",
+                "        str     r2, [r13]",
+                "        mov     pc, lr",
+                "done    ldr     r3, =value",
+                "        ldr     r3, [r3, #4]",
+                "end"};
+        Program fused = Assembler.assemble(List.of(lines));
+        assertEquals(Arm.LOAD_GLOBAL, fused.dispatch(1));
+        assertEquals(Arm.LDR, fused.dispatch(2));
+        assertEquals(Arm.COMPARE_BRANCH, fused.dispatch(4));
+        assertEquals(Arm.TEST_BRANCH, fused.dispatch(6));
+        assertEquals(Arm.PUSH_CALL, fused.dispatch(8));
+        assertEquals(Arm.STM, fused.op(8));
+
+        Interpreter interpreter = run(lines);
+        Interpreter plain = new Interpreter(Assembler.assemble(List.of(lines), false), line -> { });
+        plain.run();
+        assertEquals(30, interpreter.register(0));
+        assertEquals(60, interpreter.register(2));
+        assertEquals(9, interpreter.register(3));
+        for (int register = 0; register < 16; register++) {
+            assertEquals(plain.register(register), interpreter.register(register));
+        }
+        assertEquals(plain.getExecuted(), interpreter.getExecuted());
+        assertEquals(plain.getMemoryAccesses(), interpreter.getMemoryAccesses());
+    }
+
+    @Test
+    public void testFaultOfTheSecondInstructionOfASuperinstruction() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> run(
+                "        ldr     r0, =0",
+                "        ldr     r0, [r0, #4]",
+                "end"));
+        assertTrue(e.getMessage().startsWith("Line 2: invalid memory access at address 0x4"), e.getMessage());
+    }
+
+    @Test
+    public void testCompiledProgram() throws Exception {
+        Path dir = Files.createTempDirectory("interpreted");
+        Path source = dir.resolve("unVraiDebut.adb");
+        Files.copy(Paths.get("tests/src/unVraiDebut.adb"), source);
+        Parser parser = new Parser(new Lexer(source.toString()));
+        parser.parse(false);
+        new CodeGenerator(parser.getAst().getFilename(), true).generate(new SemanticAnalyzer(parser.getAst()).analyze());
+        Path assembly = dir.resolve("unVraiDebut-output.s");
+
+        List<String> output = new ArrayList<>();
+        new Interpreter(Assembler.assemble(Files.readAllLines(assembly)), output::add).run();
+        assertEquals(List.of("1\n", "3\n", "8\n", "3\n"), output);
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,98 @@
+package asm.interpreter;
+
+import asm.CodeGenerator;
+import ast.SemanticAnalyzer;
+import lexer.Lexer;
+import org.junit.jupiter.api.Test;
+import parser.Parser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProfilerTest {
+    private static final List<String> CALLS = List.of(
+            "value   dcd     5",
+            "        mov     r0, #3 ; @ line 1",
+            "        bl      twice ; @ line 2",
+            "        bl      twice ; Again @ line 3",
+            "end",
+            "twice   ldr     r1, =value",
+            "        ldr     r1, [r1]",
+            "        add     r0, r0, r1",
+            "        mov     pc, lr");
+
+    private static Profiler profile(List<String> assembly, List<String> output) {
+        Program program = Assembler.assemble(assembly, false);
+        Profiler profiler = new Profiler(program, assembly);
+        Interpreter interpreter = new Interpreter(program, output::add);
+        interpreter.setProfiler(profiler);
+        interpreter.run();
+        return profiler;
+    }
+
+    @Test
+    public void testRoutinesAndLines() {
+        Profiler profiler = profile(CALLS, new ArrayList<>());
+        assertEquals(4, profiler.getSelfInstructions("main"));
+        assertEquals(12, profiler.getInclusiveInstructions("main"));
+        assertEquals(8, profiler.getSelfInstructions("twice"));
+        assertEquals(2, profiler.getCalls("twice"));
+        assertEquals(2, profiler.getMemoryAccesses("twice"));
+        assertEquals(0, profiler.getMemoryAccesses("main"));
+        // the called routine counts for the line of the call, the end for the last line run
+        assertEquals(1, profiler.getLineInstructions(1));
+        assertEquals(5, profiler.getLineInstructions(2));
+        assertEquals(6, profiler.getLineInstructions(3));
+        assertEquals(1, profiler.getLineMemoryAccesses(2));
+        assertEquals(List.of("main 4", "main;twice 8"), profiler.folded());
+    }
+
+    @Test
+    public void testFusedProgramsAreRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new Profiler(Assembler.assemble(CALLS), CALLS));
+    }
+
+    @Test
+    public void testCompiledProgram() throws Exception {
+        Path dir = Files.createTempDirectory("profiled");
+        Path source = dir.resolve("unVraiDebut.adb");
+        Files.copy(Paths.get("tests/src/unVraiDebut.adb"), source);
+        Parser parser = new Parser(new Lexer(source.toString()));
+        parser.parse(false);
+        CodeGenerator codeGen = new CodeGenerator(parser.getAst().getFilename(), true);
+        codeGen.setSourceLines(true);
+        codeGen.generate(new SemanticAnalyzer(parser.getAst()).analyze());
+        List<String> assembly = Files.readAllLines(dir.resolve("unVraiDebut-output.s"));
+
+        List<String> output = new ArrayList<>();
+        Program program = Assembler.assemble(assembly, false);
+        Profiler profiler = new Profiler(program, assembly);
+        Interpreter interpreter = new Interpreter(program, output::add);
+        interpreter.setProfiler(profiler);
+        interpreter.run();
+        assertEquals(List.of("1\n", "3\n", "8\n", "3\n"), output);
+        assertEquals(interpreter.getExecuted(), profiler.getInclusiveInstructions("undebut1"));
+        assertEquals(1, profiler.getCalls("perimetrerectangle2"));
+        assertEquals(4, profiler.getCalls("println_int"));
+        assertTrue(profiler.getSelfInstructions("div") > 0);
+        // the put of P prints through its, div and mul, all counted on its line
+        assertTrue(profiler.getLineInstructions(17) > profiler.getInclusiveInstructions("perimetrerectangle2") / 2);
+        assertTrue(profiler.folded().contains("undebut1;perimetrerectangle2 " + profiler.getSelfInstructions("perimetrerectangle2")));
+
+        profiler.write(dir.resolve("unVraiDebut").toString(), Files.readAllLines(source));
+        String flat = Files.readString(dir.resolve("unVraiDebut-profile.txt"));
+        assertTrue(flat.contains("put(P);"), flat);
+        assertEquals(profiler.folded(), Files.readAllLines(dir.resolve("unVraiDebut-profile.folded")));
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
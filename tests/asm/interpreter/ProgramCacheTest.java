@@ -0,0 +1,70 @@
+package asm.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProgramCacheTest {
+
+    private static List<String> output(Program program) {
+        List<String> output = new ArrayList<>();
+        new Interpreter(program, output::add).run();
+        return output;
+    }
+
+    @Test
+    public void testProgramReadBackFromTheCache() throws Exception {
+        Path dir = Files.createTempDirectory("programs");
+        Path assembly = dir.resolve("print-output.s");
+        Files.write(assembly, List.of(
+                "str_out      fill    0x10",
+                "             ldr     r0, =str_out",
+                "             mov     r1, #'k'",
+                "             strb    r1, [r0]",
+                "println_end  mov     r1, #0",
+                "end"));
+        ProgramCache cache = new ProgramCache(dir.resolve("cache"));
+
+        Program assembled = cache.load(assembly);
+        assertFalse(cache.wasHit());
+        Program cached = cache.load(assembly);
+        assertTrue(cache.wasHit());
+        assertEquals(assembled.size(), cached.size());
+        for (int i = 0; i < assembled.size(); i++) {
+            assertEquals(assembled.dispatch(i), cached.dispatch(i));
+            assertEquals(assembled.rd(i), cached.rd(i));
+            assertEquals(assembled.rm(i), cached.rm(i));
+            assertEquals(assembled.imm(i), cached.imm(i));
+            assertEquals(assembled.line(i), cached.line(i));
+        }
+        assertEquals(assembled.address("println_end"), cached.address("println_end"));
+        assertEquals(List.of("k"), output(cached));
+
+        // another text is another entry, a damaged entry is assembled again
+        Files.writeString(assembly, Files.readString(assembly).replace("'k'", "'m'"));
+        assertEquals(List.of("m"), output(cache.load(assembly)));
+        assertFalse(cache.wasHit());
+        try (var files = Files.list(dir.resolve("cache"))) {
+            for (Path file : files.toList()) {
+                Files.write(file, new byte[]{0, 0, 0, 1, 0});
+            }
+        }
+        assertEquals(List.of("m"), output(cache.load(assembly)));
+        assertFalse(cache.wasHit());
+        assertTrue(cache.load(assembly) != null && cache.wasHit());
+
+        for (Path folder : List.of(dir.resolve("cache"), dir)) {
+            try (var files = Files.list(folder)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(folder);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package asm.ir;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmitterTest {
+
+    private static String emit(Code code) {
+        return new Emitter(new LinearScan(code), Map.of()).emit();
+    }
+
+    @Test
+    public void testRegisterOfADeadOperandIsReused() {
+        Code code = new Code();
+        int a = Op.FIRST_VIRTUAL, b = a + 1, c = a + 2;
+        code.constant(Op.AL, a, 1, null);
+        code.constant(Op.AL, b, 300, null);
+        code.binary(Op.ADD, c, a, b, "sum");
+        code.store(c, Op.SP, 4, null);
+        assertEquals("\tmov\tr0, #1\n\tldr\tr1, =300\n\tadd\tr0, r0, r1 ; sum\n\tstr\tr0, [r13, #4]\n",
+                emit(code));
+    }
+
+    @Test
+    public void testSavedOffsetsFollowTheRegistersUsed() {
+        Code code = new Code();
+        int a = Op.FIRST_VIRTUAL, b = a + 1;
+        code.pseudo(Op.ENTER);
+        code.frame(a, 1);
+        code.addSaved(a, a, 4, null, null);
+        code.load(b, a, 0, null);
+        code.storeSaved(b, Op.SP, 12, null);
+        code.pseudo(Op.RETURN);
+        // only r0 is used, saved with r12 and lr
+        assertEquals("\tstmfd\tr13!, {r0, r12, lr}\n"
+                        + "\tldr\tr0, [r12] ; Going up in the static linkings\n"
+                        + "\tadd\tr0, r0, #16\n\tldr\tr0, [r0]\n\tstr\tr0, [r13, #24]\n"
+                        + "\tldmfd\tr13!, {r0, r12, pc}\n",
+                emit(code));
+    }
+
+    @Test
+    public void testCopyPushesFromTheLastWord() {
+        Code code = new Code();
+        int a = Op.FIRST_VIRTUAL;
+        code.move(a, Op.R11, null);
+        code.copy(a + 1, a, Op.SP, 3, true, "push");
+        assertEquals("\tmov\tr0, r11\n\tldmdb\tr0!, {r1, r2, r3} ; push\n\tstmfd\tr13!, {r1, r2, r3}\n", emit(code));
+    }
+
+    @Test
+    public void testCopyInChunksOfTheFreeRegisters() {
+        Code code = new Code();
+        int first = Op.FIRST_VIRTUAL, live = 6;
+        for (int v = first; v < first + live; v++) {
+            code.constant(Op.AL, v, v, null);
+        }
+        int from = first + live, to = from + 1;
+        code.move(from, Op.R11, null);
+        code.move(to, Op.SP, null);
+        code.copy(to + 1, from, to, 5, false, "copy");
+        for (int v = first; v < first + live; v++) {
+            code.store(v, Op.SP, 0, null);
+        }
+        // r0-r7 hold values over the copy, which moves its words through r8 and r9
+        String emitted = emit(code);
+        assertTrue(emitted.contains("\tldmia\tr6!, {r8, r9} ; copy\n\tstmia\tr7!, {r8, r9}\n"
+                + "\tldmia\tr6!, {r8, r9}\n\tstmia\tr7!, {r8, r9}\n"
+                + "\tldmia\tr6!, {r8}\n\tstmia\tr7!, {r8}\n"), emitted);
+    }
+
+    @Test
+    public void testBasicBlocks() {
+        Code code = new Code();
+        int a = Op.FIRST_VIRTUAL;
+        code.label("while1", null);
+        code.constant(Op.AL, a, 0, null);
+        code.compareImm(a, 0, null);
+        code.branch(Op.EQ, "while1_end", null);
+        code.branch(Op.GT, "for_err", null);
+        code.branch(Op.AL, "while1", null);
+        code.label("while1_end", null);
+        code.pseudo(Op.END);
+
+        BasicBlocks blocks = new BasicBlocks(code);
+        assertEquals(4, blocks.count());
+        assertEquals(0, blocks.start(0));
+        assertEquals(4, blocks.end(0));
+        assertArrayEquals(new int[]{1, 3}, blocks.successors(0));
+        // the runtime error is not part of the code
+        assertArrayEquals(new int[]{2}, blocks.successors(1));
+        assertArrayEquals(new int[]{0}, blocks.successors(2));
+        assertArrayEquals(new int[0], blocks.successors(3));
+    }
+
+    @Test
+    public void testSavedOffsetOfAnotherProcedure() {
+        Code code = new Code();
+        int a = Op.FIRST_VIRTUAL;
+        code.pseudo(Op.ENTER);
+        code.frame(a, 1);
+        code.addSaved(a, a, 4, "outer", null);
+        code.store(a, Op.SP, 0, null);
+        code.pseudo(Op.RETURN);
+        assertTrue(new Emitter(new LinearScan(code), Map.of("outer", 40)).emit().contains("\tadd\tr0, r0, #44\n"));
+    }
+
+    @Test
+    public void testMulNeverWritesItsFirstOperand() {
+        Code code = new Code();
+        int a = Op.FIRST_VIRTUAL, b = a + 1, c = a + 2;
+        code.constant(Op.AL, a, 3, null);
+        code.constant(Op.AL, b, 5, null);
+        code.binary(Op.MUL, c, a, b, null);
+        code.binaryShifted(Op.ADD, c, c, c, 2, null);
+        code.store(c, Op.SP, 0, null);
+        assertEquals("\tmov\tr0, #3\n\tmov\tr1, #5\n\tmul\tr2, r0, r1\n\tadd\tr2, r2, r2, lsl #2\n\tstr\tr2, [r13]\n",
+                emit(code));
+    }
+}
@@ -0,0 +1,94 @@
+package asm.ir;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinearScanTest {
+
+    @Test
+    public void testIntervalsEndAtTheirLastUse() {
+        Code code = new Code();
+        int a = Op.FIRST_VIRTUAL, b = a + 1, c = a + 2;
+        code.constant(Op.AL, a, 1, null);
+        code.constant(Op.AL, b, 2, null);
+        code.binary(Op.ADD, c, a, b, null);
+        code.store(c, Op.SP, 0, null);
+
+        Liveness liveness = new Liveness(code);
+        assertEquals(1, liveness.start(a));
+        assertEquals(4, liveness.end(a));
+        assertEquals(5, liveness.start(c));
+        assertEquals(6, liveness.end(c));
+    }
+
+    @Test
+    public void testValueLiveAroundALoop() {
+        Code code = new Code();
+        int a = Op.FIRST_VIRTUAL, b = a + 1;
+        code.constant(Op.AL, a, 1, null);
+        code.label("loop", null);
+        code.constant(Op.AL, b, 2, null);
+        code.store(b, Op.SP, 0, null);
+        code.compareImm(a, 0, null);
+        code.branch(Op.NE, "loop", null);
+        code.store(a, Op.SP, 4, null);
+
+        LinearScan allocation = new LinearScan(code);
+        // a is read after the loop and on each of its turns, b cannot take its register
+        assertNotEquals(allocation.physical(a), allocation.physical(b));
+        assertEquals(0, allocation.getSpillSlots());
+    }
+
+    @Test
+    public void testOnlyWrittenRegistersAreSaved() {
+        Code code = new Code();
+        int a = Op.FIRST_VIRTUAL;
+        code.pseudo(Op.ENTER);
+        code.constant(Op.AL, a, 1, null);
+        code.store(a, Op.SP, 0, null);
+        code.pseudo(Op.RETURN);
+
+        LinearScan allocation = new LinearScan(code);
+        assertEquals(1, allocation.getUsedRegisters());
+        assertEquals(12, Emitter.savedBytes(allocation));
+    }
+
+    @Test
+    public void testSpillBelowTheLocals() {
+        Code code = new Code();
+        code.locals(8);
+        int values = LinearScan.REGISTERS + 2;
+        for (int v = 0; v < values; v++) {
+            code.constant(Op.AL, Op.FIRST_VIRTUAL + v, v, null);
+        }
+        for (int v = 0; v < values; v++) {
+            code.store(Op.FIRST_VIRTUAL + v, Op.SP, 4 * v, null);
+        }
+
+        LinearScan allocation = new LinearScan(code);
+        // the registers reaching the spill slots may push out one more value
+        assertTrue(allocation.getSpillSlots() >= 2);
+        String assembly = new Emitter(allocation, Map.of()).emit();
+        // the spill slots are reserved with the locals
+        assertTrue(assembly.startsWith("\tsub\tr13, r13, #" + (8 + 4 * allocation.getSpillSlots()) + "\n"));
+        assertTrue(assembly.contains("[r11, #-12] ; Spilling a value"));
+        assertTrue(assembly.contains("[r11, #-12] ; Reloading a spilled value"));
+        assertFalse(assembly.contains("r10"));
+    }
+
+    @Test
+    public void testSpillNeedsTheLocals() {
+        Code code = new Code();
+        int values = LinearScan.REGISTERS + 1;
+        for (int v = 0; v < values; v++) {
+            code.constant(Op.AL, Op.FIRST_VIRTUAL + v, v, null);
+        }
+        for (int v = 0; v < values; v++) {
+            code.store(Op.FIRST_VIRTUAL + v, Op.SP, 4 * v, null);
+        }
+        assertThrows(IllegalStateException.class, () -> new LinearScan(code));
+    }
+}
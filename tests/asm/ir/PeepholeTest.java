@@ -0,0 +1,103 @@
+package asm.ir;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PeepholeTest {
+
+    private static String emit(Code code) {
+        return new Emitter(new LinearScan(code), Map.of()).emit();
+    }
+
+    // value of a variable of the current frame, as getVar generates it
+    private static Code variable(int a, int b) {
+        Code code = new Code();
+        code.frame(a, 0);
+        code.binaryImm(Op.ADD, a, a, -8, "Getting address of var : x");
+        code.load(b, a, 0, "Getting value of var : x");
+        code.store(b, Op.SP, 0, null);
+        return code;
+    }
+
+    @Test
+    public void testAddressFoldedIntoTheLoad() {
+        int a = Op.FIRST_VIRTUAL, b = a + 1;
+        Peephole peephole = new Peephole(Peephole.ALL);
+        assertEquals("\tldr\tr0, [r12, #-8] ; Getting value of var : x\n\tstr\tr0, [r13]\n", emit(peephole.run(variable(a, b))));
+        assertEquals(1, peephole.removed(Peephole.MOVE));
+        assertEquals(1, peephole.removed(Peephole.OFFSET));
+        assertEquals(2, peephole.totalRemoved());
+        assertEquals("move 1, offset 1, store-load 0, push-pop 0, branch 0", peephole.report());
+    }
+
+    @Test
+    public void testOnlyTheChosenRules() {
+        int a = Op.FIRST_VIRTUAL, b = a + 1;
+        Peephole peephole = new Peephole(Peephole.parseRules("move"));
+        assertEquals("\tadd\tr0, r12, #-8 ; Getting address of var : x\n\tldr\tr0, [r0] ; Getting value of var : x\n\tstr\tr0, [r13]\n",
+                emit(peephole.run(variable(a, b))));
+        assertEquals("move 1", peephole.report());
+        assertSame(variable(a, b).size(), new Peephole(Peephole.parseRules("none")).run(variable(a, b)).size());
+        assertThrows(IllegalArgumentException.class, () -> Peephole.parseRules("move,unknown"));
+    }
+
+    @Test
+    public void testAddressStillReadIsKept() {
+        int a = Op.FIRST_VIRTUAL, b = a + 1, c = a + 2;
+        Code code = new Code();
+        code.binaryImm(Op.ADD, a, Op.R12, -8, null);
+        code.load(b, a, 0, null);
+        code.load(c, a, 4, null);
+        code.binary(Op.ADD, b, b, c, null);
+        code.store(b, Op.SP, 0, null);
+        Peephole peephole = new Peephole(Peephole.ALL);
+        assertEquals(code.size(), peephole.run(code).size());
+        assertEquals(0, peephole.totalRemoved());
+    }
+
+    @Test
+    public void testOffsetsAddedUp() {
+        int a = Op.FIRST_VIRTUAL;
+        Code code = new Code();
+        code.binaryImm(Op.ADD, a, Op.R12, -36, "Getting address of var : o");
+        code.binaryImm(Op.ADD, a, a, 32, null);
+        code.copy(a + 1, a, Op.SP, 1, true, null);
+        Peephole peephole = new Peephole(Peephole.ALL);
+        assertEquals("\tadd\tr0, r12, #-4 ; Getting address of var : o\n\tldmdb\tr0!, {r1}\n\tstmfd\tr13!, {r1}\n",
+                emit(peephole.run(code)));
+        assertEquals(1, peephole.removed(Peephole.OFFSET));
+    }
+
+    @Test
+    public void testStoreThenLoadOfTheSameSlot() {
+        int a = Op.FIRST_VIRTUAL, b = a + 1;
+        Code code = new Code();
+        code.constant(Op.AL, a, 5, null);
+        code.store(a, Op.R12, -8, null);
+        code.load(b, Op.R12, -8, null);
+        code.push(b, null);
+        Peephole peephole = new Peephole(Peephole.STORE_LOAD);
+        assertEquals("\tmov\tr0, #5\n\tstr\tr0, [r12, #-8]\n\tmov\tr0, r0\n\tstmfd\tr13!, {r0}\n", emit(peephole.run(code)));
+        assertEquals(1, peephole.removed(Peephole.STORE_LOAD));
+    }
+
+    @Test
+    public void testBranchToTheNextLabel() {
+        Code code = new Code();
+        code.branch(Op.AL, "if1_end", "Jump to end");
+        code.label("if1", "else");
+        code.text("\n\t; comment\n");
+        code.label("if1_end", "end of if");
+        code.branch(Op.EQ, "if2", null);
+        code.constant(Op.AL, Op.FIRST_VIRTUAL, 0, null);
+        code.label("if2", null);
+        Peephole peephole = new Peephole(Peephole.ALL);
+        Code rewritten = peephole.run(code);
+        assertEquals(code.size() - 1, rewritten.size());
+        assertEquals(Op.LABEL, rewritten.op(0));
+        assertEquals(1, peephole.removed(Peephole.BRANCH));
+    }
+}
@@ -0,0 +1,61 @@
+package asm.visual;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogTailTest {
+
+    @Test
+    public void testLinesParsedWhileTheLogIsWritten() throws Exception {
+        Path dir = Files.createTempDirectory("tail");
+        Path file = dir.resolve("program-output.s_log.xml");
+        LogTail log = new LogTail(file);
+        CountDownLatch first = new CountDownLatch(1);
+        List<String> lines = new ArrayList<>();
+        Thread reader = new Thread(() -> {
+            try (log) {
+                OutputParser.parseOutput(log, line -> {
+                    lines.add(line);
+                    first.countDown();
+                });
+            } catch (Exception e) {
+                lines.add(e.toString());
+            }
+        });
+        reader.start();
+
+        // the file does not exist yet when the reader starts
+        Thread.sleep(20);
+        boolean seen;
+        try (Writer out = Files.newBufferedWriter(file)) {
+            out.write("<?xml version=\"1.0\"?>\n<root>\n<line id=\"20\"><word address=\"0x2000\">0x0A31</word></line>\n");
+            out.flush();
+            seen = first.await(10, TimeUnit.SECONDS);
+            out.write("<line id=\"20\"><word address=\"0x2000\">0x0A32</word></line>\n</root>\n");
+        }
+        log.finish();
+        reader.join(10_000);
+        assertTrue(seen, "the first line waited for the end of the log");
+        assertEquals(List.of("1\n", "2\n"), lines);
+
+        Files.delete(file);
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testEndOnceFinished() throws Exception {
+        LogTail log = new LogTail(Path.of("does-not-exist_log.xml"));
+        log.finish();
+        assertEquals(-1, log.read());
+        log.close();
+    }
+}
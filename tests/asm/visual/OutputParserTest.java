@@ -0,0 +1,56 @@
+package asm.visual;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutputParserTest {
+
+    private static List<String> parse(String log) throws Exception {
+        List<String> lines = new ArrayList<>();
+        OutputParser.parseOutput(new ByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8)), lines::add);
+        return lines;
+    }
+
+    @Test
+    public void testWordsDecodedUpToTheFirstZeroByte() throws Exception {
+        String log = "<?xml version=\"1.0\"?>\n<root>\n"
+                + "<line id=\"20\"><register name=\"R0\">0x41</register>"
+                + "<word address=\"0x2000\">0x6C6C6548</word><word address=\"0x2004\">0x000A6F</word>"
+                + "<word address=\"0x2008\">0x4242</word></line>\n"
+                + "<line id=\"20\">\n  <word address=\"0x2000\">\n    0x0A3432\n  </word>\n</line>\n"
+                + "<line id=\"20\"><word address=\"0x2000\">0x0</word><word address=\"0x2004\">0x41</word></line>\n"
+                + "<line id=\"20\"><word address=\"0x2000\">0xA9C3</word></line>\n"
+                + "</root>\n";
+        assertEquals(List.of("Hello\n", "24\n", "", "é"), parse(log));
+    }
+
+    @Test
+    public void testLinesHandedOutAsTheyAreRead() throws Exception {
+        // a log too long to be read at once, generated as it is read
+        int count = 100_000;
+        InputStream head = new ByteArrayInputStream("<root>".getBytes(StandardCharsets.UTF_8));
+        InputStream tail = new ByteArrayInputStream("</root>".getBytes(StandardCharsets.UTF_8));
+        Stream<InputStream> lines = Stream.generate(() -> (InputStream) new ByteArrayInputStream(
+                "<line><word>0x0A3231</word><word>0x0</word></line>\n".getBytes(StandardCharsets.UTF_8))).limit(count);
+        List<InputStream> parts = new ArrayList<>();
+        parts.add(head);
+        lines.forEach(parts::add);
+        parts.add(tail);
+        int[] read = {0};
+        OutputParser.parseOutput(new SequenceInputStream(Collections.enumeration(parts)), line -> {
+            assertEquals("12\n", line);
+            read[0]++;
+        });
+        assertEquals(count, read[0]);
+    }
+}
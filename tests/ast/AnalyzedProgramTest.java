@@ -0,0 +1,50 @@
+package ast;
+
+import asm.CodeGenerator;
+import lexer.Lexer;
+import org.junit.jupiter.api.Test;
+import parser.Parser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalyzedProgramTest {
+
+    @Test
+    public void testCodeGeneratedAsASeparatePass() throws Exception {
+        Path dir = Files.createTempDirectory("analyzed");
+        Path source = dir.resolve("UneFin.adb");
+        Files.copy(Paths.get("tests/src/UneFin.adb"), source);
+        Path output = dir.resolve("UneFin-output.s");
+        Parser parser = new Parser(new Lexer(source.toString()));
+        parser.parse(false);
+
+        AnalyzedProgram program = new SemanticAnalyzer(parser.getAst()).analyze();
+        int calls = 0;
+        for (Node node : program.getAst().getDepthFirstTraversal()) {
+            if (node.getLabel().equals("CALL")) {
+                Node called = program.getAst().getTree().nodes.get(node.getChildren().get(0));
+                assertEquals(called.getLabel(), program.callee(node.getId()).getName());
+                calls++;
+            }
+        }
+        assertTrue(calls > 0);
+        assertFalse(Files.exists(output));
+
+        // the same analysis can be generated again
+        new CodeGenerator(parser.getAst().getFilename(), true).generate(program);
+        String code = Files.readString(output);
+        assertTrue(code.contains("bl\tdecrypt"));
+        new CodeGenerator(parser.getAst().getFilename(), true).generate(program);
+        assertEquals(code, Files.readString(output));
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
@@ -0,0 +1,65 @@
+package ast;
+
+import lexer.Lexer;
+import org.junit.jupiter.api.Test;
+import parser.Parser;
+import tds.Var;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BindingsTest {
+
+    @Test
+    public void testIdentifiersResolvedWithStaticLinkDepth() throws Exception {
+        Path file = Files.createTempFile("bindings", ".adb");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, """
+                with Ada.Text_IO; use Ada.Text_IO;
+
+                procedure Outer is
+                    X : Integer := 1;
+                    procedure Inner is
+                        Y : Integer;
+                    begin
+                        Y := X;
+                    end Inner;
+                begin
+                    X := 2;
+                end Outer;
+                """);
+        String base = file.toString().substring(0, file.toString().lastIndexOf('.'));
+        new File(base + "-ast.dot").deleteOnExit();
+        Parser parser = new Parser(new Lexer(file.toString()));
+        parser.parse(false);
+        SemanticAnalyzer analyzer = new SemanticAnalyzer(parser.getAst());
+        analyzer.analyze();
+
+        Tree tree = parser.getAst().getTree();
+        List<Integer> assigned = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        for (int node : tree.preorder()) {
+            if (tree.label(node).equals(":=")) {
+                assigned.add(tree.nodes.get(node).getChildren().get(0));
+                values.add(tree.nodes.get(node).getChildren().get(1));
+            }
+        }
+        assertEquals(2, assigned.size());
+        Bindings bindings = analyzer.getBindings();
+        int y = assigned.get(0), innerX = values.get(0), outerX = assigned.get(1);
+
+        assertInstanceOf(Var.class, bindings.symbol(y));
+        assertEquals("y", bindings.symbol(y).getName());
+        assertEquals(0, bindings.depth(y));
+        assertSame(bindings.symbol(outerX), bindings.symbol(innerX));
+        assertEquals(bindings.region(outerX), bindings.region(innerX));
+        assertEquals(1, bindings.depth(innerX));
+        assertEquals(0, bindings.depth(outerX));
+        assertNull(bindings.symbol(values.get(1)));
+    }
+}
@@ -0,0 +1,71 @@
+package ast;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TreeTest {
+
+    private Tree sample() {
+        Tree tree = new Tree();
+        tree.addNode(0, "ROOT", 1);
+        tree.addNode(1, "PROCEDURE", 1);
+        tree.addNode(2, "x", 2, 7, true);
+        tree.addNode(3, "INSTRUCTIONS", 3);
+        tree.addEdge(0, 1);
+        tree.addEdge(1, 2);
+        tree.addEdge(1, 3);
+        return tree;
+    }
+
+    @Test
+    public void testArenaAndNodeViews() {
+        Tree tree = sample();
+        assertEquals(4, tree.size());
+        assertEquals(List.of(2, 3), tree.nodes.get(1).getChildren());
+        assertEquals("x", tree.nodes.get(2).getLabel());
+        assertEquals(7, tree.nodes.get(2).getNameId());
+        assertEquals(2, tree.nodes.get(2).getLine());
+        assertTrue(tree.nodes.get(2).isToken());
+        assertTrue(tree.nodes.get(3).isLeaf());
+        assertSame(tree.nodes.get(1), tree.nodes.get(1));
+        assertNull(tree.nodes.get(4));
+        assertEquals(tree.kind(1), tree.kindOf("PROCEDURE"));
+
+        int edge = tree.firstEdge(1);
+        assertEquals(2, tree.child(edge));
+        assertEquals(3, tree.child(tree.nextEdge(edge)));
+        assertEquals(-1, tree.nextEdge(tree.nextEdge(edge)));
+    }
+
+    @Test
+    public void testChildAddedTwice() {
+        Tree tree = sample();
+        List<Integer> before = tree.nodes.get(1).getChildren();
+        tree.addEdge(1, 3);
+        assertEquals(List.of(2, 3), before.subList(0, 2));
+        assertEquals(List.of(2, 3, 3), tree.nodes.get(1).getChildren());
+
+        List<String> labels = new ArrayList<>();
+        for (Node node : tree.depthFirstTraversal()) {
+            labels.add(node.getLabel());
+        }
+        assertEquals(List.of("ROOT", "PROCEDURE", "x", "INSTRUCTIONS"), labels);
+    }
+
+    @Test
+    public void testPreorderAndSubtreeEnds() {
+        Tree tree = sample();
+        assertArrayEquals(new int[]{0, 1, 2, 3}, tree.preorder());
+        assertArrayEquals(new int[]{4, 4, 3, 4}, tree.subtreeEnds());
+        assertSame(tree.preorder(), tree.preorder());
+
+        tree.addNode(4, "y", 4);
+        tree.addEdge(2, 4);
+        assertArrayEquals(new int[]{0, 1, 2, 4, 3}, tree.preorder());
+        assertArrayEquals(new int[]{5, 5, 4, 4, 5}, tree.subtreeEnds());
+    }
+}
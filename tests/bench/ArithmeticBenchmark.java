@@ -0,0 +1,43 @@
+package bench;
+
+import asm.CodeGenerator;
+import ast.SemanticAnalyzer;
+import lexer.Lexer;
+import parser.Parser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/* Instructions generated for products, quotients and remainders, and how many of them still call
+ * the mul, div and rem subroutines. Run from the root of the project, the code generator reads src/asm/visual. */
+public class ArithmeticBenchmark {
+    public static void main(String[] args) throws Exception {
+        report("arithmetic loop", ProgramGenerator.arithmeticLoop(1000));
+        report("straight line", ProgramGenerator.straightLine(20, 2000));
+    }
+
+    private static void report(String name, Path file) throws Exception {
+        Parser parser = new Parser(new Lexer(file.toString()));
+        parser.parse(false);
+        new CodeGenerator(parser.getAst().getFilename(), true).generate(new SemanticAnalyzer(parser.getAst()).analyze());
+        Path output = Path.of(parser.getAst().getFilename() + "-output.s");
+        List<String> lines = Files.readAllLines(output);
+        Files.delete(output);
+
+        int instructions = 0;
+        int calls = 0;
+        for (String line : lines) {
+            // instructions are indented, the subroutines themselves are not counted
+            String instruction = line.split(";", 2)[0].trim();
+            if (!line.startsWith("\t") || instruction.isEmpty()) {
+                continue;
+            }
+            instructions++;
+            if (instruction.matches("bl\\s+(mul|div|rem)")) {
+                calls++;
+            }
+        }
+        System.out.printf("  %-16s %8d instructions %6d subroutine calls%n", name, instructions, calls);
+    }
+}
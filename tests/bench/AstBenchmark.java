@@ -0,0 +1,99 @@
+package bench;
+
+import ast.Node;
+import ast.Tree;
+import lexer.Lexer;
+import parser.Parser;
+
+import java.nio.file.Path;
+
+/* Retained memory per AST node and traversal speed, through the Node views and over the arena */
+public class AstBenchmark {
+    public static void main(String[] args) throws Exception {
+        Path file = ProgramGenerator.straightLine(200, 50_000);
+
+        Runtime runtime = Runtime.getRuntime();
+        long before = usedMemory(runtime);
+        Tree tree = parse(file);
+        long after = usedMemory(runtime);
+        System.out.printf("  %d nodes, %.1f bytes retained per node%n", tree.size(), (double) (after - before) / tree.size());
+
+        report("depthFirstTraversal()", tree.size(), () -> {
+            long sum = 0;
+            for (Node node : tree.depthFirstTraversal()) {
+                sum += node.getLine();
+            }
+            return sum;
+        });
+        report("preorder()", tree.size(), () -> {
+            long sum = 0;
+            for (int node : tree.preorder()) {
+                sum += tree.line(node);
+            }
+            return sum;
+        });
+        int instructions = tree.kindOf("INSTRUCTIONS");
+        report("preorder(), skipping", tree.size(), () -> {
+            // the declarations only, as a pass that jumps over the instructions
+            int[] preorder = tree.preorder();
+            int[] ends = tree.subtreeEnds();
+            long sum = 0;
+            for (int i = 0; i < preorder.length; ) {
+                if (tree.kind(preorder[i]) == instructions) {
+                    i = ends[i];
+                } else {
+                    sum += tree.line(preorder[i++]);
+                }
+            }
+            return sum;
+        });
+        report("Node walk", tree.size(), () -> walkNodes(tree, 0));
+        report("arena walk", tree.size(), () -> {
+            int[] stack = new int[64];
+            int top = 0;
+            long sum = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int node = stack[--top];
+                sum += tree.line(node);
+                for (int edge = tree.firstEdge(node); edge >= 0; edge = tree.nextEdge(edge)) {
+                    if (top == stack.length) {
+                        stack = java.util.Arrays.copyOf(stack, 2 * top);
+                    }
+                    stack[top++] = tree.child(edge);
+                }
+            }
+            return sum;
+        });
+    }
+
+    /* only the tree stays reachable, not the lexer and the tokens */
+    private static Tree parse(Path file) throws Exception {
+        Parser parser = new Parser(new Lexer(file.toString()));
+        parser.parse(false);
+        return parser.getAst().getTree();
+    }
+
+    /* the way SemanticAnalyzer and CodeGenerator go down the tree */
+    private static long walkNodes(Tree tree, int id) {
+        Node node = tree.nodes.get(id);
+        long sum = node.getLine();
+        for (int i = 0; i < node.getChildren().size(); i++) {
+            sum += walkNodes(tree, node.getChildren().get(i));
+        }
+        return sum;
+    }
+
+    private static void report(String name, int nodes, Timing.Run run) throws Exception {
+        long nanos = Timing.bestNanos(run);
+        System.out.printf("  %-22s %8.1f ns/node%n", name, (double) nanos / nodes);
+    }
+
+    private static long usedMemory(Runtime runtime) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,63 @@
+package bench;
+
+import lexer.AsciiPrintableCharacters;
+import lexer.Lexer;
+import lexer.Tag;
+
+import java.nio.file.Path;
+
+/* Character classification and lexing throughput on identifier-heavy and number-heavy inputs */
+public class CharClassBenchmark {
+    public static void main(String[] args) throws Exception {
+        StringBuilder identifiers = new StringBuilder();
+        StringBuilder numbers = new StringBuilder();
+        for (int i = 0; i < 400_000; i++) {
+            identifiers.append("Some_Identifier").append(i % 97).append(i % 2 == 0 ? " " : "\n");
+            numbers.append(i * 7919 % 1_000_000_007).append(i % 2 == 0 ? " " : "\n");
+        }
+        run("identifiers", identifiers.toString());
+        run("numbers", numbers.toString());
+    }
+
+    private static void run(String name, String input) throws Exception {
+        char[] chars = input.toCharArray();
+        Path file = ProgramGenerator.write(input);
+        System.out.println(name + ": " + chars.length + " characters");
+        report("comparison chains", chars.length, () -> {
+            long count = 0;
+            for (char c : chars) {
+                if (chainIsLetterOrDigit(c) || c == '_') count++;
+                else if (c == ' ' || c == '\n' || c == '\t') count += 2;
+                else if (c >= 32 && c <= 126) count += 3;
+            }
+            return count;
+        });
+        report("class table", chars.length, () -> {
+            long count = 0;
+            for (char c : chars) {
+                byte cls = AsciiPrintableCharacters.classOf(c);
+                if ((cls & AsciiPrintableCharacters.IDENTIFIER_PART) != 0) count++;
+                else if ((cls & AsciiPrintableCharacters.WHITESPACE) != 0) count += 2;
+                else if ((cls & AsciiPrintableCharacters.PRINTABLE) != 0) count += 3;
+            }
+            return count;
+        });
+        report("Lexer.scan()", chars.length, () -> {
+            Lexer lexer = new Lexer(file.toString());
+            long tokens = 0;
+            while (lexer.scan().getTag() != Tag.EOF) {
+                tokens++;
+            }
+            return tokens;
+        });
+    }
+
+    /* the checks the lexer used before the class table */
+    private static boolean chainIsLetterOrDigit(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    static void report(String name, long chars, Timing.Run run) throws Exception {
+        System.out.printf("  %-20s %8.1f Mchars/s%n", name, chars * 1e3 / Timing.bestNanos(run));
+    }
+}
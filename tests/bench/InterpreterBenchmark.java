@@ -0,0 +1,94 @@
+package bench;
+
+import asm.CodeGenerator;
+import asm.interpreter.Assembler;
+import asm.interpreter.Interpreter;
+import asm.interpreter.Program;
+import asm.interpreter.ProgramCache;
+import asm.visual.Launcher;
+import ast.SemanticAnalyzer;
+import lexer.Lexer;
+import parser.Parser;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/* Instructions per second of the built-in interpreter, cold and once the JIT has compiled it, against a run of
+ * the same program through VisUAL in a JVM of its own as -c --visual does it, startup and log parsing included,
+ * and the time to decode the program with the assembler against reading it back from the cache.
+ * Run from the root of the project, the code generator reads src/asm/visual. */
+public class InterpreterBenchmark {
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("--visual")) {
+            Launcher.run(args[1], true);
+            return;
+        }
+        report("arithmetic loop", ProgramGenerator.arithmeticLoop(2000));
+        report("long loop", ProgramGenerator.arithmeticLoop(30000));
+        report("record copies", ProgramGenerator.recordCopies(3, 200));
+    }
+
+    private static void report(String name, Path file) throws Exception {
+        Parser parser = new Parser(new Lexer(file.toString()));
+        parser.parse(false);
+        new CodeGenerator(parser.getAst().getFilename(), true).generate(new SemanticAnalyzer(parser.getAst()).analyze());
+        String assembly = parser.getAst().getFilename() + "-output.s";
+
+        long start = System.nanoTime();
+        Program program = Assembler.assemble(Files.readAllLines(Path.of(assembly)));
+        Interpreter interpreter = new Interpreter(program, line -> { });
+        interpreter.run();
+        long cold = System.nanoTime() - start;
+        long executed = interpreter.getExecuted();
+        long warm = Timing.bestNanos(() -> {
+            Interpreter run = new Interpreter(program, line -> { });
+            run.run();
+            return run.getExecuted();
+        });
+
+        Path cacheDirectory = Files.createTempDirectory("canada-bench");
+        ProgramCache cache = new ProgramCache(cacheDirectory);
+        cache.load(Path.of(assembly));
+        long assembled = Timing.bestNanos(() -> Assembler.assemble(Files.readAllLines(Path.of(assembly))).size());
+        long cached = Timing.bestNanos(() -> cache.load(Path.of(assembly)).size());
+        try (var files = Files.list(cacheDirectory)) {
+            for (Path entry : files.toList()) {
+                Files.delete(entry);
+            }
+        }
+        Files.delete(cacheDirectory);
+
+        long visual = visual(assembly);
+        Files.delete(Path.of(assembly));
+        System.out.printf("  %-16s %10d instructions  interpreter %7.1f ms cold %8.1f M/s warm"
+                        + "  decoding %6.3f ms assembled %6.3f ms cached  VisUAL %s%n",
+                name, executed, cold / 1e6, executed / (warm / 1e9) / 1e6, assembled / 1e6, cached / 1e6,
+                visual < 0 ? "unavailable" : String.format("%7.1f ms %8.3f M/s", visual / 1e6, executed / (visual / 1e9) / 1e6));
+    }
+
+    /* nanoseconds of a VisUAL run in a new JVM, -1 if VisUAL could not run the program */
+    private static long visual(String assembly) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                InterpreterBenchmark.class.getName(), "--visual", assembly);
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(new File(assembly + ".visual.txt"));
+        long start = System.nanoTime();
+        Process process = builder.start();
+        boolean done = process.waitFor(10, TimeUnit.MINUTES);
+        long time = System.nanoTime() - start;
+        Path log = Path.of(assembly + ".visual.txt");
+        List<String> output = Files.readAllLines(log);
+        Files.delete(log);
+        // the headless jar without the emulator itself writes no log
+        boolean logged = Files.deleteIfExists(Path.of(assembly + "_log.xml"));
+        if (!done) {
+            process.destroyForcibly();
+            return -1;
+        }
+        return process.exitValue() == 0 && logged && output.stream().anyMatch(line -> line.contains("END PROGRAM OUTPUT")) ? time : -1;
+    }
+}
@@ -0,0 +1,54 @@
+package bench;
+
+import asm.visual.OutputParser;
+
+import java.io.BufferedWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/* Time and heap to read the lines out of VisUAL logs of growing sizes, written as VisUAL writes them at each
+ * breakpoint: the registers, then the 64 words of the output buffer. The heap should not grow with the log. */
+public class OutputLogBenchmark {
+    public static void main(String[] args) throws Exception {
+        for (int lines = 10_000; lines <= 100_000; lines *= 10) {
+            report(lines);
+        }
+    }
+
+    private static void report(int lines) throws Exception {
+        Path log = Files.createTempFile("canada-bench", "_log.xml");
+        try (BufferedWriter out = Files.newBufferedWriter(log)) {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<root>\n");
+            for (int line = 0; line < lines; line++) {
+                out.write("<line id=\"20\">\n");
+                for (int register = 0; register < 16; register++) {
+                    out.write("  <register name=\"R" + register + "\">0x" + Integer.toHexString(line * register) + "</register>\n");
+                }
+                for (int word = 0; word < 64; word++) {
+                    String value = word == 0 ? "0x" + Integer.toHexString(0x0A303030 + line % 10) : "0x0";
+                    out.write("  <word address=\"0x" + Integer.toHexString(0x2000 + 4 * word) + "\">" + value + "</word>\n");
+                }
+                out.write("</line>\n");
+            }
+            out.write("</root>\n");
+        }
+        long size = Files.size(log);
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        long[] read = {0, 0};
+        long start = System.nanoTime();
+        OutputParser.parseOutput(log.toString(), line -> {
+            read[0]++;
+            // sampled, the parser keeps no garbage of its own alive
+            if (read[0] % 1000 == 0) {
+                read[1] = Math.max(read[1], runtime.totalMemory() - runtime.freeMemory() - before);
+            }
+        });
+        long time = System.nanoTime() - start;
+        Files.delete(log);
+        System.out.printf("  %8d lines %8.1f MB  %8.1f ms  %7.1f MB/s  heap growth at most %6.1f MB%n",
+                read[0], size / 1e6, time / 1e6, size / 1e6 / (time / 1e9), read[1] / 1e6);
+    }
+}
@@ -0,0 +1,42 @@
+package bench;
+
+import lexer.Lexer;
+import parser.AnalyzeTable;
+import parser.Parser;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/* Parsing throughput and JIT warm-up of the table-driven parser against AnalyzeTable.
+ * Run with "table" or "legacy" to see the warm-up of a single parser in a fresh JVM. */
+public class ParserBenchmark {
+    private static final int WARMUP_CURVE = 10;
+
+    public static void main(String[] args) throws Exception {
+        // AnalyzeTable recurses once per instruction, keep the program within its stack depth
+        Path file = ProgramGenerator.straightLine(200, 2_000);
+        String base = file.toString().substring(0, file.toString().lastIndexOf('.'));
+        new File(base + "-ast.dot").deleteOnExit();
+        String[] modes = args.length > 0 ? args : new String[]{"table", "legacy"};
+        for (String mode : modes) {
+            boolean table = mode.equals("table");
+            Timing.Run run = () -> {
+                Parser parser = new Parser(new Lexer(file.toString()));
+                if (table) {
+                    parser.parse(false);
+                } else {
+                    new AnalyzeTable(parser).analyze(false);
+                }
+                return parser.getAst().lastNode;
+            };
+            StringBuilder curve = new StringBuilder();
+            for (int i = 0; i < WARMUP_CURVE; i++) {
+                long start = System.nanoTime();
+                run.run();
+                curve.append(String.format(" %.1f", (System.nanoTime() - start) / 1e6));
+            }
+            long nanos = Timing.bestNanos(run);
+            System.out.printf("  %-8s %8.1f ms/parse, first %d parses (ms):%s%n", mode, nanos / 1e6, WARMUP_CURVE, curve);
+        }
+    }
+}
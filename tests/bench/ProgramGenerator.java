@@ -0,0 +1,120 @@
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/* Writes large synthetic canAda programs for the benchmarks */
+public class ProgramGenerator {
+    private ProgramGenerator() {
+    }
+
+    public static Path straightLine(int variables, int statements) throws IOException {
+        StringBuilder program = new StringBuilder();
+        program.append("with Ada.Text_IO; use Ada.Text_IO;\n\n");
+        program.append("procedure Bench is\n");
+        for (int i = 0; i < variables; i++) {
+            program.append("    Value_").append(i).append(" : Integer := ").append(i).append(";\n");
+        }
+        program.append("begin\n");
+        for (int i = 0; i < statements; i++) {
+            int a = i % variables;
+            int b = (i * 7 + 3) % variables;
+            int c = (i * 13 + 5) % variables;
+            program.append("    Value_").append(a).append(" := Value_").append(b)
+                    .append(" + 42 * (Value_").append(c).append(" - 7); -- statement ").append(i).append('\n');
+        }
+        program.append("    put(Value_0);\n");
+        program.append("end Bench;\n");
+        return write(program);
+    }
+
+    /* one assignment of comparisons nested "depth" times: X = 0 and (X = 1 and (...)) */
+    public static Path nestedComparisons(int depth) throws IOException {
+        StringBuilder program = new StringBuilder();
+        program.append("with Ada.Text_IO; use Ada.Text_IO;\n\n");
+        program.append("procedure Bench is\n");
+        program.append("    X : Integer := 0;\n");
+        program.append("    Flag : Boolean;\n");
+        program.append("begin\n");
+        program.append("    Flag := ");
+        for (int i = 0; i < depth; i++) {
+            program.append("X = ").append(i).append(" and (");
+        }
+        program.append("X = ").append(depth);
+        program.append(")".repeat(depth)).append(";\n");
+        program.append("end Bench;\n");
+        return write(program);
+    }
+
+    /* a loop of products, quotients and remainders by constants and by variables */
+    public static Path arithmeticLoop(int iterations) throws IOException {
+        StringBuilder program = new StringBuilder();
+        program.append("with Ada.Text_IO; use Ada.Text_IO;\n\n");
+        program.append("procedure Bench is\n");
+        program.append("    Sum : Integer := 0;\n");
+        program.append("    Step : Integer := 3;\n");
+        program.append("begin\n");
+        program.append("    for I in 1..").append(iterations).append(" loop\n");
+        program.append("        Sum := Sum + I * 8 + I * 5 + I * 7 + I * Step;\n");
+        program.append("        Sum := Sum + I / 4 + I rem 16 + I / 10 + I rem 7;\n");
+        program.append("        Sum := Sum + I / Step + I rem Step;\n");
+        program.append("        Sum := Sum rem 10007;\n");
+        program.append("    end loop;\n");
+        program.append("    put(Sum);\n");
+        program.append("end Bench;\n");
+        return write(program);
+    }
+
+    /* records nested "depth" times, each level holding two of the previous one and a word,
+     * copied by assignment, by value to a function and back from one in a loop */
+    public static Path recordCopies(int depth, int iterations) throws IOException {
+        StringBuilder program = new StringBuilder();
+        program.append("with Ada.Text_IO; use Ada.Text_IO;\n\n");
+        program.append("procedure Bench is\n");
+        program.append("    type Level_0 is record\n");
+        program.append("        X, Y, Z : Integer;\n");
+        program.append("    end record;\n");
+        for (int level = 1; level <= depth; level++) {
+            program.append("    type Level_").append(level).append(" is record\n");
+            program.append("        Left, Right : Level_").append(level - 1).append(";\n");
+            program.append("        Weight : Integer;\n");
+            program.append("    end record;\n");
+        }
+        String top = "Level_" + depth;
+        String first = "Left.".repeat(depth);
+        String last = "Right.".repeat(depth);
+        program.append("    A, B : ").append(top).append(";\n");
+        program.append("    Sum : Integer := 0;\n\n");
+        program.append("    function Ends (R : ").append(top).append(") return Integer is\n");
+        program.append("    begin\n");
+        program.append("        return R.").append(first).append("X + R.").append(last).append("Z + R.Weight;\n");
+        program.append("    end Ends;\n\n");
+        program.append("    function Shifted (R : ").append(top).append("; K : Integer) return ").append(top).append(" is\n");
+        program.append("        S : ").append(top).append(";\n");
+        program.append("    begin\n");
+        program.append("        S := R;\n");
+        program.append("        S.").append(first).append("X := S.").append(first).append("X + K;\n");
+        program.append("        return S;\n");
+        program.append("    end Shifted;\n\n");
+        program.append("begin\n");
+        program.append("    A.").append(first).append("X := 1;\n");
+        program.append("    A.").append(last).append("Z := 2;\n");
+        program.append("    A.Weight := 3;\n");
+        program.append("    for I in 1..").append(iterations).append(" loop\n");
+        program.append("        B := A;\n");
+        program.append("        A := Shifted(B, I);\n");
+        program.append("        Sum := Sum + Ends(A);\n");
+        program.append("    end loop;\n");
+        program.append("    put(Sum);\n");
+        program.append("end Bench;\n");
+        return write(program);
+    }
+
+    public static Path write(CharSequence program) throws IOException {
+        Path file = Files.createTempFile("canada-bench", ".adb");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, program);
+        return file;
+    }
+}
@@ -0,0 +1,47 @@
+package bench;
+
+import asm.CodeGenerator;
+import ast.SemanticAnalyzer;
+import lexer.Lexer;
+import parser.Parser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/* Instructions generated to copy nested records of growing sizes, and how many of them move a single word
+ * or several at once. Run from the root of the project, the code generator reads src/asm/visual. */
+public class RecordCopyBenchmark {
+    public static void main(String[] args) throws Exception {
+        for (int depth = 1; depth <= 4; depth++) {
+            report("depth " + depth, ProgramGenerator.recordCopies(depth, 100));
+        }
+    }
+
+    private static void report(String name, Path file) throws Exception {
+        Parser parser = new Parser(new Lexer(file.toString()));
+        parser.parse(false);
+        new CodeGenerator(parser.getAst().getFilename(), true).generate(new SemanticAnalyzer(parser.getAst()).analyze());
+        Path output = Path.of(parser.getAst().getFilename() + "-output.s");
+        List<String> lines = Files.readAllLines(output);
+        Files.delete(output);
+
+        int instructions = 0;
+        int words = 0;
+        int blocks = 0;
+        for (String line : lines) {
+            // instructions are indented, the subroutines themselves are not counted
+            String instruction = line.split(";", 2)[0].trim();
+            if (!line.startsWith("\t") || instruction.isEmpty()) {
+                continue;
+            }
+            instructions++;
+            if (instruction.matches("(ldr|str)\\s+r\\d+, \\[.*")) {
+                words++;
+            } else if (instruction.matches("(ldm|stm)\\w*\\s+r\\d+!, \\{r\\d+, .*")) {
+                blocks++;
+            }
+        }
+        System.out.printf("  %-10s %8d instructions %6d single word transfers %6d block transfers%n", name, instructions, words, blocks);
+    }
+}
@@ -0,0 +1,51 @@
+package bench;
+
+import lexer.Lexer;
+import lexer.SourceReader;
+import lexer.Tag;
+
+import java.io.FileReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/* Characters per second through the old per-character FileReader and the in-memory SourceReader */
+public class SourceReaderBenchmark {
+    public static void main(String[] args) throws Exception {
+        Path file = ProgramGenerator.straightLine(200, 100_000);
+        String fileName = file.toString();
+        long chars = Files.readString(file).length();
+        System.out.println("Input: " + Files.size(file) / 1024 + " KiB, " + chars + " characters");
+
+        report("FileReader.read()", chars, () -> {
+            try (FileReader reader = new FileReader(fileName)) {
+                long sum = 0;
+                int c;
+                while ((c = reader.read()) != -1) {
+                    sum += c;
+                }
+                return sum;
+            }
+        });
+        report("SourceReader.read()", chars, () -> {
+            SourceReader reader = new SourceReader(fileName);
+            long sum = 0;
+            int c;
+            while ((c = reader.read()) != -1) {
+                sum += c;
+            }
+            return sum;
+        });
+        report("Lexer.scan()", chars, () -> {
+            Lexer lexer = new Lexer(fileName);
+            long tokens = 0;
+            while (lexer.scan().getTag() != Tag.EOF) {
+                tokens++;
+            }
+            return tokens;
+        });
+    }
+
+    static void report(String name, long chars, Timing.Run run) throws Exception {
+        System.out.printf("%-22s %8.1f Mchars/s%n", name, chars * 1e3 / Timing.bestNanos(run));
+    }
+}
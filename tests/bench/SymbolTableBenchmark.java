@@ -0,0 +1,26 @@
+package bench;
+
+import ast.SemanticAnalyzer;
+import lexer.Lexer;
+import parser.Parser;
+
+import java.nio.file.Path;
+
+/* Semantic analysis of a procedure declaring thousands of variables, each one checked against
+ * the scope when declared and looked up by every statement using it */
+public class SymbolTableBenchmark {
+    public static void main(String[] args) throws Exception {
+        int maxVariables = args.length > 0 ? Integer.parseInt(args[0]) : 16_000;
+        for (int variables = 1_000; variables <= maxVariables; variables *= 2) {
+            Path file = ProgramGenerator.straightLine(variables, variables);
+            Parser parser = new Parser(new Lexer(file.toString()));
+            parser.parse(false);
+            long nanos = Timing.bestNanos(() -> {
+                SemanticAnalyzer analyzer = new SemanticAnalyzer(parser.getAst());
+                analyzer.analyze();
+                return analyzer.getTds().getTds().size();
+            });
+            System.out.printf("  %6d declarations %10.3f ms%n", variables, nanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package bench;
+
+/* Minimal timing loop shared by the benchmarks: warm up, then keep the best round */
+public class Timing {
+    public static final int WARMUP = 5;
+    public static final int ROUNDS = 10;
+    private static volatile long sink;
+
+    private Timing() {
+    }
+
+    public interface Run {
+        long run() throws Exception;
+    }
+
+    public static long bestNanos(Run run) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            sink = run.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink = run.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,45 @@
+package bench;
+
+import lexer.Lexer;
+import lexer.Tag;
+import lexer.TokenBuffer;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+/* Token throughput and allocation per token: Token objects from scan() against the TokenBuffer stream */
+public class TokenStreamBenchmark {
+    public static void main(String[] args) throws Exception {
+        Path file = ProgramGenerator.straightLine(200, 200_000);
+        long[] count = new long[1];
+
+        report("Lexer.scan()", () -> {
+            Lexer lexer = new Lexer(file.toString());
+            long tokens = 0;
+            while (lexer.scan().getTag() != Tag.EOF) {
+                tokens++;
+            }
+            count[0] = tokens;
+            return tokens;
+        }, count);
+        TokenBuffer tokens = new TokenBuffer();
+        report("Lexer.lex(buffer)", () -> {
+            Lexer lexer = new Lexer(file.toString());
+            tokens.clear();
+            do {
+                lexer.lex(tokens);
+            } while (tokens.getTag(tokens.size() - 1) != Tag.EOF);
+            count[0] = tokens.size() - 1;
+            return tokens.size();
+        }, count);
+    }
+
+    private static void report(String name, Timing.Run run, long[] count) throws Exception {
+        long nanos = Timing.bestNanos(run);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        run.run();
+        long bytes = threads.getCurrentThreadAllocatedBytes() - before;
+        System.out.printf("  %-20s %8.1f Mtokens/s %8.1f bytes/token%n", name, count[0] * 1e3 / nanos, (double) bytes / count[0]);
+    }
+}
@@ -0,0 +1,25 @@
+package bench;
+
+import ast.SemanticAnalyzer;
+import lexer.Lexer;
+import parser.Parser;
+
+import java.nio.file.Path;
+
+/* Semantic analysis of ever deeper nested comparisons, each expression node must be typed once */
+public class TypeInferenceBenchmark {
+    public static void main(String[] args) throws Exception {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        for (int depth = 2; depth <= maxDepth; depth *= 2) {
+            Path file = ProgramGenerator.nestedComparisons(depth);
+            long nanos = Timing.bestNanos(() -> {
+                Parser parser = new Parser(new Lexer(file.toString()));
+                parser.parse(false);
+                SemanticAnalyzer analyzer = new SemanticAnalyzer(parser.getAst());
+                analyzer.analyze();
+                return parser.getAst().lastNode;
+            });
+            System.out.printf("  depth %5d %10.3f ms%n", depth, nanos / 1e6);
+        }
+    }
+}
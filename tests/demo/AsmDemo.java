@@ -14,9 +14,7 @@ public class AsmDemo {
         Parser parser = new Parser(lexer);
         parser.parse(true);
         SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(parser.getAst());
-        CodeGenerator codeGenerator = new CodeGenerator(parser.getAst().getFilename(), true, semanticAnalyzer.getTds(), semanticAnalyzer.getStack());
-        semanticAnalyzer.setCodeGen(codeGenerator);
-        semanticAnalyzer.analyze();
+        new CodeGenerator(parser.getAst().getFilename(), true).generate(semanticAnalyzer.analyze());
         Launcher.run(parser.getAst().getFilename()+ "-output.s");
     }
 }
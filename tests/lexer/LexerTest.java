@@ -240,4 +240,84 @@ class LexerTest {
 
         Assertions.assertEquals(expectedOutput, outputStream.toString(), "Output mismatch");
     }
+
+    @org.junit.jupiter.api.Test
+    void testLexerFillsTokenBuffer() throws IOException {
+        Lexer lexer = new Lexer("tests/src/commentsAndWhitespace.adb");
+        TokenBuffer tokens = new TokenBuffer(2);
+
+        String[] expectedTokens = {"x", ":=", "42", ";", "y", ":=", "7", ";", ""};
+        int[] expectedLines = {1, 1, 1, 1, 5, 5, 5, 5, 5};
+        int[] expectedColumns = {1, 3, 6, 8, 9, 11, 14, 15, 16};
+
+        for (int i = 0; i < expectedTokens.length; i++) {
+            lexer.lex(tokens);
+            Token token = lexer.token(tokens.getTag(i), tokens.getValue(i));
+            Assertions.assertEquals(expectedTokens[i], token.getStringValue(), "Token mismatch");
+            Assertions.assertEquals(expectedLines[i], tokens.getLine(i), "Line mismatch");
+            Assertions.assertEquals(expectedColumns[i], tokens.getColumn(i), "Column mismatch");
+        }
+        Assertions.assertEquals(expectedTokens.length, tokens.size(), "Size mismatch");
+        // symbols and identifiers are shared instances
+        Assertions.assertSame(lexer.token(tokens.getTag(3), tokens.getValue(3)), lexer.token(tokens.getTag(7), tokens.getValue(7)));
+        Assertions.assertSame(lexer.token(tokens.getTag(1), tokens.getValue(1)), lexer.token(tokens.getTag(5), tokens.getValue(5)));
+    }
+
+    @org.junit.jupiter.api.Test
+    void testTokenBufferPositionsAtLineEnd() throws IOException {
+        Lexer lexer = new Lexer("tests/src/tokensAtLineEnd.adb");
+        TokenBuffer tokens = new TokenBuffer(2);
+
+        // is, begin and Y end their line, the lexer reading past it before they are stored
+        String[] expectedTokens = {"procedure", "t", "is", "x", ":", "integer", ";", "begin", "x", ":=", "y", ";"};
+        int[] expectedLines = {1, 1, 1, 2, 2, 2, 2, 3, 4, 4, 4, 5};
+        int[] expectedColumns = {1, 11, 13, 5, 7, 9, 16, 1, 5, 7, 10, 5};
+
+        for (int i = 0; i < expectedTokens.length; i++) {
+            lexer.lex(tokens);
+            Token token = lexer.token(tokens.getTag(i), tokens.getValue(i));
+            Assertions.assertEquals(expectedTokens[i], token.getStringValue().toLowerCase(), "Token mismatch");
+            Assertions.assertEquals(expectedLines[i], tokens.getLine(i), "Line mismatch for " + expectedTokens[i]);
+            Assertions.assertEquals(expectedColumns[i], tokens.getColumn(i), "Column mismatch for " + expectedTokens[i]);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    void testLexerInternsIdentifiers() throws IOException {
+        Lexer lexer = new Lexer("tests/src/identifiersTest.adb");
+        List<Word> words = new ArrayList<>();
+        Token token;
+        while ((token = lexer.scan()).getTag() != Tag.EOF) {
+            if (token.getTag() == Tag.ID) {
+                words.add((Word) token);
+            }
+        }
+
+        IdentifierTable identifiers = lexer.getIdentifiers();
+        int id = identifiers.find("testidentifiers");
+        Assertions.assertTrue(id >= 0, "Identifier not interned");
+        Assertions.assertEquals(identifiers.idOf("integer"), identifiers.find("integer"), "Id mismatch");
+        Assertions.assertEquals(-1, identifiers.find("undeclared"), "Unknown name has an id");
+        Assertions.assertEquals(identifiers.find("procedure"), identifiers.idOf("procedure"), "Keyword id mismatch");
+        Assertions.assertEquals(Tag.PROCEDURE, identifiers.get(identifiers.find("procedure")).getTag(), "Keyword interned as identifier");
+        // first and last identifiers are both TestIdentifiers
+        Assertions.assertSame(words.get(0), words.get(words.size() - 1));
+        Assertions.assertEquals(id, words.get(0).id, "Id mismatch");
+        Assertions.assertEquals("testidentifiers", words.get(0).lexeme, "Lexeme is not case folded");
+    }
+
+    @org.junit.jupiter.api.Test
+    void testLexerReportsToItsOwnStream() throws IOException {
+        ByteArrayOutputStream systemOutput = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(systemOutput));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        Lexer lexer = new Lexer("tests/src/integerOverflow.adb", new PrintStream(outputStream));
+        for (int i = 0; i < 100; i++) {
+            lexer.scan();
+        }
+
+        Assertions.assertEquals("Integer overflow at line 21\n", outputStream.toString(), "Output mismatch");
+        Assertions.assertEquals("", systemOutput.toString(), "Diagnostics leaked to System.out");
+    }
 }
@@ -3,6 +3,7 @@ package parser;
 import lexer.Lexer;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
 import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -535,5 +536,17 @@ public class ParserTest {
             fail("Le parsing a généré une exception : " + e.getMessage());
         }
     }
-}
 
+    @Test
+    public void testDotWrittenOnRequest() throws IOException {
+        Lexer lexer = new Lexer("tests/src/parser/correct/testBaseStruct1.adb");
+        File dot = new File(lexer.getFileName() + "-ast.dot");
+        dot.delete();
+        Parser parser = new Parser(lexer);
+        parser.parse(false);
+        assertFalse(dot.exists());
+        parser.getAst().writeDot();
+        assertTrue(dot.exists());
+        dot.delete();
+    }
+}
@@ -0,0 +1,54 @@
+package parser;
+
+import lexer.Lexer;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TableParserTest {
+
+    @Test
+    public void testTableIsUpToDate() throws IOException {
+        // ParseTable.java must be regenerated after every change to the grammar
+        assertEquals(ParseTableGenerator.generate(Paths.get("docs/grammar/grammar.ll1")),
+                new String(Files.readAllBytes(Paths.get("src/parser/ParseTable.java"))));
+    }
+
+    @Test
+    public void testSameAstAsAnalyzeTable() throws IOException {
+        for (String directory : new String[]{"tests/src/parser/correct", "tests/src/parser/incorrect"}) {
+            File[] files = new File(directory).listFiles((dir, name) -> name.endsWith(".adb"));
+            assertNotNull(files);
+            Arrays.sort(files);
+            for (File file : files) {
+                String table = parse(file.getPath(), true);
+                String legacy = parse(file.getPath(), false);
+                assertEquals(legacy, table, file.getPath());
+            }
+        }
+    }
+
+    /* outcome of the parsing followed by the AST it wrote */
+    private String parse(String fileName, boolean table) throws IOException {
+        Lexer lexer = new Lexer(fileName);
+        Parser parser = new Parser(lexer);
+        String outcome = "OK";
+        try {
+            if (table) {
+                parser.parse(false);
+            } else {
+                parser.analyzeTable.analyze(false);
+            }
+        } catch (RuntimeException | Error e) {
+            outcome = e.getClass().getName() + ": " + e.getMessage();
+        }
+        parser.getAst().writeDot();
+        return outcome + "\n" + new String(Files.readAllBytes(Paths.get(lexer.getFileName() + "-ast.dot")));
+    }
+}
@@ -9,6 +9,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -713,4 +714,16 @@ public class SemanticControlsTest {
                         assert true;
                 }
         }
+
+        @org.junit.jupiter.api.Test
+        void testCorrectNestedComparisons() {
+                // each operand used to be typed again by its comparison, exponential in the depth
+                assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                        Lexer lexer = new Lexer("tests/src/semanticControls/correct/nestedComparisons.adb");
+                        Parser parser = new Parser(lexer);
+                        parser.parse(false);
+                        SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(parser.getAst());
+                        semanticAnalyzer.analyze();
+                });
+        }
 }
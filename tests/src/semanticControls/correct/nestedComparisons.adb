@@ -0,0 +1,8 @@
+with Ada.Text_IO; use Ada.Text_IO;
+
+procedure NestedComparisons is
+    X : Integer := 0;
+    Flag : Boolean;
+begin
+    Flag := X = 0 and (X = 1 and (X = 2 and (X = 3 and (X = 4 and (X = 5 and (X = 6 and (X = 7 and (X = 8 and (X = 9 and (X = 10 and (X = 11 and (X = 12 and (X = 13 and (X = 14 and (X = 15 and (X = 16 and (X = 17 and (X = 18 and (X = 19 and (X = 20 and (X = 21 and (X = 22 and (X = 23 and (X = 24 and (X = 25 and (X = 26 and (X = 27 and (X = 28 and (X = 29 and (X = 30 and (X = 31 and (X = 32 and (X = 33 and (X = 34 and (X = 35 and (X = 36 and (X = 37 and (X = 38 and (X = 39 and (X = 40))))))))))))))))))))))))))))))))))))))));
+end NestedComparisons;
@@ -0,0 +1,5 @@
+procedure T is
+    X : Integer;
+begin
+    X := Y
+    ;
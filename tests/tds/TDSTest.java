@@ -0,0 +1,70 @@
+package tds;
+
+import ast.SemanticException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TDSTest {
+
+    private Var var(TDS tds, String name, int father) {
+        Var var = new Var(1, father);
+        var.setName(name, tds.idOf(name));
+        return var;
+    }
+
+    @Test
+    public void testLookupThroughEnclosingRegions() throws SemanticException {
+        TDS tds = new TDS();
+        int global = tds.newRegion();
+        int outer = tds.newRegion(global);
+        int inner = tds.newRegion(outer);
+        Var x = var(tds, "x", global);
+        Var shadow = var(tds, "x", outer);
+        Var y = var(tds, "y", outer);
+        tds.addSymbol(outer, x, 1);
+        tds.addSymbol(outer, y, 2);
+        tds.addSymbol(inner, shadow, 3);
+
+        assertEquals(outer, tds.getParent(inner));
+        assertSame(shadow, tds.lookup(tds.find("x"), inner));
+        assertSame(x, tds.lookup(tds.find("x"), outer));
+        assertSame(y, tds.lookup(tds.find("y"), inner));
+        assertEquals(outer, tds.regionOf(tds.find("y"), inner));
+        assertNull(tds.lookup(tds.find("y"), global));
+        assertEquals(-1, tds.regionOf(tds.find("z"), inner));
+    }
+
+    @Test
+    public void testDuplicateAndRemovedSymbols() throws SemanticException {
+        TDS tds = new TDS();
+        int global = tds.newRegion();
+        int region = tds.newRegion(global);
+        Var i = var(tds, "i", global);
+        assertEquals(0, tds.addSymbol(region, i, 1));
+        assertThrows(SemanticException.class, () -> tds.addSymbol(region, var(tds, "i", global), 2));
+
+        tds.removeSymbol(region, i);
+        assertNull(tds.lookup(tds.find("i"), region));
+        assertTrue(tds.getTds().get(region).isEmpty());
+        assertEquals(0, tds.addSymbol(region, var(tds, "i", global), 3));
+        assertThrows(UnsupportedOperationException.class, () -> tds.getTds().get(region).clear());
+    }
+
+    @Test
+    public void testPutIsOverloadedInTheOutermostRegionOnly() throws SemanticException {
+        TDS tds = new TDS();
+        int global = tds.newRegion();
+        int region = tds.newRegion(global);
+        Proc putInt = new Proc(0, -1);
+        putInt.setName("put", tds.idOf("put"));
+        Proc putChar = new Proc(0, -1);
+        putChar.setName("put", tds.idOf("put"));
+        tds.addSymbol(global, putInt, -1);
+        tds.addSymbol(global, putChar, -1);
+
+        assertSame(putInt, tds.lookup(tds.find("put"), region));
+        assertEquals(2, tds.getTds().get(global).size());
+        assertThrows(SemanticException.class, () -> tds.addSymbol(region, var(tds, "put", global), 1));
+    }
+}